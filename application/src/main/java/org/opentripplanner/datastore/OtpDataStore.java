@@ -49,6 +49,7 @@ public class OtpDataStore {
   public static final String BUILD_REPORT_DIR = "report";
   private static final String STREET_GRAPH_FILENAME = "streetGraph.obj";
   private static final String GRAPH_FILENAME = "graph.obj";
+  private static final String CONTENT_HASH_SUFFIX = ".sha256";
 
   private final OtpDataStoreConfig config;
   private final List<String> repositoryDescriptions = new ArrayList<>();
@@ -58,6 +59,7 @@ public class OtpDataStore {
 
   /* Named resources available for both reading and writing. */
   private DataSource streetGraph;
+  private DataSource streetGraphInputHash;
   private DataSource graph;
   private DataSource stopConsolidation;
   private CompositeDataSource buildReportDir;
@@ -102,6 +104,12 @@ public class OtpDataStore {
     addAll(findMultipleCompositeSources(config.netexFiles(), NETEX));
 
     streetGraph = findSingleSource(config.streetGraph(), STREET_GRAPH_FILENAME, GRAPH);
+    streetGraphInputHash =
+      findSingleSource(
+        withSuffix(config.streetGraph(), CONTENT_HASH_SUFFIX),
+        STREET_GRAPH_FILENAME + CONTENT_HASH_SUFFIX,
+        GRAPH
+      );
     graph = findSingleSource(config.graph(), GRAPH_FILENAME, GRAPH);
     buildReportDir = findCompositeSource(config.reportDirectory(), BUILD_REPORT_DIR, REPORT);
 
@@ -144,6 +152,15 @@ public class OtpDataStore {
     return streetGraph;
   }
 
+  /**
+   * The content hash of the input the street graph is built from. The hash is stored next to the
+   * street graph, and is used to check if the street graph needs to be rebuilt.
+   */
+  public DataSource getStreetGraphInputHash() {
+    assertDataStoreIsOpened();
+    return streetGraphInputHash;
+  }
+
   public DataSource getGraph() {
     assertDataStoreIsOpened();
     return graph;
@@ -190,6 +207,11 @@ public class OtpDataStore {
     return localRepository.findSource(filename, type);
   }
 
+  @Nullable
+  private static URI withSuffix(@Nullable URI uri, String suffix) {
+    return uri == null ? null : URI.create(uri + suffix);
+  }
+
   private CompositeDataSource findCompositeSource(
     @Nullable URI uri,
     String filename,
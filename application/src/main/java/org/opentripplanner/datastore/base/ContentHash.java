@@ -0,0 +1,75 @@
+package org.opentripplanner.datastore.base;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import org.opentripplanner.datastore.api.DataSource;
+
+/**
+ * Create a SHA-256 hash of the content of a set of data sources and other values. The hash can be
+ * used as a key to check if an artifact, like the street graph, is built from the same input as
+ * before. The data sources are streamed, so large files like OSM extracts are never kept in
+ * memory.
+ * <p>
+ * The hash depends on the order values are added, add the data sources in a stable order.
+ */
+public class ContentHash {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final MessageDigest digest;
+
+  public ContentHash() {
+    try {
+      this.digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // SHA-256 is required by the Java specification, this should not happen
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Add the name and content of the given data source to the hash.
+   */
+  public ContentHash add(DataSource source) {
+    add(source.name());
+    var buffer = new byte[BUFFER_SIZE];
+    try (InputStream in = source.asInputStream()) {
+      int n;
+      while ((n = in.read(buffer)) > 0) {
+        digest.update(buffer, 0, n);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to read " + source.path() + ": " + e.getMessage(), e);
+    }
+    return this;
+  }
+
+  public ContentHash add(String value) {
+    var bytes = value.getBytes(UTF_8);
+    // Add the length, so the values added can not be shifted to give the same hash
+    digest.update(intToBytes(bytes.length));
+    digest.update(bytes);
+    return this;
+  }
+
+  /**
+   * Return the hash as a hex string. Do not add more values after this method is called.
+   */
+  public String toHex() {
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private static byte[] intToBytes(int value) {
+    return new byte[] {
+      (byte) (value >>> 24),
+      (byte) (value >>> 16),
+      (byte) (value >>> 8),
+      (byte) value,
+    };
+  }
+}
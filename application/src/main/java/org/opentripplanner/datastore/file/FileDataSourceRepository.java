@@ -186,7 +186,7 @@ public class FileDataSourceRepository implements LocalDataSourceRepository {
     if (demLocalFilePattern.matcher(name).find()) {
       return DEM;
     }
-    if (name.matches("(?i)(street)?graph.*\\.obj")) {
+    if (name.matches("(?i)(street)?graph.*\\.obj(\\.sha256)?")) {
       return GRAPH;
     }
     if (name.equals(BUILD_REPORT_DIR)) {
@@ -60,12 +60,26 @@ public enum OTPFeature {
     "from OSM data."
   ),
 
+  NearbyPlacesCache(
+    false,
+    false,
+    "Cache the street searches done by the nearest stops and places GraphQL queries. The " +
+    "coordinate is snapped to a grid cell of 20 meters, and the distances are measured from the " +
+    "centre of the cell."
+  ),
+
   OptimizeTransfers(
     true,
     false,
     "OTP will inspect all itineraries found and optimize where (which stops) the transfer will happen. Waiting time, priority and guaranteed transfers are taken into account."
   ),
 
+  ParallelGraphBuilding(
+    false,
+    false,
+    "Run independent graph builder modules, like loading the OSM and the transit data, in " +
+    "parallel. Several GTFS feeds, and the NeTEx line files, are also read in parallel."
+  ),
   ParallelRouting(false, false, "Enable performing parts of the trip planning in parallel."),
   TransferConstraints(
     true,
@@ -77,6 +91,18 @@ public enum OTPFeature {
     true,
     "Enable the [Transmodel (NeTEx) GraphQL API](apis/TransmodelApi.md)."
   ),
+  VirtualThreadRaptor(
+    false,
+    false,
+    "Run the parallel parts of the Raptor transit search, like the heuristic searches, on " +
+    "virtual threads instead of the fixed size pool set by `transit.searchThreadPoolSize`."
+  ),
+  VirtualThreadUpdaters(
+    false,
+    false,
+    "Run the polling updaters on virtual threads. Each updater can then poll in parallel with " +
+    "all the others, without a platform thread being blocked while data is downloaded and parsed."
+  ),
 
   /* Sandbox extension features - Must be turned OFF by default */
 
@@ -0,0 +1,73 @@
+package org.opentripplanner.framework.geometry;
+
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * Map a coordinate inside an envelope to its position along a Hilbert curve. The curve visits
+ * every cell in a grid covering the envelope, and cells next to each other along the curve are
+ * also next to each other in space. Sorting objects on the curve index is a cheap way to keep
+ * objects close in space close in memory, or in a file.
+ * <p>
+ * The envelope is divided into 2^16 x 2^16 cells, coordinates outside the envelope are moved to
+ * the closest cell on the border.
+ */
+public class HilbertCurve {
+
+  /** The number of bits used for each axis. */
+  private static final int ORDER = 16;
+  private static final int N_CELLS = 1 << ORDER;
+
+  private final double minX;
+  private final double minY;
+  private final double cellsPerUnitX;
+  private final double cellsPerUnitY;
+
+  public HilbertCurve(Envelope envelope) {
+    this.minX = envelope.getMinX();
+    this.minY = envelope.getMinY();
+    this.cellsPerUnitX = cellsPerUnit(envelope.getWidth());
+    this.cellsPerUnitY = cellsPerUnit(envelope.getHeight());
+  }
+
+  /**
+   * Return the position along the curve for the given coordinate.
+   */
+  public long index(double x, double y) {
+    return index(ORDER, cell(x, minX, cellsPerUnitX), cell(y, minY, cellsPerUnitY));
+  }
+
+  /**
+   * Return the position along a Hilbert curve of the given order for the given grid cell. The
+   * grid is 2^order x 2^order cells.
+   */
+  static long index(int order, int x, int y) {
+    int n = 1 << order;
+    long d = 0;
+    for (int s = n / 2; s > 0; s /= 2) {
+      int rx = (x & s) > 0 ? 1 : 0;
+      int ry = (y & s) > 0 ? 1 : 0;
+      d += (long) s * s * ((3 * rx) ^ ry);
+
+      // Rotate the quadrant, so the curve of the sub-grid connects to the next quadrant
+      if (ry == 0) {
+        if (rx == 1) {
+          x = n - 1 - x;
+          y = n - 1 - y;
+        }
+        int t = x;
+        x = y;
+        y = t;
+      }
+    }
+    return d;
+  }
+
+  private static double cellsPerUnit(double size) {
+    return size > 0.0 ? N_CELLS / size : 0.0;
+  }
+
+  private static int cell(double value, double min, double cellsPerUnit) {
+    int cell = (int) ((value - min) * cellsPerUnit);
+    return Math.max(0, Math.min(N_CELLS - 1, cell));
+  }
+}
@@ -0,0 +1,245 @@
+package org.opentripplanner.framework.geometry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * An immutable R-tree packed into flat primitive arrays. The items are sorted along a Hilbert
+ * curve, and each group of {@link #NODE_SIZE} nodes on one level gets a parent node on the level
+ * above, until there is only one root node left. This is the same layout as the "flatbush" index.
+ * <p>
+ * Compared with the {@link HashGridSpatialIndex}, each item is stored once together with its
+ * bounding box, so a query returns each item at most once and only items with a bounding box
+ * intersecting the query envelope. The bounding boxes are stored as floats, rounded outwards, so
+ * the result may contain items just outside the envelope. The client should filter the result
+ * with whatever knowledge it has on the exact geometry of the items.
+ * <p>
+ * The index can not be changed after it is created. Use it for data that is indexed once and then
+ * only read, combine it with a mutable index if items are added later. All operations are
+ * thread-safe.
+ *
+ * @param <T> Type of objects to be spatial indexed.
+ */
+public class PackedSpatialIndex<T> {
+
+  /** The max number of children for each node. */
+  private static final int NODE_SIZE = 16;
+
+  /** The items sorted along the Hilbert curve, the leaf node i holds the item i. */
+  private final Object[] items;
+
+  /** The bounding boxes of all nodes, first the leaf nodes, then each level up to the root. */
+  private final float[] minX;
+  private final float[] minY;
+  private final float[] maxX;
+  private final float[] maxY;
+
+  /**
+   * The index of the first child for each internal node. The internal node i is stored at
+   * {@code firstChild[i - items.length]}.
+   */
+  private final int[] firstChild;
+
+  /** The node index after the last node for each level, starting with the leaf level. */
+  private final int[] levelEnd;
+
+  private PackedSpatialIndex(List<T> items, List<Envelope> envelopes) {
+    int n = items.size();
+    this.levelEnd = levelEnd(n);
+    int nNodes = levelEnd[levelEnd.length - 1];
+
+    this.items = new Object[n];
+    this.minX = new float[nNodes];
+    this.minY = new float[nNodes];
+    this.maxX = new float[nNodes];
+    this.maxY = new float[nNodes];
+    this.firstChild = new int[nNodes - n];
+
+    int[] order = sortAlongHilbertCurve(envelopes);
+    for (int i = 0; i < n; ++i) {
+      int it = order[i];
+      Envelope env = envelopes.get(it);
+      this.items[i] = items.get(it);
+      minX[i] = floor(env.getMinX());
+      minY[i] = floor(env.getMinY());
+      maxX[i] = ceil(env.getMaxX());
+      maxY[i] = ceil(env.getMaxY());
+    }
+
+    int node = n;
+    for (int level = 0; level < levelEnd.length - 1; ++level) {
+      int start = level == 0 ? 0 : levelEnd[level - 1];
+      for (int child = start; child < levelEnd[level]; child += NODE_SIZE, ++node) {
+        int end = Math.min(child + NODE_SIZE, levelEnd[level]);
+        firstChild[node - n] = child;
+        minX[node] = min(minX, child, end);
+        minY[node] = min(minY, child, end);
+        maxX[node] = max(maxX, child, end);
+        maxY[node] = max(maxY, child, end);
+      }
+    }
+  }
+
+  /**
+   * Create an index of the given items, the envelope of each item is computed once using the
+   * given function.
+   */
+  public static <T> PackedSpatialIndex<T> of(
+    Collection<? extends T> items,
+    Function<? super T, Envelope> envelope
+  ) {
+    var list = new ArrayList<T>(items);
+    var envelopes = new ArrayList<Envelope>(list.size());
+    for (T it : list) {
+      envelopes.add(envelope.apply(it));
+    }
+    return new PackedSpatialIndex<>(list, envelopes);
+  }
+
+  /**
+   * Return all items with a bounding box intersecting the given envelope. The returned list is a
+   * new list, and can be modified by the caller.
+   */
+  public List<T> query(Envelope envelope) {
+    var result = new ArrayList<T>();
+    query(envelope, result::add);
+    return result;
+  }
+
+  /**
+   * Call the visitor for each item with a bounding box intersecting the given envelope. Nothing
+   * is allocated except the traversal stack.
+   */
+  @SuppressWarnings("unchecked")
+  public void query(Envelope envelope, Consumer<? super T> visitor) {
+    if (items.length == 0 || envelope.isNull()) {
+      return;
+    }
+    double qMinX = envelope.getMinX();
+    double qMinY = envelope.getMinY();
+    double qMaxX = envelope.getMaxX();
+    double qMaxY = envelope.getMaxY();
+
+    // Each level adds at most NODE_SIZE nodes to the stack
+    int[] stack = new int[levelEnd.length * NODE_SIZE];
+    int size = 0;
+    stack[size++] = levelEnd[levelEnd.length - 1] - 1;
+
+    while (size > 0) {
+      int node = stack[--size];
+      int start = firstChild[node - items.length];
+      int end = Math.min(start + NODE_SIZE, levelEndOf(start));
+
+      for (int i = start; i < end; ++i) {
+        if (maxX[i] < qMinX || maxY[i] < qMinY || minX[i] > qMaxX || minY[i] > qMaxY) {
+          continue;
+        }
+        if (i < items.length) {
+          visitor.accept((T) items[i]);
+        } else {
+          stack[size++] = i;
+        }
+      }
+    }
+  }
+
+  public int size() {
+    return items.length;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+      Locale.ROOT,
+      "PackedSpatialIndex %d objs, %d nodes, %d levels",
+      items.length,
+      levelEnd[levelEnd.length - 1],
+      levelEnd.length
+    );
+  }
+
+  private int levelEndOf(int node) {
+    for (int end : levelEnd) {
+      if (node < end) {
+        return end;
+      }
+    }
+    throw new IllegalArgumentException("Node not in index: " + node);
+  }
+
+  /**
+   * Compute the end of each level. There is always at least one level above the leaf level, so
+   * the root is an internal node, also for an empty index.
+   */
+  private static int[] levelEnd(int nItems) {
+    var ends = new ArrayList<Integer>();
+    int count = nItems;
+    int nNodes = nItems;
+    ends.add(nNodes);
+    do {
+      count = (count + NODE_SIZE - 1) / NODE_SIZE;
+      nNodes += Math.max(count, 1);
+      ends.add(nNodes);
+    } while (count > 1);
+    return ends.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  /**
+   * Return the item indexes sorted on the position of the envelope centre along a Hilbert curve
+   * covering all envelopes.
+   */
+  private static int[] sortAlongHilbertCurve(List<Envelope> envelopes) {
+    var extent = new Envelope();
+    envelopes.forEach(extent::expandToInclude);
+    var curve = new HilbertCurve(extent);
+
+    // The curve index use 32 bits, so the item index fit in the lower 31 bits of the sort key
+    long[] keys = new long[envelopes.size()];
+    for (int i = 0; i < keys.length; ++i) {
+      var centre = envelopes.get(i).centre();
+      long d = curve.index(centre.x, centre.y);
+      keys[i] = (d << 31) | i;
+    }
+    Arrays.sort(keys);
+
+    int[] order = new int[keys.length];
+    for (int i = 0; i < keys.length; ++i) {
+      order[i] = (int) (keys[i] & Integer.MAX_VALUE);
+    }
+    return order;
+  }
+
+  private static float min(float[] values, int start, int end) {
+    float min = Float.POSITIVE_INFINITY;
+    for (int i = start; i < end; ++i) {
+      min = Math.min(min, values[i]);
+    }
+    return min;
+  }
+
+  private static float max(float[] values, int start, int end) {
+    float max = Float.NEGATIVE_INFINITY;
+    for (int i = start; i < end; ++i) {
+      max = Math.max(max, values[i]);
+    }
+    return max;
+  }
+
+  /** Round down to the closest float, so the bounding box still contains the value. */
+  private static float floor(double value) {
+    float f = (float) value;
+    return f > value ? Math.nextDown(f) : f;
+  }
+
+  /** Round up to the closest float, so the bounding box still contains the value. */
+  private static float ceil(double value) {
+    float f = (float) value;
+    return f < value ? Math.nextUp(f) : f;
+  }
+}
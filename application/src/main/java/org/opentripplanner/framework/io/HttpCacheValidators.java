@@ -0,0 +1,86 @@
+package org.opentripplanner.framework.io;
+
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+
+/**
+ * Keeps the cache validators (ETag and Last-Modified) of the latest response from a resource, so
+ * that the next request for the same resource can be made conditional. If the resource is not
+ * changed the server responds with 304 "Not Modified" and the body does not need to be downloaded
+ * and parsed again.
+ * <p>
+ * The validators of a response are not used before {@link #commitLatestResponse()} is run. Run it
+ * after the content of the response is applied, so content that fails to apply is downloaded
+ * again on the next request, and not skipped as "Not Modified".
+ * <p>
+ * Each polled resource should have its own instance.
+ *
+ * <h3>Thread-safety</h3>
+ * Instances of this class are thread-safe, but are meant to be used by one updater at a time.
+ */
+public class HttpCacheValidators {
+
+  /** The validators sent with the next request. */
+  private volatile Validators committed = Validators.NONE;
+
+  /** The validators of the latest response, which might not be applied yet. */
+  private volatile Validators received = Validators.NONE;
+
+  /**
+   * Add If-None-Match and If-Modified-Since headers to the request, if the previous response had
+   * validators.
+   */
+  void addConditionalHeaders(HttpRequest request) {
+    var validators = committed;
+    if (validators.etag() != null) {
+      request.setHeader(HttpHeaders.IF_NONE_MATCH, validators.etag());
+    }
+    if (validators.lastModified() != null) {
+      request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, validators.lastModified());
+    }
+  }
+
+  /**
+   * Keep the validators of a successful response, they are not used before they are committed.
+   */
+  void update(HttpResponse response) {
+    this.received =
+      new Validators(
+        headerValue(response, HttpHeaders.ETAG),
+        headerValue(response, HttpHeaders.LAST_MODIFIED)
+      );
+  }
+
+  /**
+   * Return a task that makes the next request conditional on the validators of the latest
+   * response. Call this on the thread that made the request, and run the returned task when the
+   * content of the response is applied. A later response does not change what the task commits.
+   */
+  public Runnable commitLatestResponse() {
+    var validators = received;
+    return () -> committed = validators;
+  }
+
+  /**
+   * Forget the validators, the next request is made unconditionally.
+   */
+  public void reset() {
+    this.committed = Validators.NONE;
+    this.received = Validators.NONE;
+  }
+
+  public boolean hasValidators() {
+    return committed.etag() != null || committed.lastModified() != null;
+  }
+
+  private static String headerValue(HttpResponse response, String name) {
+    Header header = response.getFirstHeader(name);
+    return header == null ? null : header.getValue();
+  }
+
+  private record Validators(String etag, String lastModified) {
+    static final Validators NONE = new Validators(null, null);
+  }
+}
@@ -189,6 +189,40 @@ public class OtpHttpClient {
     return sendAndMap(new HttpGet(uri), uri, timeout, headers, contentMapper);
   }
 
+  /**
+   * Executes a conditional HTTP GET request and returns the body mapped according to the provided
+   * content mapper. The validators of the previous response are sent as If-None-Match and
+   * If-Modified-Since headers. Returns empty result on http status 304 "Not Modified", in this
+   * case the body is not read. If the protocol is neither HTTP nor HTTPS, the URI is interpreted as
+   * a local file and always mapped.
+   */
+  public <T> Optional<T> getAndMapIfModified(
+    URI uri,
+    Duration timeout,
+    Map<String, String> headers,
+    HttpCacheValidators validators,
+    ResponseMapper<T> contentMapper
+  ) {
+    if (!isHttp(uri)) {
+      return Optional.of(sendAndMap(new HttpGet(uri), uri, timeout, headers, contentMapper));
+    }
+    var request = new HttpGet(uri);
+    validators.addConditionalHeaders(request);
+    return executeAndMapWithResponseHandler(
+      request,
+      timeout,
+      headers,
+      response -> {
+        if (response.getCode() == 304) {
+          return Optional.empty();
+        }
+        T result = mapResponse(response, contentMapper);
+        validators.update(response);
+        return Optional.of(result);
+      }
+    );
+  }
+
   /**
    * Send an HTTP POST request with Content-Type: application/json. The body of the request
    * is defined by {@code jsonBody}.
@@ -350,18 +384,11 @@ public class OtpHttpClient {
     Map<String, String> headers,
     ResponseMapper<T> contentMapper
   ) {
-    URL downloadUrl;
-    try {
-      downloadUrl = uri.toURL();
-    } catch (MalformedURLException e) {
-      throw new OtpHttpClientException(e);
-    }
-    String proto = downloadUrl.getProtocol();
-    if (proto.equals("http") || proto.equals("https")) {
+    if (isHttp(uri)) {
       return executeAndMap(request, timeout, headers, contentMapper);
     } else {
       // Local file probably, try standard java
-      try (InputStream is = downloadUrl.openStream()) {
+      try (InputStream is = toUrl(uri).openStream()) {
         return contentMapper.apply(is);
       } catch (Exception e) {
         throw new OtpHttpClientException(e);
@@ -369,6 +396,19 @@ public class OtpHttpClient {
     }
   }
 
+  private static URL toUrl(URI uri) {
+    try {
+      return uri.toURL();
+    } catch (MalformedURLException e) {
+      throw new OtpHttpClientException(e);
+    }
+  }
+
+  private static boolean isHttp(URI uri) {
+    String proto = toUrl(uri).getProtocol();
+    return proto.equals("http") || proto.equals("https");
+  }
+
   /**
    * Configures the request with a custom timeout.
    */
@@ -29,7 +29,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This makes a Graph out of various inputs like GTFS and OSM. It is modular: GraphBuilderModules
- * are placed in a list and run in sequence.
+ * are placed in a list and run in sequence. If {@link OTPFeature#ParallelGraphBuilding} is on,
+ * modules which do not depend on each other run in parallel, see
+ * {@link GraphBuilderModuleScheduler}.
  */
 public class GraphBuilder implements Runnable {
 
@@ -191,11 +193,11 @@ public class GraphBuilder implements Runnable {
       builder.checkInputs();
     }
 
-    for (GraphBuilderModule load : graphBuilderModules) {
-      load.buildGraph();
-    }
+    var scheduler = new GraphBuilderModuleScheduler(graphBuilderModules);
+    scheduler.run(OTPFeature.ParallelGraphBuilding.isOn());
 
     new DataImportIssueSummary(issueStore.listIssues()).logSummary();
+    scheduler.logReport();
 
     // Log before we validate, this way we have more information if the validation fails
     logGraphBuilderCompleteStatus(startTime, graph, timetableRepository);
@@ -1,17 +1,22 @@
 package org.opentripplanner.graph_builder;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.opentripplanner.datastore.api.FileType.DEM;
 import static org.opentripplanner.datastore.api.FileType.GTFS;
 import static org.opentripplanner.datastore.api.FileType.NETEX;
 import static org.opentripplanner.datastore.api.FileType.OSM;
+import static org.opentripplanner.model.projectinfo.OtpProjectInfo.projectInfo;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.io.File;
+import java.io.IOException;
 import java.net.URI;
+import java.util.Comparator;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.opentripplanner.datastore.OtpDataStore;
@@ -19,6 +24,7 @@ import org.opentripplanner.datastore.api.CompositeDataSource;
 import org.opentripplanner.datastore.api.DataSource;
 import org.opentripplanner.datastore.api.FileType;
 import org.opentripplanner.datastore.api.OtpBaseDirectory;
+import org.opentripplanner.datastore.base.ContentHash;
 import org.opentripplanner.framework.application.OtpAppException;
 import org.opentripplanner.graph_builder.module.ned.parameter.DemExtractParameters;
 import org.opentripplanner.graph_builder.module.ned.parameter.DemExtractParametersBuilder;
@@ -57,6 +63,7 @@ public class GraphBuilderDataSources {
   private final DataSource outputGraph;
   private final BuildConfig buildConfig;
   private final File baseDirectory;
+  private String streetGraphInputHash;
 
   /**
    * Create a wrapper around the data-store and resolve which files to import and export. Validate
@@ -214,8 +221,70 @@ public class GraphBuilderDataSources {
     return cacheDirectory;
   }
 
+  /**
+   * Return {@code true} if the street graph exists, and is built from the same OSM and DEM data,
+   * build config and OTP serialization version as the current input. The street graph can then be
+   * reused, there is no need to build it again.
+   */
+  public boolean isStreetGraphUpToDate() {
+    var savedHash = store.getStreetGraphInputHash();
+    if (!store.getStreetGraph().exists() || !savedHash.exists()) {
+      return false;
+    }
+    return new String(savedHash.asBytes(), UTF_8).trim().equals(streetGraphInputHash());
+  }
+
+  /**
+   * Save the content hash of the current street graph input next to the street graph. Call this
+   * when the street graph is saved with reuse enabled, so the hash always match the saved street
+   * graph. The hash is only computed once, so if it was computed by
+   * {@link #isStreetGraphUpToDate()} it is not computed again.
+   */
+  public void saveStreetGraphInputHash() {
+    writeStreetGraphInputHash(streetGraphInputHash());
+  }
+
+  /**
+   * Clear the saved content hash, if it exists. Call this when the street graph is saved without
+   * reuse enabled, so a hash saved for a previous street graph is not matched with this one.
+   */
+  public void clearStreetGraphInputHash() {
+    if (store.getStreetGraphInputHash().exists()) {
+      writeStreetGraphInputHash("");
+    }
+  }
+
   /* private methods */
 
+  /**
+   * The hash of the OSM and DEM data is computed once, these files may be large.
+   */
+  private String streetGraphInputHash() {
+    if (streetGraphInputHash == null) {
+      var hash = new ContentHash()
+        .add(projectInfo().getOtpSerializationVersionId())
+        .add(buildConfig.toJson());
+      for (FileType type : List.of(OSM, DEM)) {
+        inputData
+          .get(type)
+          .stream()
+          .sorted(Comparator.comparing(DataSource::path))
+          .forEach(hash::add);
+      }
+      streetGraphInputHash = hash.toHex();
+    }
+    return streetGraphInputHash;
+  }
+
+  private void writeStreetGraphInputHash(String hash) {
+    var target = store.getStreetGraphInputHash();
+    try (var out = target.asOutputStream()) {
+      out.write(hash.getBytes(UTF_8));
+    } catch (IOException e) {
+      throw new OtpAppException("Failed to write %s: %s", target.path(), e.getMessage());
+    }
+  }
+
   private boolean hasOneOf(FileType... types) {
     for (FileType type : types) {
       if (has(type)) {
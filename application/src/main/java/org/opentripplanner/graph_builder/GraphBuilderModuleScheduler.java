@@ -0,0 +1,186 @@
+package org.opentripplanner.graph_builder;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import org.opentripplanner.framework.time.DurationUtils;
+import org.opentripplanner.graph_builder.model.GraphBuilderModule;
+import org.opentripplanner.graph_builder.model.GraphBuilderResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Run the graph builder modules, and keep track of how long each module take and the peak heap
+ * memory used while it runs.
+ * <p>
+ * In sequential mode the modules run one at the time in the order they are added. In parallel
+ * mode a module is started as soon as all modules added before it, with conflicting
+ * {@link GraphBuilderModule#inputs()} or {@link GraphBuilderModule#outputs()}, are complete. The
+ * peak heap usage is then the peak of all modules running at the same time.
+ */
+class GraphBuilderModuleScheduler {
+
+  private static final Logger LOG = LoggerFactory.getLogger(GraphBuilderModuleScheduler.class);
+  private static final long MB = 1024 * 1024;
+
+  private final List<GraphBuilderModule> modules;
+  private final ModuleReport[] reports;
+  private int nRunningModules = 0;
+
+  GraphBuilderModuleScheduler(List<GraphBuilderModule> modules) {
+    this.modules = List.copyOf(modules);
+    this.reports = new ModuleReport[modules.size()];
+  }
+
+  /**
+   * Return {@code true} if the two modules can NOT run at the same time.
+   */
+  static boolean conflicts(GraphBuilderModule a, GraphBuilderModule b) {
+    return (
+      intersects(a.outputs(), b.inputs()) ||
+      intersects(a.outputs(), b.outputs()) ||
+      intersects(a.inputs(), b.outputs())
+    );
+  }
+
+  void run(boolean parallel) {
+    if (parallel) {
+      runParallel();
+    } else {
+      for (int i = 0; i < modules.size(); ++i) {
+        runModule(i);
+      }
+    }
+  }
+
+  /**
+   * The reports for all modules run, in the order the modules are added.
+   */
+  List<ModuleReport> reports() {
+    var list = new ArrayList<ModuleReport>();
+    for (ModuleReport it : reports) {
+      if (it != null) {
+        list.add(it);
+      }
+    }
+    return list;
+  }
+
+  void logReport() {
+    var list = reports();
+    if (list.isEmpty()) {
+      return;
+    }
+    LOG.info("Graph builder modules (duration, peak heap used):");
+    long peakHeapUsed = 0;
+    for (ModuleReport it : list) {
+      LOG.info(
+        "  {} {} {} MB",
+        String.format("%-36s", it.name()),
+        String.format("%8s", DurationUtils.durationToStr(it.duration())),
+        String.format("%,7d", it.peakHeapUsed() / MB)
+      );
+      peakHeapUsed = Math.max(peakHeapUsed, it.peakHeapUsed());
+    }
+    LOG.info("Graph building peak heap used: {} MB", String.format("%,d", peakHeapUsed / MB));
+  }
+
+  private void runParallel() {
+    var futures = new ArrayList<CompletableFuture<Void>>();
+    var threadFactory = new ThreadFactoryBuilder().setNameFormat("graph-builder-%d").build();
+
+    try (var executor = Executors.newCachedThreadPool(threadFactory)) {
+      for (int i = 0; i < modules.size(); ++i) {
+        var dependencies = new ArrayList<CompletableFuture<Void>>();
+        for (int j = 0; j < i; ++j) {
+          if (conflicts(modules.get(j), modules.get(i))) {
+            dependencies.add(futures.get(j));
+          }
+        }
+        final int index = i;
+        futures.add(
+          CompletableFuture
+            .allOf(dependencies.toArray(CompletableFuture[]::new))
+            .thenRunAsync(() -> runModule(index), executor)
+        );
+      }
+
+      // Wait for all modules to complete, also the ones not depending on a failed module,
+      // before the first error is rethrown.
+      Throwable error = null;
+      for (var future : futures) {
+        try {
+          future.join();
+        } catch (CompletionException e) {
+          if (error == null) {
+            error = e.getCause() == null ? e : e.getCause();
+          }
+        }
+      }
+      if (error instanceof RuntimeException re) {
+        throw re;
+      }
+      if (error instanceof Error e) {
+        throw e;
+      }
+      if (error != null) {
+        throw new RuntimeException(error);
+      }
+    }
+  }
+
+  private void runModule(int index) {
+    var module = modules.get(index);
+    moduleStarted();
+    long start = System.nanoTime();
+    try {
+      module.buildGraph();
+    } finally {
+      var duration = Duration.ofNanos(System.nanoTime() - start);
+      reports[index] = new ModuleReport(moduleName(module), duration, moduleFinished());
+    }
+  }
+
+  /**
+   * The peak heap usage is reset when a module starts and no other module is running.
+   */
+  private synchronized void moduleStarted() {
+    if (nRunningModules++ == 0) {
+      heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+  }
+
+  private synchronized long moduleFinished() {
+    --nRunningModules;
+    // The pools do not peak at the same time, so this is an upper bound
+    return heapPools().stream().mapToLong(it -> it.getPeakUsage().getUsed()).sum();
+  }
+
+  private static List<MemoryPoolMXBean> heapPools() {
+    return ManagementFactory
+      .getMemoryPoolMXBeans()
+      .stream()
+      .filter(it -> it.getType() == MemoryType.HEAP && it.isValid())
+      .toList();
+  }
+
+  private static String moduleName(GraphBuilderModule module) {
+    var name = module.getClass().getSimpleName();
+    return name.isEmpty() ? module.getClass().getName() : name;
+  }
+
+  private static boolean intersects(Set<GraphBuilderResource> a, Set<GraphBuilderResource> b) {
+    return !Collections.disjoint(a, b);
+  }
+
+  record ModuleReport(String name, Duration duration, long peakHeapUsed) {}
+}
@@ -1,5 +1,7 @@
 package org.opentripplanner.graph_builder.model;
 
+import java.util.Set;
+
 /** Modules that add elements to a graph. These are plugins to the GraphBuilder. */
 public interface GraphBuilderModule {
   /**
@@ -12,4 +14,25 @@ public interface GraphBuilderModule {
   default void checkInputs() {
     // the vast majority of modules don't have any checks
   }
+
+  /**
+   * The parts of the model this module read. Together with the {@link #outputs()} this is used to
+   * run modules in parallel, a module is only started when all modules added before it, reading
+   * what it writes or writing what it reads or writes, are complete.
+   * <p>
+   * The default is {@link GraphBuilderResource#ALL}, so the module run alone. Only override this
+   * if the module is thread-safe with respect to the other modules; the issue store is the only
+   * shared service all modules can use concurrently.
+   */
+  default Set<GraphBuilderResource> inputs() {
+    return GraphBuilderResource.ALL;
+  }
+
+  /**
+   * The parts of the model this module write, see {@link #inputs()}. Note! A module without any
+   * inputs and outputs can run in parallel with all other modules.
+   */
+  default Set<GraphBuilderResource> outputs() {
+    return GraphBuilderResource.ALL;
+  }
 }
@@ -0,0 +1,23 @@
+package org.opentripplanner.graph_builder.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The parts of the model a {@link GraphBuilderModule} read or write. This is used to find modules
+ * which do not depend on each other, and can run in parallel.
+ */
+public enum GraphBuilderResource {
+  /** The street vertices and edges in the graph. */
+  STREET_GRAPH,
+  /** The transit model, including the transit stop vertices and pathways added to the graph. */
+  TRANSIT_MODEL,
+  /** The elevation profiles of the street edges. */
+  ELEVATION;
+
+  /** All resources, a module using this can not run in parallel with any other module. */
+  public static final Set<GraphBuilderResource> ALL = Collections.unmodifiableSet(
+    EnumSet.allOf(GraphBuilderResource.class)
+  );
+}
@@ -12,6 +12,7 @@ import org.opentripplanner.graph_builder.issues.ParkAndRideEntranceRemoved;
 import org.opentripplanner.graph_builder.model.GraphBuilderModule;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.routing.linking.LinkingDirection;
+import org.opentripplanner.routing.linking.VertexLinker;
 import org.opentripplanner.routing.vehicle_parking.VehicleParking;
 import org.opentripplanner.routing.vehicle_parking.VehicleParkingHelper;
 import org.opentripplanner.street.model.edge.Edge;
@@ -106,15 +107,17 @@ public class StreetLinkerModule implements GraphBuilderModule {
       );
     }
 
-    for (TransitStopVertex tStop : vertices) {
-      // Stops with pathways do not need to be connected to the street network, since there are explicit entrances defined for that
-      if (tStop.hasPathways()) {
-        continue;
-      }
-      // check if stop is already linked, to allow multiple idempotent linking cycles
-      if (tStop.isConnectedToGraph()) {
-        continue;
-      }
+    // Find the street edges to link each stop to in parallel, this only reads the street graph.
+    // Then link the stops one at the time, in the original order, splitting the street edges.
+    var linker = graph.getLinker();
+    var candidates = vertices
+      .parallelStream()
+      .filter(StreetLinkerModule::needsLinking)
+      .map(tStop -> linker.findPermanentLinkCandidates(tStop, WALK_ONLY))
+      .toList();
+
+    for (VertexLinker.LinkCandidates it : candidates) {
+      var tStop = (TransitStopVertex) it.vertex();
 
       // ordinarily stops only need to be accessible by foot
       StopLinkType linkType = StopLinkType.WALK_ONLY;
@@ -125,7 +128,7 @@ public class StreetLinkerModule implements GraphBuilderModule {
         linkType = StopLinkType.WALK_AND_CAR;
       }
 
-      linkStopToStreetNetwork(tStop, linkType);
+      linkStopToStreetNetwork(it, linkType);
 
       //noinspection Convert2MethodRef
       progress.step(m -> LOG.info(m));
@@ -140,12 +143,15 @@ public class StreetLinkerModule implements GraphBuilderModule {
    * car-accessible. Therefore, flex stops are ensured to be connected to the car-accessible
    * edge. This may lead to several links being created.
    */
-  private void linkStopToStreetNetwork(TransitStopVertex tStop, StopLinkType linkType) {
+  private void linkStopToStreetNetwork(
+    VertexLinker.LinkCandidates candidates,
+    StopLinkType linkType
+  ) {
+    var tStop = (TransitStopVertex) candidates.vertex();
     graph
       .getLinker()
       .linkVertexPermanently(
-        tStop,
-        WALK_ONLY,
+        candidates,
         LinkingDirection.BOTH_WAYS,
         (transitVertex, streetVertex) -> {
           var linkEdges = createStopLinkEdges((TransitStopVertex) transitVertex, streetVertex);
@@ -159,6 +165,15 @@ public class StreetLinkerModule implements GraphBuilderModule {
       );
   }
 
+  private static boolean needsLinking(TransitStopVertex tStop) {
+    // Stops with pathways do not need to be connected to the street network, since there are explicit entrances defined for that
+    if (tStop.hasPathways()) {
+      return false;
+    }
+    // check if stop is already linked, to allow multiple idempotent linking cycles
+    return !tStop.isConnectedToGraph();
+  }
+
   /**
    * If regular stops or group stops are used for flex trips, they also need to be connected to car
    * routable street edges.
@@ -16,6 +16,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.geotools.api.coverage.Coverage;
@@ -37,6 +38,7 @@ import org.opentripplanner.graph_builder.issues.ElevationFlattened;
 import org.opentripplanner.graph_builder.issues.ElevationProfileFailure;
 import org.opentripplanner.graph_builder.issues.Graphwide;
 import org.opentripplanner.graph_builder.model.GraphBuilderModule;
+import org.opentripplanner.graph_builder.model.GraphBuilderResource;
 import org.opentripplanner.graph_builder.services.ned.ElevationGridCoverageFactory;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.street.model.edge.Edge;
@@ -168,6 +170,16 @@ public class ElevationModule implements GraphBuilderModule {
     this.distanceBetweenSamplesM = distanceBetweenSamplesM;
   }
 
+  @Override
+  public Set<GraphBuilderResource> inputs() {
+    return Set.of(GraphBuilderResource.STREET_GRAPH);
+  }
+
+  @Override
+  public Set<GraphBuilderResource> outputs() {
+    return Set.of(GraphBuilderResource.ELEVATION);
+  }
+
   @Override
   public void buildGraph() {
     Instant start = Instant.now();
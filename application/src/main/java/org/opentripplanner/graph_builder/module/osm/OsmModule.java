@@ -8,6 +8,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.LineString;
@@ -17,6 +18,7 @@ import org.opentripplanner.framework.i18n.I18NString;
 import org.opentripplanner.framework.logging.ProgressTracker;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.graph_builder.model.GraphBuilderModule;
+import org.opentripplanner.graph_builder.model.GraphBuilderResource;
 import org.opentripplanner.graph_builder.module.osm.parameters.OsmProcessingParameters;
 import org.opentripplanner.osm.OsmProvider;
 import org.opentripplanner.osm.model.OsmLevel;
@@ -83,6 +85,16 @@ public class OsmModule implements GraphBuilderModule {
     return of(List.of(provider), graph);
   }
 
+  @Override
+  public Set<GraphBuilderResource> inputs() {
+    return Set.of();
+  }
+
+  @Override
+  public Set<GraphBuilderResource> outputs() {
+    return Set.of(GraphBuilderResource.STREET_GRAPH);
+  }
+
   @Override
   public void buildGraph() {
     for (OsmProvider provider : providers) {
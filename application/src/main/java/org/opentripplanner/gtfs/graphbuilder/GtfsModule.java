@@ -1,14 +1,22 @@
 package org.opentripplanner.gtfs.graphbuilder;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.awt.Color;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.onebusaway.csv_entities.EntityHandler;
 import org.onebusaway.gtfs.impl.GtfsRelationalDaoImpl;
 import org.onebusaway.gtfs.model.Agency;
@@ -35,6 +43,7 @@ import org.opentripplanner.ext.flex.FlexTripsMapper;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.graph_builder.model.GraphBuilderModule;
+import org.opentripplanner.graph_builder.model.GraphBuilderResource;
 import org.opentripplanner.graph_builder.module.AddTransitEntitiesToGraph;
 import org.opentripplanner.graph_builder.module.GtfsFeedId;
 import org.opentripplanner.graph_builder.module.ValidateAndInterpolateStopTimesForEachTrip;
@@ -67,7 +76,9 @@ public class GtfsModule implements GraphBuilderModule {
   );
 
   private static final Logger LOG = LoggerFactory.getLogger(GtfsModule.class);
-  private final EntityHandler counter = new EntityCounter();
+
+  /** The max number of bundles to read ahead of the bundle being mapped, including it. */
+  private static final int MAX_BUNDLES_LOADING = 4;
   private final Set<String> agencyIdsSeen = new HashSet<>();
   /**
    * @see BuildConfig#transitServiceStart
@@ -114,6 +125,16 @@ public class GtfsModule implements GraphBuilderModule {
     );
   }
 
+  @Override
+  public Set<GraphBuilderResource> inputs() {
+    return Set.of();
+  }
+
+  @Override
+  public Set<GraphBuilderResource> outputs() {
+    return Set.of(GraphBuilderResource.TRANSIT_MODEL);
+  }
+
   @Override
   public void buildGraph() {
     CalendarServiceData calendarServiceData = new CalendarServiceData();
@@ -122,9 +143,9 @@ public class GtfsModule implements GraphBuilderModule {
 
     Map<String, GtfsBundle> feedIdsEncountered = new HashMap<>();
 
-    try {
+    try (var loader = new BundleLoader(OTPFeature.ParallelGraphBuilding.isOn())) {
       for (GtfsBundle gtfsBundle : gtfsBundles) {
-        GtfsMutableRelationalDao gtfsDao = loadBundle(gtfsBundle);
+        GtfsMutableRelationalDao gtfsDao = loader.next();
 
         final String feedId = gtfsBundle.getFeedId().getId();
         verifyUniqueFeedId(gtfsBundle, feedIdsEncountered, feedId);
@@ -304,7 +325,14 @@ public class GtfsModule implements GraphBuilderModule {
     );
   }
 
-  private GtfsMutableRelationalDao loadBundle(GtfsBundle gtfsBundle) throws IOException {
+  /**
+   * Start loading the given bundle. The agencies are read, and the agency ids are checked, in the
+   * calling thread. The ids generated for missing or duplicate agency ids depend on the bundles
+   * loaded before this one, so this part must be done in the bundle order. The returned task read
+   * the rest of the bundle, it can run in another thread.
+   */
+  private Callable<GtfsMutableRelationalDao> loadBundle(GtfsBundle gtfsBundle)
+    throws IOException {
     StoreImpl store = new StoreImpl(new GtfsRelationalDaoImpl());
     store.open();
     LOG.info("reading {}", gtfsBundle.toString());
@@ -317,46 +345,58 @@ public class GtfsModule implements GraphBuilderModule {
     reader.setInternStrings(true);
     reader.setDefaultAgencyId(gtfsFeedId.getId());
 
-    if (LOG.isDebugEnabled()) reader.addEntityHandler(counter);
-
-    for (Class<?> entityClass : reader.getEntityClasses()) {
-      if (skipEntityClass(entityClass)) {
-        LOG.info("Skipping entity: {}", entityClass.getName());
-        continue;
+    if (LOG.isDebugEnabled()) reader.addEntityHandler(new EntityCounter());
+
+    // NOTE that agencies are first in the list and read before all other entity types, so it is effective to
+    // set the agencyId here. Each feed ("bundle") is loaded by a separate reader, so there is no risk of
+    // agency mappings accumulating.
+    readEntities(reader, store, Agency.class);
+    for (Agency agency : reader.getAgencies()) {
+      String agencyId = agency.getId();
+      LOG.info("This Agency has the ID {}", agencyId);
+      // Somehow, when the agency's id field is missing, OBA replaces it with the agency's name.
+      // TODO Figure out how and why this is happening.
+      if (agencyId == null || agencyIdsSeen.contains(gtfsFeedId.getId() + agencyId)) {
+        // Loop in case generated name is already in use.
+        String generatedAgencyId = null;
+        while (generatedAgencyId == null || agencyIdsSeen.contains(generatedAgencyId)) {
+          generatedAgencyId = "F" + nextAgencyId;
+          nextAgencyId++;
+        }
+        LOG.warn(
+          "The agency ID '{}' was already seen, or I think it's bad. Replacing with '{}'.",
+          agencyId,
+          generatedAgencyId
+        );
+        reader.addAgencyIdMapping(agencyId, generatedAgencyId); // NULL key should work
+        agency.setId(generatedAgencyId);
+        agencyId = generatedAgencyId;
       }
-      LOG.info("Reading entity: {}", entityClass.getName());
-      reader.readEntities(entityClass);
-      store.flush();
-      // NOTE that agencies are first in the list and read before all other entity types, so it is effective to
-      // set the agencyId here. Each feed ("bundle") is loaded by a separate reader, so there is no risk of
-      // agency mappings accumulating.
-      if (entityClass == Agency.class) {
-        for (Agency agency : reader.getAgencies()) {
-          String agencyId = agency.getId();
-          LOG.info("This Agency has the ID {}", agencyId);
-          // Somehow, when the agency's id field is missing, OBA replaces it with the agency's name.
-          // TODO Figure out how and why this is happening.
-          if (agencyId == null || agencyIdsSeen.contains(gtfsFeedId.getId() + agencyId)) {
-            // Loop in case generated name is already in use.
-            String generatedAgencyId = null;
-            while (generatedAgencyId == null || agencyIdsSeen.contains(generatedAgencyId)) {
-              generatedAgencyId = "F" + nextAgencyId;
-              nextAgencyId++;
-            }
-            LOG.warn(
-              "The agency ID '{}' was already seen, or I think it's bad. Replacing with '{}'.",
-              agencyId,
-              generatedAgencyId
-            );
-            reader.addAgencyIdMapping(agencyId, generatedAgencyId); // NULL key should work
-            agency.setId(generatedAgencyId);
-            agencyId = generatedAgencyId;
-          }
-          if (agencyId != null) agencyIdsSeen.add(gtfsFeedId.getId() + agencyId);
+      if (agencyId != null) agencyIdsSeen.add(gtfsFeedId.getId() + agencyId);
+    }
+
+    return () -> {
+      for (Class<?> entityClass : reader.getEntityClasses()) {
+        if (entityClass != Agency.class) {
+          readEntities(reader, store, entityClass);
         }
       }
+      return completeLoading(reader, store);
+    };
+  }
+
+  private void readEntities(GtfsReader reader, StoreImpl store, Class<?> entityClass)
+    throws IOException {
+    if (skipEntityClass(entityClass)) {
+      LOG.info("Skipping entity: {}", entityClass.getName());
+      return;
     }
+    LOG.info("Reading entity: {}", entityClass.getName());
+    reader.readEntities(entityClass);
+    store.flush();
+  }
 
+  private GtfsMutableRelationalDao completeLoading(GtfsReader reader, StoreImpl store) {
     for (ShapePoint shapePoint : store.getAllEntitiesForType(ShapePoint.class)) {
       shapePoint.getShapeId().setAgencyId(reader.getDefaultAgencyId());
     }
@@ -448,6 +488,70 @@ public class GtfsModule implements GraphBuilderModule {
     route.setTextColor(textColor);
   }
 
+  /**
+   * Load the bundles in order. In parallel mode the next bundles are read in the background while
+   * the current bundle is mapped. To limit the memory used, at most
+   * {@link #MAX_BUNDLES_LOADING} bundles are loaded and not mapped at any time.
+   */
+  private class BundleLoader implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final Deque<Future<GtfsMutableRelationalDao>> loading = new ArrayDeque<>();
+    private int nextBundle = 0;
+
+    private BundleLoader(boolean parallel) {
+      this.executor =
+        parallel && gtfsBundles.size() > 1
+          ? Executors.newFixedThreadPool(
+            MAX_BUNDLES_LOADING,
+            new ThreadFactoryBuilder().setNameFormat("gtfs-loader-%d").build()
+          )
+          : null;
+    }
+
+    private GtfsMutableRelationalDao next() throws IOException {
+      if (executor == null) {
+        return call(loadBundle(gtfsBundles.get(nextBundle++)));
+      }
+      while (nextBundle < gtfsBundles.size() && loading.size() < MAX_BUNDLES_LOADING) {
+        loading.add(executor.submit(loadBundle(gtfsBundles.get(nextBundle++))));
+      }
+      try {
+        return loading.removeFirst().get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof IOException io) {
+          throw io;
+        }
+        if (e.getCause() instanceof RuntimeException re) {
+          throw re;
+        }
+        throw new RuntimeException(e.getCause());
+      }
+    }
+
+    @Override
+    public void close() {
+      if (executor != null) {
+        executor.shutdownNow();
+        executor.close();
+      }
+    }
+
+    private static GtfsMutableRelationalDao call(Callable<GtfsMutableRelationalDao> task)
+      throws IOException {
+      try {
+        return task.call();
+      } catch (IOException | RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
   private static class StoreImpl implements GenericMutableDao {
 
     private final GtfsMutableRelationalDao dao;
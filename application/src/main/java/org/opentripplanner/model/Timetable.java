@@ -62,6 +62,9 @@ public class Timetable implements Serializable {
   @Nullable
   private final LocalDate serviceDate;
 
+  /** Created on first use, the timetable is immutable so the index never needs to be updated. */
+  private transient volatile TimetableStopTimesIndex stopTimesIndex;
+
   Timetable(TimetableBuilder timetableBuilder) {
     this.pattern = timetableBuilder.getPattern();
     this.serviceDate = timetableBuilder.getServiceDate();
@@ -406,6 +409,19 @@ public class Timetable implements Serializable {
     return tripTimes;
   }
 
+  /**
+   * The trip times sorted by arrival and departure time at each stop. Use this to find the next
+   * trips passing a stop without going through all trip times.
+   */
+  public TimetableStopTimesIndex getStopTimesIndex() {
+    var index = stopTimesIndex;
+    if (index == null) {
+      index = new TimetableStopTimesIndex(tripTimes, pattern.numberOfStops());
+      stopTimesIndex = index;
+    }
+    return index;
+  }
+
   /**
    * Contains one FrequencyEntry object for each block of frequency-based trips.
    */
@@ -0,0 +1,125 @@
+package org.opentripplanner.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ToIntBiFunction;
+import org.opentripplanner.transit.model.timetable.TripTimes;
+
+/**
+ * The trips in a {@link Timetable} sorted by the arrival and departure time at each stop in the
+ * pattern. This is used to look up the next departures from a stop with a binary search, instead
+ * of going through all trips in the timetable.
+ * <p>
+ * The index for a stop position is created the first time it is used. A timetable and its trip
+ * times are not changed after the timetable is created, a real-time update creates a new
+ * timetable. Hence, the index never needs to be updated, a timetable touched by a
+ * {@link TimetableSnapshot} commit gets a new empty index, while all other timetables keep theirs.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE
+ */
+public final class TimetableStopTimesIndex {
+
+  private final List<TripTimes> tripTimes;
+  private final AtomicReferenceArray<SortedStopTimes> arrivals;
+  private final AtomicReferenceArray<SortedStopTimes> departures;
+
+  TimetableStopTimesIndex(List<TripTimes> tripTimes, int numberOfStops) {
+    this.tripTimes = tripTimes;
+    this.arrivals = new AtomicReferenceArray<>(numberOfStops);
+    this.departures = new AtomicReferenceArray<>(numberOfStops);
+  }
+
+  /** The trips sorted by arrival time at the given stop position. */
+  public SortedStopTimes arrivals(int stopPos) {
+    return get(arrivals, stopPos, TripTimes::getArrivalTime);
+  }
+
+  /** The trips sorted by departure time at the given stop position. */
+  public SortedStopTimes departures(int stopPos) {
+    return get(departures, stopPos, TripTimes::getDepartureTime);
+  }
+
+  private SortedStopTimes get(
+    AtomicReferenceArray<SortedStopTimes> cache,
+    int stopPos,
+    ToIntBiFunction<TripTimes, Integer> time
+  ) {
+    var value = cache.get(stopPos);
+    if (value == null) {
+      // Two threads may create the same index, both are equal so it does not matter which one wins
+      value = SortedStopTimes.of(tripTimes, stopPos, time);
+      cache.set(stopPos, value);
+    }
+    return value;
+  }
+
+  /**
+   * The arrival or departure times at one stop sorted in ascending order, and the index of the
+   * trip times in the timetable for each of them.
+   */
+  public static final class SortedStopTimes {
+
+    private final int[] times;
+    private final int[] tripIndexes;
+
+    private SortedStopTimes(int[] times, int[] tripIndexes) {
+      this.times = times;
+      this.tripIndexes = tripIndexes;
+    }
+
+    private static SortedStopTimes of(
+      List<TripTimes> tripTimes,
+      int stopPos,
+      ToIntBiFunction<TripTimes, Integer> time
+    ) {
+      int n = tripTimes.size();
+      // Sort on time and trip index, the trip index is the lower 32 bits of the sort key
+      long[] keys = new long[n];
+      for (int i = 0; i < n; ++i) {
+        keys[i] = ((long) time.applyAsInt(tripTimes.get(i), stopPos) << 32) | i;
+      }
+      Arrays.sort(keys);
+
+      int[] times = new int[n];
+      int[] tripIndexes = new int[n];
+      for (int i = 0; i < n; ++i) {
+        times[i] = (int) (keys[i] >> 32);
+        tripIndexes[i] = (int) keys[i];
+      }
+      return new SortedStopTimes(times, tripIndexes);
+    }
+
+    public int size() {
+      return times.length;
+    }
+
+    /** The time at the given position, in seconds since the start of the service day. */
+    public int time(int index) {
+      return times[index];
+    }
+
+    /** The index of the trip times in the timetable, for the given position. */
+    public int tripIndex(int index) {
+      return tripIndexes[index];
+    }
+
+    /**
+     * Return the position of the first time at or after the given time, or {@link #size()} if all
+     * times are before it.
+     */
+    public int firstIndexAtOrAfter(int time) {
+      int low = 0;
+      int high = times.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (times[mid] < time) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+  }
+}
@@ -1,10 +1,12 @@
 package org.opentripplanner.model.plan;
 
+import com.google.common.base.Suppliers;
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import org.locationtech.jts.geom.LineString;
 import org.opentripplanner.framework.lang.DoubleUtils;
@@ -16,6 +18,9 @@ import org.opentripplanner.street.search.TraverseMode;
 /**
  * One leg of a trip -- that is, a temporally continuous piece of the journey that takes place using
  * mainly a single model on the street network.
+ * <p>
+ * The geometry may be created lazily, the first time it is accessed. Most itineraries are removed
+ * by the itinerary filter chain, and the clients do not always ask for it.
  */
 public class StreetLeg implements Leg {
 
@@ -26,7 +31,7 @@ public class StreetLeg implements Leg {
   private final Place from;
   private final Place to;
   private final int generalizedCost;
-  private final LineString legGeometry;
+  private final Supplier<LineString> legGeometry;
   private final List<WalkStep> walkSteps;
   private final Set<StreetNote> streetNotes;
   private final ElevationProfile elevationProfile;
@@ -45,7 +50,7 @@ public class StreetLeg implements Leg {
     this.to = builder.getTo();
     this.generalizedCost = builder.getGeneralizedCost();
     this.elevationProfile = builder.getElevationProfile();
-    this.legGeometry = builder.getGeometry();
+    this.legGeometry = memoize(builder.geometrySupplier());
     this.walkSteps = builder.getWalkSteps();
     this.streetNotes = Set.copyOf(builder.getStreetNotes());
     this.walkingBike = builder.getWalkingBike();
@@ -104,7 +109,7 @@ public class StreetLeg implements Leg {
 
   @Override
   public LineString getLegGeometry() {
-    return legGeometry;
+    return legGeometry.get();
   }
 
   /**
@@ -189,6 +194,10 @@ public class StreetLeg implements Leg {
     return StreetLegBuilder.of(this).withAccessibilityScore(accessibilityScore).build();
   }
 
+  Supplier<LineString> legGeometrySupplier() {
+    return legGeometry;
+  }
+
   /**
    * Should be used for debug logging only.
    * <p>
@@ -212,4 +221,11 @@ public class StreetLeg implements Leg {
       .addStr("bikeRentalNetwork", vehicleRentalNetwork)
       .toString();
   }
+
+  /**
+   * Return a thread-safe supplier which calls the given supplier at most once.
+   */
+  private static <T> Supplier<T> memoize(@Nullable Supplier<T> supplier) {
+    return supplier == null ? () -> null : Suppliers.memoize(supplier::get);
+  }
 }
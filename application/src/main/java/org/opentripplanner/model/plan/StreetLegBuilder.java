@@ -4,6 +4,7 @@ import java.time.ZonedDateTime;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 import org.locationtech.jts.geom.LineString;
 import org.opentripplanner.street.model.note.StreetNote;
 import org.opentripplanner.street.search.TraverseMode;
@@ -17,7 +18,7 @@ public class StreetLegBuilder {
   private Place to;
   private double distanceMeters;
   private int generalizedCost;
-  private LineString geometry;
+  private Supplier<LineString> geometry;
   private ElevationProfile elevationProfile;
   private List<WalkStep> walkSteps;
   private Boolean walkingBike;
@@ -37,7 +38,7 @@ public class StreetLegBuilder {
       .withTo(leg.getTo())
       .withDistanceMeters(leg.getDistanceMeters())
       .withGeneralizedCost(leg.getGeneralizedCost())
-      .withGeometry(leg.getLegGeometry())
+      .withLazyGeometry(leg.legGeometrySupplier())
       .withElevationProfile(leg.getElevationProfile())
       .withWalkSteps(leg.getWalkSteps())
       .withWalkingBike(leg.getWalkingBike())
@@ -80,7 +81,7 @@ public class StreetLegBuilder {
   }
 
   public LineString getGeometry() {
-    return geometry;
+    return geometry == null ? null : geometry.get();
   }
 
   public ElevationProfile getElevationProfile() {
@@ -91,6 +92,10 @@ public class StreetLegBuilder {
     return walkSteps;
   }
 
+  Supplier<LineString> geometrySupplier() {
+    return geometry;
+  }
+
   public Boolean getWalkingBike() {
     return walkingBike;
   }
@@ -147,6 +152,15 @@ public class StreetLegBuilder {
   }
 
   public StreetLegBuilder withGeometry(LineString geometry) {
+    this.geometry = geometry == null ? null : () -> geometry;
+    return this;
+  }
+
+  /**
+   * Set a supplier for the geometry. The geometry is created the first time it is accessed, and
+   * not at all if no one access it.
+   */
+  public StreetLegBuilder withLazyGeometry(Supplier<LineString> geometry) {
     this.geometry = geometry;
     return this;
   }
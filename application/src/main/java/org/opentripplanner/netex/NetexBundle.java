@@ -1,13 +1,21 @@
 package org.opentripplanner.netex;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import jakarta.xml.bind.JAXBException;
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
 import org.opentripplanner.datastore.api.CompositeDataSource;
 import org.opentripplanner.datastore.api.DataSource;
+import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.model.impl.OtpTransitServiceBuilder;
 import org.opentripplanner.netex.config.IgnorableFeature;
@@ -39,6 +47,12 @@ public class NetexBundle implements Closeable {
 
   private static final Logger LOG = LoggerFactory.getLogger(NetexBundle.class);
 
+  private static final int N_PARSER_THREADS = Math.min(
+    8,
+    Runtime.getRuntime().availableProcessors()
+  );
+  private static final int MAX_FILES_PARSED_AHEAD = 2 * N_PARSER_THREADS;
+
   private final CompositeDataSource source;
 
   private final NetexDataSourceHierarchy hierarchy;
@@ -104,7 +118,9 @@ public class NetexBundle implements Closeable {
       );
 
     // Load data
-    loadFileEntries();
+    try (var parseExecutor = createParseExecutor()) {
+      loadFileEntries(parseExecutor);
+    }
 
     return transitBuilder;
   }
@@ -122,8 +138,23 @@ public class NetexBundle implements Closeable {
     source.close();
   }
 
+  /**
+   * Return an executor to parse the independent group files in parallel, or {@code null} if the
+   * files should be parsed in the calling thread.
+   */
+  @Nullable
+  private static ExecutorService createParseExecutor() {
+    if (OTPFeature.ParallelGraphBuilding.isOff()) {
+      return null;
+    }
+    return Executors.newFixedThreadPool(
+      N_PARSER_THREADS,
+      new ThreadFactoryBuilder().setNameFormat("netex-parser-%d").build()
+    );
+  }
+
   /** Load all files entries in the bundle */
-  private void loadFileEntries() {
+  private void loadFileEntries(@Nullable ExecutorService parseExecutor) {
     // Load global shared files
     loadFilesThenMapToTimetableRepository("shared file", hierarchy.sharedEntries());
 
@@ -134,11 +165,15 @@ public class NetexBundle implements Closeable {
         // Load shared group files
         loadFilesThenMapToTimetableRepository("shared group file", group.sharedEntries());
 
-        for (DataSource entry : group.independentEntries()) {
-          scopeInputData(() -> {
-            // Load each independent file in group
-            loadFilesThenMapToTimetableRepository("group file", List.of(entry));
-          });
+        if (parseExecutor == null) {
+          for (DataSource entry : group.independentEntries()) {
+            scopeInputData(() -> {
+              // Load each independent file in group
+              loadFilesThenMapToTimetableRepository("group file", List.of(entry));
+            });
+          }
+        } else {
+          loadIndependentEntriesInParallel(group.independentEntries(), parseExecutor);
         }
       });
     }
@@ -146,6 +181,49 @@ public class NetexBundle implements Closeable {
     NetexDocumentParser.finishUp();
   }
 
+  /**
+   * Parse the XML of the independent group files in parallel, ahead of the file being indexed and
+   * mapped. The files are indexed and mapped in the calling thread, in the same order as when
+   * loaded sequentially. Parsing the XML is the most expensive part, indexing and mapping a file
+   * must be done in order. To limit the memory used, at most {@link #MAX_FILES_PARSED_AHEAD}
+   * parsed documents are kept at any time.
+   */
+  private void loadIndependentEntriesInParallel(
+    Collection<DataSource> entries,
+    ExecutorService parseExecutor
+  ) {
+    var pending = new ArrayDeque<Future<PublicationDeliveryStructure>>();
+    var toParse = entries.iterator();
+
+    for (DataSource entry : entries) {
+      while (toParse.hasNext() && pending.size() < MAX_FILES_PARSED_AHEAD) {
+        var next = toParse.next();
+        pending.add(parseExecutor.submit(() -> xmlParser.parseXmlDoc(next.asInputStream())));
+      }
+      var doc = awaitParsedDoc(pending.removeFirst());
+      scopeInputData(() -> {
+        populateIndex("group file", entry, doc);
+        validateAndMapToTimetableRepository();
+      });
+    }
+  }
+
+  private static PublicationDeliveryStructure awaitParsedDoc(
+    Future<PublicationDeliveryStructure> doc
+  ) {
+    try {
+      return doc.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+    }
+  }
+
   /**
    * make a new index and pushes it on the index stack, before executing the task and at the end pop
    * of the index.
@@ -172,7 +250,10 @@ public class NetexBundle implements Closeable {
       // Load entry and store it in the index
       loadSingeFileEntry(fileDescription, entry);
     }
+    validateAndMapToTimetableRepository();
+  }
 
+  private void validateAndMapToTimetableRepository() {
     // Validate input data, and remove invalid data
     Validator.validate(index, issueStore);
 
@@ -182,13 +263,25 @@ public class NetexBundle implements Closeable {
 
   /** Load a single entry and store it in the index for later */
   private void loadSingeFileEntry(String fileDescription, DataSource entry) {
+    PublicationDeliveryStructure doc;
+    try {
+      doc = xmlParser.parseXmlDoc(entry.asInputStream());
+    } catch (JAXBException e) {
+      throw new RuntimeException(e.getMessage(), e);
+    }
+    populateIndex(fileDescription, entry, doc);
+  }
+
+  /** Store the entities of a parsed entry in the index */
+  private void populateIndex(
+    String fileDescription,
+    DataSource entry,
+    PublicationDeliveryStructure doc
+  ) {
     try {
       LOG.info("reading entity {}: {}", fileDescription, entry.name());
       issueStore.startProcessingSource(entry.name());
-      PublicationDeliveryStructure doc = xmlParser.parseXmlDoc(entry.asInputStream());
       NetexDocumentParser.parseAndPopulateIndex(index, doc, ignoredFeatures);
-    } catch (JAXBException e) {
-      throw new RuntimeException(e.getMessage(), e);
     } finally {
       issueStore.stopProcessingSource();
     }
@@ -1,10 +1,12 @@
 package org.opentripplanner.netex;
 
 import java.util.List;
+import java.util.Set;
 import org.opentripplanner.ext.flex.FlexTripsMapper;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.graph_builder.model.GraphBuilderModule;
+import org.opentripplanner.graph_builder.model.GraphBuilderResource;
 import org.opentripplanner.graph_builder.module.AddTransitEntitiesToGraph;
 import org.opentripplanner.graph_builder.module.ValidateAndInterpolateStopTimesForEachTrip;
 import org.opentripplanner.model.OtpTransitService;
@@ -55,6 +57,16 @@ public class NetexModule implements GraphBuilderModule {
     this.netexBundles = netexBundles;
   }
 
+  @Override
+  public Set<GraphBuilderResource> inputs() {
+    return Set.of();
+  }
+
+  @Override
+  public Set<GraphBuilderResource> outputs() {
+    return Set.of(GraphBuilderResource.TRANSIT_MODEL);
+  }
+
   @Override
   public void buildGraph() {
     try {
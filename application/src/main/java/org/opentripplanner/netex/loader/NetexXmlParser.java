@@ -7,32 +7,45 @@ import jakarta.xml.bind.Unmarshaller;
 import java.io.InputStream;
 import org.rutebanken.netex.model.PublicationDeliveryStructure;
 
-/** Simple wrapper to perform typesafe xml parsing and simple error handling. */
+/**
+ * Simple wrapper to perform typesafe xml parsing and simple error handling.
+ * <p>
+ * This class is thread-safe. The JAXB context is shared by all instances, but an unmarshaller is
+ * not thread-safe, so each thread get its own.
+ */
 public class NetexXmlParser {
 
-  /** used to parse the XML. */
-  private final Unmarshaller unmarshaller;
+  /** The context is thread-safe and expensive to create, so it is shared by all parsers. */
+  private static final JAXBContext CONTEXT = createContext();
 
-  public NetexXmlParser() {
-    this.unmarshaller = createUnmarshaller();
-  }
+  /** used to parse the XML, one per thread. */
+  private final ThreadLocal<Unmarshaller> unmarshaller = ThreadLocal.withInitial(
+    this::createUnmarshaller
+  );
 
   /**
    * Parse an input stream and return the root document type for the given xml file (stream).
    */
   public PublicationDeliveryStructure parseXmlDoc(InputStream stream) throws JAXBException {
     JAXBElement<PublicationDeliveryStructure> root;
+    var u = unmarshaller.get();
 
-    //noinspection unchecked
-    root = (JAXBElement<PublicationDeliveryStructure>) unmarshaller.unmarshal(stream);
-
+    // Repeated values are shared while the document is read, see NetexEntityCompactor
+    u.setListener(new NetexEntityCompactor());
+    try {
+      //noinspection unchecked
+      root = (JAXBElement<PublicationDeliveryStructure>) u.unmarshal(stream);
+    } finally {
+      // Release the values seen, the listener is not needed after the document is parsed
+      u.setListener(null);
+    }
     return root.getValue();
   }
 
-  /** factory method for unmarshaller */
-  private static Unmarshaller createUnmarshaller() {
+  /** factory method for the JAXB context */
+  private static JAXBContext createContext() {
     try {
-      return JAXBContext.newInstance(PublicationDeliveryStructure.class).createUnmarshaller();
+      return JAXBContext.newInstance(PublicationDeliveryStructure.class);
     } catch (JAXBException e) {
       // This is a programming error - not expected!
       // We abort early and also allow for this to happen in the constructor;
@@ -40,4 +53,14 @@ public class NetexXmlParser {
       throw new RuntimeException(e);
     }
   }
+
+  /** factory method for unmarshaller */
+  private Unmarshaller createUnmarshaller() {
+    try {
+      return CONTEXT.createUnmarshaller();
+    } catch (JAXBException e) {
+      // This is a programming error - not expected!
+      throw new RuntimeException(e);
+    }
+  }
 }
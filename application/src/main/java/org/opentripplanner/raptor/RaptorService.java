@@ -71,7 +71,7 @@ public class RaptorService<T extends RaptorTripSchedule> {
     var rangeRaptorRouter = config.createRangeRaptorWithStdWorker(transitData, request);
     var result = rangeRaptorRouter.route();
     var arrivals = new DefaultStopArrivals(result);
-    return new RaptorResponse<>(result.extractPaths(), arrivals, request, false);
+    return new RaptorResponse<>(result.extractPaths(), arrivals, request, false, false);
   }
 
   private static <T extends RaptorTripSchedule> void logRequest(RaptorRequest<T> request) {
@@ -32,7 +32,20 @@ public enum Optimization {
    * <p>
    * This only apply to: multi-criteria search.
    */
-  PARETO_CHECK_AGAINST_DESTINATION;
+  PARETO_CHECK_AGAINST_DESTINATION,
+
+  /**
+   * Keep the stop arrivals sorted on arrival-time in each stop pareto set. All stop arrival
+   * comparators are consistent with arrival-time, so a new arrival only needs to be compared with
+   * the arrivals arriving at the same time or before it to see if it is rejected, and only with
+   * the arrivals arriving at the same time or after it to find the arrivals it dominates. This
+   * reduce the number of comparisons for stops with many arrivals, but the arrivals added in
+   * each round must be sorted. Use the SpeedTest to compare the performance with and without this
+   * optimization for a given network.
+   * <p>
+   * This only apply to: multi-criteria search.
+   */
+  SORTED_STOP_ARRIVALS;
 
   public boolean is(Optimization other) {
     return this == other;
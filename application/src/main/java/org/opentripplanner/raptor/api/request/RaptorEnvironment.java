@@ -32,7 +32,8 @@ public interface RaptorEnvironment {
 
   /**
    * Inject a thread pool into Raptor to run part of the raptor search in parallel. If no
-   * thread pool is provided, then Raptor runs everything in the caller thread.
+   * thread pool is provided, then Raptor runs everything in the caller thread. This is called
+   * once, when the {@code RaptorConfig} is created.
    */
   @Nullable
   default ExecutorService threadPool() {
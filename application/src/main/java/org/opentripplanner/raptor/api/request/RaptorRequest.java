@@ -133,6 +133,10 @@ public class RaptorRequest<T extends RaptorTripSchedule> {
     return optimizationEnabled(Optimization.PARETO_CHECK_AGAINST_DESTINATION);
   }
 
+  public boolean useSortedStopArrivals() {
+    return optimizationEnabled(Optimization.SORTED_STOP_ARRIVALS);
+  }
+
   public boolean runInParallel() {
     return optimizationEnabled(Optimization.PARALLEL);
   }
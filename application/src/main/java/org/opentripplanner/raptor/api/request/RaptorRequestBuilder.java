@@ -164,6 +164,10 @@ public class RaptorRequestBuilder<T extends RaptorTripSchedule> {
       // Heuristic to prune on pareto optimal Destination arrivals
       name += "-DP";
     }
+    if (Optimization.SORTED_STOP_ARRIVALS.isOneOf(optimizations)) {
+      // Stop arrivals sorted on arrival-time
+      name += "-SA";
+    }
     return name;
   }
 
@@ -1,5 +1,7 @@
 package org.opentripplanner.raptor.api.request;
 
+import java.time.Duration;
+
 /**
  * Tuning parameters - changing these parameters change the performance (speed and/or memory
  * consumption).
@@ -20,6 +22,16 @@ public interface RaptorTuningParameters {
     return 60;
   }
 
+  /** see {@link org.opentripplanner.standalone.config.routerconfig.TransitRoutingConfig} **/
+  default int heuristicsCacheMaxSize() {
+    return 0;
+  }
+
+  /** see {@link org.opentripplanner.standalone.config.routerconfig.TransitRoutingConfig} **/
+  default Duration softSearchTimeLimit() {
+    return Duration.ZERO;
+  }
+
   /**
    * Coefficients used to calculate raptor-search-window parameters dynamically  from heuristics.
    */
@@ -20,17 +20,20 @@ public class RaptorResponse<T extends RaptorTripSchedule> {
   private final RaptorRequest<T> requestUsed;
   private final StopArrivals arrivals;
   private final boolean heuristicPathExist;
+  private final boolean softSearchTimeLimitReached;
 
   public RaptorResponse(
     Collection<RaptorPath<T>> paths,
     StopArrivals arrivals,
     RaptorRequest<T> requestUsed,
-    boolean heuristicPathExist
+    boolean heuristicPathExist,
+    boolean softSearchTimeLimitReached
   ) {
     this.paths = paths;
     this.arrivals = arrivals;
     this.requestUsed = requestUsed;
     this.heuristicPathExist = heuristicPathExist;
+    this.softSearchTimeLimitReached = softSearchTimeLimitReached;
   }
 
   /**
@@ -71,12 +74,22 @@ public class RaptorResponse<T extends RaptorTripSchedule> {
     return paths.isEmpty() && !heuristicPathExist;
   }
 
+  /**
+   * Return {@code true} if the main search stopped at the soft search time-limit, before the
+   * whole search-window was searched. The search-window in the {@link #requestUsed()} is cropped
+   * to the part searched, so the paths found are still optimal within the search-window used.
+   */
+  public boolean isSoftSearchTimeLimitReached() {
+    return softSearchTimeLimitReached;
+  }
+
   @Override
   public String toString() {
     return ToStringBuilder
       .of(RaptorResponse.class)
       .addObj("paths", paths)
       .addObj("requestUsed", requestUsed)
+      .addBoolIfTrue("softSearchTimeLimitReached", softSearchTimeLimitReached)
       .toString();
   }
 }
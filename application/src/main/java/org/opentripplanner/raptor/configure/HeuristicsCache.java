@@ -0,0 +1,189 @@
+package org.opentripplanner.raptor.configure;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.opentripplanner.raptor.api.model.RaptorConstants;
+import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.model.SearchDirection;
+import org.opentripplanner.raptor.api.request.RaptorRequest;
+import org.opentripplanner.raptor.api.request.SearchParams;
+import org.opentripplanner.raptor.rangeraptor.internalapi.Heuristics;
+import org.opentripplanner.raptor.spi.RaptorTransitDataProvider;
+
+/**
+ * Cache the heuristics between searches, so repeated searches and paging with the same origin and
+ * destination do not need to run the heuristic searches again. The cache has APPLICATION scope.
+ * <p>
+ * The heuristics are only reused if the transit data return the same
+ * {@link RaptorTransitDataProvider#transitDataCacheKey()}, and the heuristic requests are equal,
+ * except for the time-limit. The time-limit is the latest-arrival-time in a forward search and
+ * the earliest-departure-time in a reverse search. The time-limit only prunes arrivals outside
+ * the limit, so the heuristics calculated with a wider limit have the same values for all stops
+ * reached within the narrower limit. Additional stops may be reached, and the number of
+ * transfers may be lower, so the heuristics are still a lower bound. This allows the
+ * heuristics to be reused when paging to the next page in a depart-after search, or to the
+ * previous page in an arrive-by search.
+ * <p>
+ * The cache only keeps heuristics for the newest
+ * {@link RaptorTransitDataProvider#transitDataVersion()} it has seen. When a real-time update
+ * replaces the transit data, all cached heuristics are dropped, so they do not keep the old
+ * transit data and requests in memory. Searches still running on an older version are not
+ * cached.
+ * <p>
+ * Only heuristics where the destination is reached are cached. Searches with access or egress
+ * with opening hours or rides are not cached, because these are not part of the access and
+ * egress equality.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
+ */
+public final class HeuristicsCache {
+
+  private final int maxSize;
+  private final Map<Key, Entry> cache;
+
+  /** The newest transit data version seen, guarded by the cache lock. */
+  private long transitDataVersion = Long.MIN_VALUE;
+
+  public HeuristicsCache(int maxSize) {
+    this.maxSize = maxSize;
+    this.cache =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+          return size() > HeuristicsCache.this.maxSize;
+        }
+      };
+  }
+
+  public boolean isEnabled() {
+    return maxSize > 0;
+  }
+
+  /**
+   * Return the cached heuristics for the given heuristic request, or {@code null} if no
+   * heuristics can be reused.
+   */
+  @Nullable
+  public <T extends RaptorTripSchedule> Heuristics get(
+    RaptorTransitDataProvider<T> transitData,
+    RaptorRequest<T> heuristicRequest
+  ) {
+    var key = Key.of(transitData, heuristicRequest);
+    if (key == null) {
+      return null;
+    }
+    Entry entry;
+    synchronized (cache) {
+      if (transitData.transitDataVersion() != transitDataVersion) {
+        return null;
+      }
+      entry = cache.get(key);
+    }
+    if (entry == null) {
+      return null;
+    }
+    var direction = heuristicRequest.searchDirection();
+    return isAsWideAs(direction, entry.timeLimit, timeLimit(heuristicRequest))
+      ? entry.heuristics
+      : null;
+  }
+
+  /**
+   * Add the heuristics for the given heuristic request. An existing entry is only replaced if
+   * the new time-limit is wider, so the cache keep the heuristics which can be reused by most
+   * requests.
+   */
+  public <T extends RaptorTripSchedule> void put(
+    RaptorTransitDataProvider<T> transitData,
+    RaptorRequest<T> heuristicRequest,
+    Heuristics heuristics
+  ) {
+    var key = Key.of(transitData, heuristicRequest);
+    if (key == null) {
+      return;
+    }
+    var direction = heuristicRequest.searchDirection();
+    var entry = new Entry(timeLimit(heuristicRequest), heuristics);
+
+    synchronized (cache) {
+      long version = transitData.transitDataVersion();
+      if (version < transitDataVersion) {
+        return;
+      }
+      if (version > transitDataVersion) {
+        cache.clear();
+        transitDataVersion = version;
+      }
+      var existing = cache.get(key);
+      if (existing == null || isAsWideAs(direction, entry.timeLimit, existing.timeLimit)) {
+        cache.put(key, entry);
+      }
+    }
+  }
+
+  public int size() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  private static int timeLimit(RaptorRequest<?> request) {
+    var s = request.searchParams();
+    return request.searchDirection().isForward()
+      ? s.latestArrivalTime()
+      : s.earliestDepartureTime();
+  }
+
+  /**
+   * Return {@code true} if the time-limit {@code a} include all times within the time-limit
+   * {@code b}.
+   */
+  private static boolean isAsWideAs(SearchDirection direction, int a, int b) {
+    if (a == RaptorConstants.TIME_NOT_SET) {
+      return true;
+    }
+    if (b == RaptorConstants.TIME_NOT_SET) {
+      return false;
+    }
+    return direction.isForward() ? a >= b : a <= b;
+  }
+
+  private record Entry(int timeLimit, Heuristics heuristics) {}
+
+  /**
+   * The request with the time-limit removed. The direction is not part of the request equality,
+   * so it is added to the key.
+   */
+  private record Key(
+    Object transitDataKey,
+    SearchDirection direction,
+    RaptorRequest<?> requestWithoutTimeLimit
+  ) {
+    @Nullable
+    static <T extends RaptorTripSchedule> Key of(
+      RaptorTransitDataProvider<T> transitData,
+      RaptorRequest<T> request
+    ) {
+      var transitDataKey = transitData.transitDataCacheKey();
+      if (transitDataKey == null || !isCacheable(request.searchParams())) {
+        return null;
+      }
+      var builder = request.mutate();
+      if (request.searchDirection().isForward()) {
+        builder.searchParams().latestArrivalTime(RaptorConstants.TIME_NOT_SET);
+      } else {
+        builder.searchParams().earliestDepartureTime(RaptorConstants.TIME_NOT_SET);
+      }
+      return new Key(transitDataKey, request.searchDirection(), builder.build());
+    }
+
+    private static boolean isCacheable(SearchParams s) {
+      return (
+        !s.hasViaLocations() &&
+        s.accessPaths().stream().noneMatch(it -> it.hasOpeningHours() || it.hasRides()) &&
+        s.egressPaths().stream().noneMatch(it -> it.hasOpeningHours() || it.hasRides())
+      );
+    }
+  }
+}
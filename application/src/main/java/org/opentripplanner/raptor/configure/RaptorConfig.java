@@ -1,6 +1,8 @@
 package org.opentripplanner.raptor.configure;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
+import javax.annotation.Nullable;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.api.request.RaptorEnvironment;
 import org.opentripplanner.raptor.api.request.RaptorRequest;
@@ -34,6 +36,10 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
 
   private final RaptorEnvironment environment;
   private final RaptorTuningParameters tuningParameters;
+  private final HeuristicsCache heuristicsCache;
+
+  @Nullable
+  private final ExecutorService threadPool;
 
   /** The service is not final, because it depends on the request. */
   private PassThroughPointsService passThroughPointsService = null;
@@ -41,6 +47,9 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
   public RaptorConfig(RaptorTuningParameters tuningParameters, RaptorEnvironment environment) {
     this.tuningParameters = tuningParameters;
     this.environment = environment;
+    this.heuristicsCache = new HeuristicsCache(tuningParameters.heuristicsCacheMaxSize());
+    // The environment may create a new pool each time, so we keep the one we use
+    this.threadPool = environment.threadPool();
   }
 
   public static <T extends RaptorTripSchedule> RaptorConfig<T> defaultConfigForTest() {
@@ -64,7 +73,8 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
     var stdConfig = new StdRangeRaptorConfig<>(context);
     return createRangeRaptor(
       context,
-      createWorker(context.legs().getFirst(), stdConfig.state(), stdConfig.strategy())
+      createWorker(context.legs().getFirst(), stdConfig.state(), stdConfig.strategy()),
+      Duration.ZERO
     );
   }
 
@@ -92,7 +102,13 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
       worker = createWorker(leg, c.state(), c.strategy());
     }
 
-    return createRangeRaptor(context, worker);
+    // The soft time-limit is only supported in a forward search, where the search-window can be
+    // cropped by moving the earliest-departure-time
+    var softTimeLimit = request.searchDirection().isForward()
+      ? tuningParameters.softSearchTimeLimit()
+      : Duration.ZERO;
+
+    return createRangeRaptor(context, worker, softTimeLimit);
   }
 
   public RangeRaptor<T> createRangeRaptorWithHeuristicSearch(
@@ -111,17 +127,22 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
     return new StdRangeRaptorConfig<>(context).createHeuristics(results);
   }
 
+  public HeuristicsCache heuristicsCache() {
+    return heuristicsCache;
+  }
+
   public boolean isMultiThreaded() {
-    return threadPool() != null;
+    return threadPool != null;
   }
 
+  @Nullable
   public ExecutorService threadPool() {
-    return environment.threadPool();
+    return threadPool;
   }
 
   public void shutdown() {
-    if (threadPool() != null) {
-      threadPool().shutdown();
+    if (threadPool != null) {
+      threadPool.shutdown();
     }
   }
 
@@ -158,7 +179,11 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
     );
   }
 
-  private RangeRaptor<T> createRangeRaptor(SearchContext<T> ctx, RangeRaptorWorker<T> worker) {
+  private RangeRaptor<T> createRangeRaptor(
+    SearchContext<T> ctx,
+    RangeRaptorWorker<T> worker,
+    Duration softTimeLimit
+  ) {
     return new RangeRaptor<>(
       worker,
       ctx.transit(),
@@ -167,7 +192,8 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
       ctx.calculator(),
       ctx.createLifeCyclePublisher(),
       ctx.performanceTimers(),
-      environment.timeoutHook()
+      environment.timeoutHook(),
+      softTimeLimit
     );
   }
 }
@@ -15,6 +15,8 @@ import org.opentripplanner.raptor.rangeraptor.internalapi.WorkerLifeCycle;
 import org.opentripplanner.raptor.rangeraptor.transit.AccessPaths;
 import org.opentripplanner.raptor.rangeraptor.transit.RaptorTransitCalculator;
 import org.opentripplanner.raptor.spi.IntIterator;
+import org.opentripplanner.raptor.spi.RaptorRouteIndexSearch;
+import org.opentripplanner.raptor.spi.RaptorTransferCursor;
 import org.opentripplanner.raptor.spi.RaptorTransitDataProvider;
 
 /**
@@ -65,6 +67,16 @@ public final class DefaultRangeRaptorWorker<T extends RaptorTripSchedule>
 
   private final RaptorTransitDataProvider<T> transitData;
 
+  /**
+   * The route index search is created for this worker, and reused for each round.
+   */
+  private final RaptorRouteIndexSearch routeIndexSearch;
+
+  /**
+   * The transfer cursor is created for this worker, and moved to each stop we transfer from.
+   */
+  private final RaptorTransferCursor transferCursor;
+
   private final SlackProvider slackProvider;
 
   private final RaptorTransitCalculator<T> calculator;
@@ -98,6 +110,8 @@ public final class DefaultRangeRaptorWorker<T extends RaptorTripSchedule>
     this.transitWorker = transitWorker;
     this.state = state;
     this.transitData = transitData;
+    this.routeIndexSearch = transitData.createRouteIndexSearch();
+    this.transferCursor = calculator.createTransferCursor(transitData);
     this.slackProvider = slackProvider;
     this.calculator = calculator;
     this.timers = timers;
@@ -128,7 +142,7 @@ public final class DefaultRangeRaptorWorker<T extends RaptorTripSchedule>
   public void findTransitForRound() {
     timers.findTransitForRound(() -> {
       IntIterator stops = state.stopsTouchedPreviousRound();
-      IntIterator routeIndexIterator = transitData.routeIndexIterator(stops);
+      IntIterator routeIndexIterator = routeIndexSearch.routeIndexIterator(stops);
 
       while (routeIndexIterator.hasNext()) {
         var routeIndex = routeIndexIterator.next();
@@ -192,7 +206,7 @@ public final class DefaultRangeRaptorWorker<T extends RaptorTripSchedule>
         final int fromStop = it.next();
         // no need to consider loop transfers, since we don't mark patterns here any more
         // loop transfers are already included by virtue of those stops having been reached
-        state.transferToStops(fromStop, calculator.getTransfers(transitData, fromStop));
+        state.transferToStops(fromStop, transferCursor.forStop(fromStop));
       }
     });
   }
@@ -2,6 +2,7 @@ package org.opentripplanner.raptor.rangeraptor;
 
 import static java.util.Objects.requireNonNull;
 
+import java.time.Duration;
 import org.opentripplanner.raptor.api.debug.RaptorTimers;
 import org.opentripplanner.raptor.api.model.RaptorConstants;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
@@ -67,8 +68,20 @@ public final class RangeRaptor<T extends RaptorTripSchedule> implements RaptorRo
 
   private final Runnable timeoutHook;
 
+  /**
+   * A range search checks for timeout in each iteration, but a single-iteration search, like the
+   * heuristic searches, would only check once. These check in each round instead.
+   */
+  private final boolean checkTimeoutEachRound;
+
+  private final long softTimeLimitNanos;
+
   private final int minNumberOfRounds;
 
+  private boolean softTimeLimitReached = false;
+
+  private int lastIterationDepartureTime = RaptorConstants.TIME_NOT_SET;
+
   public RangeRaptor(
     RangeRaptorWorker<T> worker,
     RaptorTransitDataProvider<T> transitData,
@@ -77,7 +90,8 @@ public final class RangeRaptor<T extends RaptorTripSchedule> implements RaptorRo
     RaptorTransitCalculator<T> calculator,
     LifeCycleEventPublisher lifeCyclePublisher,
     RaptorTimers timers,
-    Runnable timeoutHook
+    Runnable timeoutHook,
+    Duration softTimeLimit
   ) {
     this.worker = requireNonNull(worker);
     this.transitData = requireNonNull(transitData);
@@ -88,6 +102,8 @@ public final class RangeRaptor<T extends RaptorTripSchedule> implements RaptorRo
     this.roundTracker = requireNonNull(roundTracker);
     this.lifeCycle = requireNonNull(lifeCyclePublisher);
     this.timeoutHook = requireNonNull(timeoutHook);
+    this.checkTimeoutEachRound = calculator.oneIterationOnly();
+    this.softTimeLimitNanos = softTimeLimit.toNanos();
   }
 
   public RaptorRouterResult<T> route() {
@@ -100,10 +116,19 @@ public final class RangeRaptor<T extends RaptorTripSchedule> implements RaptorRo
       // Ergo, we re-use the arrival times found in searches that have already occurred that
       // depart later, because the arrival time given departure at time t is upper-bounded by
       // the arrival time given departure at minute t + 1.
+      final long startTime = System.nanoTime();
       final IntIterator it = calculator.rangeRaptorMinutes();
       while (it.hasNext()) {
         iterationDepartureTime = it.next();
         runRaptorForMinute(iterationDepartureTime);
+        lastIterationDepartureTime = iterationDepartureTime;
+
+        // Stop at the soft time-limit. The result of the iterations performed is still valid,
+        // and the caller can crop the search-window to the departure times searched.
+        if (it.hasNext() && isSoftTimeLimitExceeded(startTime)) {
+          softTimeLimitReached = true;
+          return;
+        }
       }
 
       // Iterate over virtual departure times - this is needed to allow access with a time-penalty
@@ -119,6 +144,27 @@ public final class RangeRaptor<T extends RaptorTripSchedule> implements RaptorRo
     return worker.result();
   }
 
+  /**
+   * Return {@code true} if the search stopped at the soft time-limit, before all departure times
+   * in the search-window were searched.
+   */
+  public boolean isSoftTimeLimitReached() {
+    return softTimeLimitReached;
+  }
+
+  /**
+   * The departure time of the last iteration performed, excluding the iterations for access with
+   * time-penalty. The iterations are performed in the opposite order of the search direction, so
+   * in a forward search this is the earliest departure time searched.
+   */
+  public int lastIterationDepartureTime() {
+    return lastIterationDepartureTime;
+  }
+
+  private boolean isSoftTimeLimitExceeded(long startTime) {
+    return softTimeLimitNanos > 0 && System.nanoTime() - startTime > softTimeLimitNanos;
+  }
+
   /**
    * Perform one minute of a RAPTOR search.
    */
@@ -127,6 +173,9 @@ public final class RangeRaptor<T extends RaptorTripSchedule> implements RaptorRo
     worker.findAccessOnStreetForRound();
 
     while (hasMoreRounds()) {
+      if (checkTimeoutEachRound) {
+        timeoutHook.run();
+      }
       lifeCycle.prepareForNextRound(roundTracker.nextRound());
 
       // NB since we have transfer limiting not bothering to cut off search when there are no
@@ -221,6 +221,13 @@ public class SearchContext<T extends RaptorTripSchedule> {
     return request.useConstrainedTransfers();
   }
 
+  /**
+   * See {@link RaptorRequest#useSortedStopArrivals()}
+   */
+  public boolean useSortedStopArrivals() {
+    return request.useSortedStopArrivals();
+  }
+
   /* private methods */
 
   public RaptorStopNameResolver stopNameResolver() {
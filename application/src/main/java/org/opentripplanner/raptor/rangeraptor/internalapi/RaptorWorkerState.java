@@ -1,10 +1,9 @@
 package org.opentripplanner.raptor.rangeraptor.internalapi;
 
-import java.util.Iterator;
-import org.opentripplanner.raptor.api.model.RaptorTransfer;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.rangeraptor.RangeRaptor;
 import org.opentripplanner.raptor.spi.IntIterator;
+import org.opentripplanner.raptor.spi.RaptorTransferCursor;
 
 /**
  * The contract the state must implement for the {@link RangeRaptor} to do its job. This
@@ -43,7 +42,7 @@ public interface RaptorWorkerState<T extends RaptorTripSchedule> {
   /**
    * Update state with a new transfer.
    */
-  void transferToStops(int fromStop, Iterator<? extends RaptorTransfer> transfers);
+  void transferToStops(int fromStop, RaptorTransferCursor transfers);
 
   RaptorRouterResult<T> results();
 }
@@ -1,10 +1,8 @@
 package org.opentripplanner.raptor.rangeraptor.multicriteria;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import org.opentripplanner.raptor.api.model.RaptorAccessEgress;
-import org.opentripplanner.raptor.api.model.RaptorTransfer;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorRouterResult;
 import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorWorkerState;
@@ -17,6 +15,7 @@ import org.opentripplanner.raptor.rangeraptor.path.DestinationArrivalPaths;
 import org.opentripplanner.raptor.rangeraptor.transit.RaptorTransitCalculator;
 import org.opentripplanner.raptor.spi.IntIterator;
 import org.opentripplanner.raptor.spi.RaptorCostCalculator;
+import org.opentripplanner.raptor.spi.RaptorTransferCursor;
 
 /**
  * Tracks the state of a RAPTOR search, specifically the best arrival times at each transit stop at
@@ -101,11 +100,11 @@ public final class McRangeRaptorWorkerState<T extends RaptorTripSchedule>
    * Set the time at a transit stops iff it is optimal.
    */
   @Override
-  public void transferToStops(int fromStop, Iterator<? extends RaptorTransfer> transfers) {
+  public void transferToStops(int fromStop, RaptorTransferCursor transfers) {
     var fromArrivals = arrivals.listArrivalsAfterMarker(fromStop);
 
-    while (transfers.hasNext()) {
-      transferToStop(fromArrivals, transfers.next());
+    while (transfers.next()) {
+      transferToStop(fromArrivals, transfers);
     }
   }
 
@@ -168,14 +167,15 @@ public final class McRangeRaptorWorkerState<T extends RaptorTripSchedule>
 
   private void transferToStop(
     Iterable<? extends McStopArrival<T>> fromArrivals,
-    RaptorTransfer transfer
+    RaptorTransferCursor transfers
   ) {
-    final int transferTimeInSeconds = transfer.durationInSeconds();
+    final int transferTimeInSeconds = transfers.durationInSeconds();
 
     for (McStopArrival<T> it : fromArrivals) {
       int arrivalTime = it.arrivalTime() + transferTimeInSeconds;
 
       if (!exceedsTimeLimit(arrivalTime)) {
+        var transfer = transfers.transfer();
         arrivalsCache.add(stopArrivalFactory.createTransferStopArrival(it, transfer, arrivalTime));
       }
     }
@@ -35,6 +35,7 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
   private final DebugHandlerFactory<T> debugHandlerFactory;
   private final DebugStopArrivalsStatistics debugStats;
   private final ParetoComparator<McStopArrival<T>> comparator;
+  private final boolean sortOnArrivalTime;
 
   /**
    * Set the time at a transit index if it is optimal. This sets both the best time and the
@@ -42,6 +43,7 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
    *
    * @param nextLeg When chaining two Raptor searches together, the next-leg is the next
    *                search we are copying state into.
+   * @param sortOnArrivalTime Keep the arrivals at each stop sorted on arrival-time.
    */
   public McStopArrivals(
     int nStops,
@@ -51,7 +53,8 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
     McStopArrivals<T> nextLeg,
     McStopArrivalFactory<T> stopArrivalFactory,
     ArrivalParetoSetComparatorFactory<McStopArrival<T>> comparatorFactory,
-    DebugHandlerFactory<T> debugHandlerFactory
+    DebugHandlerFactory<T> debugHandlerFactory,
+    boolean sortOnArrivalTime
   ) {
     // Assert only-one-of next or egressPaths is set
     if (nextLeg == null) {
@@ -67,6 +70,7 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
     this.touchedStops = new BitSet(nStops);
     this.comparator = comparatorFactory.compareArrivalTimeRoundCostAndOnBoardArrival();
     this.debugHandlerFactory = debugHandlerFactory;
+    this.sortOnArrivalTime = sortOnArrivalTime;
     this.debugStats = new DebugStopArrivalsStatistics(debugHandlerFactory.debugLogger());
 
     initViaConnections(viaConnections, stopArrivalFactory, nextLeg);
@@ -167,6 +171,7 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
           StopArrivalParetoSet
             .of(comparator)
             .withDebugListener(debugHandlerFactory.paretoSetStopArrivalListener(stop))
+            .withSortOnArrivalTime(sortOnArrivalTime)
             .withNextLegListener(
               new ViaConnectionStopArrivalEventListener<>(stopArrivalFactory, connections, nextLeg)
             )
@@ -195,6 +200,7 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
           StopArrivalParetoSet
             .of(comparator)
             .withDebugListener(debugHandlerFactory.paretoSetStopArrivalListener(stop))
+            .withSortOnArrivalTime(sortOnArrivalTime)
             .withEgressListener(list, paths)
             .build();
         return true;
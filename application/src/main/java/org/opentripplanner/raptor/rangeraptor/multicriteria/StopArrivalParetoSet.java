@@ -1,6 +1,8 @@
 package org.opentripplanner.raptor.rangeraptor.multicriteria;
 
 import java.util.List;
+import java.util.function.ToIntFunction;
+import javax.annotation.Nullable;
 import org.opentripplanner.raptor.api.model.RaptorAccessEgress;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.api.view.ArrivalView;
@@ -24,9 +26,10 @@ class StopArrivalParetoSet<T extends RaptorTripSchedule>
    */
   private StopArrivalParetoSet(
     ParetoComparator<McStopArrival<T>> comparator,
-    ParetoSetEventListener<ArrivalView<T>> listener
+    ParetoSetEventListener<ArrivalView<T>> listener,
+    @Nullable ToIntFunction<McStopArrival<T>> sortKey
   ) {
-    super(comparator, listener);
+    super(comparator, listener, sortKey);
   }
 
   public static <T extends RaptorTripSchedule> Builder<T> of(
@@ -40,6 +43,7 @@ class StopArrivalParetoSet<T extends RaptorTripSchedule>
     private ParetoSetEventListener<ArrivalView<T>> debugListener = null;
     private ParetoSetEventListener<ArrivalView<T>> egressListener = null;
     private ParetoSetEventListener<ArrivalView<T>> nextSearchListener = null;
+    private boolean sortOnArrivalTime = false;
     private final ParetoComparator<McStopArrival<T>> comparator;
 
     Builder(ParetoComparator<McStopArrival<T>> comparator) {
@@ -74,12 +78,22 @@ class StopArrivalParetoSet<T extends RaptorTripSchedule>
       return this;
     }
 
+    /**
+     * Keep the arrivals sorted on arrival-time, see
+     * {@link org.opentripplanner.raptor.api.request.Optimization#SORTED_STOP_ARRIVALS}.
+     */
+    Builder<T> withSortOnArrivalTime(boolean sortOnArrivalTime) {
+      this.sortOnArrivalTime = sortOnArrivalTime;
+      return this;
+    }
+
     StopArrivalParetoSet<T> build() {
       // The order of the listeners is important, we want the debug event for reaching a
       // stop to appear before the path is logged (in case both debuggers are enabled).
       return new StopArrivalParetoSet<>(
         comparator,
-        ParetoSetEventListenerComposite.of(debugListener, nextSearchListener, egressListener)
+        ParetoSetEventListenerComposite.of(debugListener, nextSearchListener, egressListener),
+        sortOnArrivalTime ? McStopArrival::arrivalTime : null
       );
     }
   }
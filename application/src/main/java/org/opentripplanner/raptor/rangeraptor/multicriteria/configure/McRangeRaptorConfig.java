@@ -114,7 +114,8 @@ public class McRangeRaptorConfig<T extends RaptorTripSchedule> {
           nextLegArrivals,
           createStopArrivalFactory(),
           createFactoryParetoComparator(),
-          context().debugFactory()
+          context().debugFactory(),
+          context().useSortedStopArrivals()
         );
     }
     return arrivals;
@@ -1,8 +1,6 @@
 package org.opentripplanner.raptor.rangeraptor.standard;
 
-import java.util.Iterator;
 import org.opentripplanner.raptor.api.model.RaptorAccessEgress;
-import org.opentripplanner.raptor.api.model.RaptorTransfer;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.api.model.TransitArrival;
 import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorRouterResult;
@@ -12,6 +10,7 @@ import org.opentripplanner.raptor.rangeraptor.standard.internalapi.BestNumberOfT
 import org.opentripplanner.raptor.rangeraptor.standard.internalapi.StopArrivalsState;
 import org.opentripplanner.raptor.rangeraptor.transit.RaptorTransitCalculator;
 import org.opentripplanner.raptor.spi.IntIterator;
+import org.opentripplanner.raptor.spi.RaptorTransferCursor;
 
 /**
  * Tracks the state of a standard Range Raptor search, specifically the best arrival times at each
@@ -123,10 +122,10 @@ public final class StdRangeRaptorWorkerState<T extends RaptorTripSchedule>
    * Set the arrival time at all transit stop if time is optimal for the given list of transfers.
    */
   @Override
-  public void transferToStops(int fromStop, Iterator<? extends RaptorTransfer> transfers) {
+  public void transferToStops(int fromStop, RaptorTransferCursor transfers) {
     int arrivalTimeTransit = bestTimes.transitArrivalTime(fromStop);
-    while (transfers.hasNext()) {
-      transferToStop(arrivalTimeTransit, fromStop, transfers.next());
+    while (transfers.next()) {
+      transferToStop(arrivalTimeTransit, fromStop, transfers);
     }
   }
 
@@ -187,7 +186,11 @@ public final class StdRangeRaptorWorkerState<T extends RaptorTripSchedule>
     return stopArrivalsState.previousTransit(boardStopIndex);
   }
 
-  private void transferToStop(int arrivalTimeTransit, int fromStop, RaptorTransfer transfer) {
+  private void transferToStop(
+    int arrivalTimeTransit,
+    int fromStop,
+    RaptorTransferCursor transfer
+  ) {
     // Use the calculator to make sure the calculation is done correct for a normal
     // forward search and a reverse search.
     final int arrivalTime = calculator.plusDuration(
@@ -202,9 +205,9 @@ public final class StdRangeRaptorWorkerState<T extends RaptorTripSchedule>
     final int toStop = transfer.stop();
 
     if (newOverallBestTime(toStop, arrivalTime)) {
-      stopArrivalsState.setNewBestTransferTime(fromStop, arrivalTime, transfer);
+      stopArrivalsState.setNewBestTransferTime(fromStop, arrivalTime, transfer.transfer());
     } else {
-      stopArrivalsState.rejectNewBestTransferTime(fromStop, arrivalTime, transfer);
+      stopArrivalsState.rejectNewBestTransferTime(fromStop, arrivalTime, transfer.transfer());
     }
   }
 
@@ -21,7 +21,8 @@ import org.slf4j.LoggerFactory;
  * make that simpler and let it focus on the main business logic.
  * <p>
  * This class is not meant for reuse, create one task for each potential heuristic search. The task
- * must be {@link #enable()}d before it is {@link #run()}.
+ * must be {@link #enable()}d before it is {@link #run()}. If the {@link RaptorConfig} heuristics
+ * cache is enabled, the heuristics are reused from a previous search when possible.
  */
 public class HeuristicSearchTask<T extends RaptorTripSchedule> {
 
@@ -37,6 +38,7 @@ public class HeuristicSearchTask<T extends RaptorTripSchedule> {
   private RaptorRequest<T> originalRequest;
   private RaptorRequest<T> heuristicRequest;
   private RaptorRouterResult<T> result = null;
+  private Heuristics heuristics = null;
 
   public HeuristicSearchTask(
     RaptorRequest<T> request,
@@ -77,10 +79,10 @@ public class HeuristicSearchTask<T extends RaptorTripSchedule> {
 
   @Nullable
   public Heuristics result() {
-    if (result == null) {
-      return null;
+    if (heuristics == null && result != null) {
+      heuristics = config.createHeuristic(transitData, heuristicRequest, result);
     }
-    return config.createHeuristic(transitData, heuristicRequest, result);
+    return heuristics;
   }
 
   public HeuristicSearchTask<T> withRequest(RaptorRequest<T> request) {
@@ -110,7 +112,20 @@ public class HeuristicSearchTask<T extends RaptorTripSchedule> {
 
     long start = System.currentTimeMillis();
 
-    createHeuristicSearchIfNotExist(originalRequest);
+    createHeuristicRequestIfNotExist(originalRequest);
+
+    var cache = config.heuristicsCache();
+    if (cache.isEnabled()) {
+      this.heuristics = cache.get(transitData, heuristicRequest);
+      if (heuristics != null) {
+        LOG.debug("RangeRaptor - {} heuristics found in cache.", name);
+        return;
+      }
+    }
+
+    if (search == null) {
+      search = config.createRangeRaptorWithHeuristicSearch(transitData, heuristicRequest);
+    }
 
     LOG.debug("Heuristic search: {}", heuristicRequest);
     this.result = search.route();
@@ -119,14 +134,17 @@ public class HeuristicSearchTask<T extends RaptorTripSchedule> {
     if (!result.isDestinationReached()) {
       throw new DestinationNotReachedException();
     }
+    if (cache.isEnabled()) {
+      cache.put(transitData, heuristicRequest, result());
+    }
     if (LOG.isDebugEnabled()) {
       String time = DurationUtils.msToSecondsStr(System.currentTimeMillis() - start);
       LOG.debug("RangeRaptor - {} heuristic search performed in {}.", name, time);
     }
   }
 
-  private void createHeuristicSearchIfNotExist(RaptorRequest<T> request) {
-    if (search == null) {
+  private void createHeuristicRequestIfNotExist(RaptorRequest<T> request) {
+    if (heuristicRequest == null) {
       var profile = MIN_TRAVEL_DURATION;
 
       var builder = request
@@ -144,7 +162,6 @@ public class HeuristicSearchTask<T extends RaptorTripSchedule> {
       );
 
       heuristicRequest = builder.build();
-      search = config.createRangeRaptorWithHeuristicSearch(transitData, heuristicRequest);
     }
   }
 }
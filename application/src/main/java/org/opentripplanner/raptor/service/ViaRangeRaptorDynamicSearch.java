@@ -11,6 +11,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
+import org.opentripplanner.framework.time.TimeUtils;
 import org.opentripplanner.raptor.RaptorService;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.api.request.RaptorRequest;
@@ -81,6 +82,7 @@ public class ViaRangeRaptorDynamicSearch<T extends RaptorTripSchedule> {
         // search-window, then set the search-window params as if the request was
         // performed. This enables the client to page to the next window
         requestWithDynamicSearchParams(originalRequest),
+        false,
         false
       );
     }
@@ -141,14 +143,46 @@ public class ViaRangeRaptorDynamicSearch<T extends RaptorTripSchedule> {
     // Route
     var result = rangeRaptorRouter.route();
 
+    boolean softTimeLimitReached = rangeRaptorRouter.isSoftTimeLimitReached();
+    var requestUsed = softTimeLimitReached
+      ? requestWithCroppedSearchWindow(request, rangeRaptorRouter)
+      : request;
+
     // create and return response
     return new RaptorResponse<>(
       result.extractPaths(),
       new DefaultStopArrivals(result),
-      request,
+      requestUsed,
       // This method is not run unless the heuristic reached the destination
-      true
+      true,
+      softTimeLimitReached
+    );
+  }
+
+  /**
+   * The search stopped at the soft time-limit. The iterations are performed from the end of the
+   * search-window, so the earliest-departure-time is moved forward to the last departure time
+   * searched. The soft time-limit is only used in a forward search.
+   */
+  private RaptorRequest<T> requestWithCroppedSearchWindow(
+    RaptorRequest<T> request,
+    RangeRaptor<T> rangeRaptorRouter
+  ) {
+    var s = request.searchParams();
+    int edt = rangeRaptorRouter.lastIterationDepartureTime();
+    int endOfSearchWindow = s.earliestDepartureTime() + s.searchWindowInSeconds();
+
+    LOG.debug(
+      "RangeRaptor - Soft search time-limit reached, search-window cropped to start at {}.",
+      TimeUtils.timeToStrLong(edt)
     );
+
+    return request
+      .mutate()
+      .searchParams()
+      .earliestDepartureTime(edt)
+      .searchWindowInSeconds(endOfSearchWindow - edt)
+      .build();
   }
 
   private boolean isItPossibleToRunHeuristicsInParallel() {
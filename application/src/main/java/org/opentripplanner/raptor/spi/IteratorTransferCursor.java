@@ -0,0 +1,57 @@
+package org.opentripplanner.raptor.spi;
+
+import java.util.Iterator;
+import java.util.function.IntFunction;
+import org.opentripplanner.raptor.api.model.RaptorTransfer;
+
+/**
+ * Adapt the transfer iterators of a {@link RaptorTransitDataProvider} to a
+ * {@link RaptorTransferCursor}. This is the default implementation, it allocates an iterator for
+ * each stop.
+ */
+final class IteratorTransferCursor implements RaptorTransferCursor {
+
+  private final IntFunction<Iterator<? extends RaptorTransfer>> transfersForStop;
+  private Iterator<? extends RaptorTransfer> transfers;
+  private RaptorTransfer current;
+
+  IteratorTransferCursor(IntFunction<Iterator<? extends RaptorTransfer>> transfersForStop) {
+    this.transfersForStop = transfersForStop;
+  }
+
+  @Override
+  public RaptorTransferCursor forStop(int stop) {
+    this.transfers = transfersForStop.apply(stop);
+    this.current = null;
+    return this;
+  }
+
+  @Override
+  public boolean next() {
+    if (!transfers.hasNext()) {
+      return false;
+    }
+    current = transfers.next();
+    return true;
+  }
+
+  @Override
+  public int stop() {
+    return current.stop();
+  }
+
+  @Override
+  public int durationInSeconds() {
+    return current.durationInSeconds();
+  }
+
+  @Override
+  public int c1() {
+    return current.c1();
+  }
+
+  @Override
+  public RaptorTransfer transfer() {
+    return current;
+  }
+}
@@ -0,0 +1,19 @@
+package org.opentripplanner.raptor.spi;
+
+/**
+ * Find the routes visiting a set of stops. Raptor creates one instance for each search using
+ * {@link RaptorTransitDataProvider#createRouteIndexSearch()}, and an instance is only used by one
+ * thread. Hence, the implementation can reuse its state between calls, and avoid allocating new
+ * objects for every round.
+ */
+@FunctionalInterface
+public interface RaptorRouteIndexSearch {
+  /**
+   * Return an iterator of route indices for all routes visiting the given set of stops. The
+   * iterator is only valid until the next call to this method.
+   *
+   * @param stops the set of stops to find all routes for.
+   */
+  @Flyweight
+  IntIterator routeIndexIterator(IntIterator stops);
+}
@@ -0,0 +1,59 @@
+package org.opentripplanner.raptor.spi;
+
+import org.opentripplanner.raptor.api.model.RaptorTransfer;
+
+/**
+ * A cursor over the transfers from (or to) one stop at the time. This is an allocation free
+ * alternative to the transfer iterators of the {@link RaptorTransitDataProvider}, Raptor creates
+ * one cursor for each search and moves it to a new stop for each stop it transfers from.
+ * <p>
+ * The stop, duration and cost of the current transfer are available without accessing the
+ * transfer object, so the implementation can store them in primitive arrays. Raptor uses
+ * {@link #transfer()} only for the transfers it needs to keep in the state, and the object
+ * returned must NOT be a flyweight.
+ * <p>
+ * Usage:
+ * <pre>
+ * var transfers = cursor.forStop(fromStop);
+ * while (transfers.next()) {
+ *   int toStop = transfers.stop();
+ *   ...
+ * }
+ * </pre>
+ */
+public interface RaptorTransferCursor {
+  /**
+   * Position the cursor before the first transfer of the given stop.
+   *
+   * @return this cursor
+   */
+  @Flyweight
+  RaptorTransferCursor forStop(int stop);
+
+  /**
+   * Move to the next transfer.
+   *
+   * @return false if there are no more transfers for the current stop.
+   */
+  boolean next();
+
+  /**
+   * The stop index where the current transfer arrives, see {@link RaptorTransfer#stop()}.
+   */
+  int stop();
+
+  /**
+   * The duration of the current transfer, see {@link RaptorTransfer#durationInSeconds()}.
+   */
+  int durationInSeconds();
+
+  /**
+   * The generalized cost of the current transfer, see {@link RaptorTransfer#c1()}.
+   */
+  int c1();
+
+  /**
+   * The current transfer.
+   */
+  RaptorTransfer transfer();
+}
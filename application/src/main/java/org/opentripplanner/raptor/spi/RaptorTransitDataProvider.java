@@ -2,6 +2,7 @@ package org.opentripplanner.raptor.spi;
 
 import java.util.Iterator;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.opentripplanner.raptor.api.model.RaptorStopNameResolver;
 import org.opentripplanner.raptor.api.model.RaptorTransfer;
 import org.opentripplanner.raptor.api.model.RaptorTransferConstraint;
@@ -74,6 +75,23 @@ public interface RaptorTransitDataProvider<T extends RaptorTripSchedule> {
   @Flyweight
   Iterator<? extends RaptorTransfer> getTransfersToStop(int toStop);
 
+  /**
+   * Create a cursor over the transfers from a stop, for use in a single Raptor search. This is
+   * the allocation free alternative to {@link #getTransfersFromStop(int)}, and should return the
+   * same transfers. The default implementation adapts {@link #getTransfersFromStop(int)}.
+   */
+  default RaptorTransferCursor createTransfersFromStopCursor() {
+    return new IteratorTransferCursor(this::getTransfersFromStop);
+  }
+
+  /**
+   * Create a cursor over the transfers to a stop, for use in a single Raptor search. See
+   * {@link #createTransfersFromStopCursor()}.
+   */
+  default RaptorTransferCursor createTransfersToStopCursor() {
+    return new IteratorTransferCursor(this::getTransfersToStop);
+  }
+
   /**
    * Return an iterator of route indices for all routes visiting the given set of stops.
    *
@@ -81,6 +99,37 @@ public interface RaptorTransitDataProvider<T extends RaptorTripSchedule> {
    */
   IntIterator routeIndexIterator(IntIterator stops);
 
+  /**
+   * Create a search for the routes visiting a set of stops, which is used by a single Raptor search
+   * in one thread. This is called for every round, so the implementation should reuse its data
+   * structures between calls. The default implementation delegates to
+   * {@link #routeIndexIterator(IntIterator)}.
+   */
+  default RaptorRouteIndexSearch createRouteIndexSearch() {
+    return this::routeIndexIterator;
+  }
+
+  /**
+   * Return a key identifying the transit data, or {@code null} if the transit data can not be
+   * identified. Two instances returning equal keys must provide the same routes, trips,
+   * transfers, slack and costs. Raptor uses the key to reuse the heuristics between searches,
+   * for example when the client is paging. The default is {@code null}, which disables the reuse.
+   */
+  @Nullable
+  default Object transitDataCacheKey() {
+    return null;
+  }
+
+  /**
+   * Return the version of the underlying transit data, a higher version must be created later
+   * than a lower version. This is not part of the {@link #transitDataCacheKey()}, so Raptor can
+   * drop the cached values of older versions when a newer version is seen, instead of keeping them
+   * until they are evicted.
+   */
+  default long transitDataVersion() {
+    return 0;
+  }
+
   /**
    * Returns the raptor route for a specific route index
    * <p/>
@@ -0,0 +1,107 @@
+package org.opentripplanner.raptor.util;
+
+import java.util.Arrays;
+import org.opentripplanner.raptor.spi.IntIterator;
+
+/**
+ * A bit set with a fixed size, which is cleared and reused instead of creating a new set. The set
+ * keeps track of the words with bits set, so clearing and iterating over the set only visit
+ * these words, not the whole set. This makes it cheap to use a large set when only a few bits
+ * are set, like marking the patterns visiting the stops touched in a Raptor round.
+ * <p>
+ * The set and the iterator are reused, so the set can only be used by one thread, and the
+ * iterator is only valid until the set is modified.
+ */
+public final class ReusableBitSet {
+
+  private static final int ADDRESS_BITS_PER_WORD = 6;
+
+  private final long[] words;
+
+  /** The index of each word with at least one bit set, in the order they are first set. */
+  private final int[] usedWords;
+  private int nUsedWords = 0;
+
+  private final Iterator iterator = new Iterator();
+
+  public ReusableBitSet(int size) {
+    int nWords = (size >> ADDRESS_BITS_PER_WORD) + 1;
+    this.words = new long[nWords];
+    this.usedWords = new int[nWords];
+  }
+
+  public void set(int index) {
+    int wordIndex = index >> ADDRESS_BITS_PER_WORD;
+    if (words[wordIndex] == 0) {
+      usedWords[nUsedWords++] = wordIndex;
+    }
+    // The shift only uses the 6 lowest bits of the index
+    words[wordIndex] |= 1L << index;
+  }
+
+  public boolean get(int index) {
+    int wordIndex = index >> ADDRESS_BITS_PER_WORD;
+    return wordIndex < words.length && (words[wordIndex] & (1L << index)) != 0;
+  }
+
+  public boolean isEmpty() {
+    return nUsedWords == 0;
+  }
+
+  /**
+   * Clear all bits, only the words in use are reset.
+   */
+  public void clear() {
+    for (int i = 0; i < nUsedWords; ++i) {
+      words[usedWords[i]] = 0;
+    }
+    nUsedWords = 0;
+  }
+
+  /**
+   * Return an iterator over the set bits in increasing order. The same iterator instance is
+   * returned on each call, and it is only valid until the set is changed.
+   */
+  public IntIterator iterator() {
+    Arrays.sort(usedWords, 0, nUsedWords);
+    iterator.reset();
+    return iterator;
+  }
+
+  private final class Iterator implements IntIterator {
+
+    private int usedWordIndex;
+    private int wordOffset;
+    private long remainingBits;
+
+    private void reset() {
+      usedWordIndex = -1;
+      remainingBits = 0;
+      nextWord();
+    }
+
+    @Override
+    public int next() {
+      int index = wordOffset + Long.numberOfTrailingZeros(remainingBits);
+      // Clear the lowest bit set
+      remainingBits &= remainingBits - 1;
+      if (remainingBits == 0) {
+        nextWord();
+      }
+      return index;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return remainingBits != 0;
+    }
+
+    private void nextWord() {
+      if (++usedWordIndex < nUsedWords) {
+        int wordIndex = usedWords[usedWordIndex];
+        wordOffset = wordIndex << ADDRESS_BITS_PER_WORD;
+        remainingBits = words[wordIndex];
+      }
+    }
+  }
+}
@@ -5,7 +5,9 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 /**
  * This {@link java.util.Collection} store all pareto-optimal elements. The {@link #add(Object)}
@@ -19,6 +21,16 @@ import java.util.stream.Collectors;
  * <p/>
  * {@code  [[1,7], [3,5], [5,3]] + [2,4] => [[1,7], [5,3], [2,4]]   -- less than dominates}
  * <p/>
+ * The set can optionally keep the elements sorted on a primary int criterion, the sort-key. The
+ * comparator must be consistent with the sort-key: if {@code key(l) < key(r)}, then
+ * {@code comparator.leftDominanceExist(l, r)} must be {@code true}. An element can only be
+ * dominated by (or be equivalent to) an element with a smaller or equal key, and it can only
+ * dominate elements with a greater or equal key. The set uses this to skip comparing elements
+ * which can not dominate a new element, and to compare the rest in only one direction. This is
+ * faster for large sets, but the insertion order is lost:
+ * <p/>
+ * {@code  key=first: [[1,7], [3,5], [5,3]] + [2,4] => [[1,7], [2,4], [5,3]]}
+ * <p/>
  * No methods for removing elements like {@link #remove(Object)} are supported.
  *
  * @param <T> the element type
@@ -27,12 +39,19 @@ public class ParetoSet<T> extends AbstractCollection<T> {
 
   private final ParetoComparator<T> comparator;
   private final ParetoSetEventListener<? super T> eventListener;
+  private final ToIntFunction<? super T> sortKey;
 
   @SuppressWarnings("unchecked")
   private T[] elements = (T[]) new Object[16];
 
+  /** The sort-key for each element, only used if the set is sorted. */
+  private int[] keys;
+
   private int size = 0;
 
+  /** The elements in {@code [0, sortedSize)} are sorted on the sort-key. */
+  private int sortedSize = 0;
+
   private T goodElement = null;
 
   /**
@@ -44,9 +63,26 @@ public class ParetoSet<T> extends AbstractCollection<T> {
   public ParetoSet(
     ParetoComparator<T> comparator,
     ParetoSetEventListener<? super T> eventListener
+  ) {
+    this(comparator, eventListener, null);
+  }
+
+  /**
+   * Create a new ParetoSet with a comparator, a drop event listener and a sort-key. See the class
+   * documentation for the requirements on the sort-key.
+   *
+   * @param sortKey The primary criterion to keep the elements sorted on. If {@code null} the
+   *                elements are kept in insertion order.
+   */
+  public ParetoSet(
+    ParetoComparator<T> comparator,
+    ParetoSetEventListener<? super T> eventListener,
+    @Nullable ToIntFunction<? super T> sortKey
   ) {
     this.comparator = comparator;
     this.eventListener = eventListener;
+    this.sortKey = sortKey;
+    this.keys = sortKey == null ? null : new int[elements.length];
   }
 
   /**
@@ -78,6 +114,9 @@ public class ParetoSet<T> extends AbstractCollection<T> {
 
   @Override
   public boolean add(T newValue) {
+    if (sortKey != null) {
+      return addSorted(newValue);
+    }
     if (size == 0) {
       acceptAndAppendValue(newValue);
       return true;
@@ -131,6 +170,7 @@ public class ParetoSet<T> extends AbstractCollection<T> {
   @Override
   public void clear() {
     size = 0;
+    sortedSize = 0;
     goodElement = null;
   }
 
@@ -149,6 +189,9 @@ public class ParetoSet<T> extends AbstractCollection<T> {
     if (size == 0) {
       return true;
     }
+    if (sortKey != null) {
+      return qualifySorted(newValue);
+    }
 
     // Quick shortcut, one element probably dominate most of the new elements
     if (goodElement != null && leftVectorDominatesRightVector(goodElement, newValue)) {
@@ -211,6 +254,40 @@ public class ParetoSet<T> extends AbstractCollection<T> {
     // Noop
   }
 
+  /**
+   * If the set is sorted, new elements are by default inserted at their sorted position. A
+   * subclass depending on the insertion order, like the index of new elements, can override this
+   * and return {@code true}. Then new elements are appended after the sorted elements, and the
+   * subclass must call {@link #sortElements()} to sort them.
+   */
+  protected boolean appendNewElementsUnsorted() {
+    return false;
+  }
+
+  /**
+   * Move the elements appended since last time this method was called into the sorted part of
+   * the set. This does nothing if the set is not sorted.
+   */
+  protected final void sortElements() {
+    if (sortKey == null) {
+      return;
+    }
+    // Insertion sort, the number of unsorted elements is small
+    for (int i = sortedSize; i < size; ++i) {
+      T e = elements[i];
+      int key = keys[i];
+      int j = i - 1;
+      while (j >= 0 && keys[j] > key) {
+        elements[j + 1] = elements[j];
+        keys[j + 1] = keys[j];
+        --j;
+      }
+      elements[j + 1] = e;
+      keys[j + 1] = key;
+    }
+    sortedSize = size;
+  }
+
   protected ParetoComparator<T> getComparator() {
     return comparator;
   }
@@ -291,6 +368,147 @@ public class ParetoSet<T> extends AbstractCollection<T> {
     size = i + 1;
   }
 
+  private boolean addSorted(T newValue) {
+    final int key = sortKey.applyAsInt(newValue);
+
+    // Quick shortcut, one element probably dominate most of the new elements
+    if (goodElement != null && leftVectorDominatesRightVector(goodElement, newValue)) {
+      notifyElementRejected(newValue, goodElement);
+      return false;
+    }
+
+    // Only elements with a smaller or equal key can reject the new value. The elements with a
+    // key close to the new value is most likely to dominate it, so we start with the greatest.
+    int end = indexOfFirstSortedKeyGreaterThan(key);
+    for (int i = end - 1; i >= 0; --i) {
+      if (isRejectedBy(newValue, i)) {
+        notifyElementRejected(newValue, elements[i]);
+        return false;
+      }
+    }
+    for (int i = sortedSize; i < size; ++i) {
+      if (keys[i] <= key && isRejectedBy(newValue, i)) {
+        notifyElementRejected(newValue, elements[i]);
+        return false;
+      }
+    }
+
+    // The sorted elements with a smaller key can not be dropped
+    int firstDropCandidate = end;
+    while (firstDropCandidate > 0 && keys[firstDropCandidate - 1] == key) {
+      --firstDropCandidate;
+    }
+    removeElementsDominatedBy(newValue, key, firstDropCandidate);
+
+    notifyElementAccepted(newValue);
+    assertEnoughSpaceInSet();
+
+    if (appendNewElementsUnsorted()) {
+      elements[size] = newValue;
+      keys[size] = key;
+      ++size;
+      return true;
+    }
+    // All elements are sorted, insert the new value after the elements with the same key
+    int index = firstDropCandidate;
+    while (index < size && keys[index] <= key) {
+      ++index;
+    }
+    System.arraycopy(elements, index, elements, index + 1, size - index);
+    System.arraycopy(keys, index, keys, index + 1, size - index);
+    elements[index] = newValue;
+    keys[index] = key;
+    ++size;
+    sortedSize = size;
+    return true;
+  }
+
+  private boolean qualifySorted(T newValue) {
+    final int key = sortKey.applyAsInt(newValue);
+
+    for (int i = indexOfFirstSortedKeyGreaterThan(key) - 1; i >= 0; --i) {
+      if (isRejectedBy(newValue, i)) {
+        return false;
+      }
+    }
+    for (int i = sortedSize; i < size; ++i) {
+      if (keys[i] <= key && isRejectedBy(newValue, i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Binary search the sorted elements for the first element with a key greater than the given key.
+   * Returns the number of sorted elements if no such element exist.
+   */
+  private int indexOfFirstSortedKeyGreaterThan(int key) {
+    int low = 0;
+    int high = sortedSize;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (keys[mid] <= key) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * The element at the given index has a smaller or equal key, so it dominates the new value, or
+   * is equivalent to it, unless the new value is better on one of the other criteria.
+   */
+  private boolean isRejectedBy(T newValue, int index) {
+    if (leftDominanceExist(newValue, elements[index])) {
+      return false;
+    }
+    goodElement = elements[index];
+    return true;
+  }
+
+  /**
+   * Remove all elements dominated by the {@code newValue}, starting at the given index. Elements
+   * with a smaller key can not be dominated, and elements with a greater key are dominated unless
+   * they are better on one of the other criteria.
+   */
+  private void removeElementsDominatedBy(final T newValue, final int key, final int startIndex) {
+    int newSortedSize = sortedSize;
+    // Let 'i' be the index to move the next element to keep to
+    int i = startIndex;
+
+    for (int j = startIndex; j < size; ++j) {
+      if (i != j) {
+        notifyElementMoved(j, i);
+      }
+      if (j == sortedSize) {
+        newSortedSize = i;
+      }
+      T it = elements[j];
+      boolean dominated = keys[j] > key
+        ? !rightDominanceExist(newValue, it)
+        : keys[j] == key && leftVectorDominatesRightVector(newValue, it);
+
+      if (dominated) {
+        notifyElementDropped(it, newValue);
+      } else {
+        elements[i] = it;
+        keys[i] = keys[j];
+        ++i;
+      }
+    }
+    if (i != size) {
+      notifyElementMoved(size, i);
+    }
+    if (sortedSize == size) {
+      newSortedSize = i;
+    }
+    size = i;
+    sortedSize = newSortedSize;
+  }
+
   private boolean leftVectorDominatesRightVector(T left, T right) {
     return leftDominanceExist(left, right) && !rightDominanceExist(left, right);
   }
@@ -303,6 +521,9 @@ public class ParetoSet<T> extends AbstractCollection<T> {
   private void assertEnoughSpaceInSet() {
     if (size == elements.length) {
       elements = Arrays.copyOf(elements, elements.length * 2);
+      if (keys != null) {
+        keys = Arrays.copyOf(keys, elements.length);
+      }
     }
   }
 
@@ -1,8 +1,15 @@
 package org.opentripplanner.raptor.util.paretoset;
 
+import java.util.function.ToIntFunction;
+import javax.annotation.Nullable;
+
 /**
  * {@link ParetoSet} with the possibility to set an index marker, which can be used to list all
  * elements added after the marker is set.
+ * <p>
+ * If the set is sorted, the elements before the marker are kept sorted, while new elements are
+ * appended after the marker. The new elements are sorted when the marker is moved to the end of
+ * the set.
  *
  * @param <T> the element type
  */
@@ -21,6 +28,14 @@ public class ParetoSetWithMarker<T> extends ParetoSet<T> {
     super(comparator, eventListener);
   }
 
+  public ParetoSetWithMarker(
+    ParetoComparator<T> comparator,
+    ParetoSetEventListener<? super T> eventListener,
+    @Nullable ToIntFunction<? super T> sortKey
+  ) {
+    super(comparator, eventListener, sortKey);
+  }
+
   @Override
   public void clear() {
     super.clear();
@@ -34,6 +49,11 @@ public class ParetoSetWithMarker<T> extends ParetoSet<T> {
     }
   }
 
+  @Override
+  protected boolean appendNewElementsUnsorted() {
+    return true;
+  }
+
   public boolean hasElementsAfterMarker() {
     return marker != size();
   }
@@ -49,6 +69,7 @@ public class ParetoSetWithMarker<T> extends ParetoSet<T> {
    * Move the marker after the last element in the set.
    */
   public void markAtEndOfSet() {
+    sortElements();
     marker = size();
   }
 }
@@ -68,6 +68,7 @@ public class RoutingWorker {
   private final AdditionalSearchDays additionalSearchDays;
   private final TransitGroupPriorityService transitGroupPriorityService;
   private SearchParams raptorSearchParamsUsed = null;
+  private boolean softSearchTimeLimitReached = false;
   private PageCursorInput pageCursorInput = null;
 
   public RoutingWorker(OtpServerRequestContext serverContext, RouteRequest request, ZoneId zoneId) {
@@ -152,7 +153,7 @@ public class RoutingWorker {
         it -> pageCursorInput = it
       );
 
-      filteredItineraries = filterChain.filter(itineraries);
+      filteredItineraries = filterChain.filter(itineraries, debugTimingAggregator);
       routingErrors.addAll(filterChain.getRoutingErrors());
     }
 
@@ -177,6 +178,7 @@ public class RoutingWorker {
     return RoutingResponseMapper.map(
       request,
       raptorSearchParamsUsed,
+      softSearchTimeLimitReached,
       filteredItineraries,
       routingErrors,
       debugTimingAggregator,
@@ -284,6 +286,7 @@ public class RoutingWorker {
         debugTimingAggregator
       );
       raptorSearchParamsUsed = transitResults.getSearchParams();
+      softSearchTimeLimitReached = transitResults.isSoftSearchTimeLimitReached();
       itineraries.addAll(transitResults.getItineraries());
     } catch (RoutingValidationException e) {
       routingErrors.addAll(e.getRoutingErrors());
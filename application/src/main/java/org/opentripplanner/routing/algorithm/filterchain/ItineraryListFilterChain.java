@@ -2,11 +2,13 @@ package org.opentripplanner.routing.algorithm.filterchain;
 
 import java.util.ArrayList;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.routing.algorithm.filterchain.framework.filterchain.DeleteResultHandler;
 import org.opentripplanner.routing.algorithm.filterchain.framework.filterchain.RoutingErrorsAttacher;
 import org.opentripplanner.routing.algorithm.filterchain.framework.spi.ItineraryListFilter;
 import org.opentripplanner.routing.api.response.RoutingError;
+import org.opentripplanner.routing.framework.DebugTimingAggregator;
 
 public class ItineraryListFilterChain {
 
@@ -24,9 +26,26 @@ public class ItineraryListFilterChain {
   }
 
   public List<Itinerary> filter(List<Itinerary> itineraries) {
+    return filter(itineraries, null);
+  }
+
+  /**
+   * Filter the itineraries and report the time spent in each filter to the given timing
+   * aggregator, if it is not {@code null}.
+   */
+  public List<Itinerary> filter(
+    List<Itinerary> itineraries,
+    @Nullable DebugTimingAggregator debugTimingAggregator
+  ) {
     List<Itinerary> result = itineraries;
     for (ItineraryListFilter filter : filters) {
-      result = filter.filter(result);
+      if (debugTimingAggregator == null) {
+        result = filter.filter(result);
+      } else {
+        long start = System.nanoTime();
+        result = filter.filter(result);
+        debugTimingAggregator.finishedItineraryFilter(filter.name(), System.nanoTime() - start);
+      }
     }
 
     routingErrors.addAll(RoutingErrorsAttacher.computeErrors(itineraries, result));
@@ -17,6 +17,11 @@ public final class DecorateFilter implements ItineraryListFilter {
     this.decorator = decorator;
   }
 
+  @Override
+  public String name() {
+    return decorator.getClass().getSimpleName();
+  }
+
   @Override
   public List<Itinerary> filter(List<Itinerary> itineraries) {
     for (var it : itineraries) {
@@ -21,6 +21,7 @@ public class RemoveFilter implements ItineraryListFilter {
     this.flagger = flagger;
   }
 
+  @Override
   public String name() {
     return flagger.name();
   }
@@ -30,4 +30,11 @@ public interface ItineraryListFilter {
    * </pre>
    */
   List<Itinerary> filter(List<Itinerary> itineraries);
+
+  /**
+   * A name used for debugging and timing the itinerary list filter chain.
+   */
+  default String name() {
+    return getClass().getSimpleName();
+  }
 }
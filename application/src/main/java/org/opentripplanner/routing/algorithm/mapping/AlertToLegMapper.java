@@ -9,6 +9,7 @@ import java.util.Set;
 import java.util.function.Function;
 import org.opentripplanner.model.plan.Leg;
 import org.opentripplanner.model.plan.StopArrival;
+import org.opentripplanner.routing.alertpatch.EntitySelector;
 import org.opentripplanner.routing.alertpatch.StopCondition;
 import org.opentripplanner.routing.alertpatch.TransitAlert;
 import org.opentripplanner.routing.services.TransitAlertService;
@@ -47,8 +48,8 @@ public class AlertToLegMapper {
       return;
     }
 
-    ZonedDateTime legStartTime = leg.getStartTime();
-    ZonedDateTime legEndTime = leg.getEndTime();
+    long legStartTime = leg.getStartTime().toEpochSecond();
+    long legEndTime = leg.getEndTime().toEpochSecond();
     StopLocation fromStop = leg.getFrom() == null ? null : leg.getFrom().stop;
     StopLocation toStop = leg.getTo() == null ? null : leg.getTo().stop;
 
@@ -60,106 +61,131 @@ public class AlertToLegMapper {
       Set<StopCondition> stopConditions = isFirstLeg
         ? StopCondition.FIRST_DEPARTURE
         : StopCondition.DEPARTURE;
-
-      Collection<TransitAlert> alerts = getAlertsForStopAndRoute(stop, routeId, stopConditions);
-      alerts.addAll(getAlertsForStopAndTrip(stop, tripId, serviceDate, stopConditions));
-      alerts.addAll(
-        getAlertsForRelatedStops(stop, id -> transitAlertService.getStopAlerts(id, stopConditions))
+      addStopAlertsToLeg(
+        leg,
+        stop,
+        routeId,
+        tripId,
+        serviceDate,
+        stopConditions,
+        legStartTime,
+        legEndTime
       );
-      addTransitAlertsToLeg(leg, alerts, legStartTime, legEndTime);
     }
     if (toStop instanceof RegularStop stop) {
-      Set<StopCondition> stopConditions = StopCondition.ARRIVING;
-      Collection<TransitAlert> alerts = getAlertsForStopAndRoute(stop, routeId, stopConditions);
-      alerts.addAll(getAlertsForStopAndTrip(stop, tripId, serviceDate, stopConditions));
-      alerts.addAll(
-        getAlertsForRelatedStops(stop, id -> transitAlertService.getStopAlerts(id, stopConditions))
+      addStopAlertsToLeg(
+        leg,
+        stop,
+        routeId,
+        tripId,
+        serviceDate,
+        StopCondition.ARRIVING,
+        legStartTime,
+        legEndTime
       );
-      addTransitAlertsToLeg(leg, alerts, legStartTime, legEndTime);
     }
 
     if (leg.getIntermediateStops() != null) {
-      Set<StopCondition> stopConditions = StopCondition.PASSING;
       for (StopArrival visit : leg.getIntermediateStops()) {
         if (visit.place.stop instanceof RegularStop stop) {
-          Collection<TransitAlert> alerts = getAlertsForStopAndRoute(stop, routeId, stopConditions);
-          alerts.addAll(getAlertsForStopAndTrip(stop, tripId, serviceDate, stopConditions));
-          alerts.addAll(
-            getAlertsForRelatedStops(
-              stop,
-              id -> transitAlertService.getStopAlerts(id, stopConditions)
-            )
-          );
-
           ZonedDateTime stopArrival = visit.arrival.scheduledTime();
           ZonedDateTime stopDeparture = visit.departure.scheduledTime();
 
-          addTransitAlertsToLeg(leg, alerts, stopArrival, stopDeparture);
+          addStopAlertsToLeg(
+            leg,
+            stop,
+            routeId,
+            tripId,
+            serviceDate,
+            StopCondition.PASSING,
+            stopArrival.toEpochSecond(),
+            stopDeparture.toEpochSecond()
+          );
         }
       }
     }
 
-    Collection<TransitAlert> alerts;
-
     // trips
-    alerts = transitAlertService.getTripAlerts(leg.getTrip().getId(), serviceDate);
-    addTransitAlertsToLeg(leg, alerts, legStartTime, legEndTime);
+    addTransitAlertsToLeg(
+      leg,
+      new EntitySelector.Trip(tripId, serviceDate),
+      legStartTime,
+      legEndTime
+    );
 
     // route
-    alerts = transitAlertService.getRouteAlerts(leg.getRoute().getId());
-    addTransitAlertsToLeg(leg, alerts, legStartTime, legEndTime);
+    addTransitAlertsToLeg(leg, new EntitySelector.Route(routeId), legStartTime, legEndTime);
 
     // agency
-    alerts = transitAlertService.getAgencyAlerts(leg.getAgency().getId());
-    addTransitAlertsToLeg(leg, alerts, legStartTime, legEndTime);
+    addTransitAlertsToLeg(
+      leg,
+      new EntitySelector.Agency(leg.getAgency().getId()),
+      legStartTime,
+      legEndTime
+    );
 
     // Filter alerts when there are multiple timePeriods for each alert
-    leg
-      .getTransitAlerts()
-      .removeIf(alert ->
-        !alert.displayDuring(leg.getStartTime().toEpochSecond(), leg.getEndTime().toEpochSecond())
-      );
+    leg.getTransitAlerts().removeIf(alert -> !alert.displayDuring(legStartTime, legEndTime));
   }
 
   /**
-   * Add alerts for the leg, if they are valid for the duration of the leg.
+   * Add alerts for the stop, the route and trip at the stop, and the related stops, which are
+   * valid during the given period.
    */
-  private static void addTransitAlertsToLeg(
+  private void addStopAlertsToLeg(
     Leg leg,
-    Collection<TransitAlert> alerts,
-    ZonedDateTime fromTime,
-    ZonedDateTime toTime
-  ) {
-    if (alerts != null) {
-      for (TransitAlert alert : alerts) {
-        if (alert.displayDuring(fromTime.toEpochSecond(), toTime.toEpochSecond())) {
-          leg.addAlert(alert);
-        }
-      }
-    }
-  }
-
-  private Collection<TransitAlert> getAlertsForStopAndRoute(
     RegularStop stop,
     FeedScopedId routeId,
-    Set<StopCondition> stopConditions
+    FeedScopedId tripId,
+    LocalDate serviceDate,
+    Set<StopCondition> stopConditions,
+    long fromTime,
+    long toTime
   ) {
-    return getAlertsForRelatedStops(
+    Collection<TransitAlert> alerts = getAlertsForRelatedStops(
       stop,
-      id -> transitAlertService.getStopAndRouteAlerts(id, routeId, stopConditions)
+      id ->
+        transitAlertService.getAlerts(
+          new EntitySelector.StopAndRoute(id, routeId, stopConditions),
+          fromTime,
+          toTime
+        )
+    );
+    alerts.addAll(
+      getAlertsForRelatedStops(
+        stop,
+        id ->
+          transitAlertService.getAlerts(
+            new EntitySelector.StopAndTrip(id, tripId, serviceDate, stopConditions),
+            fromTime,
+            toTime
+          )
+      )
     );
+    alerts.addAll(
+      getAlertsForRelatedStops(
+        stop,
+        id ->
+          transitAlertService.getAlerts(
+            new EntitySelector.Stop(id, stopConditions),
+            fromTime,
+            toTime
+          )
+      )
+    );
+    alerts.forEach(leg::addAlert);
   }
 
-  private Collection<TransitAlert> getAlertsForStopAndTrip(
-    RegularStop stop,
-    FeedScopedId tripId,
-    LocalDate serviceDate,
-    Set<StopCondition> stopConditions
+  /**
+   * Add alerts for the entity, if they are valid for the given period.
+   */
+  private void addTransitAlertsToLeg(
+    Leg leg,
+    EntitySelector entitySelector,
+    long fromTime,
+    long toTime
   ) {
-    return getAlertsForRelatedStops(
-      stop,
-      id -> transitAlertService.getStopAndTripAlerts(id, tripId, serviceDate, stopConditions)
-    );
+    transitAlertService.getAlerts(entitySelector, fromTime, toTime).forEach(leg::addAlert);
   }
 
   /**
@@ -10,7 +10,6 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.LineString;
 import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
 import org.opentripplanner.astar.model.GraphPath;
 import org.opentripplanner.ext.flex.FlexibleTransitLeg;
@@ -342,6 +341,11 @@ public class GraphPathToItineraryMapper {
   /**
    * Generate one leg of an itinerary from a list of {@link State}.
    *
+   * The geometry is created lazily, when it is accessed. The walk steps are created eagerly,
+   * because the mapper looks at the other edges of the vertices passed to find turn options. The
+   * temporary edges of the request are removed after the routing, and the graph may be changed
+   * by the real-time updaters.
+   *
    * @param states       The list of states to base the leg on
    * @param previousStep the previous walk step, so that the first relative turn direction is
    *                     calculated correctly
@@ -364,8 +368,6 @@ public class GraphPathToItineraryMapper {
 
     double distanceMeters = edges.stream().mapToDouble(Edge::getDistanceMeters).sum();
 
-    LineString geometry = GeometryUtils.concatenateLineStrings(edges, Edge::getGeometry);
-
     var statesToWalkStepsMapper = new StatesToWalkStepsMapper(
       states,
       previousStep,
@@ -393,7 +395,7 @@ public class GraphPathToItineraryMapper {
       .withTo(makePlace(lastState))
       .withDistanceMeters(distanceMeters)
       .withGeneralizedCost((int) (lastState.getWeight() - firstState.getWeight()))
-      .withGeometry(geometry)
+      .withLazyGeometry(() -> GeometryUtils.concatenateLineStrings(edges, Edge::getGeometry))
       .withElevationProfile(
         makeElevation(edges, firstState.getPreferences().system().geoidElevation())
       )
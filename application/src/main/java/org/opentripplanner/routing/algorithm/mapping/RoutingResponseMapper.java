@@ -24,6 +24,7 @@ public class RoutingResponseMapper {
   public static RoutingResponse map(
     RouteRequest request,
     SearchParams raptorSearchParamsUsed,
+    boolean softSearchTimeLimitReached,
     List<Itinerary> itineraries,
     Set<RoutingError> routingErrors,
     DebugTimingAggregator debugTimingAggregator,
@@ -50,6 +51,9 @@ public class RoutingResponseMapper {
     }
 
     var metadata = pagingService.createTripSearchMetadata();
+    if (metadata != null) {
+      metadata.softSearchTimeLimitReached = softSearchTimeLimitReached;
+    }
 
     return new RoutingResponse(
       tripPlan,
@@ -11,9 +11,13 @@ import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.stream.IntStream;
 import org.opentripplanner.ext.ridehailing.RideHailingAccessShifter;
 import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.application.OTPRequestTimeoutException;
 import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.raptor.RaptorService;
 import org.opentripplanner.raptor.api.path.RaptorPath;
@@ -51,6 +55,14 @@ public class TransitRouter {
 
   public static final int NOT_SET = -1;
 
+  /**
+   * Mapping itineraries is CPU bound, so mapping more paths at the same time than there are
+   * processors does not make it faster.
+   */
+  private static final int MAX_PARALLEL_ITINERARY_MAPPING = Runtime
+    .getRuntime()
+    .availableProcessors();
+
   private final RouteRequest request;
   private final OtpServerRequestContext serverContext;
   private final TransitGroupPriorityService transitGroupPriorityService;
@@ -106,7 +118,7 @@ public class TransitRouter {
 
   private TransitRouterResult route() {
     if (!request.journey().transit().enabled()) {
-      return new TransitRouterResult(List.of(), null);
+      return new TransitRouterResult(List.of(), null, false);
     }
 
     if (!serverContext.transitService().transitFeedCovers(request.dateTime())) {
@@ -174,11 +186,67 @@ public class TransitRouter {
       request
     );
 
-    List<Itinerary> itineraries = paths.stream().map(itineraryMapper::createItinerary).toList();
+    List<Itinerary> itineraries = mapItineraries(itineraryMapper, paths);
 
     debugTimingAggregator.finishedItineraryCreation();
 
-    return new TransitRouterResult(itineraries, transitResponse.requestUsed().searchParams());
+    return new TransitRouterResult(
+      itineraries,
+      transitResponse.requestUsed().searchParams(),
+      transitResponse.isSoftSearchTimeLimitReached()
+    );
+  }
+
+  /**
+   * Map the paths to itineraries. Mapping the street legs of each path is expensive, so if the
+   * {@link OTPFeature#ParallelRouting} is on, the paths are mapped in parallel using the Raptor
+   * thread pool. The pool is instrumented with the request log-trace and timeout handling. The
+   * number of paths mapped at the same time is limited to {@link #MAX_PARALLEL_ITINERARY_MAPPING},
+   * because with {@link OTPFeature#VirtualThreadRaptor} on the pool is not bounded. The order of
+   * the itineraries is the same as the order of the paths.
+   */
+  private List<Itinerary> mapItineraries(
+    RaptorPathToItineraryMapper<TripSchedule> itineraryMapper,
+    Collection<RaptorPath<TripSchedule>> paths
+  ) {
+    var threadPool = serverContext.raptorConfig().threadPool();
+
+    if (!OTPFeature.ParallelRouting.isOn() || threadPool == null || paths.size() < 2) {
+      return paths.stream().map(itineraryMapper::createItinerary).toList();
+    }
+
+    var permits = new Semaphore(MAX_PARALLEL_ITINERARY_MAPPING);
+    var results = new ArrayList<Future<Itinerary>>(paths.size());
+    try {
+      for (var path : paths) {
+        permits.acquire();
+        results.add(
+          threadPool.submit(() -> {
+            try {
+              return itineraryMapper.createItinerary(path);
+            } finally {
+              permits.release();
+            }
+          })
+        );
+      }
+      var itineraries = new ArrayList<Itinerary>(results.size());
+      for (Future<Itinerary> it : results) {
+        itineraries.add(it.get());
+      }
+      return itineraries;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OTPRequestTimeoutException();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new RuntimeException(e.getCause());
+    } finally {
+      // Stop mapping the remaining paths if the request failed
+      results.forEach(it -> it.cancel(true));
+    }
   }
 
   private AccessEgresses fetchAccessEgresses() {
@@ -8,10 +8,16 @@ public class TransitRouterResult {
 
   private final List<Itinerary> itineraries;
   private final SearchParams searchParams;
+  private final boolean softSearchTimeLimitReached;
 
-  public TransitRouterResult(List<Itinerary> itineraries, SearchParams searchParams) {
+  public TransitRouterResult(
+    List<Itinerary> itineraries,
+    SearchParams searchParams,
+    boolean softSearchTimeLimitReached
+  ) {
     this.itineraries = itineraries;
     this.searchParams = searchParams;
+    this.softSearchTimeLimitReached = softSearchTimeLimitReached;
   }
 
   public List<Itinerary> getItineraries() {
@@ -21,4 +27,8 @@ public class TransitRouterResult {
   public SearchParams getSearchParams() {
     return searchParams;
   }
+
+  public boolean isSoftSearchTimeLimitReached() {
+    return softSearchTimeLimitReached;
+  }
 }
@@ -0,0 +1,100 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.opentripplanner.raptor.api.model.RaptorTransfer;
+import org.opentripplanner.raptor.spi.RaptorTransferCursor;
+
+/**
+ * The transfers of all stops in one search direction, stored as parallel arrays. The transfers of
+ * stop {@code s} are in the range {@code [offsets[s], offsets[s+1])} of each array. Raptor reads
+ * the target stop, duration and cost of the transfers it relaxes from the int arrays, and only
+ * reads the transfer objects for the transfers it keeps.
+ */
+final class FlatRaptorTransfers {
+
+  private final int[] offsets;
+  private final int[] stops;
+  private final int[] durations;
+  private final int[] c1s;
+  private final RaptorTransfer[] transfers;
+
+  FlatRaptorTransfers(List<List<RaptorTransfer>> transfersByStop) {
+    int nStops = transfersByStop.size();
+    this.offsets = new int[nStops + 1];
+    for (int s = 0; s < nStops; s++) {
+      offsets[s + 1] = offsets[s] + transfersByStop.get(s).size();
+    }
+    int size = offsets[nStops];
+    this.stops = new int[size];
+    this.durations = new int[size];
+    this.c1s = new int[size];
+    this.transfers = new RaptorTransfer[size];
+
+    int i = 0;
+    for (List<RaptorTransfer> transfersForStop : transfersByStop) {
+      for (RaptorTransfer it : transfersForStop) {
+        stops[i] = it.stop();
+        durations[i] = it.durationInSeconds();
+        c1s[i] = it.c1();
+        transfers[i] = it;
+        ++i;
+      }
+    }
+  }
+
+  /**
+   * The transfers of the given stop as an unmodifiable list view.
+   */
+  List<RaptorTransfer> get(int stop) {
+    return Collections.unmodifiableList(
+      Arrays.asList(transfers).subList(offsets[stop], offsets[stop + 1])
+    );
+  }
+
+  /**
+   * Create a new cursor, a cursor can only be used by one thread.
+   */
+  RaptorTransferCursor cursor() {
+    return new Cursor();
+  }
+
+  private final class Cursor implements RaptorTransferCursor {
+
+    private int index;
+    private int end;
+
+    @Override
+    public RaptorTransferCursor forStop(int stop) {
+      index = offsets[stop] - 1;
+      end = offsets[stop + 1];
+      return this;
+    }
+
+    @Override
+    public boolean next() {
+      return ++index < end;
+    }
+
+    @Override
+    public int stop() {
+      return stops[index];
+    }
+
+    @Override
+    public int durationInSeconds() {
+      return durations[index];
+    }
+
+    @Override
+    public int c1() {
+      return c1s[index];
+    }
+
+    @Override
+    public RaptorTransfer transfer() {
+      return transfers[index];
+    }
+  }
+}
@@ -5,51 +5,45 @@ import static java.util.stream.Collectors.toMap;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 import org.opentripplanner.raptor.api.model.RaptorTransfer;
+import org.opentripplanner.raptor.spi.RaptorTransferCursor;
 import org.opentripplanner.street.search.request.StreetSearchRequest;
 
 public class RaptorTransferIndex {
 
-  private final List<RaptorTransfer>[] forwardTransfers;
+  private final FlatRaptorTransfers forwardTransfers;
 
-  private final List<RaptorTransfer>[] reversedTransfers;
+  private final FlatRaptorTransfers reversedTransfers;
 
   public RaptorTransferIndex(
     List<List<RaptorTransfer>> forwardTransfers,
     List<List<RaptorTransfer>> reversedTransfers
   ) {
-    // Create immutable copies of the lists for each stop to make them immutable and faster to iterate
-    this.forwardTransfers = forwardTransfers.stream().map(List::copyOf).toArray(List[]::new);
-    this.reversedTransfers = reversedTransfers.stream().map(List::copyOf).toArray(List[]::new);
+    // Copy the transfers into flat arrays to make them immutable and faster to iterate
+    this.forwardTransfers = new FlatRaptorTransfers(forwardTransfers);
+    this.reversedTransfers = new FlatRaptorTransfers(reversedTransfers);
   }
 
   public static RaptorTransferIndex create(
     List<List<Transfer>> transfersByStopIndex,
     StreetSearchRequest request
   ) {
-    var forwardTransfers = new ArrayList<List<RaptorTransfer>>(transfersByStopIndex.size());
-    var reversedTransfers = new ArrayList<List<RaptorTransfer>>(transfersByStopIndex.size());
+    // The street traversal of each transfer is the expensive part, so the forward transfers are
+    // calculated in parallel for each stop. The result is in stop order.
+    List<List<RaptorTransfer>> forwardTransfers = IntStream
+      .range(0, transfersByStopIndex.size())
+      .parallel()
+      .mapToObj(fromStop -> createForwardTransfers(transfersByStopIndex.get(fromStop), request))
+      .toList();
 
+    var reversedTransfers = new ArrayList<List<RaptorTransfer>>(transfersByStopIndex.size());
     for (int i = 0; i < transfersByStopIndex.size(); i++) {
-      forwardTransfers.add(new ArrayList<>());
       reversedTransfers.add(new ArrayList<>());
     }
 
-    for (int fromStop = 0; fromStop < transfersByStopIndex.size(); fromStop++) {
-      // The transfers are filtered so that there is only one possible directional transfer
-      // for a stop pair.
-      var transfers = transfersByStopIndex
-        .get(fromStop)
-        .stream()
-        .flatMap(s -> s.asRaptorTransfer(request).stream())
-        .collect(
-          toMap(RaptorTransfer::stop, Function.identity(), (a, b) -> a.c1() < b.c1() ? a : b)
-        )
-        .values();
-
-      forwardTransfers.get(fromStop).addAll(transfers);
-
-      for (RaptorTransfer forwardTransfer : transfers) {
+    for (int fromStop = 0; fromStop < forwardTransfers.size(); fromStop++) {
+      for (RaptorTransfer forwardTransfer : forwardTransfers.get(fromStop)) {
         reversedTransfers
           .get(forwardTransfer.stop())
           .add(DefaultRaptorTransfer.reverseOf(fromStop, forwardTransfer));
@@ -59,11 +53,44 @@ public class RaptorTransferIndex {
     return new RaptorTransferIndex(forwardTransfers, reversedTransfers);
   }
 
+  /**
+   * The transfers are filtered so that there is only one possible directional transfer for a
+   * stop pair, the one with the lowest cost.
+   */
+  private static List<RaptorTransfer> createForwardTransfers(
+    List<Transfer> transfers,
+    StreetSearchRequest request
+  ) {
+    return List.copyOf(
+      transfers
+        .stream()
+        .flatMap(s -> s.asRaptorTransfer(request).stream())
+        .collect(
+          toMap(RaptorTransfer::stop, Function.identity(), (a, b) -> a.c1() < b.c1() ? a : b)
+        )
+        .values()
+    );
+  }
+
   public List<RaptorTransfer> getForwardTransfers(int stopIndex) {
-    return forwardTransfers[stopIndex];
+    return forwardTransfers.get(stopIndex);
   }
 
   public List<RaptorTransfer> getReversedTransfers(int stopIndex) {
-    return reversedTransfers[stopIndex];
+    return reversedTransfers.get(stopIndex);
+  }
+
+  /**
+   * Create a cursor over the forward transfers, see {@link RaptorTransferCursor}.
+   */
+  public RaptorTransferCursor createForwardTransferCursor() {
+    return forwardTransfers.cursor();
+  }
+
+  /**
+   * Create a cursor over the reversed transfers, see {@link RaptorTransferCursor}.
+   */
+  public RaptorTransferCursor createReversedTransferCursor() {
+    return reversedTransfers.cursor();
   }
 }
@@ -6,6 +6,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.opentripplanner.model.transfer.TransferService;
@@ -29,6 +30,14 @@ import org.opentripplanner.transit.service.SiteRepository;
  */
 public class TransitLayer {
 
+  private static final AtomicLong VERSION_COUNTER = new AtomicLong();
+
+  /**
+   * Each new instance, including the copies made by real-time updates, gets a higher version than
+   * the instances created before it.
+   */
+  private final long version = VERSION_COUNTER.incrementAndGet();
+
   /**
    * Transit data required for routing, indexed by each local date(Graph TimeZone) it runs through.
    * A Trip "runs through" a date if any of its arrivals or departures is happening on that date.
@@ -97,6 +106,10 @@ public class TransitLayer {
     this.stopBoardAlightTransferCosts = stopBoardAlightTransferCosts;
   }
 
+  public long getVersion() {
+    return version;
+  }
+
   @Nullable
   public StopLocation getStopByIndex(int stop) {
     return stop == -1 ? null : this.siteRepository.stopByIndex(stop);
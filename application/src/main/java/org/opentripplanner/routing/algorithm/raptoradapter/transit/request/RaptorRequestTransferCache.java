@@ -12,22 +12,47 @@ import org.opentripplanner.routing.algorithm.raptoradapter.transit.Transfer;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.request.StreetMode;
 import org.opentripplanner.routing.api.request.preference.BikePreferences;
+import org.opentripplanner.routing.api.request.preference.ElevatorPreferences;
 import org.opentripplanner.routing.api.request.preference.StreetPreferences;
 import org.opentripplanner.routing.api.request.preference.WalkPreferences;
 import org.opentripplanner.routing.api.request.preference.WheelchairPreferences;
+import org.opentripplanner.street.search.intersection_model.DrivingDirection;
+import org.opentripplanner.street.search.intersection_model.IntersectionTraversalModel;
 import org.opentripplanner.street.search.request.StreetSearchRequest;
 import org.opentripplanner.street.search.request.StreetSearchRequestMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Cache the {@link RaptorTransferIndex} for each distinct set of street preferences which
+ * influence the transfers.
+ * <p>
+ * To avoid a new index for every small variation of the preferences sent by clients, the
+ * preferences are normalized before they are used as a key. Only the preferences which influence
+ * walking, and biking if the transfer mode includes biking, are part of the key, and the
+ * speeds and reluctances are snapped to a grid anchored at the default value with steps of
+ * {@link #QUANTIZATION_STEP} times the default value. The index is built with the normalized
+ * preferences, so the transfers are the same for all requests sharing an index, independent of
+ * which request is first. The default values are on the grid, so requests using the defaults
+ * are not changed.
+ * <p>
+ * The transfers for each stop are calculated in parallel when an index is built.
+ */
 public class RaptorRequestTransferCache {
 
   private static final Logger LOG = LoggerFactory.getLogger(RaptorRequestTransferCache.class);
 
+  /**
+   * The speeds and reluctances are rounded to the closest multiple of 5% of the default value,
+   * added to the default value.
+   */
+  static final double QUANTIZATION_STEP = 0.05;
+
   private final LoadingCache<CacheKey, RaptorTransferIndex> transferCache;
 
   public RaptorRequestTransferCache(int maximumSize) {
-    transferCache = CacheBuilder.newBuilder().maximumSize(maximumSize).build(cacheLoader());
+    transferCache =
+      CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build(cacheLoader());
   }
 
   public LoadingCache<CacheKey, RaptorTransferIndex> getTransferCache() {
@@ -36,13 +61,8 @@ public class RaptorRequestTransferCache {
 
   public void put(List<List<Transfer>> transfersByStopIndex, RouteRequest request) {
     final CacheKey cacheKey = new CacheKey(transfersByStopIndex, request);
-    final RaptorTransferIndex raptorTransferIndex = RaptorTransferIndex.create(
-      transfersByStopIndex,
-      cacheKey.request
-    );
-
     LOG.info("Initializing cache with request: {}", cacheKey.options);
-    transferCache.put(cacheKey, raptorTransferIndex);
+    transferCache.put(cacheKey, createIndex(cacheKey));
   }
 
   public RaptorTransferIndex get(List<List<Transfer>> transfersByStopIndex, RouteRequest request) {
@@ -53,12 +73,82 @@ public class RaptorRequestTransferCache {
     }
   }
 
+  /**
+   * Map the request to the street search request used to calculate the transfers, with the speeds
+   * and reluctances normalized, see the class documentation.
+   */
+  static StreetSearchRequest normalizedTransferRequest(RouteRequest request) {
+    var transferRequest = StreetSearchRequestMapper.mapToTransferRequest(request).build();
+    var preferences = transferRequest.preferences();
+    var walk = preferences.walk();
+    var bike = preferences.bike();
+    var street = preferences.street();
+    var walkDefaults = WalkPreferences.DEFAULT;
+    var bikeDefaults = BikePreferences.DEFAULT;
+
+    return StreetSearchRequest
+      .copyOf(transferRequest)
+      .withPreferences(p -> {
+        p.withWalk(w ->
+          w
+            .withSpeed(quantize(walk.speed(), walkDefaults.speed()))
+            .withReluctance(quantize(walk.reluctance(), walkDefaults.reluctance()))
+            .withStairsReluctance(
+              quantize(walk.stairsReluctance(), walkDefaults.stairsReluctance())
+            )
+            .withStairsTimeFactor(
+              quantize(walk.stairsTimeFactor(), walkDefaults.stairsTimeFactor())
+            )
+            .withSafetyFactor(quantize(walk.safetyFactor(), walkDefaults.safetyFactor()))
+            .withEscalatorReluctance(
+              quantize(walk.escalatorReluctance(), walkDefaults.escalatorReluctance())
+            )
+        );
+        p.withBike(b ->
+          b
+            .withSpeed(quantize(bike.speed(), bikeDefaults.speed()))
+            .withReluctance(quantize(bike.reluctance(), bikeDefaults.reluctance()))
+        );
+        p.withStreet(s ->
+          s.withTurnReluctance(
+            quantize(street.turnReluctance(), StreetPreferences.DEFAULT.turnReluctance())
+          )
+        );
+      })
+      .build();
+  }
+
+  /**
+   * Round the value to the closest point on a grid anchored at the default value, with a step
+   * size relative to the default value. Zero and negative values are not changed.
+   */
+  static double quantize(double value, double defaultValue) {
+    double step = defaultValue * QUANTIZATION_STEP;
+    if (value <= 0.0 || step <= 0.0) {
+      return value;
+    }
+    double quantized = defaultValue + Math.round((value - defaultValue) / step) * step;
+    // Never round a positive value down to zero
+    return quantized > 0.0 ? quantized : step;
+  }
+
+  private static RaptorTransferIndex createIndex(CacheKey cacheKey) {
+    long start = System.currentTimeMillis();
+    var index = RaptorTransferIndex.create(cacheKey.transfersByStopIndex, cacheKey.request);
+    LOG.info(
+      "Raptor transfer index created in {} ms: {}",
+      System.currentTimeMillis() - start,
+      cacheKey.options
+    );
+    return index;
+  }
+
   private CacheLoader<CacheKey, RaptorTransferIndex> cacheLoader() {
     return new CacheLoader<>() {
       @Override
       public RaptorTransferIndex load(CacheKey cacheKey) {
         LOG.info("Adding runtime request to cache: {}", cacheKey.options);
-        return RaptorTransferIndex.create(cacheKey.transfersByStopIndex, cacheKey.request);
+        return createIndex(cacheKey);
       }
     };
   }
@@ -71,7 +161,7 @@ public class RaptorRequestTransferCache {
 
     private CacheKey(List<List<Transfer>> transfersByStopIndex, RouteRequest request) {
       this.transfersByStopIndex = transfersByStopIndex;
-      this.request = StreetSearchRequestMapper.mapToTransferRequest(request).build();
+      this.request = normalizedTransferRequest(request);
       this.options = new StreetRelevantOptions(this.request);
     }
 
@@ -100,8 +190,9 @@ public class RaptorRequestTransferCache {
   }
 
   /**
-   * This contains an extract of the parameters which may influence transfers.
-   * <p>
+   * This contains an extract of the parameters which may influence transfers. The walk board
+   * cost and the street preferences for access, egress and direct street routing are not used
+   * when calculating transfers, and are not part of the key.
    */
   private static class StreetRelevantOptions {
 
@@ -109,7 +200,10 @@ public class RaptorRequestTransferCache {
     private final boolean wheelchair;
     private final WalkPreferences walk;
     private final BikePreferences bike;
-    private final StreetPreferences street;
+    private final double turnReluctance;
+    private final DrivingDirection drivingDirection;
+    private final ElevatorPreferences elevator;
+    private final IntersectionTraversalModel intersectionTraversalModel;
     private final WheelchairPreferences wheelchairPreferences;
 
     public StreetRelevantOptions(StreetSearchRequest request) {
@@ -117,29 +211,52 @@ public class RaptorRequestTransferCache {
       this.wheelchair = request.wheelchair();
 
       var preferences = request.preferences();
-      this.walk = preferences.walk();
+      this.walk =
+        preferences.walk().copyOf().withBoardCost(WalkPreferences.DEFAULT.boardCost()).build();
       this.bike = transferMode.includesBiking() ? preferences.bike() : BikePreferences.DEFAULT;
-      this.street = preferences.street();
+      var street = preferences.street();
+      this.turnReluctance = street.turnReluctance();
+      this.drivingDirection = street.drivingDirection();
+      this.elevator = street.elevator();
+      this.intersectionTraversalModel = street.intersectionTraversalModel();
       this.wheelchairPreferences =
         this.wheelchair ? preferences.wheelchair() : WheelchairPreferences.DEFAULT;
     }
 
     @Override
     public String toString() {
+      var streetDefaults = StreetPreferences.DEFAULT;
       return ToStringBuilder
         .of(StreetRelevantOptions.class)
         .addEnum("transferMode", transferMode)
         .addBoolIfTrue("wheelchair", wheelchair)
         .addObj("walk", walk, WalkPreferences.DEFAULT)
         .addObj("bike", bike, BikePreferences.DEFAULT)
-        .addObj("street", street, StreetPreferences.DEFAULT)
+        .addNum("turnReluctance", turnReluctance, streetDefaults.turnReluctance())
+        .addEnum("drivingDirection", drivingDirection, streetDefaults.drivingDirection())
+        .addObj("elevator", elevator, streetDefaults.elevator())
+        .addEnum(
+          "intersectionTraversalModel",
+          intersectionTraversalModel,
+          streetDefaults.intersectionTraversalModel()
+        )
         .addObj("wheelchairPreferences", wheelchairPreferences, WheelchairPreferences.DEFAULT)
         .toString();
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(transferMode, wheelchair, walk, bike, street, wheelchairPreferences);
+      return Objects.hash(
+        transferMode,
+        wheelchair,
+        walk,
+        bike,
+        turnReluctance,
+        drivingDirection,
+        elevator,
+        intersectionTraversalModel,
+        wheelchairPreferences
+      );
     }
 
     @Override
@@ -153,9 +270,12 @@ public class RaptorRequestTransferCache {
       return (
         transferMode == that.transferMode &&
         wheelchair == that.wheelchair &&
+        Double.compare(turnReluctance, that.turnReluctance) == 0 &&
+        drivingDirection == that.drivingDirection &&
+        intersectionTraversalModel == that.intersectionTraversalModel &&
         Objects.equals(that.walk, walk) &&
         Objects.equals(that.bike, bike) &&
-        Objects.equals(that.street, street) &&
+        Objects.equals(that.elevator, elevator) &&
         Objects.equals(that.wheelchairPreferences, wheelchairPreferences)
       );
     }
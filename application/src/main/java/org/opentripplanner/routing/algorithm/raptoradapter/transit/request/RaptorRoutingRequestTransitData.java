@@ -1,7 +1,6 @@
 package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
 
 import java.time.ZonedDateTime;
-import java.util.BitSet;
 import java.util.Iterator;
 import java.util.List;
 import javax.annotation.Nullable;
@@ -16,9 +15,10 @@ import org.opentripplanner.raptor.spi.RaptorConstrainedBoardingSearch;
 import org.opentripplanner.raptor.spi.RaptorCostCalculator;
 import org.opentripplanner.raptor.spi.RaptorPathConstrainedTransferSearch;
 import org.opentripplanner.raptor.spi.RaptorRoute;
+import org.opentripplanner.raptor.spi.RaptorRouteIndexSearch;
 import org.opentripplanner.raptor.spi.RaptorSlackProvider;
+import org.opentripplanner.raptor.spi.RaptorTransferCursor;
 import org.opentripplanner.raptor.spi.RaptorTransitDataProvider;
-import org.opentripplanner.raptor.util.BitSetIterator;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.RaptorTransferIndex;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.SlackProvider;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer;
@@ -28,7 +28,10 @@ import org.opentripplanner.routing.algorithm.raptoradapter.transit.constrainedtr
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.cost.CostCalculatorFactory;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.mappers.GeneralizedCostParametersMapper;
 import org.opentripplanner.routing.api.request.RouteRequest;
-import org.opentripplanner.transit.model.network.RoutingTripPattern;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.preference.RoutingPreferences;
+import org.opentripplanner.routing.api.request.request.filter.TransitGroupSelect;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
 import org.opentripplanner.transit.model.network.grouppriority.TransitGroupPriorityService;
 
 /**
@@ -45,7 +48,7 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
   /**
    * Active route indices by stop index
    */
-  private final List<int[]> activeTripPatternsPerStop;
+  private final TripPatternsPerStop activeTripPatternsPerStop;
 
   /**
    * Trip patterns by route index
@@ -69,6 +72,8 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
 
   private final int validTransitDataEndTime;
 
+  private final CacheKey cacheKey;
+
   public RaptorRoutingRequestTransitData(
     TransitLayer transitLayer,
     TransitGroupPriorityService transitGroupPriorityService,
@@ -126,6 +131,22 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
         this.transitSearchTimeZero,
         this.transitSearchTimeZero.plusDays(additionalFutureSearchDays + 1).toInstant()
       );
+
+    var transit = request.journey().transit();
+    this.cacheKey =
+      new CacheKey(
+        transitSearchTimeZero,
+        additionalPastSearchDays,
+        additionalFutureSearchDays,
+        filter,
+        request.journey().transfer().mode(),
+        request.wheelchair(),
+        request.preferences(),
+        List.copyOf(transit.unpreferredRoutes()),
+        List.copyOf(transit.unpreferredAgencies()),
+        List.copyOf(transit.priorityGroupsByAgency()),
+        List.copyOf(transit.priorityGroupsGlobal())
+      );
   }
 
   @Override
@@ -139,17 +160,23 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
   }
 
   @Override
-  public IntIterator routeIndexIterator(IntIterator stops) {
-    BitSet activeTripPatternsForGivenStops = new BitSet(RoutingTripPattern.indexCounter());
+  public RaptorTransferCursor createTransfersFromStopCursor() {
+    return transferIndex.createForwardTransferCursor();
+  }
 
-    while (stops.hasNext()) {
-      int[] patterns = activeTripPatternsPerStop.get(stops.next());
-      for (int i : patterns) {
-        activeTripPatternsForGivenStops.set(i);
-      }
-    }
+  @Override
+  public RaptorTransferCursor createTransfersToStopCursor() {
+    return transferIndex.createReversedTransferCursor();
+  }
+
+  @Override
+  public IntIterator routeIndexIterator(IntIterator stops) {
+    return activeTripPatternsPerStop.routeIndexIterator(stops);
+  }
 
-    return new BitSetIterator(activeTripPatternsForGivenStops);
+  @Override
+  public RaptorRouteIndexSearch createRouteIndexSearch() {
+    return activeTripPatternsPerStop.createRouteIndexSearch();
   }
 
   @Override
@@ -217,6 +244,25 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
     return validTransitDataEndTime;
   }
 
+  /**
+   * The filter is only equal for instances of {@link RouteRequestTransitDataProviderFilter} with
+   * the same parameters. The transit layer is not part of the key, it is identified by the
+   * {@link #transitDataVersion()}.
+   */
+  @Override
+  public Object transitDataCacheKey() {
+    return cacheKey;
+  }
+
+  /**
+   * The transit layer is replaced when real-time updates are applied, each new transit layer has a
+   * higher version.
+   */
+  @Override
+  public long transitDataVersion() {
+    return transitLayer.getVersion();
+  }
+
   @Override
   public RaptorConstrainedBoardingSearch<TripSchedule> transferConstraintsForwardSearch(
     int routeIndex
@@ -242,4 +288,22 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
     }
     return new ConstrainedBoardingSearch(false, toStopTransfers, fromStopTransfers);
   }
+
+  /**
+   * The parameters used to create the transit data. The street and access/egress preferences are
+   * part of the {@link RoutingPreferences}, so this is stricter than needed.
+   */
+  private record CacheKey(
+    ZonedDateTime transitSearchTimeZero,
+    int additionalPastSearchDays,
+    int additionalFutureSearchDays,
+    TransitDataProviderFilter filter,
+    StreetMode transferMode,
+    boolean wheelchair,
+    RoutingPreferences preferences,
+    List<FeedScopedId> unpreferredRoutes,
+    List<FeedScopedId> unpreferredAgencies,
+    List<TransitGroupSelect> priorityGroupsByAgency,
+    List<TransitGroupSelect> priorityGroupsGlobal
+  ) {}
 }
@@ -2,7 +2,6 @@ package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
 
 import static org.opentripplanner.framework.time.ServiceDateUtils.secondsSinceStartOfTime;
 
-import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.map.TObjectIntMap;
 import gnu.trove.map.hash.TObjectIntHashMap;
 import java.time.LocalDate;
@@ -49,31 +48,35 @@ class RaptorRoutingRequestTransitDataCreator {
     this.transitSearchTimeZero = transitSearchTimeZero;
   }
 
-  public List<int[]> createTripPatternsPerStop(List<TripPatternForDates> tripPatternsForDate) {
-    // Create temporary array of TIntArrayLists
+  public TripPatternsPerStop createTripPatternsPerStop(
+    List<TripPatternForDates> tripPatternsForDate
+  ) {
+    // Count the patterns for each stop, offsets[s + 1] is the number of patterns for stop s
     int stopCount = transitLayer.getStopCount();
-    TIntArrayList[] patternsForStop = new TIntArrayList[stopCount];
-    for (int i = 0; i < stopCount; i++) {
-      patternsForStop[i] = new TIntArrayList();
+    int[] offsets = new int[stopCount + 1];
+    for (TripPatternForDates tripPatternForDateList : tripPatternsForDate) {
+      final RoutingTripPattern tripPattern = tripPatternForDateList.getTripPattern();
+      final int numberOfStopsInPattern = tripPattern.numberOfStopsInPattern();
+      for (int i = 0; i < numberOfStopsInPattern; i++) {
+        ++offsets[tripPattern.stopIndex(i) + 1];
+      }
+    }
+    for (int s = 0; s < stopCount; s++) {
+      offsets[s + 1] += offsets[s];
     }
 
-    // Loop through all patterns, and mark all stops containing that pattern
+    // Loop through all patterns, and add the pattern to all stops in the pattern
+    int[] patterns = new int[offsets[stopCount]];
+    int[] next = Arrays.copyOf(offsets, stopCount);
     for (TripPatternForDates tripPatternForDateList : tripPatternsForDate) {
       final RoutingTripPattern tripPattern = tripPatternForDateList.getTripPattern();
       final int patternIndex = tripPattern.patternIndex();
       final int numberOfStopsInPattern = tripPattern.numberOfStopsInPattern();
       for (int i = 0; i < numberOfStopsInPattern; i++) {
-        patternsForStop[tripPattern.stopIndex(i)].add(patternIndex);
+        patterns[next[tripPattern.stopIndex(i)]++] = patternIndex;
       }
     }
-
-    // Create the final list with raw int arrays, in order to get the best iteration performance
-    List<int[]> result = new ArrayList<>(stopCount);
-    for (var patterns : patternsForStop) {
-      result.add(patterns.toArray());
-    }
-
-    return result;
+    return new TripPatternsPerStop(offsets, patterns, RoutingTripPattern.indexCounter());
   }
 
   public List<TripPatternForDates> createPatternIndex(List<TripPatternForDates> tripPatterns) {
@@ -205,15 +205,13 @@ public class TripPatternForDates
   }
 
   @Override
-  public IntUnaryOperator getArrivalTimes(int stopPositionInPattern) {
-    final int base = stopPositionInPattern * numberOfTripSchedules;
-    return (int index) -> arrivalTimes[base + index];
+  public int[] getArrivalTimes() {
+    return arrivalTimes;
   }
 
   @Override
-  public IntUnaryOperator getDepartureTimes(int stopPositionInPattern) {
-    final int base = stopPositionInPattern * numberOfTripSchedules;
-    return (int index) -> departureTimes[base + index];
+  public int[] getDepartureTimes() {
+    return departureTimes;
   }
 
   public IntUnaryOperator getArrivalTimesForTrip(int index) {
@@ -0,0 +1,58 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
+
+import org.opentripplanner.raptor.spi.IntIterator;
+import org.opentripplanner.raptor.spi.RaptorRouteIndexSearch;
+import org.opentripplanner.raptor.util.ReusableBitSet;
+
+/**
+ * The active trip pattern indices for each stop. The patterns are stored in one flat array, where
+ * the patterns of stop {@code s} are in the range {@code [offsets[s], offsets[s+1])}. This avoids
+ * an array object for each stop, and keeps the patterns of stops with nearby indices close
+ * together in memory.
+ */
+final class TripPatternsPerStop {
+
+  private final int[] offsets;
+  private final int[] patterns;
+  private final int nPatternIndices;
+
+  /**
+   * @param offsets         the start of the patterns of each stop in {@code patterns}, followed by
+   *                        the total number of elements. The size is the number of stops + 1.
+   * @param patterns        the pattern indices for all stops.
+   * @param nPatternIndices the number of pattern indices, all pattern indices are less than this.
+   */
+  TripPatternsPerStop(int[] offsets, int[] patterns, int nPatternIndices) {
+    this.offsets = offsets;
+    this.patterns = patterns;
+    this.nPatternIndices = nPatternIndices;
+  }
+
+  /**
+   * Create a route index search for one Raptor search. The search marks the patterns in a
+   * {@link ReusableBitSet}, which is cleared and reused for each round.
+   */
+  RaptorRouteIndexSearch createRouteIndexSearch() {
+    var activePatterns = new ReusableBitSet(nPatternIndices);
+    return stops -> {
+      activePatterns.clear();
+      while (stops.hasNext()) {
+        int stop = stops.next();
+        int end = offsets[stop + 1];
+        for (int i = offsets[stop]; i < end; ++i) {
+          activePatterns.set(patterns[i]);
+        }
+      }
+      return activePatterns.iterator();
+    };
+  }
+
+  /**
+   * Return the route indices for the given stops, see
+   * {@link RaptorRouteIndexSearch#routeIndexIterator(IntIterator)}. This creates a new search for
+   * each call, use {@link #createRouteIndexSearch()} when searching more than once.
+   */
+  IntIterator routeIndexIterator(IntIterator stops) {
+    return createRouteIndexSearch().routeIndexIterator(stops);
+  }
+}
@@ -1,6 +1,5 @@
 package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
 
-import java.util.function.IntUnaryOperator;
 import javax.annotation.Nullable;
 import org.opentripplanner.framework.tostring.ToStringBuilder;
 import org.opentripplanner.raptor.api.model.RaptorConstants;
@@ -30,9 +29,12 @@ public final class TripScheduleAlightSearch<T extends RaptorTripSchedule>
   private final int nTrips;
   private final int binarySearchThreshold;
 
+  /** The arrival times of all trips, see {@link TripSearchTimetable#getArrivalTimes()}. */
+  private final int[] arrivalTimes;
+
   private int latestAlightTime;
   private int stopPositionInPattern;
-  private IntUnaryOperator arrivalTimes;
+  private int timesOffset;
 
   private T candidateTrip;
   private int candidateTripIndex = RaptorConstants.NOT_FOUND;
@@ -45,6 +47,7 @@ public final class TripScheduleAlightSearch<T extends RaptorTripSchedule>
     this.timetable = timetable;
     this.nTrips = timetable.numberOfTripSchedules();
     this.binarySearchThreshold = binarySearchThreshold;
+    this.arrivalTimes = timetable.getArrivalTimes();
   }
 
   /* TripScheduleBoardOrAlightEvent implementation using fly-weight pattern */
@@ -61,7 +64,7 @@ public final class TripScheduleAlightSearch<T extends RaptorTripSchedule>
 
   @Override
   public int time() {
-    return candidateTrip.arrival(stopPositionInPattern);
+    return arrivalTimes[timesOffset + candidateTripIndex];
   }
 
   @Override
@@ -102,7 +105,7 @@ public final class TripScheduleAlightSearch<T extends RaptorTripSchedule>
   ) {
     this.latestAlightTime = latestAlightTime;
     this.stopPositionInPattern = stopPositionInPattern;
-    this.arrivalTimes = timetable.getArrivalTimes(stopPositionInPattern);
+    this.timesOffset = stopPositionInPattern * nTrips;
     this.candidateTrip = null;
     this.candidateTripIndex = RaptorConstants.NOT_FOUND;
 
@@ -163,7 +166,7 @@ public final class TripScheduleAlightSearch<T extends RaptorTripSchedule>
   @Nullable
   private RaptorBoardOrAlightEvent<T> findBoardingSearchForwardInTime(int tripIndexLowerBound) {
     for (int i = tripIndexLowerBound; i < nTrips; ++i) {
-      if (arrivalTimes.applyAsInt(i) <= latestAlightTime) {
+      if (arrivalTimes[timesOffset + i] <= latestAlightTime) {
         candidateTripIndex = i;
       } else {
         // this trip arrives too late. We can break out of the loop since
@@ -188,7 +191,7 @@ public final class TripScheduleAlightSearch<T extends RaptorTripSchedule>
     final int tripIndexUpperBound
   ) {
     for (int i = tripIndexUpperBound - 1; i >= 0; --i) {
-      if (arrivalTimes.applyAsInt(i) <= latestAlightTime) {
+      if (arrivalTimes[timesOffset + i] <= latestAlightTime) {
         candidateTrip = timetable.getTripSchedule(i);
         candidateTripIndex = i;
         return this;
@@ -214,7 +217,7 @@ public final class TripScheduleAlightSearch<T extends RaptorTripSchedule>
     while (upper - lower > binarySearchThreshold) {
       int m = (lower + upper) / 2;
 
-      if (arrivalTimes.applyAsInt(m) <= latestAlightTime) {
+      if (arrivalTimes[timesOffset + m] <= latestAlightTime) {
         lower = m;
       } else {
         upper = m;
@@ -1,6 +1,5 @@
 package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
 
-import java.util.function.IntUnaryOperator;
 import org.opentripplanner.framework.tostring.ToStringBuilder;
 import org.opentripplanner.raptor.api.model.RaptorConstants;
 import org.opentripplanner.raptor.api.model.RaptorTransferConstraint;
@@ -28,9 +27,12 @@ public final class TripScheduleBoardSearch<T extends RaptorTripSchedule>
   private final int nTrips;
   private final int binarySearchThreshold;
 
+  /** The departure times of all trips, see {@link TripSearchTimetable#getDepartureTimes()}. */
+  private final int[] departureTimes;
+
   private int earliestBoardTime;
   private int stopPositionInPattern;
-  private IntUnaryOperator departureTimes;
+  private int timesOffset;
 
   private T candidateTrip;
   private int candidateTripIndex = RaptorConstants.NOT_FOUND;
@@ -43,6 +45,7 @@ public final class TripScheduleBoardSearch<T extends RaptorTripSchedule>
     this.timetable = timetable;
     this.nTrips = timetable.numberOfTripSchedules();
     this.binarySearchThreshold = binarySearchThreshold;
+    this.departureTimes = timetable.getDepartureTimes();
   }
 
   /* TripScheduleBoardOrAlightEvent implementation using fly-weight pattern */
@@ -59,7 +62,7 @@ public final class TripScheduleBoardSearch<T extends RaptorTripSchedule>
 
   @Override
   public int time() {
-    return candidateTrip.departure(stopPositionInPattern);
+    return departureTimes[timesOffset + candidateTripIndex];
   }
 
   @Override
@@ -102,7 +105,7 @@ public final class TripScheduleBoardSearch<T extends RaptorTripSchedule>
   ) {
     this.earliestBoardTime = earliestTime;
     this.stopPositionInPattern = stopPositionInPattern;
-    this.departureTimes = timetable.getDepartureTimes(stopPositionInPattern);
+    this.timesOffset = stopPositionInPattern * nTrips;
     this.candidateTrip = null;
     this.candidateTripIndex = RaptorConstants.NOT_FOUND;
 
@@ -166,7 +169,7 @@ public final class TripScheduleBoardSearch<T extends RaptorTripSchedule>
     int tripIndexUpperBound
   ) {
     for (int i = tripIndexUpperBound - 1; i >= 0; --i) {
-      if (departureTimes.applyAsInt(i) >= earliestBoardTime) {
+      if (departureTimes[timesOffset + i] >= earliestBoardTime) {
         candidateTripIndex = i;
       } else {
         // this trip arrives too early. We can break out of the loop since
@@ -191,7 +194,7 @@ public final class TripScheduleBoardSearch<T extends RaptorTripSchedule>
     final int tripIndexLowerBound
   ) {
     for (int i = tripIndexLowerBound; i < nTrips; ++i) {
-      if (departureTimes.applyAsInt(i) >= earliestBoardTime) {
+      if (departureTimes[timesOffset + i] >= earliestBoardTime) {
         candidateTrip = timetable.getTripSchedule(i);
         candidateTripIndex = i;
         return this;
@@ -215,7 +218,7 @@ public final class TripScheduleBoardSearch<T extends RaptorTripSchedule>
     while (upper - lower > binarySearchThreshold) {
       int m = (lower + upper) / 2;
 
-      if (departureTimes.applyAsInt(m) >= earliestBoardTime) {
+      if (departureTimes[timesOffset + m] >= earliestBoardTime) {
         upper = m;
       } else {
         lower = m;
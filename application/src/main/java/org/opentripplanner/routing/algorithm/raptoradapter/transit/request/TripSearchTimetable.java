@@ -1,6 +1,5 @@
 package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
 
-import java.util.function.IntUnaryOperator;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.spi.RaptorTimeTable;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
@@ -14,16 +13,18 @@ import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
  */
 public interface TripSearchTimetable<T extends RaptorTripSchedule> extends RaptorTimeTable<T> {
   /**
-   * Get the arrival times of all trips at a specific stop index, sorted by time. The returned
-   * function takes the trip index in the TimeTable as input and returns the arrival time as
-   * seconds from midnight on the search date.
+   * Get the arrival times of all trips at all stops as one array, stop by stop. The arrival time
+   * for trip index {@code i} at stop position {@code s} is at index
+   * {@code s * numberOfTripSchedules() + i}, so the times for one stop are stored in a contiguous
+   * range, sorted by time. The times are seconds from midnight on the search date.
+   * <p>
+   * The array is read by the trip searches and must not be modified.
    */
-  IntUnaryOperator getArrivalTimes(int stopPositionInPattern);
+  int[] getArrivalTimes();
 
   /**
-   * Get the departure times of all trips at a specific stop index, sorted by time. The returned
-   * function takes the trip index in the TimeTable as input and returns the departure time as
-   * seconds from midnight on the search date.
+   * Get the departure times of all trips at all stops as one array, stop by stop. See
+   * {@link #getArrivalTimes()} for the layout.
    */
-  IntUnaryOperator getDepartureTimes(int stopPositionInPattern);
+  int[] getDepartureTimes();
 }
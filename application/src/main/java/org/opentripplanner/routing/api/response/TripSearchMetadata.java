@@ -37,6 +37,13 @@ public class TripSearchMetadata {
   @Deprecated
   public Instant nextDateTime;
 
+  /**
+   * This is {@code true} if the transit search stopped at the soft search time-limit before the
+   * whole search-window was searched. The {@link #searchWindowUsed} is then reduced to the part
+   * searched, and the trips departing before it are found by paging to the previous page.
+   */
+  public boolean softSearchTimeLimitReached = false;
+
   private TripSearchMetadata(
     Duration searchWindowUsed,
     Instant prevDateTime,
@@ -89,6 +96,7 @@ public class TripSearchMetadata {
       .addDuration("searchWindowUsed", searchWindowUsed)
       .addObj("nextDateTime", nextDateTime)
       .addObj("prevDateTime", prevDateTime)
+      .addBoolIfTrue("softSearchTimeLimitReached", softSearchTimeLimitReached)
       .toString();
   }
 }
@@ -2,12 +2,14 @@ package org.opentripplanner.routing.framework;
 
 import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter.MeterProvider;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Timer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.opentripplanner.api.resource.DebugOutput;
 import org.opentripplanner.api.resource.TransitTimingOutput;
 import org.opentripplanner.routing.api.request.RoutingTag;
@@ -25,6 +27,7 @@ public class DebugTimingAggregator {
   private static final long nanosToMillis = 1000000;
   public static final String ROUTING_TOTAL = "routing.total";
   public static final String ROUTING_RAPTOR = "routing.raptor";
+  public static final String ROUTING_FILTER = "routing.filter";
 
   private final Clock clock;
 
@@ -47,8 +50,12 @@ public class DebugTimingAggregator {
   private final Timer routingTotalTimer;
   private final Timer requestTotalTimer;
 
+  /** One timer for each filter, tagged with the filter name. */
+  private final MeterProvider<Timer> filterTimer;
+
   private final Timer.Sample startedCalculating;
   private final List<String> messages = new ArrayList<>();
+  private final List<String> filterMessages = new ArrayList<>();
   private Timer.Sample startedDirectStreetRouter;
   private long directStreetRouterTime;
   private Timer.Sample startedDirectFlexRouter;
@@ -96,6 +103,7 @@ public class DebugTimingAggregator {
     tripPatternFilterTimer =
       Timer.builder("routing.tripPatternFiltering").tags(tags).register(registry);
     preCalculationTimer = Timer.builder("routing.preCalculation").tags(tags).register(registry);
+    filterTimer = Timer.builder(ROUTING_FILTER).tags(tags).withRegistry(registry);
 
     numEgressesDistribution =
       DistributionSummary.builder("routing.numEgress").tags(tags).register(registry);
@@ -258,6 +266,15 @@ public class DebugTimingAggregator {
     log("│  Routing total: ", routingTotalTime);
   }
 
+  /**
+   * Record the time spent in one of the filters in the itinerary filter chain. The same filter
+   * name may be reported more than once.
+   */
+  public void finishedItineraryFilter(String name, long nanos) {
+    filterTimer.withTag("filter", name).record(nanos, TimeUnit.NANOSECONDS);
+    filterMessages.add(String.format("%-33s: %8.3f ms", name, nanos / (double) nanosToMillis));
+  }
+
   /** Record the time when we finished filtering the paths for this request. */
   public void finishedFiltering() {
     finishedFiltering = Timer.start(clock);
@@ -265,7 +282,14 @@ public class DebugTimingAggregator {
       return;
     }
     filteringTime = finishedRouters.stop(filteringTimer);
-    log("├  Filtering itineraries", filteringTime);
+    if (filterMessages.isEmpty()) {
+      log("├  Filtering itineraries", filteringTime);
+    } else {
+      for (int i = 0; i < filterMessages.size(); ++i) {
+        messages.add((i == 0 ? "│┌ " : "│├ ") + filterMessages.get(i));
+      }
+      log("├┴ Filtering itineraries", filteringTime);
+    }
   }
 
   /** Record the time when we finished converting the internal model to API classes */
@@ -13,14 +13,19 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import javax.annotation.Nullable;
+import org.locationtech.jts.geom.Envelope;
 import org.opentripplanner.datastore.api.DataSource;
 import org.opentripplanner.ext.emissions.EmissionsDataModel;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationRepository;
 import org.opentripplanner.framework.application.OtpAppException;
 import org.opentripplanner.framework.geometry.CompactElevationProfile;
+import org.opentripplanner.framework.geometry.HilbertCurve;
 import org.opentripplanner.framework.lang.OtpNumberFormat;
 import org.opentripplanner.framework.logging.ProgressTracker;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueSummary;
@@ -49,6 +54,12 @@ import org.slf4j.LoggerFactory;
  * serializer to know that vertices referenced by the edges are the same vertices stored in the
  * graph itself. The easiest way to do this is to make only one serialization call, serializing a
  * single object that contains both the graph and the edge collection.
+ * <p>
+ * The edges are saved in the order of their from-vertex along a Hilbert curve, see
+ * {@link #edgesInSpatialOrder(Graph)}. Kryo write the fields in alphabetical order, so the edges,
+ * and the vertices they reference, are written before the graph. When the graph is loaded the
+ * objects are allocated in the same order, so vertices and edges close in space also end up close
+ * in memory. This improves the cache locality of the street search and spatial queries.
  */
 public class SerializedGraphObject implements Serializable {
 
@@ -92,7 +103,7 @@ public class SerializedGraphObject implements Serializable {
     StreetLimitationParameters streetLimitationParameters
   ) {
     this.graph = graph;
-    this.edges = graph.getEdges();
+    this.edges = edgesInSpatialOrder(graph);
     this.timetableRepository = timetableRepository;
     this.worldEnvelopeRepository = worldEnvelopeRepository;
     this.buildConfig = buildConfig;
@@ -164,6 +175,35 @@ public class SerializedGraphObject implements Serializable {
 
   /* private methods */
 
+  /**
+   * Return all edges in the graph, the outgoing edges of each vertex are added together and the
+   * vertices are sorted along a Hilbert curve. The order of the outgoing edges of each vertex is
+   * kept.
+   */
+  static List<Edge> edgesInSpatialOrder(Graph graph) {
+    var vertices = graph.getVertices().toArray(Vertex[]::new);
+    var envelope = new Envelope();
+    for (Vertex v : vertices) {
+      envelope.expandToInclude(v.getX(), v.getY());
+    }
+    var curve = new HilbertCurve(envelope);
+
+    // Compute the index once for each vertex, not for each comparison
+    var keys = new long[vertices.length];
+    var order = new Integer[vertices.length];
+    for (int i = 0; i < vertices.length; ++i) {
+      keys[i] = curve.index(vertices[i].getX(), vertices[i].getY());
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.comparingLong(i -> keys[i]));
+
+    var edges = new ArrayList<Edge>(graph.countEdges());
+    for (int i : order) {
+      edges.addAll(vertices[i].getOutgoing());
+    }
+    return edges;
+  }
+
   private static SerializedGraphObject load(InputStream inputStream, String sourceDescription) {
     // TODO store version information, halt load if versions mismatch
     try (inputStream) {
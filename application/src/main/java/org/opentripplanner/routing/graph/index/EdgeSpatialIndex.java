@@ -1,9 +1,14 @@
 package org.opentripplanner.routing.graph.index;
 
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.LineString;
 import org.opentripplanner.framework.geometry.HashGridSpatialIndex;
+import org.opentripplanner.framework.geometry.PackedSpatialIndex;
 import org.opentripplanner.routing.linking.Scope;
 import org.opentripplanner.street.model.edge.Edge;
 
@@ -14,6 +19,12 @@ import org.opentripplanner.street.model.edge.Edge;
  * the permanent index and inserts into the realtime index REQUEST: Looks at both the permanent and
  * realtime indexes and does not insert into any index
  * <p>
+ * The permanent edges that exist when the index is created are stored in an immutable
+ * {@link PackedSpatialIndex}, which is faster to query than the hash grid. Permanent edges added
+ * later, when stops are linked to the street network, are inserted into a mutable hash grid on top
+ * of it. Permanent edges removed from the packed index are kept in a set and filtered out of the
+ * query result.
+ * <p>
  * NOTES ON CONCURRENCY: It is possible that an A Star search would find an edge in the
  * realTimeIndex which is then removed before the actual routing starts. This could result in a
  * NullPointerException on the from/to vertex of the Edge being routed on. This happens seldom
@@ -32,10 +43,23 @@ import org.opentripplanner.street.model.edge.Edge;
  */
 public class EdgeSpatialIndex {
 
+  private final PackedSpatialIndex<Edge> packedEdgeIndex;
+
+  private final Set<Edge> removedPackedEdges = ConcurrentHashMap.newKeySet();
+
   private final HashGridSpatialIndex<Edge> permanentEdgeIndex = new HashGridSpatialIndex<>();
 
   private final HashGridSpatialIndex<Edge> realTimeEdgeIndex = new HashGridSpatialIndex<>();
 
+  /**
+   * @param edges    The permanent edges to put in the packed index.
+   * @param geometry The geometry used to index each edge.
+   */
+  public EdgeSpatialIndex(Collection<Edge> edges, Function<Edge, LineString> geometry) {
+    this.packedEdgeIndex =
+      PackedSpatialIndex.of(edges, e -> geometry.apply(e).getEnvelopeInternal());
+  }
+
   public void insert(LineString lineString, Object obj, Scope scope) {
     switch (scope) {
       case PERMANENT -> permanentEdgeIndex.insert(lineString, obj);
@@ -46,7 +70,11 @@ public class EdgeSpatialIndex {
 
   public void remove(Envelope envelope, final Object item, Scope scope) {
     switch (scope) {
-      case PERMANENT -> permanentEdgeIndex.remove(envelope, item);
+      case PERMANENT -> {
+        if (!permanentEdgeIndex.remove(envelope, item)) {
+          removedPackedEdges.add((Edge) item);
+        }
+      }
       case REALTIME -> realTimeEdgeIndex.remove(envelope, item);
       case REQUEST -> throw new IllegalArgumentException();
     }
@@ -54,15 +82,24 @@ public class EdgeSpatialIndex {
 
   public final Stream<Edge> query(Envelope envelope, Scope scope) {
     return switch (scope) {
-      case PERMANENT, REALTIME -> permanentEdgeIndex.query(envelope).stream();
+      case PERMANENT, REALTIME -> queryPermanent(envelope);
       case REQUEST -> Stream.concat(
-        permanentEdgeIndex.query(envelope).stream(),
+        queryPermanent(envelope),
         realTimeEdgeIndex.query(envelope).stream()
       );
     };
   }
 
-  public void compact() {
-    permanentEdgeIndex.compact();
+  @Override
+  public String toString() {
+    return packedEdgeIndex + ", " + removedPackedEdges.size() + " removed, " + permanentEdgeIndex;
+  }
+
+  private Stream<Edge> queryPermanent(Envelope envelope) {
+    Stream<Edge> packed = packedEdgeIndex.query(envelope).stream();
+    if (!removedPackedEdges.isEmpty()) {
+      packed = packed.filter(e -> !removedPackedEdges.contains(e));
+    }
+    return Stream.concat(packed, permanentEdgeIndex.query(envelope).stream());
   }
 }
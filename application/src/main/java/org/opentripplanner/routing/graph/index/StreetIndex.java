@@ -1,5 +1,6 @@
 package org.opentripplanner.routing.graph.index;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -13,16 +14,16 @@ import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.LineString;
 import org.opentripplanner.framework.geometry.GeometryUtils;
-import org.opentripplanner.framework.geometry.HashGridSpatialIndex;
+import org.opentripplanner.framework.geometry.PackedSpatialIndex;
 import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
 import org.opentripplanner.framework.geometry.SplitLineString;
 import org.opentripplanner.framework.i18n.I18NString;
 import org.opentripplanner.framework.i18n.LocalizedString;
 import org.opentripplanner.framework.i18n.NonLocalizedString;
-import org.opentripplanner.framework.logging.ProgressTracker;
 import org.opentripplanner.model.GenericLocation;
 import org.opentripplanner.routing.api.request.StreetMode;
 import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.graphfinder.NearbyPlacesCache;
 import org.opentripplanner.routing.linking.DisposableEdgeCollection;
 import org.opentripplanner.routing.linking.LinkingDirection;
 import org.opentripplanner.routing.linking.Scope;
@@ -69,19 +70,30 @@ public class StreetIndex {
   private final Map<FeedScopedId, StationCentroidVertex> stationCentroidVertices;
 
   private final EdgeSpatialIndex edgeSpatialIndex;
-  private final HashGridSpatialIndex<Vertex> verticesTree;
+  private final PackedSpatialIndex<Vertex> verticesTree;
+
+  /**
+   * The cache is kept here, so it is dropped together with the linker and the spatial indexes it
+   * depends on.
+   */
+  private final NearbyPlacesCache nearbyPlacesCache = new NearbyPlacesCache();
 
   /**
    * Should only be called by the graph.
    */
   public StreetIndex(Graph graph, SiteRepository siteRepository) {
     this.siteRepository = siteRepository;
-    this.edgeSpatialIndex = new EdgeSpatialIndex();
-    this.verticesTree = new HashGridSpatialIndex<>();
+
+    var vertices = graph.getVertices();
+    LOG.info("Index {} street vertices and their edges...", vertices.size());
+    this.edgeSpatialIndex =
+      new EdgeSpatialIndex(outgoingEdges(vertices), StreetIndex::edgeGeometryOrStraightLine);
+    this.verticesTree = PackedSpatialIndex.of(vertices, v -> new Envelope(v.getCoordinate()));
+    LOG.info("Index street vertices and edges complete: {}", this);
+
     this.vertexLinker = new VertexLinker(graph, siteRepository, edgeSpatialIndex);
     this.transitStopVertices = toImmutableMap(graph.getVerticesOfType(TransitStopVertex.class));
     this.stationCentroidVertices = createStationCentroidVertexMap(graph);
-    postSetup(graph.getVertices());
   }
 
   /**
@@ -147,6 +159,10 @@ public class StreetIndex {
     return vertexLinker;
   }
 
+  public NearbyPlacesCache getNearbyPlacesCache() {
+    return nearbyPlacesCache;
+  }
+
   @Nullable
   public TransitStopVertex findTransitStopVertices(FeedScopedId stopId) {
     return transitStopVertices.get(stopId);
@@ -432,26 +448,12 @@ public class StreetIndex {
     return nonTransitMode;
   }
 
-  private void postSetup(Collection<Vertex> vertices) {
-    var progress = ProgressTracker.track("Index street vertex", 1000, vertices.size());
-    LOG.info(progress.startMessage());
-
-    for (Vertex gv : vertices) {
-      for (Edge e : gv.getOutgoing()) {
-        LineString geometry = edgeGeometryOrStraightLine(e);
-        edgeSpatialIndex.insert(geometry, e, Scope.PERMANENT);
-      }
-      Envelope env = new Envelope(gv.getCoordinate());
-      verticesTree.insert(env, gv);
-
-      //noinspection Convert2MethodRef
-      progress.step(m -> LOG.info(m));
+  private static List<Edge> outgoingEdges(Collection<Vertex> vertices) {
+    var edges = new ArrayList<Edge>();
+    for (Vertex v : vertices) {
+      edges.addAll(v.getOutgoing());
     }
-
-    // Trim the sizes of the indices
-    edgeSpatialIndex.compact();
-    verticesTree.compact();
-    LOG.info(progress.completeMessage());
+    return edges;
   }
 
   private static Map<FeedScopedId, TransitStopVertex> toImmutableMap(
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.function.Function;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Envelope;
+import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.transit.model.basic.TransitMode;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
@@ -25,7 +26,12 @@ public interface GraphFinder {
     Function<Envelope, Collection<RegularStop>> queryNearbyStops
   ) {
     return graph.hasStreets
-      ? new StreetGraphFinder(graph)
+      ? new StreetGraphFinder(
+        graph,
+        OTPFeature.NearbyPlacesCache.isOnElseNull(() ->
+          graph.getStreetIndex().getNearbyPlacesCache()
+        )
+      )
       : new DirectGraphFinder(queryNearbyStops);
   }
 
@@ -0,0 +1,122 @@
+package org.opentripplanner.routing.graphfinder;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import org.locationtech.jts.geom.Coordinate;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.street.search.state.State;
+
+/**
+ * Cache the street searches done by the {@link StreetGraphFinder}. The search coordinate is
+ * snapped to the centre of a grid cell, and the states of the stops and places found within the
+ * search radius are cached for each cell and radius, in the order they were visited. The states
+ * are replayed through a new traverse visitor for each query, so the filters of the query and the
+ * current availability of rental vehicles and parking are applied at read time.
+ * <p>
+ * The cells are {@link #CELL_SIZE_METERS} in both directions, so the longitude size of a cell
+ * depends on the latitude of the row of cells it is in.
+ * <p>
+ * Stops are linked to the street network when the graph is built, while vehicle rental and
+ * parking places are linked and removed by the real-time updaters. A cached search can be used
+ * for stops as long as the graph is the same, but it is only used for the other places if no
+ * real-time vertex has been linked or removed since the search was done.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE
+ */
+public class NearbyPlacesCache {
+
+  /** The size of each grid cell, the distances are measured from the centre of the cell. */
+  static final double CELL_SIZE_METERS = 20;
+
+  private static final double CELL_HEIGHT_DEGREES = SphericalDistanceLibrary.metersToDegrees(
+    CELL_SIZE_METERS
+  );
+
+  /**
+   * The max number of states kept in the cache. Each cached state keeps all states on the path
+   * back to the origin of the search in memory, so all of them are counted.
+   */
+  private static final int MAX_STATES = 500_000;
+
+  private final Cache<CellKey, CacheEntry> cache = CacheBuilder
+    .newBuilder()
+    .maximumWeight(MAX_STATES)
+    .<CellKey, CacheEntry>weigher((key, entry) -> entry.weight())
+    .build();
+
+  /**
+   * Return the states of all stops and places found searching from the centre of the grid cell
+   * containing the given coordinate.
+   *
+   * @param includeRealTimePlaces If true, the cached search is only used if the real-time
+   *                              version is the same as when the search was done.
+   * @param realTimeVersion       The real-time version of the graph, read before the search.
+   * @param search                Search from the given cell centre and return the states of the
+   *                              places found.
+   */
+  public List<State> get(
+    Coordinate coordinate,
+    double radiusMeters,
+    boolean includeRealTimePlaces,
+    long realTimeVersion,
+    Function<Coordinate, List<State>> search
+  ) {
+    var key = CellKey.of(coordinate, radiusMeters);
+    var entry = cache.getIfPresent(key);
+
+    if (entry == null || (includeRealTimePlaces && entry.realTimeVersion != realTimeVersion)) {
+      // Two threads may search the same cell at the same time, the last one to finish wins
+      var states = List.copyOf(search.apply(key.centre()));
+      entry = new CacheEntry(realTimeVersion, states, countStatesInPaths(states));
+      cache.put(key, entry);
+    }
+    return entry.states;
+  }
+
+  long size() {
+    return cache.size();
+  }
+
+  /**
+   * The centre of the cell containing the given coordinate, the cached searches are done from
+   * this point.
+   */
+  static Coordinate cellCentre(Coordinate coordinate) {
+    return CellKey.of(coordinate, 0).centre();
+  }
+
+  /** Count the distinct states on the paths from the given states back to the origin. */
+  private static int countStatesInPaths(List<State> states) {
+    Set<State> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (State state : states) {
+      for (State it = state; it != null && visited.add(it); it = it.getBackState()) {}
+    }
+    return visited.size();
+  }
+
+  private record CellKey(long x, long y, double radiusMeters) {
+    static CellKey of(Coordinate c, double radiusMeters) {
+      long y = (long) Math.floor(c.y / CELL_HEIGHT_DEGREES);
+      return new CellKey((long) Math.floor(c.x / cellWidthDegrees(y)), y, radiusMeters);
+    }
+
+    Coordinate centre() {
+      return new Coordinate((x + 0.5) * cellWidthDegrees(y), (y + 0.5) * CELL_HEIGHT_DEGREES);
+    }
+
+    /** The longitude size of the cells in the given row, computed at the centre of the row. */
+    private static double cellWidthDegrees(long y) {
+      return SphericalDistanceLibrary.metersToLonDegrees(
+        CELL_SIZE_METERS,
+        (y + 0.5) * CELL_HEIGHT_DEGREES
+      );
+    }
+  }
+
+  private record CacheEntry(long realTimeVersion, List<State> states, int weight) {}
+}
@@ -2,8 +2,10 @@ package org.opentripplanner.routing.graphfinder;
 
 import static java.lang.Integer.min;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.locationtech.jts.geom.Coordinate;
 import org.opentripplanner.astar.spi.SkipEdgeStrategy;
 import org.opentripplanner.astar.spi.TraverseVisitor;
@@ -11,7 +13,10 @@ import org.opentripplanner.model.GenericLocation;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.request.StreetMode;
 import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.service.vehiclerental.street.VehicleRentalPlaceVertex;
 import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.TransitStopVertex;
+import org.opentripplanner.street.model.vertex.VehicleParkingEntranceVertex;
 import org.opentripplanner.street.search.StreetSearchBuilder;
 import org.opentripplanner.street.search.TemporaryVerticesContainer;
 import org.opentripplanner.street.search.state.State;
@@ -22,25 +27,44 @@ import org.opentripplanner.transit.service.TransitService;
 
 /**
  * A GraphFinder which uses the street network to traverse the graph in order to find the nearest
- * stops and/or places from the origin.
+ * stops and/or places from the origin. If a {@link NearbyPlacesCache} is given, the street
+ * searches are cached, and the places found are replayed through the visitor of each query.
  */
 public class StreetGraphFinder implements GraphFinder {
 
+  private static final List<PlaceType> REAL_TIME_PLACE_TYPES = List.of(
+    PlaceType.VEHICLE_RENT,
+    PlaceType.BIKE_PARK,
+    PlaceType.CAR_PARK
+  );
+
   private final Graph graph;
 
+  @Nullable
+  private final NearbyPlacesCache cache;
+
   public StreetGraphFinder(Graph graph) {
+    this(graph, null);
+  }
+
+  public StreetGraphFinder(Graph graph, @Nullable NearbyPlacesCache cache) {
     this.graph = graph;
+    this.cache = cache;
   }
 
   @Override
   public List<NearbyStop> findClosestStops(Coordinate coordinate, double radiusMeters) {
     StopFinderTraverseVisitor visitor = new StopFinderTraverseVisitor(radiusMeters);
-    findClosestUsingStreets(
-      coordinate.getY(),
-      coordinate.getX(),
-      visitor,
-      visitor.getSkipEdgeStrategy()
-    );
+    if (cache == null) {
+      findClosestUsingStreets(
+        coordinate.getY(),
+        coordinate.getX(),
+        visitor,
+        visitor.getSkipEdgeStrategy()
+      );
+    } else {
+      findClosestUsingCache(coordinate, radiusMeters, false, visitor);
+    }
     return visitor.stopsFound();
   }
 
@@ -71,13 +95,52 @@ public class StreetGraphFinder implements GraphFinder {
       maxResults,
       radiusMeters
     );
-    SkipEdgeStrategy<State, Edge> terminationStrategy = visitor.getSkipEdgeStrategy();
-    findClosestUsingStreets(lat, lon, visitor, terminationStrategy);
+    if (cache == null) {
+      SkipEdgeStrategy<State, Edge> terminationStrategy = visitor.getSkipEdgeStrategy();
+      findClosestUsingStreets(lat, lon, visitor, terminationStrategy);
+    } else {
+      boolean includeRealTimePlaces = filterByPlaceTypes
+        .stream()
+        .anyMatch(REAL_TIME_PLACE_TYPES::contains);
+      findClosestUsingCache(new Coordinate(lon, lat), radiusMeters, includeRealTimePlaces, visitor);
+    }
     List<PlaceAtDistance> results = visitor.placesFound;
     results.sort(Comparator.comparingDouble(PlaceAtDistance::distance));
     return results.subList(0, min(results.size(), maxResults));
   }
 
+  /**
+   * Replay the places found by a cached search through the given visitor. The cached search is
+   * not limited by the number of results, only by the radius, so it finds all places a search
+   * with the visitor's own skip strategy would find.
+   */
+  private void findClosestUsingCache(
+    Coordinate coordinate,
+    double radiusMeters,
+    boolean includeRealTimePlaces,
+    TraverseVisitor<State, Edge> visitor
+  ) {
+    // Read the version before the search, so an update during the search is not missed
+    long realTimeVersion = graph.getLinker().getRealTimeVersion();
+    List<State> states = cache.get(
+      coordinate,
+      radiusMeters,
+      includeRealTimePlaces,
+      realTimeVersion,
+      centre -> {
+        var recorder = new PlaceStateRecorder();
+        findClosestUsingStreets(
+          centre.getY(),
+          centre.getX(),
+          recorder,
+          (current, edge) -> current.getWalkDistance() > radiusMeters
+        );
+        return recorder.states;
+      }
+    );
+    states.forEach(visitor::visitVertex);
+  }
+
   private void findClosestUsingStreets(
     double lat,
     double lon,
@@ -111,4 +174,28 @@ public class StreetGraphFinder implements GraphFinder {
         .getShortestPathTree();
     }
   }
+
+  /** Record the states of the stop and place vertices in the order they are visited. */
+  private static class PlaceStateRecorder implements TraverseVisitor<State, Edge> {
+
+    private final List<State> states = new ArrayList<>();
+
+    @Override
+    public void visitEdge(Edge edge) {}
+
+    @Override
+    public void visitVertex(State state) {
+      var vertex = state.getVertex();
+      if (
+        vertex instanceof TransitStopVertex ||
+        vertex instanceof VehicleRentalPlaceVertex ||
+        vertex instanceof VehicleParkingEntranceVertex
+      ) {
+        states.add(state);
+      }
+    }
+
+    @Override
+    public void visitEnqueue() {}
+  }
 }
@@ -6,6 +6,7 @@ import java.util.Collection;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.opentripplanner.routing.alertpatch.EntitySelector;
 import org.opentripplanner.routing.alertpatch.StopCondition;
 import org.opentripplanner.routing.alertpatch.TransitAlert;
 import org.opentripplanner.routing.services.TransitAlertService;
@@ -74,6 +75,21 @@ public class DelegatingTransitAlertServiceImpl implements TransitAlertService {
       .orElse(null);
   }
 
+  @Override
+  public Collection<TransitAlert> getAlerts(
+    EntitySelector entitySelector,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    return transitAlertServices
+      .stream()
+      .map(transitAlertService ->
+        transitAlertService.getAlerts(entitySelector, startTimeSeconds, endTimeSeconds)
+      )
+      .flatMap(Collection::stream)
+      .collect(Collectors.toList());
+  }
+
   @Override
   public Collection<TransitAlert> getStopAlerts(
     FeedScopedId stop,
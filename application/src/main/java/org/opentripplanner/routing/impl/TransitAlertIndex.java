@@ -0,0 +1,199 @@
+package org.opentripplanner.routing.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.opentripplanner.routing.alertpatch.EntityKey;
+import org.opentripplanner.routing.alertpatch.EntitySelector;
+import org.opentripplanner.routing.alertpatch.TimePeriod;
+import org.opentripplanner.routing.alertpatch.TransitAlert;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+
+/**
+ * An immutable index of alerts by the affected entity and by the time the alert is displayed.
+ * <p>
+ * For each entity the alerts are put in fixed size time buckets, so a lookup for a time range
+ * only needs to look at the alerts in the buckets overlapping the range instead of all alerts
+ * for the entity. Alerts without a start or end time, and alerts spanning many buckets, are kept
+ * in a separate list which is always checked. The result of a lookup is always filtered with
+ * {@link TransitAlert#displayDuring(long, long)}, so the bucketing only affects performance.
+ * <p>
+ * The index is built once for each set of alerts and never modified, so it can be read by many
+ * threads while a new index is built.
+ */
+final class TransitAlertIndex {
+
+  static final TransitAlertIndex EMPTY = new TransitAlertIndex(List.of());
+
+  /** One hour buckets, a typical leg overlaps one or two buckets. */
+  private static final long BUCKET_SIZE_SECONDS = 3600;
+
+  /**
+   * Alerts displayed during more buckets than this are not bucketed, to limit the size of the
+   * index. This is also the maximum number of buckets visited in a lookup, longer time ranges
+   * scan all alerts of the entity.
+   */
+  private static final int MAX_BUCKETS = 48;
+
+  private final Map<EntityKey, EntityAlerts> alertsByEntity = new HashMap<>();
+  private final Map<FeedScopedId, TransitAlert> alertsById = new HashMap<>();
+  private final Set<TransitAlert> allAlerts = new HashSet<>();
+
+  TransitAlertIndex(Collection<TransitAlert> alerts) {
+    Map<EntityKey, Set<TransitAlert>> alertsByKey = new HashMap<>();
+    for (TransitAlert alert : alerts) {
+      allAlerts.add(alert);
+      alertsById.putIfAbsent(alert.getId(), alert);
+      for (EntitySelector entity : alert.entities()) {
+        alertsByKey.computeIfAbsent(entity.key(), k -> new LinkedHashSet<>()).add(alert);
+      }
+    }
+    alertsByKey.forEach((key, value) -> alertsByEntity.put(key, new EntityAlerts(value)));
+  }
+
+  Collection<TransitAlert> allAlerts() {
+    return allAlerts;
+  }
+
+  TransitAlert getById(FeedScopedId id) {
+    return alertsById.get(id);
+  }
+
+  /**
+   * All alerts for the given entity key, independent of time.
+   */
+  Collection<TransitAlert> get(EntityKey key) {
+    var alerts = alertsByEntity.get(key);
+    return alerts == null ? List.of() : alerts.all;
+  }
+
+  /**
+   * All alerts with an entity matching the given selector, independent of time.
+   */
+  Set<TransitAlert> getMatching(EntitySelector selector) {
+    Set<TransitAlert> result = new HashSet<>();
+    for (TransitAlert alert : get(selector.key())) {
+      if (matches(alert, selector)) {
+        result.add(alert);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * All alerts with an entity matching the given selector, which are displayed during the given
+   * period.
+   */
+  Set<TransitAlert> getMatching(EntitySelector selector, long startTime, long endTime) {
+    var alerts = alertsByEntity.get(selector.key());
+    if (alerts == null) {
+      return new HashSet<>();
+    }
+    Set<TransitAlert> result = new HashSet<>();
+    alerts.forEachCandidate(
+      startTime,
+      endTime,
+      alert -> {
+        if (alert.displayDuring(startTime, endTime) && matches(alert, selector)) {
+          result.add(alert);
+        }
+      }
+    );
+    return result;
+  }
+
+  private static boolean matches(TransitAlert alert, EntitySelector selector) {
+    for (EntitySelector entity : alert.entities()) {
+      if (entity.matches(selector)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static long bucket(long epochSecond) {
+    return Math.floorDiv(epochSecond, BUCKET_SIZE_SECONDS);
+  }
+
+  /**
+   * The alerts of a single entity.
+   */
+  private static class EntityAlerts {
+
+    private final List<TransitAlert> all;
+    private final List<TransitAlert> unbucketed = new ArrayList<>();
+    private final Map<Long, List<TransitAlert>> byBucket = new HashMap<>();
+
+    private EntityAlerts(Collection<TransitAlert> alerts) {
+      this.all = List.copyOf(alerts);
+      for (TransitAlert alert : all) {
+        if (!isBucketed(alert)) {
+          unbucketed.add(alert);
+          continue;
+        }
+        Set<Long> buckets = new HashSet<>();
+        for (TimePeriod period : alert.timePeriods()) {
+          // The end time is exclusive
+          long last = bucket(Math.max(period.startTime, period.endTime - 1));
+          for (long b = bucket(period.startTime); b <= last; ++b) {
+            buckets.add(b);
+          }
+        }
+        for (Long b : buckets) {
+          byBucket.computeIfAbsent(b, k -> new ArrayList<>(2)).add(alert);
+        }
+      }
+    }
+
+    /**
+     * Visit all alerts that may be displayed during the given period. The same alert may be
+     * visited more than once.
+     */
+    private void forEachCandidate(long startTime, long endTime, Consumer<TransitAlert> visitor) {
+      long first = bucket(startTime);
+      long last = bucket(endTime);
+      if (last - first >= MAX_BUCKETS) {
+        all.forEach(visitor);
+        return;
+      }
+      unbucketed.forEach(visitor);
+      for (long b = first; b <= last; ++b) {
+        var alerts = byBucket.get(b);
+        if (alerts != null) {
+          alerts.forEach(visitor);
+        }
+      }
+    }
+
+    /**
+     * Only alerts with a limited and known display period are put in buckets.
+     */
+    private static boolean isBucketed(TransitAlert alert) {
+      if (alert.timePeriods().isEmpty()) {
+        return false;
+      }
+      long nBuckets = 0;
+      for (TimePeriod period : alert.timePeriods()) {
+        if (
+          period.startTime <= 0 ||
+          period.endTime == 0 ||
+          period.endTime == TimePeriod.OPEN_ENDED ||
+          period.endTime < period.startTime
+        ) {
+          return false;
+        }
+        nBuckets += bucket(period.endTime) - bucket(period.startTime) + 1;
+        if (nBuckets > MAX_BUCKETS) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
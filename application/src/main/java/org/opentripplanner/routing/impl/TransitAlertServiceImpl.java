@@ -1,7 +1,5 @@
 package org.opentripplanner.routing.impl;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.HashSet;
@@ -17,7 +15,8 @@ import org.opentripplanner.transit.service.TimetableRepository;
 
 /**
  * This is the primary implementation of TransitAlertService, which actually retains its own set
- * of TransitAlerts and indexes them for fast lookup by which transit entity is affected.
+ * of TransitAlerts and indexes them for fast lookup by which transit entity is affected and when
+ * the alert is displayed, see {@link TransitAlertIndex}.
  * The only other implementation exists just to combine several instances of this primary
  * implementation into one.
  * TODO RT_AB: investigate why each updater has its own service instead of taking turns
@@ -34,7 +33,7 @@ public class TransitAlertServiceImpl implements TransitAlertService {
 
   private final TimetableRepository timetableRepository;
 
-  private Multimap<EntityKey, TransitAlert> alerts = HashMultimap.create();
+  private volatile TransitAlertIndex index = TransitAlertIndex.EMPTY;
 
   public TransitAlertServiceImpl(TimetableRepository timetableRepository) {
     this.timetableRepository = timetableRepository;
@@ -43,32 +42,30 @@ public class TransitAlertServiceImpl implements TransitAlertService {
   @Override
   public void setAlerts(Collection<TransitAlert> alerts) {
     // FIXME RT_AB: this is patched live by updaters while in use (being read) by other threads
-    //   performing trip planning. The single-action assignment helps a bit, but the map can be
+    //   performing trip planning. The single-action assignment helps a bit, but the index can be
     //   swapped out while the delegating service is in the middle of multiple calls that read from
     //   it. The consistent approach would be to duplicate the entire service, update it
     //   copy-on-write, and swap in the entire service after the update.
-    Multimap<EntityKey, TransitAlert> newAlerts = HashMultimap.create();
-    for (TransitAlert alert : alerts) {
-      for (EntitySelector entity : alert.entities()) {
-        newAlerts.put(entity.key(), alert);
-      }
-    }
-    this.alerts = newAlerts;
+    this.index = new TransitAlertIndex(alerts);
   }
 
   @Override
   public Collection<TransitAlert> getAllAlerts() {
-    return new HashSet<>(alerts.values());
+    return new HashSet<>(index.allAlerts());
   }
 
   @Override
   public TransitAlert getAlertById(FeedScopedId id) {
-    return alerts
-      .values()
-      .stream()
-      .filter(transitAlert -> transitAlert.getId().equals(id))
-      .findAny()
-      .orElse(null);
+    return index.getById(id);
+  }
+
+  @Override
+  public Collection<TransitAlert> getAlerts(
+    EntitySelector entitySelector,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    return index.getMatching(entitySelector, startTimeSeconds, endTimeSeconds);
   }
 
   @Override
@@ -76,13 +73,7 @@ public class TransitAlertServiceImpl implements TransitAlertService {
     FeedScopedId stopId,
     Set<StopCondition> stopConditions
   ) {
-    Set<TransitAlert> result = new HashSet<>();
-    EntitySelector.Stop entitySelector = new EntitySelector.Stop(stopId, stopConditions);
-    for (TransitAlert alert : alerts.get(entitySelector.key())) {
-      if (alert.entities().stream().anyMatch(selector -> selector.matches(entitySelector))) {
-        result.add(alert);
-      }
-    }
+    Set<TransitAlert> result = index.getMatching(new EntitySelector.Stop(stopId, stopConditions));
     if (result.isEmpty()) {
       // Search for alerts on parent-stop
       if (timetableRepository != null) {
@@ -107,24 +98,17 @@ public class TransitAlertServiceImpl implements TransitAlertService {
 
   @Override
   public Collection<TransitAlert> getRouteAlerts(FeedScopedId route) {
-    return alerts.get(new EntityKey.Route(route));
+    return index.get(new EntityKey.Route(route));
   }
 
   @Override
   public Collection<TransitAlert> getTripAlerts(FeedScopedId trip, LocalDate serviceDate) {
-    Set<TransitAlert> result = new HashSet<>();
-    EntitySelector.Trip entitySelector = new EntitySelector.Trip(trip, serviceDate);
-    for (TransitAlert alert : alerts.get(entitySelector.key())) {
-      if (alert.entities().stream().anyMatch(selector -> selector.matches(entitySelector))) {
-        result.add(alert);
-      }
-    }
-    return result;
+    return index.getMatching(new EntitySelector.Trip(trip, serviceDate));
   }
 
   @Override
   public Collection<TransitAlert> getAgencyAlerts(FeedScopedId agency) {
-    return alerts.get(new EntityKey.Agency(agency));
+    return index.get(new EntityKey.Agency(agency));
   }
 
   @Override
@@ -133,18 +117,7 @@ public class TransitAlertServiceImpl implements TransitAlertService {
     FeedScopedId route,
     Set<StopCondition> stopConditions
   ) {
-    Set<TransitAlert> result = new HashSet<>();
-    EntitySelector.StopAndRoute entitySelector = new EntitySelector.StopAndRoute(
-      stop,
-      route,
-      stopConditions
-    );
-    for (TransitAlert alert : alerts.get(entitySelector.key())) {
-      if (alert.entities().stream().anyMatch(selector -> selector.matches(entitySelector))) {
-        result.add(alert);
-      }
-    }
-    return result;
+    return index.getMatching(new EntitySelector.StopAndRoute(stop, route, stopConditions));
   }
 
   @Override
@@ -154,29 +127,19 @@ public class TransitAlertServiceImpl implements TransitAlertService {
     LocalDate serviceDate,
     Set<StopCondition> stopConditions
   ) {
-    Set<TransitAlert> result = new HashSet<>();
-    EntitySelector.StopAndTrip entitySelector = new EntitySelector.StopAndTrip(
-      stop,
-      trip,
-      serviceDate,
-      stopConditions
+    return index.getMatching(
+      new EntitySelector.StopAndTrip(stop, trip, serviceDate, stopConditions)
     );
-    for (TransitAlert alert : alerts.get(entitySelector.key())) {
-      if (alert.entities().stream().anyMatch(selector -> selector.matches(entitySelector))) {
-        result.add(alert);
-      }
-    }
-    return result;
   }
 
   @Override
   public Collection<TransitAlert> getRouteTypeAndAgencyAlerts(int routeType, FeedScopedId agency) {
-    return alerts.get(new EntityKey.RouteTypeAndAgency(agency, routeType));
+    return index.get(new EntityKey.RouteTypeAndAgency(agency, routeType));
   }
 
   @Override
   public Collection<TransitAlert> getRouteTypeAlerts(int routeType, String feedId) {
-    return alerts.get(new EntityKey.RouteType(feedId, routeType));
+    return index.get(new EntityKey.RouteType(feedId, routeType));
   }
 
   @Override
@@ -184,6 +147,6 @@ public class TransitAlertServiceImpl implements TransitAlertService {
     Direction direction,
     FeedScopedId route
   ) {
-    return alerts.get(new EntityKey.DirectionAndRoute(route, direction));
+    return index.get(new EntityKey.DirectionAndRoute(route, direction));
   }
 }
@@ -51,6 +51,9 @@ public class DisposableEdgeCollection {
     for (Vertex v : vertices) {
       graph.removeIfUnconnected(v);
     }
+    if (scope == Scope.REALTIME) {
+      graph.getLinker().incrementRealTimeVersion();
+    }
     edges.clear();
   }
 }
@@ -5,6 +5,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import org.locationtech.jts.geom.Coordinate;
@@ -74,6 +75,12 @@ public class VertexLinker {
   private final SiteRepository siteRepository;
   private final VertexFactory vertexFactory;
 
+  /**
+   * Incremented each time a vertex is linked to, or unlinked from, the graph in real-time. Used by
+   * caches of street searches to detect that the real-time places in the graph have changed.
+   */
+  private final AtomicLong realTimeVersion = new AtomicLong();
+
   // TODO Temporary code until we refactor WalkableAreaBuilder  (#3152)
   private boolean addExtraEdgesToAreas = true;
 
@@ -101,13 +108,76 @@ public class VertexLinker {
     link(vertex, traverseModes, direction, Scope.PERMANENT, edgeFunction);
   }
 
+  /**
+   * Find the street edges to permanently link the given vertex to. This only reads the graph and
+   * the spatial index, so it is safe to call it for many vertices in parallel - as long as no
+   * vertices are linked at the same time. The result is passed into
+   * {@link #linkVertexPermanently(LinkCandidates, LinkingDirection, BiFunction)} to do the linking.
+   */
+  public LinkCandidates findPermanentLinkCandidates(
+    Vertex vertex,
+    TraverseModeSet traverseModes
+  ) {
+    var edges = findClosestEdges(
+      vertex,
+      traverseModes,
+      Scope.PERMANENT,
+      INITIAL_SEARCH_RADIUS_METERS
+    );
+    if (edges.isEmpty()) {
+      edges = findClosestEdges(vertex, traverseModes, Scope.PERMANENT, MAX_SEARCH_RADIUS_METERS);
+    }
+    return new LinkCandidates(vertex, traverseModes, edges);
+  }
+
+  /**
+   * Link the vertex to the edges found by
+   * {@link #findPermanentLinkCandidates(Vertex, TraverseModeSet)}. If one of the edges is split or removed after the candidates were found, the search is
+   * repeated. The result is the same as calling
+   * {@link #linkVertexPermanently(Vertex, TraverseModeSet, LinkingDirection, BiFunction)}: edges
+   * created by splitting other edges are never closer than the original edge, so they can only
+   * change the result if the original edge is one of the candidates.
+   */
+  public void linkVertexPermanently(
+    LinkCandidates candidates,
+    LinkingDirection direction,
+    BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction
+  ) {
+    var vertex = candidates.vertex;
+    Set<StreetVertex> streetVertices = candidates.isInGraph()
+      ? linkToEdges(vertex, candidates.edges, Scope.PERMANENT, direction, null)
+      : Set.of();
+
+    if (streetVertices.isEmpty()) {
+      linkVertexPermanently(vertex, candidates.traverseModes, direction, edgeFunction);
+      return;
+    }
+    for (StreetVertex streetVertex : streetVertices) {
+      edgeFunction.apply(vertex, streetVertex);
+    }
+  }
+
   public DisposableEdgeCollection linkVertexForRealTime(
     Vertex vertex,
     TraverseModeSet traverseModes,
     LinkingDirection direction,
     BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction
   ) {
-    return link(vertex, traverseModes, direction, Scope.REALTIME, edgeFunction);
+    var tempEdges = link(vertex, traverseModes, direction, Scope.REALTIME, edgeFunction);
+    realTimeVersion.incrementAndGet();
+    return tempEdges;
+  }
+
+  /**
+   * The number of real-time link and unlink operations done on the graph. If two calls return the
+   * same value, the real-time vertices linked to the graph are the same.
+   */
+  public long getRealTimeVersion() {
+    return realTimeVersion.get();
+  }
+
+  void incrementRealTimeVersion() {
+    realTimeVersion.incrementAndGet();
   }
 
   public DisposableEdgeCollection linkVertexForRequest(
@@ -233,13 +303,32 @@ public class VertexLinker {
     Scope scope,
     int radiusMeters,
     DisposableEdgeCollection tempEdges
+  ) {
+    Set<DistanceTo<StreetEdge>> closestEdges = findClosestEdges(
+      vertex,
+      traverseModes,
+      scope,
+      radiusMeters
+    );
+    return linkToEdges(vertex, closestEdges, scope, direction, tempEdges);
+  }
+
+  /**
+   * Find the closest street edges to the given vertex within the given radius. This does not
+   * change the graph or the spatial index.
+   */
+  private Set<DistanceTo<StreetEdge>> findClosestEdges(
+    Vertex vertex,
+    TraverseModeSet traverseModes,
+    Scope scope,
+    int radiusMeters
   ) {
     final double radiusDeg = SphericalDistanceLibrary.metersToDegrees(radiusMeters);
 
     Envelope env = new Envelope(vertex.getCoordinate());
 
     // Perform a simple local equirectangular projection, so distances are expressed in degrees latitude.
-    final double xscale = Math.cos(vertex.getLat() * Math.PI / 180);
+    final double xscale = xScale(vertex);
 
     // Expand more in the longitude direction than the latitude direction to account for converging meridians.
     env.expandBy(radiusDeg / xscale, radiusDeg);
@@ -260,11 +349,20 @@ public class VertexLinker {
     if (candidateEdges.isEmpty()) {
       return Set.of();
     }
+    return getClosestEdgesPerMode(traverseModes, candidateEdges);
+  }
 
-    Set<DistanceTo<StreetEdge>> closestEdges = getClosestEdgesPerMode(
-      traverseModes,
-      candidateEdges
-    );
+  private Set<StreetVertex> linkToEdges(
+    Vertex vertex,
+    Set<DistanceTo<StreetEdge>> closestEdges,
+    Scope scope,
+    LinkingDirection direction,
+    DisposableEdgeCollection tempEdges
+  ) {
+    if (closestEdges.isEmpty()) {
+      return Set.of();
+    }
+    final double xscale = xScale(vertex);
     Set<AreaEdgeList> linkedAreas = new HashSet<>();
     return closestEdges
       .stream()
@@ -273,6 +371,10 @@ public class VertexLinker {
       .collect(Collectors.toSet());
   }
 
+  private static double xScale(Vertex vertex) {
+    return Math.cos(vertex.getLat() * Math.PI / 180);
+  }
+
   /**
    * We need to get the closest edges per mode to be sure that we are linking to edges traversable
    * by all the specified modes. We use a set here to avoid duplicates in the case that edges are
@@ -489,6 +591,41 @@ public class VertexLinker {
     return v;
   }
 
+  /**
+   * The closest edges to link a vertex to, see
+   * {@link #findPermanentLinkCandidates(Vertex, TraverseModeSet)}.
+   */
+  public static final class LinkCandidates {
+
+    private final Vertex vertex;
+    private final TraverseModeSet traverseModes;
+    private final Set<DistanceTo<StreetEdge>> edges;
+
+    private LinkCandidates(
+      Vertex vertex,
+      TraverseModeSet traverseModes,
+      Set<DistanceTo<StreetEdge>> edges
+    ) {
+      this.vertex = vertex;
+      this.traverseModes = traverseModes;
+      this.edges = edges;
+    }
+
+    public Vertex vertex() {
+      return vertex;
+    }
+
+    /** Return {@code false} if one of the edges is removed from the graph. */
+    private boolean isInGraph() {
+      for (DistanceTo<StreetEdge> it : edges) {
+        if (!it.item.getFromVertex().getOutgoing().contains(it.item)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
   private static class DistanceTo<T> {
 
     T item;
@@ -3,6 +3,7 @@ package org.opentripplanner.routing.services;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Set;
+import org.opentripplanner.routing.alertpatch.EntitySelector;
 import org.opentripplanner.routing.alertpatch.StopCondition;
 import org.opentripplanner.routing.alertpatch.TransitAlert;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
@@ -33,6 +34,19 @@ public interface TransitAlertService {
 
   TransitAlert getAlertById(FeedScopedId id);
 
+  /**
+   * Find the alerts affecting an entity matching the given selector, which are displayed during
+   * the given period. Only the alerts active in the period are looked at, so this is the preferred
+   * lookup when the time is known, e.g. when decorating the legs of an itinerary.
+   *
+   * @return a new collection, which the caller is free to modify.
+   */
+  Collection<TransitAlert> getAlerts(
+    EntitySelector entitySelector,
+    long startTimeSeconds,
+    long endTimeSeconds
+  );
+
   default Collection<TransitAlert> getStopAlerts(FeedScopedId stop) {
     return getStopAlerts(stop, Set.of());
   }
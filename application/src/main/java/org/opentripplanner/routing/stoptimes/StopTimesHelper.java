@@ -14,6 +14,7 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Queue;
+import java.util.function.Predicate;
 import org.opentripplanner.framework.time.ServiceDateUtils;
 import org.opentripplanner.model.PickDrop;
 import org.opentripplanner.model.StopTimesInPattern;
@@ -202,13 +203,13 @@ public class StopTimesHelper {
     // datesUntil is exclusive in the end, so need to add one day
     List<LocalDate> serviceDates = startDate.datesUntil(endDate.plusDays(1)).toList();
 
-    // The bounded priority Q is used to keep a sorted short list of trip times. We can not
-    // rely on the trip times to be in order because of real-time updates. This code can
-    // probably be optimized, and the trip search in the Raptor search does almost the same
-    // thing. This is no part of a routing request, but is a used frequently in some
-    // operation like Entur for "departure boards" (apps, widgets, screens on platforms, and
-    // hotel lobbies). Setting the numberOfDepartures and timeRange to a big number for a
-    // transit hub could result in a DOS attack, but there are probably other more effective
+    // The bounded priority Q is used to keep a sorted short list of trip times. The trip times
+    // within the time range are found with a binary search in the stop times index of each
+    // timetable, so only the trips within the time range are visited. The trip search in the Raptor
+    // search does almost the same thing. This is no part of a routing request, but is a used
+    // frequently in some operation like Entur for "departure boards" (apps, widgets, screens on
+    // platforms, and hotel lobbies). Setting the numberOfDepartures and timeRange to a big number
+    // for a transit hub could result in a DOS attack, but there are probably other more effective
     // ways to do it.
     //
     // The {@link MinMaxPriorityQueue} is marked beta, but we do not have a god alternative.
@@ -226,12 +227,20 @@ public class StopTimesHelper {
     // Loop through all possible days
     for (LocalDate serviceDate : serviceDates) {
       Timetable timetable = transitService.getTimetableForTripPattern(pattern, serviceDate);
-      ZonedDateTime midnight = ServiceDateUtils.asStartOfService(serviceDate, zoneId);
+      ZonedDateTime serviceStart = ServiceDateUtils.asStartOfService(serviceDate, zoneId);
+      Instant midnight = serviceStart.toInstant();
       int secondsSinceMidnight = ServiceDateUtils.secondsSinceStartOfService(
-        midnight,
+        serviceStart,
         ZonedDateTime.ofInstant(startTime, zoneId)
       );
       var servicesRunning = transitService.getServiceCodesRunningForDate(serviceDate);
+      Predicate<TripTimes> include = tripTimes ->
+        servicesRunning.contains(tripTimes.getServiceCode()) &&
+        !skipByTripCancellation(tripTimes, includeCancellations) &&
+        (
+          includeReplaced ||
+          !isReplacedByAnotherPattern(tripTimes.getTrip(), serviceDate, pattern, transitService)
+        );
 
       List<StopLocation> stops = pattern.getStops();
       for (int stopIndex = 0; stopIndex < stops.size(); stopIndex++) {
@@ -244,38 +253,41 @@ public class StopTimesHelper {
             continue;
           }
 
-          for (TripTimes tripTimes : timetable.getTripTimes()) {
-            if (!servicesRunning.contains(tripTimes.getServiceCode())) {
-              continue;
-            }
-            if (skipByTripCancellation(tripTimes, includeCancellations)) {
-              continue;
-            }
-            if (
-              !includeReplaced &&
-              isReplacedByAnotherPattern(tripTimes.getTrip(), serviceDate, pattern, transitService)
+          int fromTime = secondsSinceMidnight;
+          int toTime = secondsSinceMidnight + timeRangeSeconds;
+          var index = timetable.getStopTimesIndex();
+
+          // DEPARTURES and BOTH: Departure time has to be within range
+          if (arrivalDeparture != ARRIVALS) {
+            var departures = index.departures(stopIndex);
+            for (
+              int i = departures.firstIndexAtOrAfter(fromTime);
+              i < departures.size() && departures.time(i) <= toTime;
+              ++i
             ) {
-              continue;
+              TripTimes tripTimes = timetable.getTripTimes(departures.tripIndex(i));
+              if (include.test(tripTimes)) {
+                pq.add(new TripTimeOnDate(tripTimes, stopIndex, pattern, serviceDate, midnight));
+              }
             }
-
-            boolean departureTimeInRange =
-              tripTimes.getDepartureTime(stopIndex) >= secondsSinceMidnight &&
-              tripTimes.getDepartureTime(stopIndex) <= secondsSinceMidnight + timeRangeSeconds;
-
-            boolean arrivalTimeInRange =
-              tripTimes.getArrivalTime(stopIndex) >= secondsSinceMidnight &&
-              tripTimes.getArrivalTime(stopIndex) <= secondsSinceMidnight + timeRangeSeconds;
-
-            // ARRIVAL: Arrival time has to be within range
-            // DEPARTURES: Departure time has to be within range
-            // BOTH: Either arrival time or departure time has to be within range
-            if (
-              (arrivalDeparture != ARRIVALS && departureTimeInRange) ||
-              (arrivalDeparture != DEPARTURES && arrivalTimeInRange)
+          }
+          // ARRIVALS and BOTH: Arrival time has to be within range, for BOTH the trips with
+          // the departure time within range are already added
+          if (arrivalDeparture != DEPARTURES) {
+            var arrivals = index.arrivals(stopIndex);
+            for (
+              int i = arrivals.firstIndexAtOrAfter(fromTime);
+              i < arrivals.size() && arrivals.time(i) <= toTime;
+              ++i
             ) {
-              pq.add(
-                new TripTimeOnDate(tripTimes, stopIndex, pattern, serviceDate, midnight.toInstant())
-              );
+              TripTimes tripTimes = timetable.getTripTimes(arrivals.tripIndex(i));
+              int departureTime = tripTimes.getDepartureTime(stopIndex);
+              boolean departureTimeInRange = departureTime >= fromTime && departureTime <= toTime;
+              if (arrivalDeparture == ARRIVALS || !departureTimeInRange) {
+                if (include.test(tripTimes)) {
+                  pq.add(new TripTimeOnDate(tripTimes, stopIndex, pattern, serviceDate, midnight));
+                }
+              }
             }
           }
           // TODO Add back support for frequency entries
@@ -36,9 +36,10 @@ public class VehicleParkingService implements Serializable {
   /**
    * Does atomic update of {@link VehicleParking} and index of {@link VehicleParkingGroup} in this
    * service by replacing the existing with a new copy that includes old ones that were not removed
-   * in the update and the new ones that were added in the update.
+   * in the update and the new ones that were added in the update. The method is synchronized, so
+   * concurrent updates are not lost.
    */
-  public void updateVehicleParking(
+  public synchronized void updateVehicleParking(
     Collection<VehicleParking> parkingToAdd,
     Collection<VehicleParking> parkingToRemove
   ) {
@@ -120,6 +120,11 @@ public class OTPMain {
     // processing input data to fail early
     loadApp.validateConfigAndDataSources();
 
+    if (cli.doReuseStreetGraph() && loadApp.graphBuilderDataSources().isStreetGraphUpToDate()) {
+      LOG.info("The street graph is built from the same input, reuse it and skip the build.");
+      return;
+    }
+
     ConstructApplication app;
 
     /* Load graph from disk if one is not present from build. */
@@ -160,6 +165,11 @@ public class OTPMain {
         app.streetLimitationParameters()
       )
         .save(app.graphOutputDataSource());
+      if (cli.doReuseStreetGraph()) {
+        loadApp.graphBuilderDataSources().saveStreetGraphInputHash();
+      } else if (cli.doSaveStreetGraph()) {
+        loadApp.graphBuilderDataSources().clearStreetGraphInputHash();
+      }
       // Log size info for the deduplicator
       LOG.info("Memory optimized {}", app.graph().deduplicator.toString());
     }
@@ -62,6 +62,14 @@ public class CommandLineParameters {
   )
   public boolean buildStreet = false;
 
+  @Parameter(
+    names = { "--reuseStreet" },
+    description = "Use with '--buildStreet'. Skip the build if 'streetGraph.obj' is built from " +
+    "the same OSM and DEM data, build config and OTP serialization version. A content hash of " +
+    "this input is saved next to the street graph."
+  )
+  public boolean reuseStreet = false;
+
   @Parameter(
     names = { "--load" },
     description = "Load 'graph.obj' and serve it. The '--serve' parameter is implied."
@@ -197,6 +205,10 @@ public class CommandLineParameters {
     return buildStreet;
   }
 
+  public boolean doReuseStreetGraph() {
+    return buildStreet && reuseStreet;
+  }
+
   public boolean doServe() {
     return load || (serve && doBuildTransit());
   }
@@ -265,6 +277,9 @@ public class CommandLineParameters {
     if (buildStreet) {
       validateParamNotSet("--buildStreet", serve, "--serve");
     }
+    if (reuseStreet && !buildStreet) {
+      throw new ParameterException("--reuseStreet can only be used with --buildStreet" + TIP);
+    }
   }
 
   private void validateParamNotSet(String mainParam, boolean noneCompliantParam, String name) {
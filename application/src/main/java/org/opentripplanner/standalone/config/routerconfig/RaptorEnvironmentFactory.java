@@ -3,6 +3,7 @@ package org.opentripplanner.standalone.config.routerconfig;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import javax.annotation.Nullable;
+import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.framework.application.OTPRequestTimeoutException;
 import org.opentripplanner.framework.concurrent.OtpRequestThreadFactory;
 import org.opentripplanner.raptor.api.request.RaptorEnvironment;
@@ -29,9 +30,16 @@ public class RaptorEnvironmentFactory {
         return new OTPRequestTimeoutException();
       }
 
+      /**
+       * With the {@link OTPFeature#VirtualThreadRaptor} feature on, each task runs in a new
+       * virtual thread, and the pool size is ignored.
+       */
       @Nullable
       @Override
       public ExecutorService threadPool() {
+        if (OTPFeature.VirtualThreadRaptor.isOn()) {
+          return Executors.newThreadPerTaskExecutor(OtpRequestThreadFactory.ofVirtual("raptor-"));
+        }
         return threadPoolSize > 0
           ? Executors.newFixedThreadPool(threadPoolSize, OtpRequestThreadFactory.of("raptor-%d"))
           : null;
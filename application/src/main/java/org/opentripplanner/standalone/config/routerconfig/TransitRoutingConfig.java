@@ -6,6 +6,7 @@ import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_2;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_3;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_4;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_7;
 
 import java.time.Duration;
 import java.util.List;
@@ -28,6 +29,8 @@ public final class TransitRoutingConfig implements RaptorTuningParameters, Trans
   private final int iterationDepartureStepInSeconds;
   private final int searchThreadPoolSize;
   private final int transferCacheMaxSize;
+  private final int heuristicsCacheMaxSize;
+  private final Duration softSearchTimeLimit;
   private final List<RouteRequest> transferCacheRequests;
   private final List<Duration> pagingSearchWindowAdjustments;
 
@@ -159,6 +162,38 @@ Use values in a range from `0` to `100 000`. **All key/value pairs are required
         )
         .asInt(25);
 
+    this.heuristicsCacheMaxSize =
+      c
+        .of("heuristicsCacheMaxSize")
+        .since(V2_7)
+        .summary("The maximum number of heuristic search results to cache between searches.")
+        .description(
+          """
+The heuristics for the multi-criteria search are calculated with a standard Raptor search. The
+result can be reused by the next search with the same access, egress and transit data, for example
+when the client is paging. The transit data change when a real-time update is applied, so the
+cached heuristics are only reused between updates. Each entry uses a few arrays with the size of
+the number of stops. If 0, the heuristics are not cached.
+"""
+        )
+        .asInt(dft.heuristicsCacheMaxSize());
+
+    this.softSearchTimeLimit =
+      c
+        .of("softSearchTimeLimit")
+        .since(V2_7)
+        .summary("Stop the multi-criteria search when this time-limit is reached.")
+        .description(
+          """
+If the multi-criteria search runs for longer than this, it stops and returns the trips found so
+far, instead of running until the request timeout aborts it without any result. Range Raptor
+searches the departure times in the search-window from the last to the first, so the search-window
+used is cropped to the departure times searched. The client can page to get the rest. The response
+metadata is flagged when this happens. If zero, the search is not stopped.
+"""
+        )
+        .asDuration(dft.softSearchTimeLimit());
+
     this.transferCacheRequests =
       c
         .of("transferCacheRequests")
@@ -268,6 +303,16 @@ for more info."
     return transferCacheMaxSize;
   }
 
+  @Override
+  public int heuristicsCacheMaxSize() {
+    return heuristicsCacheMaxSize;
+  }
+
+  @Override
+  public Duration softSearchTimeLimit() {
+    return softSearchTimeLimit;
+  }
+
   @Override
   public List<RouteRequest> transferCacheRequests() {
     return transferCacheRequests;
@@ -8,7 +8,7 @@ import java.util.Objects;
 import javax.annotation.Nullable;
 import org.locationtech.jts.geom.Envelope;
 import org.opentripplanner.framework.collection.CollectionsView;
-import org.opentripplanner.framework.geometry.HashGridSpatialIndex;
+import org.opentripplanner.framework.geometry.PackedSpatialIndex;
 import org.opentripplanner.transit.model.site.AreaStop;
 import org.opentripplanner.transit.model.site.GroupStop;
 import org.opentripplanner.transit.model.site.MultiModalStation;
@@ -28,9 +28,9 @@ class SiteRepositoryIndex {
 
   private static final Logger LOG = LoggerFactory.getLogger(SiteRepositoryIndex.class);
 
-  private final HashGridSpatialIndex<RegularStop> regularStopSpatialIndex = new HashGridSpatialIndex<>();
+  private final PackedSpatialIndex<RegularStop> regularStopSpatialIndex;
   private final Map<Station, MultiModalStation> multiModalStationForStations = new HashMap<>();
-  private final HashGridSpatialIndex<AreaStop> locationIndex = new HashGridSpatialIndex<>();
+  private final PackedSpatialIndex<AreaStop> locationIndex;
   private final StopLocation[] stopsByIndex;
 
   /**
@@ -47,25 +47,17 @@ class SiteRepositoryIndex {
 
     var allStops = new CollectionsView<StopLocation>(stops, flexStops, groupStops);
     for (StopLocation it : allStops) {
-      if (it instanceof RegularStop regularStop) {
-        var envelope = new Envelope(it.getCoordinate().asJtsCoordinate());
-        regularStopSpatialIndex.insert(envelope, regularStop);
-      }
       stopsByIndex[it.getIndex()] = it;
     }
+    regularStopSpatialIndex =
+      PackedSpatialIndex.of(stops, it -> new Envelope(it.getCoordinate().asJtsCoordinate()));
 
     for (MultiModalStation it : multiModalStations) {
       for (Station childStation : it.getChildStations()) {
         multiModalStationForStations.put(childStation, it);
       }
     }
-    for (AreaStop it : flexStops) {
-      locationIndex.insert(it.getGeometry().getEnvelopeInternal(), it);
-    }
-
-    // Trim the sizes of the indices
-    regularStopSpatialIndex.compact();
-    locationIndex.compact();
+    locationIndex = PackedSpatialIndex.of(flexStops, it -> it.getGeometry().getEnvelopeInternal());
 
     logHolesInIndex();
   }
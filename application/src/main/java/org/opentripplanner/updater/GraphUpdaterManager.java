@@ -1,6 +1,8 @@
 package org.opentripplanner.updater;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -9,9 +11,11 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.updater.spi.GraphUpdater;
 import org.opentripplanner.updater.spi.PollingGraphUpdater;
 import org.opentripplanner.updater.spi.WriteToGraphCallback;
@@ -48,6 +52,12 @@ public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterSt
    */
   private final ScheduledExecutorService scheduler;
 
+  /**
+   * The pool on which the polling updaters run. If the {@link OTPFeature#VirtualThreadUpdaters}
+   * feature is enabled, the threads in this pool are virtual threads and there is one for each
+   * polling updater. Then all updaters can poll in parallel, and an updater waiting for a
+   * response does not block a platform thread.
+   */
   private final ScheduledExecutorService pollingUpdaterPool;
 
   /**
@@ -76,16 +86,13 @@ public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterSt
     var graphWriterThreadFactory = new ThreadFactoryBuilder().setNameFormat("graph-writer").build();
     this.scheduler = Executors.newSingleThreadScheduledExecutor(graphWriterThreadFactory);
     var updaterThreadFactory = new ThreadFactoryBuilder().setNameFormat("updater-%d").build();
-    this.pollingUpdaterPool =
-      Executors.newScheduledThreadPool(
-        Math.max(MIN_POLLING_UPDATER_THREADS, Runtime.getRuntime().availableProcessors()),
-        updaterThreadFactory
-      );
+    this.pollingUpdaterPool = createPollingUpdaterPool(updaters, updaterThreadFactory);
     this.nonPollingUpdaterPool = Executors.newCachedThreadPool(updaterThreadFactory);
 
     for (GraphUpdater updater : updaters) {
       updaterList.add(updater);
-      updater.setup(this);
+      var applyTimer = applyTimer(updater);
+      updater.setup(runnable -> execute(timed(applyTimer, runnable)));
     }
   }
 
@@ -103,6 +110,7 @@ public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterSt
         }
       };
       if (updater instanceof PollingGraphUpdater pollingGraphUpdater) {
+        runUpdater = timed(pollingTimer(updater), runUpdater);
         LOG.info("Scheduling polling updater {}", updater);
         if (pollingGraphUpdater.runOnlyOnce()) {
           pollingUpdaterPool.schedule(runUpdater, 0, TimeUnit.SECONDS);
@@ -256,6 +264,61 @@ public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterSt
     return scheduler;
   }
 
+  private static ScheduledExecutorService createPollingUpdaterPool(
+    List<GraphUpdater> updaters,
+    ThreadFactory platformThreadFactory
+  ) {
+    if (OTPFeature.VirtualThreadUpdaters.isOn()) {
+      // Virtual threads are cheap, so give every polling updater its own thread
+      long nPollingUpdaters = updaters
+        .stream()
+        .filter(PollingGraphUpdater.class::isInstance)
+        .count();
+      return Executors.newScheduledThreadPool(
+        (int) Math.max(MIN_POLLING_UPDATER_THREADS, nPollingUpdaters),
+        Thread.ofVirtual().name("updater-", 0).factory()
+      );
+    }
+    return Executors.newScheduledThreadPool(
+      Math.max(MIN_POLLING_UPDATER_THREADS, Runtime.getRuntime().availableProcessors()),
+      platformThreadFactory
+    );
+  }
+
+  /**
+   * The time it takes for a polling updater to fetch and parse its data, and submit the result to
+   * the graph writer.
+   */
+  private static Timer pollingTimer(GraphUpdater updater) {
+    return Timer
+      .builder("updater.polling")
+      .description("Time spent fetching and parsing data in a polling updater")
+      .tag("updater", updater.getClass().getSimpleName())
+      .tag("configRef", String.valueOf(updater.getConfigRef()))
+      .register(Metrics.globalRegistry);
+  }
+
+  /**
+   * The time it takes to apply the updates of an updater to the graph in the single graph writer
+   * thread.
+   */
+  private static Timer applyTimer(GraphUpdater updater) {
+    return Timer
+      .builder("updater.apply")
+      .description("Time spent applying updates in the graph writer thread")
+      .tag("updater", updater.getClass().getSimpleName())
+      .tag("configRef", String.valueOf(updater.getConfigRef()))
+      .register(Metrics.globalRegistry);
+  }
+
+  private static Runnable timed(Timer timer, Runnable body) {
+    return () -> timer.record(body);
+  }
+
+  private static GraphWriterRunnable timed(Timer timer, GraphWriterRunnable body) {
+    return context -> timer.record(() -> body.run(context));
+  }
+
   /**
    * This method start a task during startup and log a message when all updaters are initialized.
    * When all updaters are ready, then OTP is ready for processing routing requests.
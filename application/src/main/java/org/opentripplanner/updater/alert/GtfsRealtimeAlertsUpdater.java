@@ -2,6 +2,7 @@ package org.opentripplanner.updater.alert;
 
 import com.google.transit.realtime.GtfsRealtime.FeedMessage;
 import java.net.URI;
+import org.opentripplanner.framework.io.HttpCacheValidators;
 import org.opentripplanner.framework.io.OtpHttpClient;
 import org.opentripplanner.framework.io.OtpHttpClientFactory;
 import org.opentripplanner.framework.tostring.ToStringBuilder;
@@ -26,6 +27,7 @@ public class GtfsRealtimeAlertsUpdater extends PollingGraphUpdater implements Tr
   private final TransitAlertService transitAlertService;
   private final HttpHeaders headers;
   private final OtpHttpClient otpHttpClient;
+  private final HttpCacheValidators cacheValidators = new HttpCacheValidators();
   private WriteToGraphCallback saveResultOnGraph;
   private Long lastTimestamp = Long.MIN_VALUE;
 
@@ -65,26 +67,37 @@ public class GtfsRealtimeAlertsUpdater extends PollingGraphUpdater implements Tr
   @Override
   protected void runPolling() {
     try {
-      final FeedMessage feed = otpHttpClient.getAndMap(
+      var response = otpHttpClient.getAndMapIfModified(
         URI.create(url),
+        null,
         this.headers.asMap(),
+        cacheValidators,
         FeedMessage.PARSER::parseFrom
       );
+      if (response.isEmpty()) {
+        LOG.debug("Ignoring feed which is not modified from {}", url);
+        return;
+      }
+      final FeedMessage feed = response.get();
+      var feedApplied = cacheValidators.commitLatestResponse();
 
       long feedTimestamp = feed.getHeader().getTimestamp();
       if (feedTimestamp == lastTimestamp) {
         LOG.debug("Ignoring feed with a timestamp that has not been updated from {}", url);
+        feedApplied.run();
         return;
       }
       if (feedTimestamp < lastTimestamp) {
         LOG.info("Ignoring feed with older than previous timestamp from {}", url);
+        feedApplied.run();
         return;
       }
 
       // Handle update in graph writer runnable
-      saveResultOnGraph.execute(context ->
-        updateHandler.update(feed, context.gtfsRealtimeFuzzyTripMatcher())
-      );
+      saveResultOnGraph.execute(context -> {
+        updateHandler.update(feed, context.gtfsRealtimeFuzzyTripMatcher());
+        feedApplied.run();
+      });
 
       lastTimestamp = feedTimestamp;
     } catch (Exception e) {
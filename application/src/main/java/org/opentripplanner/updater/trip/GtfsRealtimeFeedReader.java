@@ -0,0 +1,78 @@
+package org.opentripplanner.updater.trip;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.ExtensionRegistry;
+import com.google.protobuf.WireFormat;
+import com.google.transit.realtime.GtfsRealtime.FeedEntity;
+import com.google.transit.realtime.GtfsRealtime.FeedHeader;
+import com.google.transit.realtime.GtfsRealtime.FeedMessage;
+import java.io.IOException;
+import java.io.InputStream;
+import javax.annotation.Nullable;
+
+/**
+ * Reads a GTFS-RT {@link FeedMessage} from an input stream one {@link FeedEntity} at a time,
+ * instead of building the whole message. The caller decides what to keep from each entity, and
+ * the protobuf size limit applies to each entity rather than to the whole feed.
+ * <p>
+ * This does not bound the memory used to read a feed: the {@link GtfsRealtimeTripUpdateSource}
+ * keeps all trip updates until the feed is read completely, because a partially read full dataset
+ * must not be applied.
+ * <p>
+ * The header is read when it is encountered in the stream. Protobuf encoders write the fields in
+ * field number order, so in practice the header is available before the first entity is
+ * returned. If not, the default header is used until the header is read.
+ */
+class GtfsRealtimeFeedReader {
+
+  private final CodedInputStream input;
+  private final ExtensionRegistry registry;
+  private FeedHeader header = FeedHeader.getDefaultInstance();
+
+  GtfsRealtimeFeedReader(InputStream input, ExtensionRegistry registry) {
+    this.input = CodedInputStream.newInstance(input);
+    this.registry = registry;
+  }
+
+  /**
+   * The feed header, or the default instance if the header is not read yet.
+   */
+  FeedHeader header() {
+    return header;
+  }
+
+  /**
+   * Read the next entity from the stream.
+   *
+   * @return the next entity, or {@code null} if the end of the feed is reached.
+   */
+  @Nullable
+  FeedEntity nextEntity() throws IOException {
+    while (true) {
+      int tag = input.readTag();
+      if (tag == 0) {
+        return null;
+      }
+      if (WireFormat.getTagWireType(tag) != WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+        input.skipField(tag);
+        continue;
+      }
+      switch (WireFormat.getTagFieldNumber(tag)) {
+        case FeedMessage.HEADER_FIELD_NUMBER -> {
+          var builder = FeedHeader.newBuilder();
+          input.readMessage(builder, registry);
+          header = builder.build();
+        }
+        case FeedMessage.ENTITY_FIELD_NUMBER -> {
+          var builder = FeedEntity.newBuilder();
+          input.readMessage(builder, registry);
+          // The size limit of the stream applies to the whole message, but we only care about
+          // the size of each entity
+          input.resetSizeCounter();
+          return builder.build();
+        }
+        default -> input.skipField(tag);
+      }
+    }
+  }
+}
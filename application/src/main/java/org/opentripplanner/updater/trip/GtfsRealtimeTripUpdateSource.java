@@ -6,12 +6,15 @@ import static org.opentripplanner.updater.trip.UpdateIncrementality.FULL_DATASET
 import com.google.protobuf.ExtensionRegistry;
 import com.google.transit.realtime.GtfsRealtime;
 import com.google.transit.realtime.GtfsRealtime.FeedEntity;
-import com.google.transit.realtime.GtfsRealtime.FeedMessage;
+import com.google.transit.realtime.GtfsRealtime.FeedHeader;
 import com.google.transit.realtime.GtfsRealtime.TripUpdate;
 import de.mfdz.MfdzRealtimeExtensions;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import org.opentripplanner.framework.io.HttpCacheValidators;
 import org.opentripplanner.framework.io.OtpHttpClient;
 import org.opentripplanner.framework.io.OtpHttpClientFactory;
 import org.opentripplanner.framework.tostring.ToStringBuilder;
@@ -22,6 +25,7 @@ import org.slf4j.LoggerFactory;
 public class GtfsRealtimeTripUpdateSource {
 
   private static final Logger LOG = LoggerFactory.getLogger(GtfsRealtimeTripUpdateSource.class);
+
   /**
    * Feed id that is used to match trip ids in the TripUpdates
    */
@@ -31,6 +35,8 @@ public class GtfsRealtimeTripUpdateSource {
   private UpdateIncrementality updateIncrementality = FULL_DATASET;
   private final ExtensionRegistry registry = ExtensionRegistry.newInstance();
   private final OtpHttpClient otpHttpClient;
+  private final HttpCacheValidators cacheValidators = new HttpCacheValidators();
+  private Runnable lastUpdatesApplied = () -> {};
 
   public GtfsRealtimeTripUpdateSource(PollingTripUpdaterParameters config) {
     this.feedId = config.feedId();
@@ -40,42 +46,60 @@ public class GtfsRealtimeTripUpdateSource {
     otpHttpClient = new OtpHttpClientFactory().create(LOG);
   }
 
+  /**
+   * Return the trip updates of the feed, or {@code null} if the feed could not be fetched or is
+   * not modified since the previous call.
+   * <p>
+   * Only the trip updates of the feed are kept, and they are all kept in memory until the whole
+   * feed is read. If the download or parsing fails part way through nothing is returned. Applying
+   * a partial feed would remove the real-time data of all trips missing from it, if it is a full
+   * dataset.
+   */
   public List<TripUpdate> getUpdates() {
-    FeedMessage feedMessage;
-    List<FeedEntity> feedEntityList;
-    List<TripUpdate> updates = null;
-    updateIncrementality = FULL_DATASET;
     try {
-      // Decode message
-      feedMessage =
-        otpHttpClient.getAndMap(
-          URI.create(url),
-          this.headers.asMap(),
-          is -> FeedMessage.parseFrom(is, registry)
-        );
-      feedEntityList = feedMessage.getEntityList();
-
-      // Change fullDataset value if this is an incremental update
-      if (
-        feedMessage.hasHeader() &&
-        feedMessage.getHeader().hasIncrementality() &&
-        feedMessage
-          .getHeader()
-          .getIncrementality()
-          .equals(GtfsRealtime.FeedHeader.Incrementality.DIFFERENTIAL)
-      ) {
-        updateIncrementality = DIFFERENTIAL;
-      }
-
-      // Create List of TripUpdates
-      updates = new ArrayList<>(feedEntityList.size());
-      for (FeedEntity feedEntity : feedEntityList) {
-        if (feedEntity.hasTripUpdate()) updates.add(feedEntity.getTripUpdate());
+      var response = otpHttpClient.getAndMapIfModified(
+        URI.create(url),
+        null,
+        this.headers.asMap(),
+        cacheValidators,
+        this::readFeed
+      );
+      if (response.isEmpty()) {
+        LOG.debug("GTFS-RT feed {} is not modified since the last update", url);
+        return null;
       }
+      updateIncrementality = response.get().incrementality();
+      lastUpdatesApplied = cacheValidators.commitLatestResponse();
+      return response.get().updates();
     } catch (Exception e) {
       LOG.error("Failed to parse GTFS-RT feed from {}", url, e);
+      return null;
+    }
+  }
+
+  private Feed readFeed(InputStream is) throws IOException {
+    var reader = new GtfsRealtimeFeedReader(is, registry);
+    var updates = new ArrayList<TripUpdate>();
+    FeedEntity entity;
+    while ((entity = reader.nextEntity()) != null) {
+      if (entity.hasTripUpdate()) {
+        updates.add(entity.getTripUpdate());
+      }
     }
-    return updates;
+    return new Feed(incrementality(reader.header()), updates);
+  }
+
+  /**
+   * Return DIFFERENTIAL if this is an incremental update, FULL_DATASET otherwise.
+   */
+  private static UpdateIncrementality incrementality(FeedHeader header) {
+    if (
+      header.hasIncrementality() &&
+      header.getIncrementality().equals(GtfsRealtime.FeedHeader.Incrementality.DIFFERENTIAL)
+    ) {
+      return DIFFERENTIAL;
+    }
+    return FULL_DATASET;
   }
 
   @Override
@@ -94,4 +118,14 @@ public class GtfsRealtimeTripUpdateSource {
   public UpdateIncrementality incrementalityOfLastUpdates() {
     return updateIncrementality;
   }
+
+  /**
+   * Return a task to run when the last list with updates is applied. The feed is downloaded again
+   * even if it is not modified until the task is run, so updates that fail to apply are retried.
+   */
+  public Runnable lastUpdatesApplied() {
+    return lastUpdatesApplied;
+  }
+
+  private record Feed(UpdateIncrementality incrementality, List<TripUpdate> updates) {}
 }
@@ -71,12 +71,17 @@ public class PollingTripUpdater extends PollingGraphUpdater {
   /**
    * Repeatedly makes blocking calls to an UpdateStreamer to retrieve new stop time updates, and
    * applies those updates to the graph.
+   * <p>
+   * The whole feed is downloaded and parsed on the polling thread, before the updates are handed
+   * over to the graph writer. So the graph writer thread, which is shared by all updaters, never
+   * waits for the network.
    */
   @Override
   public void runPolling() {
     // Get update lists from update source
     List<TripUpdate> updates = updateSource.getUpdates();
     var incrementality = updateSource.incrementalityOfLastUpdates();
+    var updatesApplied = updateSource.lastUpdatesApplied();
 
     if (updates != null) {
       // Handle trip updates via graph writer runnable
@@ -89,7 +94,10 @@ public class PollingTripUpdater extends PollingGraphUpdater {
         feedId,
         recordMetrics
       );
-      saveResultOnGraph.execute(runnable);
+      saveResultOnGraph.execute(context -> {
+        runnable.run(context);
+        updatesApplied.run();
+      });
     }
   }
 
@@ -35,6 +35,12 @@ public class PollingVehiclePositionUpdater extends PollingGraphUpdater {
   private final RealtimeVehicleRepository realtimeVehicleRepository;
   private final boolean fuzzyTripMatching;
 
+  /**
+   * The vehicles of the previous update, only accessed from the graph writer thread.
+   */
+  private final RealtimeVehicleIndex index = new RealtimeVehicleIndex();
+  private final VehiclePositionMetrics.Recorder recordMetrics;
+
   public PollingVehiclePositionUpdater(
     VehiclePositionsUpdaterParameters params,
     RealtimeVehicleRepository realtimeVehicleRepository
@@ -46,6 +52,7 @@ public class PollingVehiclePositionUpdater extends PollingGraphUpdater {
     this.feedId = params.feedId();
     this.fuzzyTripMatching = params.fuzzyTripMatching();
     this.vehiclePositionFeatures = params.vehiclePositionFeatures();
+    this.recordMetrics = VehiclePositionMetrics.of(params);
 
     LOG.info(
       "Creating vehicle position updater running every {}: {}",
@@ -75,7 +82,9 @@ public class PollingVehiclePositionUpdater extends PollingGraphUpdater {
         vehiclePositionFeatures,
         feedId,
         fuzzyTripMatching,
-        updates
+        updates,
+        index,
+        recordMetrics
       );
       saveResultOnGraph.execute(runnable);
     }
@@ -0,0 +1,154 @@
+package org.opentripplanner.updater.vehicle_position;
+
+import com.google.transit.realtime.GtfsRealtime.VehiclePosition;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import org.opentripplanner.service.realtimevehicles.RealtimeVehicleRepository;
+import org.opentripplanner.service.realtimevehicles.model.RealtimeVehicle;
+import org.opentripplanner.transit.model.network.TripPattern;
+import org.opentripplanner.transit.model.site.StopLocation;
+import org.opentripplanner.updater.vehicle_position.RealtimeVehiclePatternMatcher.PatternAndRealtimeVehicle;
+
+/**
+ * The realtime vehicles of one feed, keyed by vehicle id and grouped by pattern. The index is kept
+ * between the updates of the feed, so that each update only does the work for what has changed:
+ * <ul>
+ *   <li>A vehicle position which is identical to the previous position of the same vehicle is not
+ *   matched to a trip and pattern again.</li>
+ *   <li>Only the patterns where vehicles are added, removed or changed are written to the
+ *   {@link RealtimeVehicleRepository}, and patterns without vehicles are cleared.</li>
+ *   <li>The lookup from a stop id to the position of the stop in a pattern is computed once for
+ *   each pattern.</li>
+ * </ul>
+ * This assumes that no other updater writes vehicles for the same patterns.
+ * <p>
+ * The index is only used from the graph writer thread, and is not thread-safe.
+ */
+class RealtimeVehicleIndex {
+
+  private static final int NOT_FOUND = -1;
+
+  private Map<String, MatchedVehicle> vehiclesById = Map.of();
+  private Map<TripPattern, List<RealtimeVehicle>> vehiclesByPattern = Map.of();
+  private final Map<TripPattern, Map<String, Integer>> stopPositionsByPattern = new HashMap<>();
+  private int reusedInLastUpdate = 0;
+
+  /**
+   * Return the match of the previous update for the vehicle, if the position is unchanged and the
+   * pattern is still valid.
+   *
+   * @param currentPattern returns the pattern the trip of the vehicle currently belongs to.
+   */
+  @Nullable
+  PatternAndRealtimeVehicle previousMatch(
+    VehiclePosition position,
+    Function<PatternAndRealtimeVehicle, TripPattern> currentPattern
+  ) {
+    var key = vehicleKey(position);
+    if (key == null) {
+      return null;
+    }
+    var previous = vehiclesById.get(key);
+    if (previous == null || !previous.position().equals(position)) {
+      return null;
+    }
+    // The trip may have moved to another pattern because of a trip update
+    if (currentPattern.apply(previous.match()) != previous.match().pattern()) {
+      return null;
+    }
+    return previous.match();
+  }
+
+  /**
+   * The position of the stop in the pattern, or -1 if the pattern does not visit the stop exactly
+   * once.
+   */
+  int stopPosition(TripPattern pattern, String stopId) {
+    return stopPositionsByPattern
+      .computeIfAbsent(pattern, RealtimeVehicleIndex::stopPositions)
+      .getOrDefault(stopId, NOT_FOUND);
+  }
+
+  /**
+   * Replace the vehicles of the feed with the result of the current update, and write the
+   * patterns that changed to the repository.
+   *
+   * @param matches all vehicle positions of the update matched successfully, with the
+   *                position they are matched from.
+   * @param reused the number of matches reused from the previous update.
+   */
+  void update(List<MatchedVehicle> matches, int reused, RealtimeVehicleRepository repository) {
+    var newVehiclesById = new HashMap<String, MatchedVehicle>();
+    var newVehiclesByPattern = new HashMap<TripPattern, List<RealtimeVehicle>>();
+    for (MatchedVehicle it : matches) {
+      var key = vehicleKey(it.position());
+      if (key != null) {
+        newVehiclesById.put(key, it);
+      }
+      newVehiclesByPattern
+        .computeIfAbsent(it.match().pattern(), p -> new ArrayList<>())
+        .add(it.match().vehicle());
+    }
+
+    newVehiclesByPattern.forEach((pattern, vehicles) -> {
+      if (!vehicles.equals(vehiclesByPattern.get(pattern))) {
+        repository.setRealtimeVehicles(pattern, vehicles);
+      }
+    });
+    // if there was a vehicle in the previous update but not in the current one, we assume
+    // that the pattern has no more vehicles.
+    for (TripPattern pattern : vehiclesByPattern.keySet()) {
+      if (!newVehiclesByPattern.containsKey(pattern)) {
+        repository.clearRealtimeVehicles(pattern);
+      }
+    }
+
+    this.vehiclesById = newVehiclesById;
+    this.vehiclesByPattern = newVehiclesByPattern;
+    this.stopPositionsByPattern.keySet().retainAll(newVehiclesByPattern.keySet());
+    this.reusedInLastUpdate = reused;
+  }
+
+  /**
+   * The number of vehicle positions in the last update which were unchanged since the update
+   * before, and not matched again.
+   */
+  int reusedInLastUpdate() {
+    return reusedInLastUpdate;
+  }
+
+  @Nullable
+  private static String vehicleKey(VehiclePosition position) {
+    if (!position.hasVehicle() || position.getVehicle().getId().isEmpty()) {
+      return null;
+    }
+    return position.getVehicle().getId();
+  }
+
+  private static Map<String, Integer> stopPositions(TripPattern pattern) {
+    var positions = new HashMap<String, Integer>();
+    List<StopLocation> stops = pattern.getStops();
+    for (int i = 0; i < stops.size(); ++i) {
+      var previous = positions.putIfAbsent(stops.get(i).getId().getId(), i);
+      if (previous != null) {
+        positions.put(stops.get(i).getId().getId(), NOT_FOUND);
+      }
+    }
+    return positions;
+  }
+
+  /**
+   * A vehicle position and the result of matching it to a pattern.
+   */
+  record MatchedVehicle(VehiclePosition position, PatternAndRealtimeVehicle match) {
+    MatchedVehicle {
+      Objects.requireNonNull(position);
+      Objects.requireNonNull(match);
+    }
+  }
+}
@@ -9,7 +9,6 @@ import static org.opentripplanner.updater.spi.UpdateError.UpdateErrorType.TRIP_N
 import static org.opentripplanner.updater.spi.UpdateError.UpdateErrorType.TRIP_NOT_FOUND_IN_PATTERN;
 
 import com.google.common.base.Strings;
-import com.google.common.collect.Sets;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.util.JsonFormat;
 import com.google.transit.realtime.GtfsRealtime.VehiclePosition;
@@ -21,13 +20,11 @@ import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.opentripplanner.framework.geometry.WgsCoordinate;
 import org.opentripplanner.framework.lang.StringUtils;
@@ -39,7 +36,6 @@ import org.opentripplanner.standalone.config.routerconfig.updaters.VehiclePositi
 import org.opentripplanner.transit.model.framework.FeedScopedId;
 import org.opentripplanner.transit.model.framework.Result;
 import org.opentripplanner.transit.model.network.TripPattern;
-import org.opentripplanner.transit.model.site.StopLocation;
 import org.opentripplanner.transit.model.timetable.OccupancyStatus;
 import org.opentripplanner.transit.model.timetable.Trip;
 import org.opentripplanner.transit.model.timetable.TripTimes;
@@ -68,8 +64,7 @@ public class RealtimeVehiclePatternMatcher {
   private final BiFunction<Trip, LocalDate, TripPattern> getRealtimePattern;
   private final GtfsRealtimeFuzzyTripMatcher fuzzyTripMatcher;
   private final Set<VehiclePositionsUpdaterConfig.VehiclePositionFeature> vehiclePositionFeatures;
-
-  private Set<TripPattern> patternsInPreviousUpdate = Set.of();
+  private final RealtimeVehicleIndex index;
 
   public RealtimeVehiclePatternMatcher(
     String feedId,
@@ -80,6 +75,35 @@ public class RealtimeVehiclePatternMatcher {
     ZoneId timeZoneId,
     GtfsRealtimeFuzzyTripMatcher fuzzyTripMatcher,
     Set<VehiclePositionsUpdaterConfig.VehiclePositionFeature> vehiclePositionFeatures
+  ) {
+    this(
+      feedId,
+      getTripForId,
+      getStaticPattern,
+      getRealtimePattern,
+      repository,
+      timeZoneId,
+      fuzzyTripMatcher,
+      vehiclePositionFeatures,
+      new RealtimeVehicleIndex()
+    );
+  }
+
+  /**
+   * @param index the vehicles of the feed from the previous update. The index must be kept
+   *              between updates, so that only the changes since the previous update are applied
+   *              and the vehicles of patterns which are no longer in the feed are cleared.
+   */
+  RealtimeVehiclePatternMatcher(
+    String feedId,
+    Function<FeedScopedId, Trip> getTripForId,
+    Function<Trip, TripPattern> getStaticPattern,
+    BiFunction<Trip, LocalDate, TripPattern> getRealtimePattern,
+    RealtimeVehicleRepository repository,
+    ZoneId timeZoneId,
+    GtfsRealtimeFuzzyTripMatcher fuzzyTripMatcher,
+    Set<VehiclePositionsUpdaterConfig.VehiclePositionFeature> vehiclePositionFeatures,
+    RealtimeVehicleIndex index
   ) {
     this.feedId = feedId;
     this.getTripForId = getTripForId;
@@ -89,6 +113,7 @@ public class RealtimeVehiclePatternMatcher {
     this.timeZoneId = timeZoneId;
     this.fuzzyTripMatcher = fuzzyTripMatcher;
     this.vehiclePositionFeatures = vehiclePositionFeatures;
+    this.index = index;
   }
 
   /**
@@ -97,44 +122,37 @@ public class RealtimeVehiclePatternMatcher {
    * @param vehiclePositions List of vehicle positions to match to patterns
    */
   public UpdateResult applyRealtimeVehicleUpdates(List<VehiclePosition> vehiclePositions) {
-    var matchResults = vehiclePositions
-      .stream()
-      .map(vehiclePosition -> toRealtimeVehicle(feedId, vehiclePosition))
-      .toList();
-
-    // we take the list of vehicles and out of them create a Map<TripPattern, List<RealtimeVehicle>>
-    // that map makes it very easy to update the vehicles in the service
-    // it also enables the bookkeeping about which pattern previously had vehicles but no longer do
-    // these need to be removed from the service as we assume that the vehicle has stopped
-    var vehicles = matchResults
-      .stream()
-      .filter(Result::isSuccess)
-      .map(Result::successValue)
-      .collect(Collectors.groupingBy(PatternAndRealtimeVehicle::pattern))
-      .entrySet()
-      .stream()
-      .collect(
-        Collectors.toMap(
-          Entry::getKey,
-          e ->
-            e
-              .getValue()
-              .stream()
-              .map(PatternAndRealtimeVehicle::vehicle)
-              .collect(Collectors.toList())
-        )
+    var matched = new ArrayList<RealtimeVehicleIndex.MatchedVehicle>(vehiclePositions.size());
+    int reused = 0;
+    var matchResults = new ArrayList<Result<PatternAndRealtimeVehicle, UpdateError>>(
+      vehiclePositions.size()
+    );
+    for (VehiclePosition vehiclePosition : vehiclePositions) {
+      // a vehicle position which is unchanged since the previous update is not matched again
+      var match = index.previousMatch(
+        vehiclePosition,
+        previous -> getRealtimePattern.apply(previous.vehicle().trip(), previous.serviceDate())
       );
+      if (match != null) {
+        ++reused;
+        matchResults.add(Result.success(match));
+      } else {
+        var result = toRealtimeVehicle(feedId, vehiclePosition);
+        matchResults.add(result);
+        if (result.isFailure()) {
+          continue;
+        }
+        match = result.successValue();
+      }
+      matched.add(new RealtimeVehicleIndex.MatchedVehicle(vehiclePosition, match));
+    }
 
-    vehicles.forEach(repository::setRealtimeVehicles);
-    Set<TripPattern> patternsInCurrentUpdate = vehicles.keySet();
-
-    // if there was a vehicle in the previous update but not in the current one, we assume
-    // that the pattern has no more vehicles.
-    var toDelete = Sets.difference(patternsInPreviousUpdate, patternsInCurrentUpdate);
-    toDelete.forEach(repository::clearRealtimeVehicles);
-    patternsInPreviousUpdate = patternsInCurrentUpdate;
+    // the index groups the vehicles by pattern and only updates the patterns that have changed.
+    // it also keeps track of which pattern previously had vehicles but no longer do, these need to
+    // be removed from the service as we assume that the vehicle has stopped
+    index.update(matched, reused, repository);
 
-    if (!vehiclePositions.isEmpty() && patternsInCurrentUpdate.isEmpty()) {
+    if (!vehiclePositions.isEmpty() && matched.isEmpty()) {
       LOG.error(
         "Could not match any vehicle positions for feedId '{}'. Are you sure that the updater is using the correct feedId?",
         feedId
@@ -204,7 +222,7 @@ public class RealtimeVehiclePatternMatcher {
    */
   private RealtimeVehicle mapRealtimeVehicle(
     VehiclePosition vehiclePosition,
-    List<StopLocation> stopsOnVehicleTrip,
+    TripPattern pattern,
     Trip trip,
     Function<Integer, OptionalInt> stopIndexOfGtfsSequence
   ) {
@@ -243,12 +261,9 @@ public class RealtimeVehiclePatternMatcher {
 
       // we prefer the to get the current stop from the stop_id
       if (vehiclePosition.hasStopId()) {
-        var matchedStops = stopsOnVehicleTrip
-          .stream()
-          .filter(stop -> stop.getId().getId().equals(vehiclePosition.getStopId()))
-          .toList();
-        if (matchedStops.size() == 1) {
-          newVehicle.withStop(matchedStops.get(0));
+        int stopPosition = index.stopPosition(pattern, vehiclePosition.getStopId());
+        if (stopPosition >= 0) {
+          newVehicle.withStop(pattern.getStop(stopPosition));
         } else {
           LOG.warn(
             "Stop ID {} is not in trip {}. Not setting stopRelationship.",
@@ -262,8 +277,8 @@ public class RealtimeVehiclePatternMatcher {
         stopIndexOfGtfsSequence
           .apply(vehiclePosition.getCurrentStopSequence())
           .ifPresent(stopIndex -> {
-            if (validStopIndex(stopIndex, stopsOnVehicleTrip)) {
-              var stop = stopsOnVehicleTrip.get(stopIndex);
+            if (validStopIndex(stopIndex, pattern)) {
+              var stop = pattern.getStop(stopIndex);
               newVehicle.withStop(stop);
             }
           });
@@ -282,8 +297,8 @@ public class RealtimeVehiclePatternMatcher {
   /**
    * Checks that the stop index can actually be found in the pattern.
    */
-  private static boolean validStopIndex(int stopIndex, List<StopLocation> stopsOnVehicleTrip) {
-    return stopIndex < stopsOnVehicleTrip.size() - 1;
+  private static boolean validStopIndex(int stopIndex, TripPattern pattern) {
+    return stopIndex < pattern.numberOfStops() - 1;
   }
 
   private record TemporalDistance(LocalDate date, long distance) {}
@@ -381,13 +396,17 @@ public class RealtimeVehiclePatternMatcher {
     // Add position to pattern
     var newVehicle = mapRealtimeVehicle(
       vehiclePositionWithTripId,
-      pattern.getStops(),
+      pattern,
       trip,
       staticTripTimes::stopIndexOfGtfsSequence
     );
 
-    return Result.success(new PatternAndRealtimeVehicle(pattern, newVehicle));
+    return Result.success(new PatternAndRealtimeVehicle(pattern, serviceDate, newVehicle));
   }
 
-  record PatternAndRealtimeVehicle(TripPattern pattern, RealtimeVehicle vehicle) {}
+  record PatternAndRealtimeVehicle(
+    TripPattern pattern,
+    LocalDate serviceDate,
+    RealtimeVehicle vehicle
+  ) {}
 }
@@ -0,0 +1,88 @@
+package org.opentripplanner.updater.vehicle_position;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.updater.spi.UpdateResult;
+
+/**
+ * Records micrometer metrics for vehicle position updaters.
+ * <p>
+ * It records the number of matched, failed and reused vehicle positions of the most recent update
+ * as gauges, and the time it takes to process each update. The match rate is
+ * {@code matched / (matched + failed)}.
+ */
+class VehiclePositionMetrics {
+
+  /**
+   * Record the result of an update.
+   */
+  @FunctionalInterface
+  interface Recorder {
+    void record(UpdateResult result, int reused, Duration processingTime);
+  }
+
+  static final Recorder NOOP = (result, reused, processingTime) -> {};
+
+  private static final String METRICS_PREFIX = "vehicle_positions";
+
+  private final List<Tag> baseTags;
+  private final AtomicInteger matchedGauge;
+  private final AtomicInteger failedGauge;
+  private final AtomicInteger reusedGauge;
+  private final Timer processingTimer;
+
+  private VehiclePositionMetrics(VehiclePositionsUpdaterParameters parameters) {
+    this.baseTags =
+      List.of(
+        Tag.of("configRef", parameters.configRef()),
+        Tag.of("url", parameters.url().toString()),
+        Tag.of("feedId", parameters.feedId())
+      );
+    this.matchedGauge =
+      getGauge("matched", "Vehicle positions matched to a trip at the most recent update");
+    this.failedGauge =
+      getGauge("failed", "Vehicle positions not matched to a trip at the most recent update");
+    this.reusedGauge =
+      getGauge(
+        "reused",
+        "Vehicle positions unchanged since the previous update at the most recent update"
+      );
+    this.processingTimer =
+      Timer
+        .builder(METRICS_PREFIX + ".processing")
+        .description("Time spent matching and applying an update of vehicle positions")
+        .tags(baseTags)
+        .register(Metrics.globalRegistry);
+  }
+
+  static Recorder of(VehiclePositionsUpdaterParameters parameters) {
+    if (OTPFeature.ActuatorAPI.isOn()) {
+      return new VehiclePositionMetrics(parameters)::record;
+    } else {
+      return NOOP;
+    }
+  }
+
+  private void record(UpdateResult result, int reused, Duration processingTime) {
+    matchedGauge.set(result.successful());
+    failedGauge.set(result.failed());
+    reusedGauge.set(reused);
+    processingTimer.record(processingTime);
+  }
+
+  private AtomicInteger getGauge(String name, String description) {
+    var atomicInt = new AtomicInteger(0);
+    Gauge
+      .builder(METRICS_PREFIX + "." + name, atomicInt::get)
+      .description(description)
+      .tags(baseTags)
+      .register(Metrics.globalRegistry);
+    return atomicInt;
+  }
+}
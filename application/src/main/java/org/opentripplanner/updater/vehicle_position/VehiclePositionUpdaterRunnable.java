@@ -1,6 +1,7 @@
 package org.opentripplanner.updater.vehicle_position;
 
 import com.google.transit.realtime.GtfsRealtime.VehiclePosition;
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -16,19 +17,25 @@ public class VehiclePositionUpdaterRunnable implements GraphWriterRunnable {
   private final String feedId;
   private final boolean fuzzyTripMatching;
   private final Set<VehiclePositionsUpdaterConfig.VehiclePositionFeature> vehiclePositionFeatures;
+  private final RealtimeVehicleIndex index;
+  private final VehiclePositionMetrics.Recorder recordMetrics;
 
-  public VehiclePositionUpdaterRunnable(
+  VehiclePositionUpdaterRunnable(
     RealtimeVehicleRepository realtimeVehicleRepository,
     Set<VehiclePositionsUpdaterConfig.VehiclePositionFeature> vehiclePositionFeatures,
     String feedId,
     boolean fuzzyTripMatching,
-    List<VehiclePosition> updates
+    List<VehiclePosition> updates,
+    RealtimeVehicleIndex index,
+    VehiclePositionMetrics.Recorder recordMetrics
   ) {
     this.updates = Objects.requireNonNull(updates);
     this.feedId = feedId;
     this.realtimeVehicleRepository = realtimeVehicleRepository;
     this.fuzzyTripMatching = fuzzyTripMatching;
     this.vehiclePositionFeatures = vehiclePositionFeatures;
+    this.index = Objects.requireNonNull(index);
+    this.recordMetrics = recordMetrics;
   }
 
   @Override
@@ -41,9 +48,16 @@ public class VehiclePositionUpdaterRunnable implements GraphWriterRunnable {
       realtimeVehicleRepository,
       context.transitService().getTimeZone(),
       fuzzyTripMatching ? context.gtfsRealtimeFuzzyTripMatcher() : null,
-      vehiclePositionFeatures
+      vehiclePositionFeatures,
+      index
     );
     // Apply new vehicle positions
-    matcher.applyRealtimeVehicleUpdates(updates);
+    long start = System.nanoTime();
+    var result = matcher.applyRealtimeVehicleUpdates(updates);
+    recordMetrics.record(
+      result,
+      index.reusedInLastUpdate(),
+      Duration.ofNanos(System.nanoTime() - start)
+    );
   }
 }
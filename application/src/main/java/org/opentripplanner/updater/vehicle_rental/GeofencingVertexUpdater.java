@@ -2,15 +2,13 @@ package org.opentripplanner.updater.vehicle_rental;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
-import org.locationtech.jts.geom.LineString;
-import org.locationtech.jts.geom.MultiLineString;
 import org.opentripplanner.framework.geometry.GeometryUtils;
 import org.opentripplanner.service.vehiclerental.model.GeofencingZone;
 import org.opentripplanner.service.vehiclerental.street.BusinessAreaBorder;
@@ -29,13 +27,29 @@ import org.opentripplanner.street.model.edge.StreetEdge;
  * <p>
  * Perhaps this logic will be replaced with edge splitting where a new vertex is insert right on
  * the border of the zone.
+ * <p>
+ * An instance remembers the edges found for each zone, so it should be kept between updates.
+ * Only zones that are new or whose geometry has changed are matched against the street graph
+ * again. The record equality of {@link GeofencingZone} includes an exact comparison of the
+ * geometry.
  */
 class GeofencingVertexUpdater {
 
-  private final Function<Envelope, Collection<Edge>> getEdgesForEnvelope;
+  private final GeofencingZoneIndex index;
+
+  /**
+   * The edges and extension of each zone in the last update.
+   */
+  private Map<GeofencingZone, ZoneRestriction> zoneCache = Map.of();
+
+  /**
+   * The border of the union of all business areas in the last update.
+   */
+  private List<GeofencingZone> cachedBusinessAreas = List.of();
+  private ZoneRestriction cachedBusinessAreaBorder = null;
 
   public GeofencingVertexUpdater(Function<Envelope, Collection<Edge>> getEdgesForEnvelope) {
-    this.getEdgesForEnvelope = getEdgesForEnvelope;
+    this.index = new GeofencingZoneIndex(getEdgesForEnvelope);
   }
 
   /**
@@ -44,109 +58,99 @@ class GeofencingVertexUpdater {
    */
   Map<StreetEdge, RentalRestrictionExtension> applyGeofencingZones(
     Collection<GeofencingZone> geofencingZones
+  ) {
+    var updates = computeRestrictions(geofencingZones);
+    updates.forEach(StreetEdge::addRentalRestriction);
+    return updates;
+  }
+
+  /**
+   * Replace the restrictions previously applied with new ones. The new restrictions are computed
+   * up front so that the street graph is modified in one batch.
+   */
+  static void replaceRestrictions(
+    Map<StreetEdge, RentalRestrictionExtension> previous,
+    Map<StreetEdge, RentalRestrictionExtension> updates
+  ) {
+    previous.forEach(StreetEdge::removeRentalExtension);
+    updates.forEach(StreetEdge::addRentalRestriction);
+  }
+
+  /**
+   * Compute the restrictions described in the geofencing zones without modifying the street
+   * graph.
+   */
+  Map<StreetEdge, RentalRestrictionExtension> computeRestrictions(
+    Collection<GeofencingZone> geofencingZones
   ) {
     var restrictedZones = geofencingZones.stream().filter(GeofencingZone::hasRestriction).toList();
 
     // these are the edges inside business area where exceptions like "no pass through"
     // or "no drop-off" are added
-    var restrictedEdges = addExtensionToIntersectingStreetEdges(
-      restrictedZones,
-      GeofencingZoneExtension::new
-    );
-
-    var updates = new HashMap<>(restrictedEdges);
+    var newZoneCache = new HashMap<GeofencingZone, ZoneRestriction>();
+    var updates = new LinkedHashMap<StreetEdge, RentalRestrictionExtension>();
+    for (GeofencingZone zone : restrictedZones) {
+      var restriction = zoneCache.get(zone);
+      if (restriction == null) {
+        restriction =
+          new ZoneRestriction(
+            new GeofencingZoneExtension(zone),
+            index.findIntersectingEdges(zone.geometry())
+          );
+      }
+      newZoneCache.put(zone, restriction);
+      restriction.addTo(updates);
+    }
+    zoneCache = newZoneCache;
 
     var generalBusinessAreas = geofencingZones
       .stream()
       .filter(GeofencingZone::isBusinessArea)
       .toList();
 
-    if (!generalBusinessAreas.isEmpty()) {
-      // if the geofencing zones don't have any restrictions then they describe a general business
-      // area which you can traverse freely but are not allowed to leave
-      // here we just take the boundary of the geometry since we want to add a "no pass through"
-      // restriction to any edge intersecting it
-
-      var network = generalBusinessAreas.get(0).id().getFeedId();
-      var polygons = generalBusinessAreas
-        .stream()
-        .map(GeofencingZone::geometry)
-        .toArray(Geometry[]::new);
-
-      var unionOfBusinessAreas = GeometryUtils
-        .getGeometryFactory()
-        .createGeometryCollection(polygons)
-        .union();
-
-      var updated = applyExtension(
-        unionOfBusinessAreas.getBoundary(),
-        new BusinessAreaBorder(network)
-      );
-
-      updates.putAll(updated);
+    if (generalBusinessAreas.isEmpty()) {
+      cachedBusinessAreas = List.of();
+      cachedBusinessAreaBorder = null;
+    } else {
+      if (!generalBusinessAreas.equals(cachedBusinessAreas)) {
+        cachedBusinessAreas = generalBusinessAreas;
+        cachedBusinessAreaBorder = computeBusinessAreaBorder(generalBusinessAreas);
+      }
+      cachedBusinessAreaBorder.addTo(updates);
     }
 
     return Map.copyOf(updates);
   }
 
-  private Map<StreetEdge, RentalRestrictionExtension> addExtensionToIntersectingStreetEdges(
-    List<GeofencingZone> zones,
-    Function<GeofencingZone, RentalRestrictionExtension> createExtension
-  ) {
-    var edgesUpdated = new HashMap<StreetEdge, RentalRestrictionExtension>();
-    for (GeofencingZone zone : zones) {
-      var geom = zone.geometry();
-      var ext = createExtension.apply(zone);
-      edgesUpdated.putAll(applyExtension(geom, ext));
-    }
-    return edgesUpdated;
+  /**
+   * If the geofencing zones don't have any restrictions then they describe a general business
+   * area which you can traverse freely but are not allowed to leave. Here we just take the
+   * boundary of the geometry since we want to add a "no pass through" restriction to any edge
+   * intersecting it.
+   */
+  private ZoneRestriction computeBusinessAreaBorder(List<GeofencingZone> generalBusinessAreas) {
+    var network = generalBusinessAreas.get(0).id().getFeedId();
+    var polygons = generalBusinessAreas
+      .stream()
+      .map(GeofencingZone::geometry)
+      .toArray(Geometry[]::new);
+
+    var unionOfBusinessAreas = GeometryUtils
+      .getGeometryFactory()
+      .createGeometryCollection(polygons)
+      .union();
+
+    return new ZoneRestriction(
+      new BusinessAreaBorder(network),
+      index.findIntersectingEdges(unionOfBusinessAreas.getBoundary())
+    );
   }
 
-  private Map<StreetEdge, RentalRestrictionExtension> applyExtension(
-    Geometry geom,
-    RentalRestrictionExtension ext
-  ) {
-    var edgesUpdated = new HashMap<StreetEdge, RentalRestrictionExtension>();
-    Set<Edge> candidates;
-    // for business areas we only care about the borders so we compute the boundary of the
-    // (multi) polygon. this can either be a MultiLineString or a LineString
-    if (geom instanceof LineString ring) {
-      candidates = getEdgesAlongLineStrings(List.of(ring));
-    } else if (geom instanceof MultiLineString mls) {
-      var lineStrings = GeometryUtils.getLineStrings(mls);
-      candidates = getEdgesAlongLineStrings(lineStrings);
-    } else {
-      candidates = Set.copyOf(getEdgesForEnvelope.apply(geom.getEnvelopeInternal()));
-    }
-    for (var e : candidates) {
-      if (e instanceof StreetEdge streetEdge && streetEdge.getGeometry().intersects(geom)) {
-        streetEdge.addRentalRestriction(ext);
-        edgesUpdated.put(streetEdge, ext);
+  private record ZoneRestriction(RentalRestrictionExtension extension, Set<StreetEdge> edges) {
+    void addTo(Map<StreetEdge, RentalRestrictionExtension> updates) {
+      for (var edge : edges) {
+        updates.put(edge, extension);
       }
     }
-    return edgesUpdated;
-  }
-
-  /**
-   * This method optimizes finding all the candidate edges which could cross the business zone
-   * border.
-   * <p>
-   * If you put the entire zone into an envelope you get lots and lots of edges in the middle of it
-   * that are nowhere near the border. Since checking if they intersect with the border is an
-   * expensive operation we apply the following optimization:
-   * <li>we split the line string into segments for each pair of coordinates
-   * <li>for each segment we compute the envelope
-   * <li>we only get the edges for that envelope and check if they intersect
-   * <p>
-   * When finding the edges near the business area border in Oslo this speeds up the computation
-   * from ~25 seconds to ~3 seconds (on 2021 hardware).
-   */
-  private Set<Edge> getEdgesAlongLineStrings(Collection<LineString> lineStrings) {
-    return lineStrings
-      .stream()
-      .flatMap(GeometryUtils::toEnvelopes)
-      .map(getEdgesForEnvelope)
-      .flatMap(Collection::stream)
-      .collect(Collectors.toSet());
   }
 }
@@ -0,0 +1,156 @@
+package org.opentripplanner.updater.vehicle_rental;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.Polygonal;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.opentripplanner.framework.geometry.GeometryUtils;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.edge.StreetEdge;
+
+/**
+ * Finds the street edges which intersect a geofencing geometry.
+ * <p>
+ * Polygons are rasterized into a grid of cells. Cells which are completely outside the polygon
+ * are skipped without looking at the edges in them and for cells which are completely covered by
+ * the polygon only a cheap rectangle intersection is done. Only the edges in cells on the border
+ * of the polygon are tested against the (prepared) polygon itself.
+ * <p>
+ * Line strings, which are used for the border of business areas, are split into one envelope
+ * per segment since a single envelope would contain lots of edges in the middle of the area.
+ */
+class GeofencingZoneIndex {
+
+  /**
+   * The target size of a grid cell, roughly 500 meters in the north-south direction.
+   */
+  private static final double CELL_SIZE_DEGREES = 0.005;
+
+  /**
+   * Limit the number of cells in each direction so that very large zones do not result in a
+   * huge number of envelope queries.
+   */
+  private static final int MAX_CELLS_PER_AXIS = 64;
+
+  private final Function<Envelope, Collection<Edge>> getEdgesForEnvelope;
+
+  GeofencingZoneIndex(Function<Envelope, Collection<Edge>> getEdgesForEnvelope) {
+    this.getEdgesForEnvelope = getEdgesForEnvelope;
+  }
+
+  /**
+   * Return all street edges whose geometry intersect the given geometry.
+   */
+  Set<StreetEdge> findIntersectingEdges(Geometry geom) {
+    // for business areas we only care about the borders so we compute the boundary of the
+    // (multi) polygon. this can either be a MultiLineString or a LineString
+    if (geom instanceof LineString ring) {
+      return findEdgesAlongLineStrings(List.of(ring), geom);
+    } else if (geom instanceof MultiLineString mls) {
+      return findEdgesAlongLineStrings(GeometryUtils.getLineStrings(mls), geom);
+    } else if (geom instanceof Polygonal) {
+      return findEdgesInPolygon(geom);
+    } else {
+      return filterIntersecting(
+        getEdgesForEnvelope.apply(geom.getEnvelopeInternal()),
+        PreparedGeometryFactory.prepare(geom)
+      );
+    }
+  }
+
+  private Set<StreetEdge> findEdgesInPolygon(Geometry polygon) {
+    var prepared = PreparedGeometryFactory.prepare(polygon);
+    var env = polygon.getEnvelopeInternal();
+
+    int nx = numberOfCells(env.getWidth());
+    int ny = numberOfCells(env.getHeight());
+    double dx = env.getWidth() / nx;
+    double dy = env.getHeight() / ny;
+
+    var result = new HashSet<StreetEdge>();
+    // Edges which have been tested against the polygon itself, the result is the same in every
+    // cell so there is no need to do the test again
+    var tested = new HashSet<StreetEdge>();
+
+    for (int i = 0; i < nx; ++i) {
+      for (int j = 0; j < ny; ++j) {
+        var cellEnv = new Envelope(
+          env.getMinX() + i * dx,
+          i == nx - 1 ? env.getMaxX() : env.getMinX() + (i + 1) * dx,
+          env.getMinY() + j * dy,
+          j == ny - 1 ? env.getMaxY() : env.getMinY() + (j + 1) * dy
+        );
+        var cell = GeometryUtils.getGeometryFactory().toGeometry(cellEnv);
+
+        if (!prepared.intersects(cell)) {
+          continue;
+        }
+        boolean cellCovered = prepared.covers(cell);
+
+        for (var e : getEdgesForEnvelope.apply(cellEnv)) {
+          if (!(e instanceof StreetEdge streetEdge) || result.contains(streetEdge)) {
+            continue;
+          }
+          var edgeGeom = streetEdge.getGeometry();
+          if (cellCovered) {
+            // the cell is a rectangle so JTS uses an optimized intersection test
+            if (cell.intersects(edgeGeom)) {
+              result.add(streetEdge);
+            }
+          } else if (tested.add(streetEdge) && prepared.intersects(edgeGeom)) {
+            result.add(streetEdge);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Split the line strings into segments and only look up the edges near each of them. If you
+   * put the entire zone into an envelope you get lots and lots of edges in the middle of it that
+   * are nowhere near the border.
+   * <p>
+   * When finding the edges near the business area border in Oslo this speeds up the computation
+   * from ~25 seconds to ~3 seconds (on 2021 hardware).
+   */
+  private Set<StreetEdge> findEdgesAlongLineStrings(
+    Collection<LineString> lineStrings,
+    Geometry geom
+  ) {
+    var candidates = lineStrings
+      .stream()
+      .flatMap(GeometryUtils::toEnvelopes)
+      .map(getEdgesForEnvelope)
+      .flatMap(Collection::stream)
+      .collect(Collectors.toSet());
+    return filterIntersecting(candidates, PreparedGeometryFactory.prepare(geom));
+  }
+
+  private static Set<StreetEdge> filterIntersecting(
+    Collection<Edge> candidates,
+    PreparedGeometry geom
+  ) {
+    var result = new HashSet<StreetEdge>();
+    for (var e : candidates) {
+      if (e instanceof StreetEdge streetEdge && geom.intersects(streetEdge.getGeometry())) {
+        result.add(streetEdge);
+      }
+    }
+    return result;
+  }
+
+  private static int numberOfCells(double extent) {
+    int n = (int) Math.ceil(extent / CELL_SIZE_DEGREES);
+    return Math.max(1, Math.min(n, MAX_CELLS_PER_AXIS));
+  }
+}
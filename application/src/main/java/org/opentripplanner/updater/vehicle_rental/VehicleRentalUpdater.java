@@ -57,6 +57,7 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
 
   private Map<StreetEdge, RentalRestrictionExtension> latestModifiedEdges = Map.of();
   private Set<GeofencingZone> latestAppliedGeofencingZones = Set.of();
+  private GeofencingVertexUpdater geofencingVertexUpdater;
   private final Map<FeedScopedId, VehicleRentalPlaceVertex> verticesByStation = new HashMap<>();
   private final Map<FeedScopedId, DisposableEdgeCollection> tempEdgesByStation = new HashMap<>();
   private final VertexLinker linker;
@@ -236,12 +237,14 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
         LOG.info("Computing geofencing zones for {}", nameForLogging);
         var start = System.currentTimeMillis();
 
-        latestModifiedEdges.forEach(StreetEdge::removeRentalExtension);
-
-        var updater = new GeofencingVertexUpdater(
-          context.graph().getStreetIndex()::getEdgesForEnvelope
-        );
-        latestModifiedEdges = updater.applyGeofencingZones(geofencingZones);
+        // the updater caches the edges of each zone, so it is kept between updates
+        if (geofencingVertexUpdater == null) {
+          geofencingVertexUpdater =
+            new GeofencingVertexUpdater(context.graph().getStreetIndex()::getEdgesForEnvelope);
+        }
+        var updatedEdges = geofencingVertexUpdater.computeRestrictions(geofencingZones);
+        GeofencingVertexUpdater.replaceRestrictions(latestModifiedEdges, updatedEdges);
+        latestModifiedEdges = updatedEdges;
         latestAppliedGeofencingZones = geofencingZones;
 
         var end = System.currentTimeMillis();
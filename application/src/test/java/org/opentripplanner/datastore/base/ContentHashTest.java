@@ -0,0 +1,45 @@
+package org.opentripplanner.datastore.base;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.datastore.api.DataSource;
+import org.opentripplanner.datastore.api.FileType;
+
+class ContentHashTest {
+
+  @Test
+  void sameContentGiveSameHash() {
+    var a = new ContentHash().add("v1").add(source("osm.pbf", "Data")).toHex();
+    var b = new ContentHash().add("v1").add(source("osm.pbf", "Data")).toHex();
+
+    assertEquals(a, b);
+    // SHA-256 as hex
+    assertEquals(64, a.length());
+  }
+
+  @Test
+  void changedContentGiveNewHash() {
+    var expected = new ContentHash().add("v1").add(source("osm.pbf", "Data")).toHex();
+
+    assertNotEquals(expected, new ContentHash().add("v2").add(source("osm.pbf", "Data")).toHex());
+    assertNotEquals(expected, new ContentHash().add("v1").add(source("osm.pbf", "Date")).toHex());
+    assertNotEquals(expected, new ContentHash().add("v1").add(source("dem.tif", "Data")).toHex());
+  }
+
+  @Test
+  void valuesCanNotBeShifted() {
+    assertNotEquals(
+      new ContentHash().add("ab").add("c").toHex(),
+      new ContentHash().add("a").add("bc").toHex()
+    );
+  }
+
+  private static DataSource source(String name, String content) {
+    var bytes = content.getBytes(UTF_8);
+    return new ByteArrayDataSource(name, name, FileType.OSM, bytes.length, 0, false)
+      .withBytes(bytes);
+  }
+}
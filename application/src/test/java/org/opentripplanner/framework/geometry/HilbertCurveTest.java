@@ -0,0 +1,57 @@
+package org.opentripplanner.framework.geometry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Envelope;
+
+class HilbertCurveTest {
+
+  @Test
+  void firstOrderCurve() {
+    assertEquals(0, HilbertCurve.index(1, 0, 0));
+    assertEquals(1, HilbertCurve.index(1, 0, 1));
+    assertEquals(2, HilbertCurve.index(1, 1, 1));
+    assertEquals(3, HilbertCurve.index(1, 1, 0));
+  }
+
+  @Test
+  void eachCellIsVisitedOnceAndTheNextCellIsANeighbour() {
+    int order = 4;
+    int n = 1 << order;
+    var cells = new int[n * n][];
+
+    for (int x = 0; x < n; ++x) {
+      for (int y = 0; y < n; ++y) {
+        int d = (int) HilbertCurve.index(order, x, y);
+        assertNull(cells[d], "Cell visited twice: " + d);
+        cells[d] = new int[] { x, y };
+      }
+    }
+    for (int d = 1; d < cells.length; ++d) {
+      int dx = Math.abs(cells[d][0] - cells[d - 1][0]);
+      int dy = Math.abs(cells[d][1] - cells[d - 1][1]);
+      assertEquals(1, dx + dy, "Cell " + d + " is not next to the previous cell");
+    }
+  }
+
+  @Test
+  void coordinatesInEnvelope() {
+    var subject = new HilbertCurve(new Envelope(10.0, 11.0, 59.0, 60.0));
+
+    // Start and end of the curve is the lower corners of the envelope
+    assertEquals(0, subject.index(10.0, 59.0));
+    assertEquals((1L << 32) - 1, subject.index(11.0, 59.0));
+
+    // Coordinates outside the envelope is moved to the border
+    assertEquals(subject.index(10.0, 59.0), subject.index(9.0, 58.0));
+
+    // Coordinates close to each other, in the same quadrant, are close on the curve
+    long a = subject.index(10.3, 59.3);
+    long b = subject.index(10.3001, 59.3001);
+    long c = subject.index(10.9, 59.1);
+    assertTrue(Math.abs(a - b) < Math.abs(a - c));
+  }
+}
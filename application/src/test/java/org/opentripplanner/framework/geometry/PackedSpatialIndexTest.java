@@ -0,0 +1,83 @@
+package org.opentripplanner.framework.geometry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+
+class PackedSpatialIndexTest {
+
+  private static final double X0 = -0.05;
+  private static final double Y0 = 44.0;
+  private static final double DX = 0.1;
+  private static final double DY = 0.1;
+
+  /**
+   * Insert random envelopes and check that each query return all envelopes intersecting the query
+   * envelope, each of them once. The bounding boxes are stored as floats, so envelopes closer to
+   * the query envelope than the float precision may be returned as well. The sizes cover an index
+   * with only a root node, one more than a full node and several levels.
+   */
+  @ParameterizedTest
+  @ValueSource(ints = { 1, 16, 17, 1000 })
+  void queryReturnAllIntersectingEnvelopes(int nObjs) {
+    var rand = new Random(42);
+    var envelopes = new ArrayList<Envelope>();
+    for (int i = 0; i < nObjs; i++) {
+      envelopes.add(new Envelope(randomCoordinate(rand), randomCoordinate(rand)));
+    }
+    var subject = PackedSpatialIndex.of(envelopes, e -> e);
+    assertEquals(nObjs, subject.size());
+
+    for (int i = 0; i < 1000; i++) {
+      var query = new Envelope(randomCoordinate(rand), randomCoordinate(rand));
+      List<Envelope> result = subject.query(query);
+
+      Set<Envelope> expected = new HashSet<>();
+      for (Envelope it : envelopes) {
+        if (it.intersects(query)) {
+          expected.add(it);
+        }
+      }
+      assertEquals(result.size(), new HashSet<>(result).size(), "Each envelope is returned once");
+      assertTrue(result.containsAll(expected));
+
+      for (Envelope it : result) {
+        var buffered = new Envelope(it);
+        buffered.expandBy(1e-5);
+        assertTrue(buffered.intersects(query), "Not close to query: " + it);
+      }
+    }
+  }
+
+  @Test
+  void pointsOnTheQueryBorderAreIncluded() {
+    var point = new Envelope(new Coordinate(10.123456789, 59.987654321));
+    var subject = PackedSpatialIndex.of(List.of(point), e -> e);
+
+    assertEquals(List.of(point), subject.query(new Envelope(point)));
+    assertEquals(List.of(point), subject.query(new Envelope(10.0, 10.123456789, 59.0, 60.0)));
+    assertEquals(List.of(), subject.query(new Envelope(10.0, 10.1, 59.0, 60.0)));
+  }
+
+  @Test
+  void emptyIndex() {
+    var subject = PackedSpatialIndex.<Envelope>of(List.of(), e -> e);
+
+    assertEquals(0, subject.size());
+    assertTrue(subject.query(new Envelope(-180, 180, -90, 90)).isEmpty());
+  }
+
+  private static Coordinate randomCoordinate(Random rand) {
+    return new Coordinate(rand.nextDouble() * DX + X0, rand.nextDouble() * DY + Y0);
+  }
+}
@@ -0,0 +1,85 @@
+package org.opentripplanner.framework.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.message.BasicHttpResponse;
+import org.junit.jupiter.api.Test;
+
+class HttpCacheValidatorsTest {
+
+  private static final String ETAG = "\"abc\"";
+  private static final String LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+
+  @Test
+  void noConditionalHeadersBeforeFirstResponse() {
+    var subject = new HttpCacheValidators();
+    var request = new HttpGet("https://example.com/feed");
+
+    subject.addConditionalHeaders(request);
+
+    assertFalse(subject.hasValidators());
+    assertNull(request.getFirstHeader(HttpHeaders.IF_NONE_MATCH));
+    assertNull(request.getFirstHeader(HttpHeaders.IF_MODIFIED_SINCE));
+  }
+
+  @Test
+  void conditionalHeadersFromPreviousResponse() {
+    var subject = new HttpCacheValidators();
+    var response = new BasicHttpResponse(200);
+    response.addHeader(HttpHeaders.ETAG, ETAG);
+    response.addHeader(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED);
+    subject.update(response);
+    subject.commitLatestResponse().run();
+
+    var request = new HttpGet("https://example.com/feed");
+    subject.addConditionalHeaders(request);
+
+    assertTrue(subject.hasValidators());
+    assertEquals(ETAG, request.getFirstHeader(HttpHeaders.IF_NONE_MATCH).getValue());
+    assertEquals(LAST_MODIFIED, request.getFirstHeader(HttpHeaders.IF_MODIFIED_SINCE).getValue());
+  }
+
+  @Test
+  void noConditionalHeadersBeforeResponseIsCommitted() {
+    var subject = new HttpCacheValidators();
+    var response = new BasicHttpResponse(200);
+    response.addHeader(HttpHeaders.ETAG, ETAG);
+    subject.update(response);
+    var commit = subject.commitLatestResponse();
+
+    var request = new HttpGet("https://example.com/feed");
+    subject.addConditionalHeaders(request);
+    assertFalse(subject.hasValidators());
+    assertNull(request.getFirstHeader(HttpHeaders.IF_NONE_MATCH));
+
+    // A newer response does not change the validators committed for the previous response
+    var newer = new BasicHttpResponse(200);
+    newer.addHeader(HttpHeaders.ETAG, "\"def\"");
+    subject.update(newer);
+    commit.run();
+
+    subject.addConditionalHeaders(request);
+    assertEquals(ETAG, request.getFirstHeader(HttpHeaders.IF_NONE_MATCH).getValue());
+  }
+
+  @Test
+  void reset() {
+    var subject = new HttpCacheValidators();
+    var response = new BasicHttpResponse(200);
+    response.addHeader(HttpHeaders.ETAG, ETAG);
+    subject.update(response);
+    subject.commitLatestResponse().run();
+
+    subject.reset();
+
+    var request = new HttpGet("https://example.com/feed");
+    subject.addConditionalHeaders(request);
+    assertFalse(subject.hasValidators());
+    assertNull(request.getFirstHeader(HttpHeaders.IF_NONE_MATCH));
+  }
+}
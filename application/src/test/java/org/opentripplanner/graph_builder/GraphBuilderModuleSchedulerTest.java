@@ -0,0 +1,204 @@
+package org.opentripplanner.graph_builder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.graph_builder.model.GraphBuilderResource.ELEVATION;
+import static org.opentripplanner.graph_builder.model.GraphBuilderResource.STREET_GRAPH;
+import static org.opentripplanner.graph_builder.model.GraphBuilderResource.TRANSIT_MODEL;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.graph_builder.model.GraphBuilderModule;
+import org.opentripplanner.graph_builder.model.GraphBuilderResource;
+
+class GraphBuilderModuleSchedulerTest {
+
+  private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+  @Test
+  void conflicts() {
+    var streets = module("S", Set.of(), Set.of(STREET_GRAPH));
+    var transit = module("T", Set.of(), Set.of(TRANSIT_MODEL));
+    var elevation = module("E", Set.of(STREET_GRAPH), Set.of(ELEVATION));
+    var all = module("A", GraphBuilderResource.ALL, GraphBuilderResource.ALL);
+
+    assertFalse(GraphBuilderModuleScheduler.conflicts(streets, transit));
+    assertFalse(GraphBuilderModuleScheduler.conflicts(transit, elevation));
+    assertTrue(GraphBuilderModuleScheduler.conflicts(streets, elevation));
+    assertTrue(GraphBuilderModuleScheduler.conflicts(elevation, streets));
+    assertTrue(GraphBuilderModuleScheduler.conflicts(streets, streets));
+    assertTrue(GraphBuilderModuleScheduler.conflicts(all, transit));
+    assertTrue(GraphBuilderModuleScheduler.conflicts(elevation, all));
+  }
+
+  @Test
+  void runSequential() {
+    var subject = new GraphBuilderModuleScheduler(
+      List.of(
+        module("S", Set.of(), Set.of(STREET_GRAPH)),
+        module("T", Set.of(), Set.of(TRANSIT_MODEL)),
+        module("A", GraphBuilderResource.ALL, GraphBuilderResource.ALL)
+      )
+    );
+
+    subject.run(false);
+
+    assertEquals(List.of("S", "T", "A"), events);
+    assertEquals(3, subject.reports().size());
+  }
+
+  @Test
+  void runIndependentModulesInParallel() {
+    // The two modules wait for each other, this only completes if they run at the same time
+    var streetsStarted = new CountDownLatch(1);
+    var transitStarted = new CountDownLatch(1);
+    var streets = module(
+      "S",
+      Set.of(),
+      Set.of(STREET_GRAPH),
+      () -> {
+        streetsStarted.countDown();
+        await(transitStarted);
+      }
+    );
+    var transit = module(
+      "T",
+      Set.of(),
+      Set.of(TRANSIT_MODEL),
+      () -> {
+        transitStarted.countDown();
+        await(streetsStarted);
+      }
+    );
+    var all = module("A", GraphBuilderResource.ALL, GraphBuilderResource.ALL);
+
+    var subject = new GraphBuilderModuleScheduler(List.of(streets, transit, all));
+    subject.run(true);
+
+    assertEquals(Set.of("S", "T"), Set.copyOf(events.subList(0, 2)));
+    assertEquals("A", events.get(2));
+
+    var reports = subject.reports();
+    assertEquals(3, reports.size());
+    assertEquals("TestModule", reports.get(2).name());
+  }
+
+  @Test
+  void dependentModuleRunAfterTheModuleItDependsOn() {
+    var subject = new GraphBuilderModuleScheduler(
+      List.of(
+        module("S", Set.of(), Set.of(STREET_GRAPH), () -> sleep(50)),
+        module("E", Set.of(STREET_GRAPH), Set.of(ELEVATION))
+      )
+    );
+
+    subject.run(true);
+
+    assertEquals(List.of("S", "E"), events);
+  }
+
+  @Test
+  void rethrowErrorInParallelMode() {
+    var subject = new GraphBuilderModuleScheduler(
+      List.of(
+        module(
+          "S",
+          Set.of(),
+          Set.of(STREET_GRAPH),
+          () -> {
+            throw new IllegalStateException("Failed");
+          }
+        ),
+        module("T", Set.of(), Set.of(TRANSIT_MODEL)),
+        module("E", Set.of(STREET_GRAPH), Set.of(ELEVATION))
+      )
+    );
+
+    var ex = assertThrows(IllegalStateException.class, () -> subject.run(true));
+
+    assertEquals("Failed", ex.getMessage());
+    // The independent module completes, the module depending on the failed module is not run
+    assertEquals(Set.of("S", "T"), Set.copyOf(events));
+  }
+
+  private GraphBuilderModule module(
+    String name,
+    Set<GraphBuilderResource> inputs,
+    Set<GraphBuilderResource> outputs
+  ) {
+    return module(name, inputs, outputs, () -> {});
+  }
+
+  private GraphBuilderModule module(
+    String name,
+    Set<GraphBuilderResource> inputs,
+    Set<GraphBuilderResource> outputs,
+    Runnable body
+  ) {
+    return new TestModule(name, inputs, outputs, body);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      if (!latch.await(10, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("Timeout, the modules did not run in parallel");
+      }
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private class TestModule implements GraphBuilderModule {
+
+    private final String name;
+    private final Set<GraphBuilderResource> inputs;
+    private final Set<GraphBuilderResource> outputs;
+    private final Runnable body;
+
+    TestModule(
+      String name,
+      Set<GraphBuilderResource> inputs,
+      Set<GraphBuilderResource> outputs,
+      Runnable body
+    ) {
+      this.name = name;
+      this.inputs = inputs;
+      this.outputs = outputs;
+      this.body = body;
+    }
+
+    @Override
+    public void buildGraph() {
+      try {
+        body.run();
+      } finally {
+        events.add(name);
+      }
+    }
+
+    @Override
+    public Set<GraphBuilderResource> inputs() {
+      return inputs;
+    }
+
+    @Override
+    public Set<GraphBuilderResource> outputs() {
+      return outputs;
+    }
+  }
+}
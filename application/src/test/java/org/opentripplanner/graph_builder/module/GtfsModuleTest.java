@@ -12,6 +12,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.opentripplanner.ConstantsForTests;
+import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.gtfs.graphbuilder.GtfsBundle;
 import org.opentripplanner.gtfs.graphbuilder.GtfsModule;
 import org.opentripplanner.model.calendar.ServiceDateInterval;
@@ -68,6 +69,55 @@ class GtfsModuleTest {
     assertThrows(IllegalArgumentException.class, module::buildGraph);
   }
 
+  @Test
+  void loadFeedsInParallel() {
+    var sequential = buildTestModel();
+    new GtfsModule(
+      List.of(bundle("A"), bundle("B"), bundle("C"), bundle("D"), bundle("E")),
+      sequential.timetableRepository,
+      sequential.graph,
+      ServiceDateInterval.unbounded()
+    )
+      .buildGraph();
+
+    var parallel = buildTestModel();
+    OTPFeature.ParallelGraphBuilding.testOn(() ->
+      new GtfsModule(
+        List.of(bundle("A"), bundle("B"), bundle("C"), bundle("D"), bundle("E")),
+        parallel.timetableRepository,
+        parallel.graph,
+        ServiceDateInterval.unbounded()
+      )
+        .buildGraph()
+    );
+
+    assertEquals(
+      sequential.timetableRepository.getAllTripPatterns().size(),
+      parallel.timetableRepository.getAllTripPatterns().size()
+    );
+    assertEquals(
+      sequential.timetableRepository.getAgencies().size(),
+      parallel.timetableRepository.getAgencies().size()
+    );
+    assertEquals(10, parallel.timetableRepository.getTransferService().listAll().size());
+  }
+
+  @Test
+  void duplicateFeedIdInParallel() {
+    var bundles = List.of(bundle("A"), bundle("B"), bundle("A"));
+    var model = buildTestModel();
+
+    var module = new GtfsModule(
+      bundles,
+      model.timetableRepository,
+      model.graph,
+      ServiceDateInterval.unbounded()
+    );
+    OTPFeature.ParallelGraphBuilding.testOn(() ->
+      assertThrows(IllegalArgumentException.class, module::buildGraph)
+    );
+  }
+
   private static TestModels buildTestModel() {
     var deduplicator = new Deduplicator();
     var siteRepository = new SiteRepository();
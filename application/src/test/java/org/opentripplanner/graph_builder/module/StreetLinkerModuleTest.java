@@ -3,6 +3,7 @@ package org.opentripplanner.graph_builder.module;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.opentripplanner._support.geometry.Coordinates.KONGSBERG_PLATFORM_1;
 import static org.opentripplanner.street.model.StreetTraversalPermission.CAR;
@@ -92,6 +93,60 @@ class StreetLinkerModuleTest {
     });
   }
 
+  @Test
+  void linkTwoStopsToTheSameEdge() {
+    var from = StreetModelForTest.intersectionVertex(
+      KONGSBERG_PLATFORM_1.y - DELTA,
+      KONGSBERG_PLATFORM_1.x - DELTA
+    );
+    var to = StreetModelForTest.intersectionVertex(
+      KONGSBERG_PLATFORM_1.y + DELTA,
+      KONGSBERG_PLATFORM_1.x + DELTA
+    );
+    Graph graph = new Graph();
+    graph.addVertex(from);
+    graph.addVertex(to);
+    var edge = StreetModelForTest.streetEdge(from, to, PEDESTRIAN);
+
+    var builder = SiteRepository.of();
+    var stopA = builder
+      .regularStop(id("A"))
+      .withCoordinate(new WgsCoordinate(KONGSBERG_PLATFORM_1))
+      .build();
+    var stopB = builder
+      .regularStop(id("B"))
+      .withCoordinate(
+        new WgsCoordinate(
+          KONGSBERG_PLATFORM_1.y + DELTA / 2,
+          KONGSBERG_PLATFORM_1.x + DELTA / 2
+        )
+      )
+      .build();
+    builder.withRegularStop(stopA).withRegularStop(stopB);
+    var timetableRepository = new TimetableRepository(builder.build(), new Deduplicator());
+
+    var vertexA = TransitStopVertex.of().withStop(stopA).build();
+    var vertexB = TransitStopVertex.of().withStop(stopB).build();
+    graph.addVertex(vertexA);
+    graph.addVertex(vertexB);
+    graph.hasStreets = true;
+
+    new StreetLinkerModule(graph, timetableRepository, DataImportIssueStore.NOOP, false)
+      .buildGraph();
+
+    // Both stops are linked to the same edge, the edge found for the second stop is split
+    // when the first stop is linked, so the second stop must be linked to one of the new edges.
+    var splitA = (SplitterVertex) vertexA.getOutgoing().iterator().next().getToVertex();
+    var splitB = (SplitterVertex) vertexB.getOutgoing().iterator().next().getToVertex();
+
+    assertNotSame(splitA, splitB);
+    assertFalse(from.getOutgoing().contains(edge));
+    assertTrue(
+      splitA.getOutgoing().stream().anyMatch(e -> e.getToVertex() == splitB) ||
+      splitB.getOutgoing().stream().anyMatch(e -> e.getToVertex() == splitA)
+    );
+  }
+
   private static class TestModel {
 
     private final TransitStopVertex stopVertex;
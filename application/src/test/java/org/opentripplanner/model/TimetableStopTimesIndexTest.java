@@ -0,0 +1,104 @@
+package org.opentripplanner.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.model.TimetableStopTimesIndex.SortedStopTimes;
+import org.opentripplanner.model.plan.PlanTestConstants;
+import org.opentripplanner.transit.model._data.TimetableRepositoryForTest;
+import org.opentripplanner.transit.model.basic.TransitMode;
+import org.opentripplanner.transit.model.framework.Deduplicator;
+import org.opentripplanner.transit.model.timetable.RealTimeTripTimes;
+import org.opentripplanner.transit.model.timetable.TripTimesFactory;
+
+class TimetableStopTimesIndexTest implements PlanTestConstants {
+
+  private static final int DWELL_TIME = 60;
+  private static final int DELAY = 40 * 60;
+
+  private final TimetableRepositoryForTest testModel = TimetableRepositoryForTest.of();
+  private final Timetable timetable = Timetable
+    .of()
+    .withTripPattern(testModel.pattern(TransitMode.BUS).build())
+    .addTripTimes(tripTimes("A", T11_20))
+    .addTripTimes(tripTimes("B", T11_00))
+    .addTripTimes(tripTimes("C", T11_30))
+    .addTripTimes(tripTimes("D", T11_10))
+    .build();
+
+  @Test
+  void departuresAreSortedByTime() {
+    var departures = timetable.getStopTimesIndex().departures(1);
+
+    assertEquals(4, departures.size());
+    assertTrips(timetable, departures, "B", "D", "A", "C");
+    assertEquals(T11_05 + DWELL_TIME, departures.time(0));
+    assertEquals(T11_30 + 5 * 60 + DWELL_TIME, departures.time(3));
+  }
+
+  @Test
+  void arrivalsAreSortedByTime() {
+    var arrivals = timetable.getStopTimesIndex().arrivals(1);
+
+    assertTrips(timetable, arrivals, "B", "D", "A", "C");
+    assertEquals(T11_05, arrivals.time(0));
+    assertEquals(T11_30 + 5 * 60, arrivals.time(3));
+  }
+
+  @Test
+  void realTimeUpdatesChangeTheOrder() {
+    var delayed = timetable.getTripTimes(TimetableRepositoryForTest.id("B")).copyScheduledTimes();
+    delayed.updateArrivalDelay(1, DELAY);
+    delayed.updateDepartureDelay(1, DELAY);
+    var updated = timetable.copyOf().addOrUpdateTripTimes(delayed).build();
+
+    var departures = updated.getStopTimesIndex().departures(1);
+    assertTrips(updated, departures, "D", "A", "C", "B");
+    assertEquals(T11_05 + DELAY + DWELL_TIME, departures.time(3));
+
+    // The index of the original timetable is not changed
+    assertTrips(timetable, timetable.getStopTimesIndex().departures(1), "B", "D", "A", "C");
+  }
+
+  @Test
+  void firstIndexAtOrAfter() {
+    var departures = timetable.getStopTimesIndex().departures(0);
+
+    assertEquals(0, departures.firstIndexAtOrAfter(0));
+    assertEquals(0, departures.firstIndexAtOrAfter(T11_00 + DWELL_TIME));
+    assertEquals(1, departures.firstIndexAtOrAfter(T11_00 + DWELL_TIME + 1));
+    assertEquals(3, departures.firstIndexAtOrAfter(T11_30 + DWELL_TIME));
+    assertEquals(4, departures.firstIndexAtOrAfter(T11_30 + DWELL_TIME + 1));
+  }
+
+  @Test
+  void indexIsCreatedOncePerTimetable() {
+    var index = timetable.getStopTimesIndex();
+
+    assertSame(index, timetable.getStopTimesIndex());
+    assertSame(index.departures(2), timetable.getStopTimesIndex().departures(2));
+    assertNotSame(index, timetable.copyOf().build().getStopTimesIndex());
+  }
+
+  private static void assertTrips(
+    Timetable timetable,
+    SortedStopTimes stopTimes,
+    String... expectedTripIds
+  ) {
+    for (int i = 0; i < expectedTripIds.length; ++i) {
+      var tripTimes = timetable.getTripTimes(stopTimes.tripIndex(i));
+      assertEquals(expectedTripIds[i], tripTimes.getTrip().getId().getId(), "Position " + i);
+    }
+  }
+
+  private RealTimeTripTimes tripTimes(String tripId, int startTime) {
+    var trip = TimetableRepositoryForTest.trip(tripId).build();
+    var stopTimes = testModel.stopTimesEvery5Minutes(3, trip, startTime);
+    for (var it : stopTimes) {
+      it.setDepartureTime(it.getArrivalTime() + DWELL_TIME);
+    }
+    return TripTimesFactory.tripTimes(trip, stopTimes, new Deduplicator());
+  }
+}
@@ -0,0 +1,77 @@
+package org.opentripplanner.model.plan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.LineString;
+import org.opentripplanner.framework.geometry.GeometryUtils;
+import org.opentripplanner.street.search.TraverseMode;
+
+class StreetLegTest {
+
+  private static final ZonedDateTime TIME = OffsetDateTime
+    .parse("2023-04-17T17:49:06+02:00")
+    .toZonedDateTime();
+  private static final LineString GEOMETRY = GeometryUtils.makeLineString(
+    new Coordinate[] { new Coordinate(10, 60), new Coordinate(10.1, 60.1) }
+  );
+
+  private final AtomicInteger geometryCount = new AtomicInteger();
+
+  @Test
+  void lazyGeometryIsCreatedOnceWhenAccessed() {
+    var leg = lazyLeg();
+
+    assertEquals(0, geometryCount.get());
+
+    assertSame(GEOMETRY, leg.getLegGeometry());
+    assertSame(GEOMETRY, leg.getLegGeometry());
+
+    assertEquals(1, geometryCount.get());
+  }
+
+  @Test
+  void copyDoesNotCreateLazyValues() {
+    var leg = lazyLeg();
+
+    var shifted = leg.withTimeShift(Duration.ofMinutes(5));
+
+    assertEquals(0, geometryCount.get());
+
+    assertSame(GEOMETRY, shifted.getLegGeometry());
+    assertSame(GEOMETRY, leg.getLegGeometry());
+    assertEquals(1, geometryCount.get());
+  }
+
+  @Test
+  void geometryAndWalkStepsNotSet() {
+    var leg = builder().build();
+
+    assertNull(leg.getLegGeometry());
+    assertNull(leg.getWalkSteps());
+  }
+
+  private StreetLeg lazyLeg() {
+    return builder()
+      .withLazyGeometry(() -> {
+        geometryCount.incrementAndGet();
+        return GEOMETRY;
+      })
+      .build();
+  }
+
+  private static StreetLegBuilder builder() {
+    return StreetLeg
+      .create()
+      .withMode(TraverseMode.WALK)
+      .withStartTime(TIME)
+      .withEndTime(TIME.plusMinutes(10));
+  }
+}
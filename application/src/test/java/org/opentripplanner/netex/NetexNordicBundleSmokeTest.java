@@ -17,6 +17,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 import org.opentripplanner.ConstantsForTests;
+import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.model.OtpTransitService;
 import org.opentripplanner.model.calendar.CalendarServiceData;
@@ -51,6 +52,21 @@ public class NetexNordicBundleSmokeTest {
    */
   @Test
   public void smokeTestOfNetexNordicLoadData() {
+    loadAndAssertData();
+  }
+
+  /**
+   * The line files are parsed in parallel, the result should be the same as when the files are
+   * loaded sequentially.
+   */
+  @Test
+  public void smokeTestOfNetexNordicLoadDataInParallel() {
+    OTPFeature.ParallelGraphBuilding.testOn(this::loadAndAssertData);
+  }
+
+  /* private methods */
+
+  private void loadAndAssertData() {
     // Given
     NetexBundle netexBundle = ConstantsForTests.createMinimalNetexNordicBundle();
 
@@ -80,8 +96,6 @@ public class NetexNordicBundleSmokeTest {
     assetServiceCalendar(transitBuilder.buildCalendarServiceData());
   }
 
-  /* private methods */
-
   private static <T> List<T> list(Collection<T> collection) {
     return new ArrayList<>(collection);
   }
@@ -0,0 +1,105 @@
+package org.opentripplanner.netex.loader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.rutebanken.netex.model.ServiceJourney;
+import org.rutebanken.netex.model.TimetableFrame;
+import org.rutebanken.netex.model.TimetabledPassingTime;
+
+class NetexXmlParserTest {
+
+  private static final String XML =
+    """
+    <?xml version="1.0" encoding="UTF-8"?>
+    <PublicationDelivery xmlns="http://www.netex.org.uk/netex" version="1.13">
+      <PublicationTimestamp>2024-01-01T00:00:00</PublicationTimestamp>
+      <ParticipantRef>RB</ParticipantRef>
+      <dataObjects>
+        <TimetableFrame id="RB:TimetableFrame:1" version="1">
+          <vehicleJourneys>
+            <ServiceJourney id="RB:ServiceJourney:1" version="1">
+              <JourneyPatternRef ref="RB:JourneyPattern:1" version="1"/>
+              <passingTimes>
+                <TimetabledPassingTime id="RB:TimetabledPassingTime:1" version="1">
+                  <StopPointInJourneyPatternRef ref="RB:StopPointInJourneyPattern:1" version="1"/>
+                  <DepartureTime>10:00:00</DepartureTime>
+                </TimetabledPassingTime>
+                <TimetabledPassingTime id="RB:TimetabledPassingTime:2" version="1">
+                  <StopPointInJourneyPatternRef ref="RB:StopPointInJourneyPattern:2" version="1"/>
+                  <ArrivalTime>10:10:00</ArrivalTime>
+                </TimetabledPassingTime>
+              </passingTimes>
+            </ServiceJourney>
+            <ServiceJourney id="RB:ServiceJourney:2" version="1">
+              <JourneyPatternRef ref="RB:JourneyPattern:1" version="1"/>
+              <passingTimes>
+                <TimetabledPassingTime id="RB:TimetabledPassingTime:3" version="1">
+                  <StopPointInJourneyPatternRef ref="RB:StopPointInJourneyPattern:1" version="1"/>
+                  <DepartureTime>10:10:00</DepartureTime>
+                </TimetabledPassingTime>
+                <TimetabledPassingTime id="RB:TimetabledPassingTime:4" version="1">
+                  <StopPointInJourneyPatternRef ref="RB:StopPointInJourneyPattern:2" version="1"/>
+                  <ArrivalTime>10:20:00</ArrivalTime>
+                </TimetabledPassingTime>
+              </passingTimes>
+            </ServiceJourney>
+          </vehicleJourneys>
+        </TimetableFrame>
+      </dataObjects>
+    </PublicationDelivery>
+    """;
+
+  @Test
+  void repeatedValuesAreSharedInTheParsedDocument() throws Exception {
+    var doc = new NetexXmlParser()
+      .parseXmlDoc(new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8)));
+
+    var frame = (TimetableFrame) doc
+      .getDataObjects()
+      .getCompositeFrameOrCommonFrame()
+      .get(0)
+      .getValue();
+    var journeys = frame
+      .getVehicleJourneys()
+      .getVehicleJourneyOrDatedVehicleJourneyOrNormalDatedVehicleJourney()
+      .stream()
+      .map(ServiceJourney.class::cast)
+      .toList();
+
+    var sj1 = journeys.get(0);
+    var sj2 = journeys.get(1);
+    List<TimetabledPassingTime> times1 = sj1.getPassingTimes().getTimetabledPassingTime();
+    List<TimetabledPassingTime> times2 = sj2.getPassingTimes().getTimetabledPassingTime();
+
+    // The values are the same as without the compaction
+    assertEquals("RB:ServiceJourney:2", sj2.getId());
+    assertEquals(LocalTime.of(10, 10), times1.get(1).getArrivalTime());
+    assertEquals(LocalTime.of(10, 10), times2.get(0).getDepartureTime());
+    assertEquals(
+      "RB:StopPointInJourneyPattern:2",
+      times2.get(1).getPointInJourneyPatternRef().getValue().getRef()
+    );
+
+    // Equal values are the same instance
+    assertSame(
+      sj1.getJourneyPatternRef().getValue().getRef(),
+      sj2.getJourneyPatternRef().getValue().getRef()
+    );
+    assertSame(
+      times1.get(0).getPointInJourneyPatternRef().getValue().getRef(),
+      times2.get(0).getPointInJourneyPatternRef().getValue().getRef()
+    );
+    assertSame(times1.get(1).getArrivalTime(), times2.get(0).getDepartureTime());
+    assertSame(sj1.getVersion(), times2.get(1).getVersion());
+
+    // The ids are unique, and the entities are not shared
+    assertNotSame(times1.get(0), times2.get(0));
+  }
+}
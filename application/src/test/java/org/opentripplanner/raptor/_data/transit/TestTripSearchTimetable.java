@@ -1,6 +1,5 @@
 package org.opentripplanner.raptor._data.transit;
 
-import java.util.function.IntUnaryOperator;
 import org.opentripplanner.raptor.api.model.SearchDirection;
 import org.opentripplanner.raptor.spi.RaptorTripScheduleSearch;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.TripScheduleSearchFactory;
@@ -9,13 +8,24 @@ import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.TripS
 public class TestTripSearchTimetable implements TripSearchTimetable<TestTripSchedule> {
 
   private final TestTripSchedule[] trips;
+  private final int[] arrivalTimes;
+  private final int[] departureTimes;
 
   public TestTripSearchTimetable(TestRoute route) {
     int nTrips = route.timetable().numberOfTripSchedules();
+    int nStops = route.pattern().numberOfStopsInPattern();
     this.trips = new TestTripSchedule[nTrips];
+    this.arrivalTimes = new int[nStops * nTrips];
+    this.departureTimes = new int[nStops * nTrips];
 
     for (int i = 0; i < nTrips; ++i) {
       trips[i] = route.getTripSchedule(i);
+      // Some tests only define the times for the first stops in the pattern
+      int nTripStops = Math.min(nStops, trips[i].size());
+      for (int s = 0; s < nTripStops; ++s) {
+        arrivalTimes[s * nTrips + i] = trips[i].arrival(s);
+        departureTimes[s * nTrips + i] = trips[i].departure(s);
+      }
     }
   }
 
@@ -30,13 +40,13 @@ public class TestTripSearchTimetable implements TripSearchTimetable<TestTripSche
   }
 
   @Override
-  public IntUnaryOperator getArrivalTimes(int stopPositionInPattern) {
-    return (int tripIndex) -> trips[tripIndex].arrival(stopPositionInPattern);
+  public int[] getArrivalTimes() {
+    return arrivalTimes;
   }
 
   @Override
-  public IntUnaryOperator getDepartureTimes(int stopPositionInPattern) {
-    return (int tripIndex) -> trips[tripIndex].departure(stopPositionInPattern);
+  public int[] getDepartureTimes() {
+    return departureTimes;
   }
 
   @Override
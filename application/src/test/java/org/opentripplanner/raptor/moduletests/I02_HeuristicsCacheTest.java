@@ -0,0 +1,165 @@
+package org.opentripplanner.raptor.moduletests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.opentripplanner.raptor._data.transit.TestRoute.route;
+import static org.opentripplanner.raptor._data.transit.TestTripPattern.pattern;
+import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor._data.RaptorTestConstants;
+import org.opentripplanner.raptor._data.transit.TestAccessEgress;
+import org.opentripplanner.raptor._data.transit.TestTransitData;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.request.Optimization;
+import org.opentripplanner.raptor.api.request.RaptorEnvironment;
+import org.opentripplanner.raptor.api.request.RaptorProfile;
+import org.opentripplanner.raptor.api.request.RaptorRequestBuilder;
+import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
+import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.raptor.rangeraptor.internalapi.Heuristics;
+import org.opentripplanner.raptor.service.RangeRaptorDynamicSearch;
+
+/**
+ * Feature under test
+ * <p>
+ * Raptor should reuse the destination heuristics from a previous search with the same transit
+ * data, access and egress, if the previous heuristic search time-limit is at least as wide as the
+ * new one. This is the case when paging to the next page in a depart-after search.
+ */
+public class I02_HeuristicsCacheTest implements RaptorTestConstants {
+
+  private static final String TRANSIT_DATA_KEY = "TransitData";
+
+  private final TestTransitData data = new TestTransitData() {
+    @Override
+    public Object transitDataCacheKey() {
+      return TRANSIT_DATA_KEY;
+    }
+  };
+  private final RaptorRequestBuilder<TestTripSchedule> requestBuilder = new RaptorRequestBuilder<>();
+  private final RaptorConfig<TestTripSchedule> config = new RaptorConfig<>(
+    new RaptorTuningParameters() {
+      @Override
+      public int heuristicsCacheMaxSize() {
+        return 10;
+      }
+    },
+    new RaptorEnvironment() {}
+  );
+
+  /**
+   * <pre>
+   * Stops: 0..2
+   *
+   * Stop on route (stop indexes):
+   *   R1:  1 - 2
+   *
+   * Schedule:
+   *   R1: 00:01 - 00:03
+   *   R1: 00:11 - 00:13
+   *   R1: 00:21 - 00:23
+   * </pre>
+   */
+  @BeforeEach
+  public void setup() {
+    data.withRoute(
+      route(pattern("R1", STOP_A, STOP_B))
+        .withTimetable(
+          schedule("00:01, 00:03"),
+          schedule("00:11, 00:13"),
+          schedule("00:21, 00:23")
+        )
+    );
+
+    requestBuilder
+      .searchParams()
+      .addAccessPaths(TestAccessEgress.walk(STOP_A, D30s))
+      .addEgressPaths(TestAccessEgress.walk(STOP_B, D20s))
+      .searchWindowInSeconds(D10m)
+      .timetable(true);
+
+    requestBuilder.profile(RaptorProfile.MULTI_CRITERIA);
+    requestBuilder.optimizations().add(Optimization.PARETO_CHECK_AGAINST_DESTINATION);
+  }
+
+  @Test
+  public void repeatedSearch() {
+    var first = destinationHeuristics(T00_00);
+
+    assertNotNull(first);
+    assertSame(first, destinationHeuristics(T00_00));
+    assertEquals(1, config.heuristicsCache().size());
+  }
+
+  @Test
+  public void nextPage() {
+    var first = destinationHeuristics(T00_00);
+
+    assertSame(first, destinationHeuristics(T00_10));
+  }
+
+  @Test
+  public void previousPageIsNotReused() {
+    var first = destinationHeuristics(T00_10);
+    var previous = destinationHeuristics(T00_00);
+
+    assertNotSame(first, previous);
+
+    // The wider heuristics replace the cached heuristics
+    assertSame(previous, destinationHeuristics(T00_10));
+  }
+
+  @Test
+  public void notCachedWithoutTransitDataKey() {
+    var dataWithoutKey = new TestTransitData();
+    dataWithoutKey.withRoute(
+      route(pattern("R1", STOP_A, STOP_B)).withTimetable(schedule("00:01, 00:03"))
+    );
+
+    var first = destinationHeuristics(dataWithoutKey, T00_00);
+
+    assertNotSame(first, destinationHeuristics(dataWithoutKey, T00_00));
+    assertEquals(0, config.heuristicsCache().size());
+  }
+
+  @Test
+  public void newTransitDataVersionClearsTheCache() {
+    var first = destinationHeuristics(T00_00);
+    var newData = new TestTransitData() {
+      @Override
+      public Object transitDataCacheKey() {
+        return TRANSIT_DATA_KEY;
+      }
+
+      @Override
+      public long transitDataVersion() {
+        return 1;
+      }
+    };
+    newData.withRoute(route(pattern("R1", STOP_A, STOP_B)).withTimetable(schedule("00:01, 00:03")));
+
+    var second = destinationHeuristics(newData, T00_00);
+
+    assertNotSame(first, second);
+    assertEquals(1, config.heuristicsCache().size());
+
+    // Heuristics for the old transit data is neither returned nor cached
+    assertNotSame(second, destinationHeuristics(T00_00));
+    assertSame(second, destinationHeuristics(newData, T00_00));
+  }
+
+  private Heuristics destinationHeuristics(int earliestDepartureTime) {
+    return destinationHeuristics(data, earliestDepartureTime);
+  }
+
+  private Heuristics destinationHeuristics(TestTransitData data, int earliestDepartureTime) {
+    requestBuilder.searchParams().earliestDepartureTime(earliestDepartureTime);
+    var search = new RangeRaptorDynamicSearch<>(config, data, requestBuilder.build());
+    search.route();
+    return search.getDestinationHeuristics();
+  }
+}
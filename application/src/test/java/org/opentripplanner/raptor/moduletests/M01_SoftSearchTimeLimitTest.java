@@ -0,0 +1,109 @@
+package org.opentripplanner.raptor.moduletests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.raptor._data.transit.TestRoute.route;
+import static org.opentripplanner.raptor._data.transit.TestTripPattern.pattern;
+import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor.RaptorService;
+import org.opentripplanner.raptor._data.RaptorTestConstants;
+import org.opentripplanner.raptor._data.api.PathUtils;
+import org.opentripplanner.raptor._data.transit.TestAccessEgress;
+import org.opentripplanner.raptor._data.transit.TestTransitData;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.request.RaptorEnvironment;
+import org.opentripplanner.raptor.api.request.RaptorProfile;
+import org.opentripplanner.raptor.api.request.RaptorRequestBuilder;
+import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
+import org.opentripplanner.raptor.api.response.RaptorResponse;
+import org.opentripplanner.raptor.configure.RaptorConfig;
+
+/**
+ * FEATURE UNDER TEST
+ * <p>
+ * The multi-criteria search should stop when the soft search time-limit is reached, and return the
+ * paths found so far. The search-window in the request used should be cropped to the departure
+ * times searched, and the response should be flagged.
+ */
+public class M01_SoftSearchTimeLimitTest implements RaptorTestConstants {
+
+  private final TestTransitData data = new TestTransitData();
+  private final RaptorRequestBuilder<TestTripSchedule> requestBuilder = new RaptorRequestBuilder<>();
+
+  /**
+   * <pre>
+   * Stops: 0..2
+   *
+   * Stop on route (stop indexes):
+   *   R1:  1 - 2
+   *
+   * Schedule:
+   *   R1: 00:01 - 00:03
+   *   R1: 00:11 - 00:13
+   *   R1: 00:31 - 00:33
+   * </pre>
+   */
+  @BeforeEach
+  public void setup() {
+    data.withRoute(
+      route(pattern("R1", STOP_A, STOP_B))
+        .withTimetable(
+          schedule("00:01, 00:03"),
+          schedule("00:11, 00:13"),
+          schedule("00:31, 00:33")
+        )
+    );
+
+    requestBuilder
+      .searchParams()
+      .addAccessPaths(TestAccessEgress.walk(STOP_A, D30s))
+      .addEgressPaths(TestAccessEgress.walk(STOP_B, D20s))
+      .earliestDepartureTime(T00_00)
+      .searchWindowInSeconds(D30m)
+      .timetable(true);
+
+    requestBuilder.profile(RaptorProfile.MULTI_CRITERIA);
+  }
+
+  @Test
+  public void searchWithoutTimeLimit() {
+    var response = search(Duration.ZERO);
+
+    assertFalse(response.isSoftSearchTimeLimitReached());
+    assertEquals(3, response.paths().size());
+    assertEquals(T00_00, response.requestUsed().searchParams().earliestDepartureTime());
+    assertEquals(D30m, response.requestUsed().searchParams().searchWindowInSeconds());
+  }
+
+  @Test
+  public void searchStopsAtSoftTimeLimit() {
+    // Only the first iteration is performed, it departs at the end of the search-window
+    var response = search(Duration.ofNanos(1));
+
+    assertTrue(response.isSoftSearchTimeLimitReached());
+    assertEquals(
+      "Walk 30s ~ A ~ BUS R1 0:31 0:33 ~ B ~ Walk 20s [0:30:30 0:33:20 2m50s Tₓ0 C₁820]",
+      PathUtils.pathsToString(response)
+    );
+    assertEquals(T00_30 - D1m, response.requestUsed().searchParams().earliestDepartureTime());
+    assertEquals(D1m, response.requestUsed().searchParams().searchWindowInSeconds());
+  }
+
+  private RaptorResponse<TestTripSchedule> search(Duration softSearchTimeLimit) {
+    var config = new RaptorConfig<TestTripSchedule>(
+      new RaptorTuningParameters() {
+        @Override
+        public Duration softSearchTimeLimit() {
+          return softSearchTimeLimit;
+        }
+      },
+      new RaptorEnvironment() {}
+    );
+    return new RaptorService<>(config).route(requestBuilder.build(), data);
+  }
+}
@@ -17,7 +17,7 @@ import org.opentripplanner.raptor.api.request.RaptorRequestBuilder;
  *   <li>{@link RaptorProfile}</li>
  *   <li>Run one iteration(just Raptor) or many iterations(Range Raptor)</li>
  *   <li>Search forward from origin to destination, or in reverse from destination to origin</li>
- *   <li>Optimization (Multi-criteria destination pruning only)</li>
+ *   <li>Optimization (Multi-criteria destination pruning and sorted stop arrivals only)</li>
  * </ol>
  * Not all combinations are allowed, and this list only contains allowed configurations.
  */
@@ -29,7 +29,8 @@ public enum RaptorModuleTestConfig {
   TC_MIN_DURATION(MIN_TRAVEL_DURATION, true, false),
   TC_MIN_DURATION_REV(MIN_TRAVEL_DURATION, true, true),
   TC_MULTI_CRITERIA(MULTI_CRITERIA, false, false),
-  TC_MULTI_CRITERIA_DEST_PRUNING(MULTI_CRITERIA, false, false);
+  TC_MULTI_CRITERIA_DEST_PRUNING(MULTI_CRITERIA, false, false),
+  TC_MULTI_CRITERIA_SORTED_ARRIVALS(MULTI_CRITERIA, false, false);
 
   private final RaptorProfile profile;
   private final boolean oneIteration;
@@ -47,7 +48,8 @@ public enum RaptorModuleTestConfig {
   );
   public static final List<RaptorModuleTestConfig> MULTI_CRITERIA_LIST = List.of(
     TC_MULTI_CRITERIA,
-    TC_MULTI_CRITERIA_DEST_PRUNING
+    TC_MULTI_CRITERIA_DEST_PRUNING,
+    TC_MULTI_CRITERIA_SORTED_ARRIVALS
   );
 
   RaptorModuleTestConfig(RaptorProfile profile, boolean oneIteration, boolean reverse) {
@@ -101,6 +103,9 @@ public enum RaptorModuleTestConfig {
     if (this == TC_MULTI_CRITERIA_DEST_PRUNING) {
       builder.enableOptimization(Optimization.PARETO_CHECK_AGAINST_DESTINATION);
     }
+    if (this == TC_MULTI_CRITERIA_SORTED_ARRIVALS) {
+      builder.enableOptimization(Optimization.SORTED_STOP_ARRIVALS);
+    }
     return builder;
   }
 }
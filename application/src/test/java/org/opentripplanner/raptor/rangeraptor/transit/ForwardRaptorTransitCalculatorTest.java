@@ -72,18 +72,19 @@ public class ForwardRaptorTransitCalculatorTest {
   }
 
   @Test
-  public void getTransfers() {
+  public void createTransferCursor() {
     var subject = create();
     var transitData = new TestTransitData()
       .withTransfer(STOP_A, TestTransfer.transfer(STOP_B, D1m));
+    var cursor = subject.createTransferCursor(transitData);
 
     // Expect transfer from stop A to stop B
-    var transfersFromStopA = subject.getTransfers(transitData, STOP_A);
-    assertTrue(transfersFromStopA.hasNext());
-    assertEquals(STOP_B, transfersFromStopA.next().stop());
+    var transfersFromStopA = cursor.forStop(STOP_A);
+    assertTrue(transfersFromStopA.next());
+    assertEquals(STOP_B, transfersFromStopA.stop());
 
     // No transfer for stop B expected
-    assertFalse(subject.getTransfers(transitData, STOP_B).hasNext());
+    assertFalse(cursor.forStop(STOP_B).next());
   }
 
   @Test
@@ -73,18 +73,19 @@ public class ReverseRaptorTransitCalculatorTest {
   }
 
   @Test
-  public void getTransfers() {
+  public void createTransferCursor() {
     var subject = create();
     var transitData = new TestTransitData()
       .withTransfer(STOP_A, TestTransfer.transfer(STOP_B, D1m));
+    var cursor = subject.createTransferCursor(transitData);
 
     // Expect transfer from stop A to stop B (reversed)
-    var transfersFromStopB = subject.getTransfers(transitData, STOP_B);
-    assertTrue(transfersFromStopB.hasNext());
-    assertEquals(STOP_A, transfersFromStopB.next().stop());
+    var transfersFromStopB = cursor.forStop(STOP_B);
+    assertTrue(transfersFromStopB.next());
+    assertEquals(STOP_A, transfersFromStopB.stop());
 
     // No transfer form stop A expected
-    assertFalse(subject.getTransfers(transitData, STOP_A).hasNext());
+    assertFalse(cursor.forStop(STOP_A).next());
   }
 
   private RaptorTransitCalculator<TestTripSchedule> create() {
@@ -0,0 +1,60 @@
+package org.opentripplanner.raptor.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor.spi.IntIterator;
+
+class ReusableBitSetTest {
+
+  private final ReusableBitSet subject = new ReusableBitSet(200);
+
+  @Test
+  void empty() {
+    assertTrue(subject.isEmpty());
+    assertFalse(subject.iterator().hasNext());
+  }
+
+  @Test
+  void iterateInIncreasingOrder() {
+    subject.set(130);
+    subject.set(5);
+    subject.set(200);
+    subject.set(64);
+    subject.set(5);
+    subject.set(63);
+    subject.set(0);
+
+    assertFalse(subject.isEmpty());
+    assertTrue(subject.get(64));
+    assertFalse(subject.get(65));
+    assertEquals("[0, 5, 63, 64, 130, 200]", toString(subject.iterator()));
+  }
+
+  @Test
+  void clearAndReuse() {
+    subject.set(3);
+    subject.set(100);
+    assertEquals("[3, 100]", toString(subject.iterator()));
+
+    subject.clear();
+    assertTrue(subject.isEmpty());
+    assertFalse(subject.get(3));
+    assertFalse(subject.iterator().hasNext());
+
+    subject.set(101);
+    subject.set(2);
+    assertEquals("[2, 101]", toString(subject.iterator()));
+  }
+
+  private static String toString(IntIterator it) {
+    var list = new ArrayList<Integer>();
+    while (it.hasNext()) {
+      list.add(it.next());
+    }
+    return list.toString();
+  }
+}
@@ -0,0 +1,116 @@
+package org.opentripplanner.raptor.util.paretoset;
+
+import java.util.Random;
+
+/**
+ * Measure the time it takes to add elements to a {@link ParetoSet} with and without sorting the
+ * elements on the first criteria, for different set sizes and number of criteria. The elements
+ * are generated so the first criteria is in conflict with the other criteria, this makes the
+ * pareto front grow with the number of elements added. This is not run as part of the unit tests,
+ * run the main method to print the result.
+ */
+public class ParetoSetBenchmark {
+
+  /** The number of elements added to each set. */
+  private static final int[] ELEMENTS_PER_SET = { 10, 100, 1_000, 5_000 };
+  private static final int[] N_CRITERIA = { 2, 3, 4 };
+
+  /** The total number of elements added in each sample. */
+  private static final int N_ELEMENTS_PER_SAMPLE = 500_000;
+
+  private static final int N_WARMUP = 10;
+  private static final int N_SAMPLES = 20;
+
+  public static void main(String[] args) {
+    System.out.printf("%-8s %-10s %-8s : %s%n", "criteria", "elements", "set", "result");
+    for (int nCriteria : N_CRITERIA) {
+      var comparator = comparator(nCriteria);
+      for (int elementsPerSet : ELEMENTS_PER_SET) {
+        var sets = createElements(new Random(42), nCriteria, elementsPerSet);
+
+        for (int i = 0; i < N_WARMUP; ++i) {
+          addAll(new ParetoSet<>(comparator), sets);
+          addAll(new ParetoSet<>(comparator, null, Vector::key), sets);
+        }
+        run("default", nCriteria, elementsPerSet, new ParetoSet<>(comparator), sets);
+        run(
+          "sorted",
+          nCriteria,
+          elementsPerSet,
+          new ParetoSet<>(comparator, null, Vector::key),
+          sets
+        );
+      }
+    }
+  }
+
+  private static void run(
+    String name,
+    int nCriteria,
+    int elementsPerSet,
+    ParetoSet<Vector> set,
+    Vector[][] sets
+  ) {
+    long start = System.nanoTime();
+    long checksum = 0;
+    for (int i = 0; i < N_SAMPLES; ++i) {
+      checksum += addAll(set, sets);
+    }
+    double avgMs = (System.nanoTime() - start) / 1_000_000.0 / N_SAMPLES;
+    System.out.printf(
+      "%8d %10d %-8s : %8.3f ms/sample (%d elements in set on average)%n",
+      nCriteria,
+      elementsPerSet,
+      name,
+      avgMs,
+      checksum / N_SAMPLES / sets.length
+    );
+  }
+
+  /**
+   * Add all elements to the set, the set is cleared before each set of elements is added.
+   * Return the sum of the final set sizes.
+   */
+  private static long addAll(ParetoSet<Vector> set, Vector[][] sets) {
+    long n = 0;
+    for (Vector[] elements : sets) {
+      set.clear();
+      for (Vector it : elements) {
+        set.add(it);
+      }
+      n += set.size();
+    }
+    return n;
+  }
+
+  private static Vector[][] createElements(Random random, int nCriteria, int elementsPerSet) {
+    var sets = new Vector[N_ELEMENTS_PER_SAMPLE / elementsPerSet][elementsPerSet];
+    for (Vector[] set : sets) {
+      for (int i = 0; i < elementsPerSet; ++i) {
+        int[] values = new int[nCriteria];
+        values[0] = random.nextInt(10_000);
+        for (int c = 1; c < nCriteria; ++c) {
+          values[c] = 10_000 - values[0] + random.nextInt(2_000);
+        }
+        set[i] = new Vector(values);
+      }
+    }
+    return sets;
+  }
+
+  private static ParetoComparator<Vector> comparator(int nCriteria) {
+    return switch (nCriteria) {
+      case 2 -> (l, r) -> l.v[0] < r.v[0] || l.v[1] < r.v[1];
+      case 3 -> (l, r) -> l.v[0] < r.v[0] || l.v[1] < r.v[1] || l.v[2] < r.v[2];
+      case 4 -> (l, r) ->
+        l.v[0] < r.v[0] || l.v[1] < r.v[1] || l.v[2] < r.v[2] || l.v[3] < r.v[3];
+      default -> throw new IllegalArgumentException("Unsupported number of criteria: " + nCriteria);
+    };
+  }
+
+  private record Vector(int[] v) {
+    int key() {
+      return v[0];
+    }
+  }
+}
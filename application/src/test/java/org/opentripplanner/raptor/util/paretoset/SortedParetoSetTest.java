@@ -0,0 +1,158 @@
+package org.opentripplanner.raptor.util.paretoset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the {@link ParetoSet} and {@link ParetoSetWithMarker} when the elements are sorted on the
+ * first criteria.
+ */
+public class SortedParetoSetTest {
+
+  private static final ParetoComparator<TestVector> LESS_LESS_THEN = (l, r) ->
+    l.v1 < r.v1 || l.v2 < r.v2;
+  private static final ParetoComparator<TestVector> LESS_LESS_DIFFERENT_THEN = (l, r) ->
+    l.v1 < r.v1 || l.v2 < r.v2 || l.v3 != r.v3;
+
+  private final List<String> dropped = new ArrayList<>();
+  private final List<String> rejected = new ArrayList<>();
+
+  private final ParetoSetEventListener<TestVector> listener = new ParetoSetEventListener<>() {
+    @Override
+    public void notifyElementAccepted(TestVector newElement) {
+      /* NOOP */
+    }
+
+    @Override
+    public void notifyElementDropped(TestVector element, TestVector droppedByElement) {
+      dropped.add(element.name);
+    }
+
+    @Override
+    public void notifyElementRejected(TestVector element, TestVector rejectedByElement) {
+      rejected.add(element.name);
+    }
+  };
+
+  @Test
+  public void elementsAreSortedOnKey() {
+    var set = new ParetoSet<>(LESS_LESS_THEN, listener, it -> it.v1);
+
+    assertTrue(set.add(new TestVector("A", 5, 1)));
+    assertTrue(set.add(new TestVector("B", 1, 5)));
+    assertTrue(set.add(new TestVector("C", 3, 3)));
+    assertTrue(set.add(new TestVector("D", 2, 4)));
+
+    assertEquals("{B[1, 5], D[2, 4], C[3, 3], A[5, 1]}", set.toString());
+  }
+
+  @Test
+  public void newElementIsRejected() {
+    var set = new ParetoSet<>(LESS_LESS_THEN, listener, it -> it.v1);
+    set.add(new TestVector("A", 5, 1));
+    set.add(new TestVector("B", 1, 5));
+
+    // Dominated by an element with a smaller key
+    assertFalse(set.add(new TestVector("X", 2, 6)));
+    // Dominated by an element with the same key
+    assertFalse(set.add(new TestVector("Y", 5, 2)));
+    // Equivalent with an element
+    assertFalse(set.add(new TestVector("Z", 1, 5)));
+
+    assertEquals(List.of("X", "Y", "Z"), rejected);
+    assertFalse(set.qualify(new TestVector("Q", 6, 1)));
+    assertEquals("{B[1, 5], A[5, 1]}", set.toString());
+  }
+
+  @Test
+  public void dominatedElementsAreDropped() {
+    var set = new ParetoSet<>(LESS_LESS_THEN, listener, it -> it.v1);
+    set.add(new TestVector("A", 1, 9));
+    set.add(new TestVector("B", 3, 7));
+    set.add(new TestVector("C", 4, 5));
+    set.add(new TestVector("D", 6, 3));
+    set.add(new TestVector("E", 8, 1));
+
+    // Dominates B(same key), C and D, but not A and E
+    assertTrue(set.qualify(new TestVector("Q", 3, 3)));
+    assertTrue(set.add(new TestVector("X", 3, 3)));
+
+    assertEquals(List.of("B", "C", "D"), dropped);
+    assertEquals("{A[1, 9], X[3, 3], E[8, 1]}", set.toString());
+  }
+
+  @Test
+  public void sortedSetContainsTheSameElementsAsTheUnsortedSet() {
+    var random = new Random(7);
+
+    for (int n = 0; n < 50; ++n) {
+      var unsorted = new ParetoSet<>(LESS_LESS_DIFFERENT_THEN);
+      var sorted = new ParetoSet<TestVector>(LESS_LESS_DIFFERENT_THEN, null, it -> it.v1);
+      var sortedWithMarker = new ParetoSetWithMarker<TestVector>(
+        LESS_LESS_DIFFERENT_THEN,
+        null,
+        it -> it.v1
+      );
+
+      for (int i = 0; i < 200; ++i) {
+        var v = new TestVector("V", random.nextInt(50), random.nextInt(50), random.nextInt(3));
+        boolean added = unsorted.add(v);
+        assertEquals(added, sorted.add(v), v.toString());
+        assertEquals(added, sortedWithMarker.add(v), v.toString());
+        if (i % 10 == 0) {
+          sortedWithMarker.markAtEndOfSet();
+        }
+      }
+      assertEquals(toSortedString(unsorted), toSortedString(sorted));
+      assertEquals(toSortedString(unsorted), toSortedString(sortedWithMarker));
+    }
+  }
+
+  @Test
+  public void newElementsAreAddedAfterMarker() {
+    var set = new ParetoSetWithMarker<>(LESS_LESS_THEN, listener, it -> it.v1);
+    set.add(new TestVector("A", 5, 1));
+    set.add(new TestVector("B", 1, 9));
+    set.markAtEndOfSet();
+
+    assertEquals("{B[1, 9], A[5, 1]}", set.toString());
+    assertFalse(set.hasElementsAfterMarker());
+
+    // Added after the marker, even if the key is smaller than the key of A
+    set.add(new TestVector("C", 3, 3));
+    set.add(new TestVector("D", 2, 5));
+
+    assertEquals("{B[1, 9], A[5, 1], C[3, 3], D[2, 5]}", set.toString());
+    assertEquals("C, D", names(set.elementsAfterMarker()));
+
+    // Dropping an element before the marker move the marker
+    set.add(new TestVector("E", 1, 8));
+
+    assertEquals("{A[5, 1], C[3, 3], D[2, 5], E[1, 8]}", set.toString());
+    assertEquals("C, D, E", names(set.elementsAfterMarker()));
+
+    set.markAtEndOfSet();
+
+    assertEquals("{E[1, 8], D[2, 5], C[3, 3], A[5, 1]}", set.toString());
+    assertFalse(set.hasElementsAfterMarker());
+  }
+
+  private static String toSortedString(ParetoSet<TestVector> set) {
+    return set.stream().map(TestVector::toString).sorted().collect(Collectors.joining(", "));
+  }
+
+  private static String names(Iterable<TestVector> elements) {
+    return StreamSupport
+      .stream(elements.spliterator(), false)
+      .map(it -> it.name)
+      .collect(Collectors.joining(", "));
+  }
+}
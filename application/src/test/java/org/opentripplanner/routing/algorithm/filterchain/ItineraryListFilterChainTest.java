@@ -11,6 +11,8 @@ import static org.opentripplanner.model.plan.TestItineraryBuilder.newItinerary;
 import static org.opentripplanner.model.plan.TestItineraryBuilder.newTime;
 import static org.opentripplanner.routing.api.request.preference.ItineraryFilterDebugProfile.ofDebugEnabled;
 
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
@@ -29,11 +31,13 @@ import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.model.plan.Place;
 import org.opentripplanner.model.plan.PlanTestConstants;
 import org.opentripplanner.model.plan.TestItineraryBuilder;
+import org.opentripplanner.routing.alertpatch.EntitySelector;
 import org.opentripplanner.routing.alertpatch.StopCondition;
 import org.opentripplanner.routing.algorithm.filterchain.api.GroupBySimilarity;
 import org.opentripplanner.routing.api.request.framework.CostLinearFunction;
 import org.opentripplanner.routing.api.response.RoutingError;
 import org.opentripplanner.routing.api.response.RoutingErrorCode;
+import org.opentripplanner.routing.framework.DebugTimingAggregator;
 import org.opentripplanner.routing.services.TransitAlertService;
 import org.opentripplanner.transit.model._data.TimetableRepositoryForTest;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
@@ -79,6 +83,32 @@ class ItineraryListFilterChainTest implements PlanTestConstants {
     assertEquals(toStr(List.of(i1, i3)), toStr(chain.filter(List.of(i1, i2, i3))));
   }
 
+  @Test
+  void testTimingOfEachFilter() {
+    var registry = new SimpleMeterRegistry();
+    var timingAggregator = new DebugTimingAggregator(registry, List.of());
+    ItineraryListFilterChain chain = createBuilder(false, false, 10)
+      .withRemoveWalkAllTheWayResults(true)
+      .build();
+
+    chain.filter(List.of(i1, i2, i3), timingAggregator);
+
+    var filters = registry
+      .find(DebugTimingAggregator.ROUTING_FILTER)
+      .timers()
+      .stream()
+      .map(it -> it.getId().getTag("filter"))
+      .toList();
+    assertTrue(filters.contains("SortingFilter"), filters.toString());
+    assertTrue(filters.contains("remove-walk-only-filter"), filters.toString());
+
+    Timer timer = registry
+      .find(DebugTimingAggregator.ROUTING_FILTER)
+      .tag("filter", "remove-walk-only-filter")
+      .timer();
+    assertEquals(1, timer.count());
+  }
+
   @Test
   void testFilterChainWithSearchWindowFilterSet() {
     ItineraryListFilterChain chain = createBuilder(false, false, 10)
@@ -230,11 +260,25 @@ class ItineraryListFilterChainTest implements PlanTestConstants {
     // Then transitAlertService should have been called with stop and route ids
     Mockito
       .verify(transitAlertService, Mockito.atLeastOnce())
-      .getStopAlerts(A.stop.getId(), StopCondition.FIRST_DEPARTURE);
+      .getAlerts(
+        Mockito.eq(new EntitySelector.Stop(A.stop.getId(), StopCondition.FIRST_DEPARTURE)),
+        Mockito.anyLong(),
+        Mockito.anyLong()
+      );
+    Mockito
+      .verify(transitAlertService, Mockito.atLeastOnce())
+      .getAlerts(
+        Mockito.eq(new EntitySelector.Stop(E.stop.getId(), StopCondition.ARRIVING)),
+        Mockito.anyLong(),
+        Mockito.anyLong()
+      );
     Mockito
       .verify(transitAlertService, Mockito.atLeastOnce())
-      .getStopAlerts(E.stop.getId(), StopCondition.ARRIVING);
-    Mockito.verify(transitAlertService, Mockito.atLeastOnce()).getRouteAlerts(BUS_ROUTE.getId());
+      .getAlerts(
+        Mockito.eq(new EntitySelector.Route(BUS_ROUTE.getId())),
+        Mockito.anyLong(),
+        Mockito.anyLong()
+      );
   }
 
   @Test
@@ -0,0 +1,121 @@
+package org.opentripplanner.routing.algorithm.mapping;
+
+import static org.opentripplanner.model.plan.TestItineraryBuilder.BUS_ROUTE;
+import static org.opentripplanner.model.plan.TestItineraryBuilder.newItinerary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.opentripplanner.model.plan.Itinerary;
+import org.opentripplanner.model.plan.PlanTestConstants;
+import org.opentripplanner.model.plan.TestItineraryBuilder;
+import org.opentripplanner.routing.alertpatch.EntitySelector;
+import org.opentripplanner.routing.alertpatch.StopCondition;
+import org.opentripplanner.routing.alertpatch.TimePeriod;
+import org.opentripplanner.routing.alertpatch.TransitAlert;
+import org.opentripplanner.routing.algorithm.filterchain.filters.transit.DecorateTransitAlert;
+import org.opentripplanner.routing.impl.TransitAlertServiceImpl;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+import org.opentripplanner.transit.service.TimetableRepository;
+
+/**
+ * Measure the time it takes to decorate 100 itineraries with alerts, when there are many alerts
+ * with short validity periods spread over a week, like SIRI-SX situations. This is not run as
+ * part of the unit tests, run the main method to print the result.
+ */
+public class AlertDecorationBenchmark implements PlanTestConstants {
+
+  private static final int N_ITINERARIES = 100;
+  private static final int N_ALERTS = 5_000;
+  private static final int N_WARMUP = 200;
+  private static final int N_SAMPLES = 1_000;
+  private static final long WEEK = 7 * 24 * 3600;
+
+  public static void main(String[] args) {
+    var random = new Random(42);
+    var itineraries = createItineraries();
+    long serviceDayStart = TestItineraryBuilder.newTime(0).toEpochSecond();
+
+    var alertService = new TransitAlertServiceImpl(new TimetableRepository());
+    alertService.setAlerts(createAlerts(random, serviceDayStart - WEEK / 2));
+    var decorator = new DecorateTransitAlert(alertService, ignore -> null);
+
+    for (int i = 0; i < N_WARMUP; ++i) {
+      decorate(decorator, itineraries);
+    }
+    long start = System.nanoTime();
+    int nAlerts = 0;
+    for (int i = 0; i < N_SAMPLES; ++i) {
+      nAlerts += decorate(decorator, itineraries);
+    }
+    double avgMs = (System.nanoTime() - start) / 1_000_000.0 / N_SAMPLES;
+
+    System.out.printf(
+      "Decorate %d itineraries with %d alerts: %.3f ms/op (%d alerts added per op)%n",
+      N_ITINERARIES,
+      N_ALERTS,
+      avgMs,
+      nAlerts / N_SAMPLES
+    );
+  }
+
+  private static int decorate(DecorateTransitAlert decorator, List<Itinerary> itineraries) {
+    int nAlerts = 0;
+    for (Itinerary it : itineraries) {
+      it.getLegs().forEach(leg -> leg.getTransitAlerts().clear());
+      decorator.decorate(it);
+      for (var leg : it.getLegs()) {
+        nAlerts += leg.getTransitAlerts().size();
+      }
+    }
+    return nAlerts;
+  }
+
+  private static List<Itinerary> createItineraries() {
+    var itineraries = new ArrayList<Itinerary>();
+    for (int i = 0; i < N_ITINERARIES; ++i) {
+      int start = T11_00 + i * 60;
+      itineraries.add(
+        newItinerary(A)
+          .bus(i, start, start + D5m, B)
+          .bus(N_ITINERARIES + i, start + D10m, start + D10m + D5m, C)
+          .build()
+      );
+    }
+    return itineraries;
+  }
+
+  /**
+   * Create alerts for the stops, the route and the trips of the itineraries, each valid for
+   * 15 minutes to 3 hours at a random time during the week around the service day.
+   */
+  private static List<TransitAlert> createAlerts(Random random, long startOfWeek) {
+    var stops = List.of(A, B, C, D, E);
+    var alerts = new ArrayList<TransitAlert>();
+    for (int i = 0; i < N_ALERTS; ++i) {
+      var stopId = stops.get(random.nextInt(stops.size())).stop.getId();
+      var tripId = new FeedScopedId(BUS_ROUTE.getId().getFeedId(), Integer.toString(i % 200));
+      EntitySelector entity =
+        switch (i % 4) {
+          case 0 -> new EntitySelector.Stop(stopId);
+          case 1 -> new EntitySelector.StopAndRoute(
+            stopId,
+            BUS_ROUTE.getId(),
+            StopCondition.DEPARTURE
+          );
+          case 2 -> new EntitySelector.Trip(tripId);
+          default -> new EntitySelector.Route(BUS_ROUTE.getId());
+        };
+      long start = startOfWeek + random.nextLong(WEEK);
+      long duration = 900 + random.nextLong(3 * 3600 - 900);
+      alerts.add(
+        TransitAlert
+          .of(new FeedScopedId("F", "alert-" + i))
+          .addEntity(entity)
+          .addTimePeriod(new TimePeriod(start, start + duration))
+          .build()
+      );
+    }
+    return alerts;
+  }
+}
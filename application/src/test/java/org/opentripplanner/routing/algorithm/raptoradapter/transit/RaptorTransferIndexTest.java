@@ -0,0 +1,71 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor.api.model.RaptorTransfer;
+
+class RaptorTransferIndexTest {
+
+  private static final RaptorTransfer A_TO_B = new DefaultRaptorTransfer(1, 60, 120, null);
+  private static final RaptorTransfer A_TO_C = new DefaultRaptorTransfer(2, 90, 180, null);
+  private static final RaptorTransfer C_TO_A = new DefaultRaptorTransfer(0, 90, 200, null);
+
+  private static final RaptorTransfer B_FROM_A = DefaultRaptorTransfer.reverseOf(0, A_TO_B);
+  private static final RaptorTransfer C_FROM_A = DefaultRaptorTransfer.reverseOf(0, A_TO_C);
+  private static final RaptorTransfer A_FROM_C = DefaultRaptorTransfer.reverseOf(2, C_TO_A);
+
+  private final RaptorTransferIndex subject = new RaptorTransferIndex(
+    List.of(List.of(A_TO_B, A_TO_C), List.of(), List.of(C_TO_A)),
+    List.of(List.of(A_FROM_C), List.of(B_FROM_A), List.of(C_FROM_A))
+  );
+
+  @Test
+  void getTransfers() {
+    assertEquals(List.of(A_TO_B, A_TO_C), subject.getForwardTransfers(0));
+    assertEquals(List.of(), subject.getForwardTransfers(1));
+    assertEquals(List.of(C_TO_A), subject.getForwardTransfers(2));
+    assertEquals(List.of(A_FROM_C), subject.getReversedTransfers(0));
+    assertEquals(List.of(B_FROM_A), subject.getReversedTransfers(1));
+  }
+
+  @Test
+  void forwardTransferCursor() {
+    var cursor = subject.createForwardTransferCursor();
+
+    var transfers = cursor.forStop(0);
+    assertTrue(transfers.next());
+    assertEquals(1, transfers.stop());
+    assertEquals(60, transfers.durationInSeconds());
+    assertEquals(120, transfers.c1());
+    assertSame(A_TO_B, transfers.transfer());
+    assertTrue(transfers.next());
+    assertEquals(2, transfers.stop());
+    assertSame(A_TO_C, transfers.transfer());
+    assertFalse(transfers.next());
+
+    // The cursor is reused for the next stop
+    assertFalse(cursor.forStop(1).next());
+
+    transfers = cursor.forStop(2);
+    assertTrue(transfers.next());
+    assertEquals(0, transfers.stop());
+    assertEquals(200, transfers.c1());
+    assertFalse(transfers.next());
+  }
+
+  @Test
+  void reversedTransferCursor() {
+    var transfers = subject.createReversedTransferCursor().forStop(2);
+    assertTrue(transfers.next());
+    assertEquals(0, transfers.stop());
+    assertEquals(90, transfers.durationInSeconds());
+    assertEquals(180, transfers.c1());
+    assertSame(C_FROM_A, transfers.transfer());
+    assertFalse(transfers.next());
+  }
+}
@@ -0,0 +1,59 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.Transfer;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.preference.WalkPreferences;
+
+class RaptorRequestTransferCacheTest {
+
+  private static final List<List<Transfer>> TRANSFERS = List.of(List.of(), List.of());
+
+  private final RaptorRequestTransferCache subject = new RaptorRequestTransferCache(10);
+
+  @Test
+  void quantize() {
+    assertEquals(1.0, RaptorRequestTransferCache.quantize(1.0, 1.0), 1e-9);
+    assertEquals(1.0, RaptorRequestTransferCache.quantize(1.02, 1.0), 1e-9);
+    assertEquals(1.05, RaptorRequestTransferCache.quantize(1.03, 1.0), 1e-9);
+    assertEquals(0.9, RaptorRequestTransferCache.quantize(0.91, 1.0), 1e-9);
+    assertEquals(0.05, RaptorRequestTransferCache.quantize(0.01, 1.0), 1e-9);
+    assertEquals(0.0, RaptorRequestTransferCache.quantize(0.0, 1.0), 1e-9);
+  }
+
+  @Test
+  void defaultRequestIsNotChanged() {
+    var request = new RouteRequest();
+    var normalized = RaptorRequestTransferCache.normalizedTransferRequest(request);
+    assertEquals(request.preferences().walk(), normalized.preferences().walk());
+    assertEquals(request.preferences().street(), normalized.preferences().street());
+  }
+
+  @Test
+  void similarRequestsShareIndex() {
+    double speed = WalkPreferences.DEFAULT.speed();
+    var index = subject.get(TRANSFERS, walkRequest(speed));
+
+    assertSame(index, subject.get(TRANSFERS, walkRequest(speed * 1.01)));
+    assertSame(index, subject.get(TRANSFERS, walkRequest(speed * 0.99)));
+    assertNotSame(index, subject.get(TRANSFERS, walkRequest(speed * 1.2)));
+    assertEquals(2, subject.getTransferCache().size());
+  }
+
+  @Test
+  void walkBoardCostIsNotPartOfKey() {
+    var index = subject.get(TRANSFERS, new RouteRequest());
+    var request = new RouteRequest().withPreferences(p -> p.withWalk(w -> w.withBoardCost(1000)));
+
+    assertSame(index, subject.get(TRANSFERS, request));
+  }
+
+  private static RouteRequest walkRequest(double speed) {
+    return new RouteRequest().withPreferences(p -> p.withWalk(w -> w.withSpeed(speed)));
+  }
+}
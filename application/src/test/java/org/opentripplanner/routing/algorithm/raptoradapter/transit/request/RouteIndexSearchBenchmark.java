@@ -0,0 +1,179 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import org.opentripplanner.raptor.spi.IntIterator;
+import org.opentripplanner.raptor.spi.RaptorRouteIndexSearch;
+import org.opentripplanner.raptor.util.BitSetIterator;
+
+/**
+ * Measure the time it takes to find the patterns visiting the stops touched in each Raptor round,
+ * with a network of about the size of Norway. The "bitset" case is the previous implementation
+ * which allocates a new {@link BitSet} with room for all patterns for every round, the
+ * "reusable" case reuses one {@link TripPatternsPerStop} route index search for each Raptor
+ * search. This is not run as part of the unit tests, run the main method to print the result.
+ */
+public class RouteIndexSearchBenchmark {
+
+  private static final int N_STOPS = 60_000;
+  private static final int N_PATTERNS = 25_000;
+  private static final int N_STOPS_PER_PATTERN = 25;
+
+  /** The number of stops touched in each round of a search. */
+  private static final int[] TOUCHED_STOPS_PER_ROUND = { 5, 60, 700, 3_000, 6_000, 2_000, 400, 50 };
+
+  /** A range raptor search with a 1-hour search window and one iteration each minute. */
+  private static final int N_ITERATIONS_PER_SEARCH = 60;
+
+  private static final int N_WARMUP = 20;
+  private static final int N_SAMPLES = 50;
+
+  public static void main(String[] args) {
+    var random = new Random(42);
+    var patternsPerStop = createPatternsPerStop(random);
+    var patternsPerStopAsList = toListOfArrays(patternsPerStop);
+    var rounds = createTouchedStops(random);
+
+    for (int i = 0; i < N_WARMUP; ++i) {
+      searchWithBitSet(patternsPerStopAsList, rounds);
+      searchReusable(patternsPerStop.search, rounds);
+    }
+
+    long start = System.nanoTime();
+    long checksum = 0;
+    for (int i = 0; i < N_SAMPLES; ++i) {
+      checksum += searchWithBitSet(patternsPerStopAsList, rounds);
+    }
+    print("bitset", start, checksum);
+
+    start = System.nanoTime();
+    checksum = 0;
+    for (int i = 0; i < N_SAMPLES; ++i) {
+      checksum += searchReusable(patternsPerStop.search, rounds);
+    }
+    print("reusable", start, checksum);
+  }
+
+  private static void print(String name, long startNanos, long checksum) {
+    double avgMs = (System.nanoTime() - startNanos) / 1_000_000.0 / N_SAMPLES;
+    System.out.printf(
+      "%-8s : %7.3f ms/search (%d patterns visited per search)%n",
+      name,
+      avgMs,
+      checksum / N_SAMPLES
+    );
+  }
+
+  private static long searchWithBitSet(List<int[]> patternsPerStop, int[][] rounds) {
+    long n = 0;
+    for (int i = 0; i < N_ITERATIONS_PER_SEARCH; ++i) {
+      for (int[] stops : rounds) {
+        var set = new BitSet(N_PATTERNS);
+        for (int stop : stops) {
+          for (int pattern : patternsPerStop.get(stop)) {
+            set.set(pattern);
+          }
+        }
+        n += count(new BitSetIterator(set));
+      }
+    }
+    return n;
+  }
+
+  private static long searchReusable(TripPatternsPerStop patternsPerStop, int[][] rounds) {
+    RaptorRouteIndexSearch search = patternsPerStop.createRouteIndexSearch();
+    var stops = new ArrayIterator();
+    long n = 0;
+    for (int i = 0; i < N_ITERATIONS_PER_SEARCH; ++i) {
+      for (int[] round : rounds) {
+        n += count(search.routeIndexIterator(stops.reset(round)));
+      }
+    }
+    return n;
+  }
+
+  private static int count(IntIterator it) {
+    int n = 0;
+    while (it.hasNext()) {
+      n += it.next() >= 0 ? 1 : 0;
+    }
+    return n;
+  }
+
+  /**
+   * Create patterns visiting stops close to each other, stops with nearby indexes are often
+   * geographically close.
+   */
+  private static Network createPatternsPerStop(Random random) {
+    List<List<Integer>> patternsForStop = new ArrayList<>();
+    for (int s = 0; s < N_STOPS; ++s) {
+      patternsForStop.add(new ArrayList<>());
+    }
+    for (int p = 0; p < N_PATTERNS; ++p) {
+      int stop = random.nextInt(N_STOPS);
+      for (int i = 0; i < N_STOPS_PER_PATTERN; ++i) {
+        stop = Math.floorMod(stop + random.nextInt(-200, 200), N_STOPS);
+        patternsForStop.get(stop).add(p);
+      }
+    }
+    int[] offsets = new int[N_STOPS + 1];
+    int[] patterns = new int[N_PATTERNS * N_STOPS_PER_PATTERN];
+    int n = 0;
+    for (int s = 0; s < N_STOPS; ++s) {
+      offsets[s] = n;
+      for (int p : patternsForStop.get(s)) {
+        patterns[n++] = p;
+      }
+    }
+    offsets[N_STOPS] = n;
+    return new Network(offsets, patterns);
+  }
+
+  private static List<int[]> toListOfArrays(Network network) {
+    List<int[]> result = new ArrayList<>(N_STOPS);
+    for (int s = 0; s < N_STOPS; ++s) {
+      var patterns = new int[network.offsets[s + 1] - network.offsets[s]];
+      System.arraycopy(network.patterns, network.offsets[s], patterns, 0, patterns.length);
+      result.add(patterns);
+    }
+    return result;
+  }
+
+  private static int[][] createTouchedStops(Random random) {
+    int[][] rounds = new int[TOUCHED_STOPS_PER_ROUND.length][];
+    for (int r = 0; r < rounds.length; ++r) {
+      rounds[r] = random.ints(0, N_STOPS).distinct().limit(TOUCHED_STOPS_PER_ROUND[r]).toArray();
+    }
+    return rounds;
+  }
+
+  private record Network(int[] offsets, int[] patterns, TripPatternsPerStop search) {
+    Network(int[] offsets, int[] patterns) {
+      this(offsets, patterns, new TripPatternsPerStop(offsets, patterns, N_PATTERNS));
+    }
+  }
+
+  private static class ArrayIterator implements IntIterator {
+
+    private int[] values;
+    private int index;
+
+    ArrayIterator reset(int[] values) {
+      this.values = values;
+      this.index = 0;
+      return this;
+    }
+
+    @Override
+    public int next() {
+      return values[index++];
+    }
+
+    @Override
+    public boolean hasNext() {
+      return index < values.length;
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor.spi.IntIterator;
+import org.opentripplanner.raptor.util.BitSetIterator;
+
+class TripPatternsPerStopTest {
+
+  /**
+   * Stop 0: patterns 3, 1
+   * Stop 1: no patterns
+   * Stop 2: patterns 1, 70
+   * Stop 3: pattern 2
+   */
+  private final TripPatternsPerStop subject = new TripPatternsPerStop(
+    new int[] { 0, 2, 2, 4, 5 },
+    new int[] { 3, 1, 1, 70, 2 },
+    71
+  );
+
+  @Test
+  void routeIndexIterator() {
+    assertEquals("[1, 3, 70]", toString(subject.routeIndexIterator(stops(0, 1, 2))));
+    assertEquals("[]", toString(subject.routeIndexIterator(stops(1))));
+    assertEquals("[2]", toString(subject.routeIndexIterator(stops(3))));
+  }
+
+  @Test
+  void reuseRouteIndexSearch() {
+    var search = subject.createRouteIndexSearch();
+
+    assertEquals("[1, 3, 70]", toString(search.routeIndexIterator(stops(0, 2))));
+    // The patterns of the previous call are cleared
+    assertEquals("[2]", toString(search.routeIndexIterator(stops(3))));
+    assertEquals("[]", toString(search.routeIndexIterator(stops())));
+    assertEquals("[1, 2, 70]", toString(search.routeIndexIterator(stops(2, 3))));
+  }
+
+  private static IntIterator stops(int... stops) {
+    var set = new BitSet();
+    for (int stop : stops) {
+      set.set(stop);
+    }
+    return new BitSetIterator(set);
+  }
+
+  private static String toString(IntIterator it) {
+    var list = new ArrayList<Integer>();
+    while (it.hasNext()) {
+      list.add(it.next());
+    }
+    return list.toString();
+  }
+}
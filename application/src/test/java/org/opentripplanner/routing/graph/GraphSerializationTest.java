@@ -1,12 +1,15 @@
 package org.opentripplanner.routing.graph;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.opentripplanner.street.model._data.StreetModelForTest.streetEdge;
 
 import com.conveyal.object_differ.ObjectDiffer;
 import java.io.File;
 import java.lang.ref.SoftReference;
 import java.lang.reflect.Method;
 import java.util.BitSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -28,6 +31,8 @@ import org.opentripplanner.service.worldenvelope.internal.DefaultWorldEnvelopeRe
 import org.opentripplanner.standalone.config.BuildConfig;
 import org.opentripplanner.standalone.config.RouterConfig;
 import org.opentripplanner.street.model.StreetLimitationParameters;
+import org.opentripplanner.street.model._data.StreetModelForTest;
+import org.opentripplanner.street.model.vertex.StreetVertex;
 import org.opentripplanner.transit.model.framework.Deduplicator;
 import org.opentripplanner.transit.service.TimetableRepository;
 
@@ -130,6 +135,24 @@ public class GraphSerializationTest {
     assertFalse(objectDiffer.hasDifferences());
   }
 
+  @Test
+  public void edgesAreSavedInSpatialOrder() {
+    var graph = new Graph();
+    // Add the vertices in a different order than the Hilbert curve visit them
+    var d = vertex(graph, "D", 0, 1);
+    var b = vertex(graph, "B", 1, 0);
+    var a = vertex(graph, "A", 0, 0);
+    var c = vertex(graph, "C", 1, 1);
+
+    var da = streetEdge(d, a);
+    var cd = streetEdge(c, d);
+    var ab = streetEdge(a, b);
+    var bc = streetEdge(b, c);
+    var ac = streetEdge(a, c);
+
+    assertEquals(List.of(ab, ac, bc, cd, da), SerializedGraphObject.edgesInSpatialOrder(graph));
+  }
+
   /**
    * Compare two separate essentially empty graphs.
    */
@@ -140,6 +163,12 @@ public class GraphSerializationTest {
     assertNoDifferences(graph1, graph2);
   }
 
+  private static StreetVertex vertex(Graph graph, String label, double lat, double lon) {
+    var v = StreetModelForTest.intersectionVertex(label, lat, lon);
+    graph.addVertex(v);
+    return v;
+  }
+
   private static void assertNoDifferences(Graph g1, Graph g2) {
     // Make some exclusions because some classes are inherently transient or contain unordered lists we can't yet compare.
     ObjectDiffer objectDiffer = new ObjectDiffer();
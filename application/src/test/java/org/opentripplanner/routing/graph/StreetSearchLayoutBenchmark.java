@@ -0,0 +1,189 @@
+package org.opentripplanner.routing.graph;
+
+import static org.opentripplanner.street.model._data.StreetModelForTest.intersectionVertex;
+import static org.opentripplanner.street.model._data.StreetModelForTest.streetEdge;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.opentripplanner.astar.model.ShortestPathTree;
+import org.opentripplanner.datastore.api.DataSource;
+import org.opentripplanner.datastore.api.FileType;
+import org.opentripplanner.datastore.base.ByteArrayDataSource;
+import org.opentripplanner.graph_builder.issue.api.DataImportIssueSummary;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.service.worldenvelope.internal.DefaultWorldEnvelopeRepository;
+import org.opentripplanner.standalone.config.BuildConfig;
+import org.opentripplanner.standalone.config.RouterConfig;
+import org.opentripplanner.street.model.StreetLimitationParameters;
+import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.StreetSearchBuilder;
+import org.opentripplanner.street.search.strategy.EuclideanRemainingWeightHeuristic;
+import org.opentripplanner.transit.service.TimetableRepository;
+
+/**
+ * Measure the street search throughput before and after the graph is saved and loaded. The grid
+ * graph is created in random order, like the scattered heap layout of a graph built from OSM. When
+ * the graph is loaded the vertices and edges are allocated in Hilbert curve order, see
+ * {@link SerializedGraphObject}. This is not run as part of the unit tests, run the main method to
+ * print the result.
+ */
+public class StreetSearchLayoutBenchmark {
+
+  /** The graph is a grid of SIZE x SIZE vertices, about 100 meters apart. */
+  private static final int SIZE = 400;
+  private static final double STEP_DEGREES = 0.001;
+
+  /** The max distance in grid cells between the from and to vertex of a search. */
+  private static final int MAX_SEARCH_CELLS = 40;
+
+  private static final int N_SEARCHES = 200;
+  private static final int N_WARMUP = 3;
+  private static final int N_SAMPLES = 5;
+
+  public static void main(String[] args) {
+    var random = new Random(42);
+    var graph = createGridGraph(random);
+    var searches = createSearches(random);
+
+    System.out.printf(
+      "Grid graph with %,d vertices and %,d edges%n",
+      graph.countVertices(),
+      graph.countEdges()
+    );
+    run("as built", graph, searches);
+
+    var loaded = saveAndLoad(graph).graph;
+    // Release the original graph, so it does not affect the memory layout of the loaded graph
+    graph = null;
+    System.gc();
+    run("loaded", loaded, searches);
+  }
+
+  private static void run(String name, Graph graph, int[][] searches) {
+    var pairs = new ArrayList<Vertex[]>();
+    for (int[] it : searches) {
+      pairs.add(new Vertex[] { vertex(graph, it[0], it[1]), vertex(graph, it[2], it[3]) });
+    }
+    for (int i = 0; i < N_WARMUP; ++i) {
+      search(pairs);
+    }
+    long start = System.nanoTime();
+    long nStates = 0;
+    for (int i = 0; i < N_SAMPLES; ++i) {
+      nStates += search(pairs);
+    }
+    double avgMs = (System.nanoTime() - start) / 1_000_000.0 / N_SAMPLES;
+    System.out.printf(
+      "%-10s : %8.1f ms/sample, %,.0f searches/s (%,d states visited)%n",
+      name,
+      avgMs,
+      N_SEARCHES * 1000.0 / avgMs,
+      nStates / N_SAMPLES
+    );
+  }
+
+  /**
+   * Run all searches, and return the total number of states in the shortest path trees.
+   */
+  private static long search(List<Vertex[]> pairs) {
+    var request = new RouteRequest();
+    long n = 0;
+    for (Vertex[] pair : pairs) {
+      ShortestPathTree<?, ?, ?> tree = StreetSearchBuilder
+        .of()
+        .setHeuristic(new EuclideanRemainingWeightHeuristic())
+        .setRequest(request)
+        .setFrom(pair[0])
+        .setTo(pair[1])
+        .getShortestPathTree();
+      n += tree.getVertexCount();
+    }
+    return n;
+  }
+
+  private static Graph createGridGraph(Random random) {
+    var graph = new Graph();
+    var cells = new ArrayList<int[]>();
+    for (int i = 0; i < SIZE; ++i) {
+      for (int j = 0; j < SIZE; ++j) {
+        cells.add(new int[] { i, j });
+      }
+    }
+    // Create the vertices and edges in random order
+    Collections.shuffle(cells, random);
+
+    var vertices = new StreetVertex[SIZE][SIZE];
+    for (int[] c : cells) {
+      var v = intersectionVertex(
+        label(c[0], c[1]),
+        60.0 + c[0] * STEP_DEGREES,
+        10.0 + c[1] * STEP_DEGREES
+      );
+      graph.addVertex(v);
+      vertices[c[0]][c[1]] = v;
+    }
+    for (int[] c : cells) {
+      int i = c[0];
+      int j = c[1];
+      if (i + 1 < SIZE) {
+        streetEdge(vertices[i][j], vertices[i + 1][j]);
+        streetEdge(vertices[i + 1][j], vertices[i][j]);
+      }
+      if (j + 1 < SIZE) {
+        streetEdge(vertices[i][j], vertices[i][j + 1]);
+        streetEdge(vertices[i][j + 1], vertices[i][j]);
+      }
+    }
+    return graph;
+  }
+
+  private static int[][] createSearches(Random random) {
+    var searches = new int[N_SEARCHES][];
+    for (int k = 0; k < N_SEARCHES; ++k) {
+      int i = random.nextInt(SIZE);
+      int j = random.nextInt(SIZE);
+      searches[k] = new int[] { i, j, neighbourCell(random, i), neighbourCell(random, j) };
+    }
+    return searches;
+  }
+
+  private static int neighbourCell(Random random, int index) {
+    int offset = random.nextInt(2 * MAX_SEARCH_CELLS + 1) - MAX_SEARCH_CELLS;
+    return Math.max(0, Math.min(SIZE - 1, index + offset));
+  }
+
+  private static SerializedGraphObject saveAndLoad(Graph graph) {
+    var dataSource = new ByteArrayDataSource(
+      "graph.obj",
+      "graph.obj",
+      FileType.GRAPH,
+      DataSource.UNKNOWN,
+      DataSource.UNKNOWN,
+      true
+    );
+    new SerializedGraphObject(
+      graph,
+      new TimetableRepository(),
+      new DefaultWorldEnvelopeRepository(),
+      BuildConfig.DEFAULT,
+      RouterConfig.DEFAULT,
+      DataImportIssueSummary.empty(),
+      null,
+      null,
+      new StreetLimitationParameters()
+    )
+      .save(dataSource);
+    return SerializedGraphObject.load(dataSource);
+  }
+
+  private static Vertex vertex(Graph graph, int i, int j) {
+    return graph.getVertex(label(i, j));
+  }
+
+  private static String label(int i, int j) {
+    return i + "_" + j;
+  }
+}
@@ -0,0 +1,157 @@
+package org.opentripplanner.routing.graph.index;
+
+import static org.opentripplanner.street.model._data.StreetModelForTest.intersectionVertex;
+import static org.opentripplanner.street.model._data.StreetModelForTest.streetEdge;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.opentripplanner.framework.geometry.HashGridSpatialIndex;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.linking.DisposableEdgeCollection;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.transit.service.SiteRepository;
+
+/**
+ * Measure the latency of the {@link StreetIndex} lookups used when a request is linked to the
+ * street network. The envelope queries are also run against a {@link HashGridSpatialIndex} with
+ * the same content, which is how the street index used to be implemented. This is not run as part
+ * of the unit tests, run the main method to print the result.
+ */
+public class StreetIndexBenchmark {
+
+  /** The graph is a grid of SIZE x SIZE vertices, about 100 meters apart. */
+  private static final int SIZE = 500;
+  private static final double STEP_DEGREES = 0.001;
+  private static final double LAT0 = 60.0;
+  private static final double LON0 = 10.0;
+
+  /** The size of the envelope for each query. */
+  private static final double QUERY_RADIUS_METERS = 200;
+
+  private static final int N_QUERIES = 10_000;
+  private static final int N_WARMUP = 5;
+  private static final int N_SAMPLES = 10;
+
+  public static void main(String[] args) {
+    var random = new Random(42);
+    var graph = createGridGraph();
+
+    long start = System.nanoTime();
+    graph.index(new SiteRepository());
+    System.out.printf(
+      "Index %,d vertices and %,d edges in %.0f ms%n",
+      graph.countVertices(),
+      graph.countEdges(),
+      (System.nanoTime() - start) / 1_000_000.0
+    );
+    var streetIndex = graph.getStreetIndex();
+
+    var hashGrid = new HashGridSpatialIndex<Edge>();
+    for (Edge e : graph.getEdges()) {
+      hashGrid.insert(e.getGeometry(), e);
+    }
+
+    var points = createPoints(random);
+    var envelopes = points.stream().map(StreetIndexBenchmark::envelope).toList();
+
+    run(
+      "Edges, hash grid",
+      envelopes,
+      env -> {
+        var edges = new HashSet<>(hashGrid.query(env));
+        edges.removeIf(e -> !env.intersects(e.getGeometry().getEnvelopeInternal()));
+        return edges.size();
+      }
+    );
+    run("Edges, street index", envelopes, env -> streetIndex.getEdgesForEnvelope(env).size());
+    run("Vertices, street index", envelopes, env -> streetIndex.getVerticesForEnvelope(env).size());
+    run(
+      "Link coordinate",
+      points.subList(0, N_QUERIES / 10),
+      c -> {
+        var tempEdges = new HashSet<DisposableEdgeCollection>();
+        streetIndex.createVertexForCoordinateForTest(c, StreetMode.WALK, false, tempEdges);
+        tempEdges.forEach(DisposableEdgeCollection::disposeEdges);
+        return tempEdges.size();
+      }
+    );
+  }
+
+  private static <T> void run(String name, List<T> queries, ToIntFunction<T> query) {
+    for (int i = 0; i < N_WARMUP; ++i) {
+      runQueries(queries, query);
+    }
+    long start = System.nanoTime();
+    long nFound = 0;
+    for (int i = 0; i < N_SAMPLES; ++i) {
+      nFound += runQueries(queries, query);
+    }
+    double avgNanos = (System.nanoTime() - start) / (double) N_SAMPLES / queries.size();
+    System.out.printf(
+      "%-24s : %8.2f us/query (%.1f items found)%n",
+      name,
+      avgNanos / 1000.0,
+      nFound / (double) N_SAMPLES / queries.size()
+    );
+  }
+
+  private static <T> long runQueries(List<T> queries, ToIntFunction<T> query) {
+    long n = 0;
+    for (T it : queries) {
+      n += query.applyAsInt(it);
+    }
+    return n;
+  }
+
+  private static Graph createGridGraph() {
+    var graph = new Graph();
+    var vertices = new StreetVertex[SIZE][SIZE];
+    for (int i = 0; i < SIZE; ++i) {
+      for (int j = 0; j < SIZE; ++j) {
+        var v = intersectionVertex(i + "_" + j, LAT0 + i * STEP_DEGREES, LON0 + j * STEP_DEGREES);
+        graph.addVertex(v);
+        vertices[i][j] = v;
+      }
+    }
+    for (int i = 0; i < SIZE; ++i) {
+      for (int j = 0; j < SIZE; ++j) {
+        if (i + 1 < SIZE) {
+          streetEdge(vertices[i][j], vertices[i + 1][j]);
+          streetEdge(vertices[i + 1][j], vertices[i][j]);
+        }
+        if (j + 1 < SIZE) {
+          streetEdge(vertices[i][j], vertices[i][j + 1]);
+          streetEdge(vertices[i][j + 1], vertices[i][j]);
+        }
+      }
+    }
+    return graph;
+  }
+
+  private static List<Coordinate> createPoints(Random random) {
+    var points = new ArrayList<Coordinate>();
+    double size = (SIZE - 1) * STEP_DEGREES;
+    for (int i = 0; i < N_QUERIES; ++i) {
+      points.add(
+        new Coordinate(LON0 + random.nextDouble() * size, LAT0 + random.nextDouble() * size)
+      );
+    }
+    return points;
+  }
+
+  private static Envelope envelope(Coordinate c) {
+    double dy = SphericalDistanceLibrary.metersToDegrees(QUERY_RADIUS_METERS);
+    double dx = SphericalDistanceLibrary.metersToLonDegrees(QUERY_RADIUS_METERS, c.y);
+    var env = new Envelope(c);
+    env.expandBy(dx, dy);
+    return env;
+  }
+}
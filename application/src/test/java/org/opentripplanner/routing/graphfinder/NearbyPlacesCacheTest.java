@@ -0,0 +1,80 @@
+package org.opentripplanner.routing.graphfinder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.street.search.state.State;
+
+class NearbyPlacesCacheTest {
+
+  private static final Coordinate A = NearbyPlacesCache.cellCentre(
+    new Coordinate(10.750_00, 59.910_00)
+  );
+  private static final Coordinate A_SAME_CELL = new Coordinate(A.x + 0.000_05, A.y + 0.000_05);
+  private static final Coordinate B = new Coordinate(10.760_00, 59.910_00);
+  private static final double RADIUS = 500;
+
+  private final NearbyPlacesCache subject = new NearbyPlacesCache();
+  private final List<Coordinate> searches = new ArrayList<>();
+
+  @Test
+  void searchFromTheCentreOfTheCell() {
+    get(A, RADIUS, false, 0);
+    get(A_SAME_CELL, RADIUS, false, 0);
+
+    assertEquals(1, searches.size());
+    assertEquals(1, subject.size());
+    double distance = SphericalDistanceLibrary.distance(A, searches.get(0));
+    assertTrue(distance < NearbyPlacesCache.CELL_SIZE_METERS, "Distance to centre: " + distance);
+  }
+
+  @Test
+  void eachCellAndRadiusIsCachedSeparately() {
+    get(A, RADIUS, false, 0);
+    get(B, RADIUS, false, 0);
+    get(A, 2 * RADIUS, false, 0);
+    get(B, RADIUS, false, 0);
+
+    assertEquals(3, searches.size());
+    assertEquals(3, subject.size());
+  }
+
+  @Test
+  void searchAgainForRealTimePlacesIfTheGraphIsUpdated() {
+    get(A, RADIUS, true, 0);
+    get(A, RADIUS, true, 0);
+    assertEquals(1, searches.size());
+
+    // Stops are not changed by real-time updates
+    get(A, RADIUS, false, 1);
+    assertEquals(1, searches.size());
+
+    get(A, RADIUS, true, 1);
+    get(A, RADIUS, true, 1);
+    assertEquals(2, searches.size());
+  }
+
+  private void get(
+    Coordinate coordinate,
+    double radiusMeters,
+    boolean includeRealTimePlaces,
+    long realTimeVersion
+  ) {
+    List<State> result = subject.get(
+      coordinate,
+      radiusMeters,
+      includeRealTimePlaces,
+      realTimeVersion,
+      centre -> {
+        searches.add(centre);
+        return List.of();
+      }
+    );
+    assertTrue(result.isEmpty());
+  }
+}
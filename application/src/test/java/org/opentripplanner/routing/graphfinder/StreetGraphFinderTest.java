@@ -8,11 +8,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.locationtech.jts.geom.Coordinate;
 import org.opentripplanner.routing.algorithm.GraphRoutingTest;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.linking.LinkingDirection;
 import org.opentripplanner.routing.vehicle_parking.VehicleParking;
+import org.opentripplanner.service.vehiclerental.model.TestVehicleRentalStationBuilder;
+import org.opentripplanner.service.vehiclerental.street.StreetVehicleRentalLink;
 import org.opentripplanner.service.vehiclerental.street.VehicleRentalPlaceVertex;
 import org.opentripplanner.street.model.StreetTraversalPermission;
 import org.opentripplanner.street.model.vertex.IntersectionVertex;
 import org.opentripplanner.street.model.vertex.TransitStopVertex;
+import org.opentripplanner.street.model.vertex.VertexFactory;
+import org.opentripplanner.street.search.TraverseMode;
+import org.opentripplanner.street.search.TraverseModeSet;
 import org.opentripplanner.transit.model._data.TimetableRepositoryForTest;
 import org.opentripplanner.transit.model.basic.TransitMode;
 import org.opentripplanner.transit.model.network.Route;
@@ -27,6 +34,9 @@ class StreetGraphFinderTest extends GraphRoutingTest {
   private IntersectionVertex A, B, C, D;
   private VehicleRentalPlaceVertex BR1, BR2;
 
+  private static final List<PlaceType> ALL_PLACE_TYPES = List.of(PlaceType.values());
+
+  private Graph graph;
   private TransitService transitService;
   private StreetGraphFinder graphFinder;
   private Route R1, R2;
@@ -116,8 +126,9 @@ class StreetGraphFinderTest extends GraphRoutingTest {
       }
     );
 
+    graph = otpModel.graph();
     transitService = new DefaultTransitService(otpModel.timetableRepository());
-    graphFinder = new StreetGraphFinder(otpModel.graph());
+    graphFinder = new StreetGraphFinder(graph);
   }
 
   @Test
@@ -468,6 +479,104 @@ class StreetGraphFinderTest extends GraphRoutingTest {
     );
   }
 
+  /**
+   * The cached search is done from the centre of the grid cell, so both finders are queried at the
+   * centre of a cell to get the same result. The first query fills the cache, the filters of the
+   * following queries are applied to the cached search.
+   */
+  @Test
+  void cachedFinderReturnsTheSameResult() {
+    var cachedFinder = new StreetGraphFinder(graph, new NearbyPlacesCache());
+    var coordinate = NearbyPlacesCache.cellCentre(new Coordinate(19.000, 47.505));
+
+    assertEquals(
+      simplify(graphFinder.findClosestStops(coordinate, 1000)),
+      simplify(cachedFinder.findClosestStops(coordinate, 1000))
+    );
+
+    for (var placeTypes : List.of(
+      ALL_PLACE_TYPES,
+      List.of(PlaceType.STOP),
+      List.of(PlaceType.STATION, PlaceType.PATTERN_AT_STOP),
+      List.of(PlaceType.VEHICLE_RENT, PlaceType.BIKE_PARK, PlaceType.CAR_PARK)
+    )) {
+      assertEquals(
+        findPlaces(graphFinder, coordinate, 100, placeTypes, null),
+        findPlaces(cachedFinder, coordinate, 100, placeTypes, null)
+      );
+    }
+    assertEquals(
+      findPlaces(graphFinder, coordinate, 100, ALL_PLACE_TYPES, List.of(TransitMode.TRAM)),
+      findPlaces(cachedFinder, coordinate, 100, ALL_PLACE_TYPES, List.of(TransitMode.TRAM))
+    );
+    assertEquals(
+      findPlaces(graphFinder, coordinate, 3, ALL_PLACE_TYPES, null),
+      findPlaces(cachedFinder, coordinate, 3, ALL_PLACE_TYPES, null)
+    );
+  }
+
+  @Test
+  void cachedFinderSearchesAgainWhenRealTimePlacesChange() {
+    var cachedFinder = new StreetGraphFinder(graph, new NearbyPlacesCache());
+    var coordinate = NearbyPlacesCache.cellCentre(new Coordinate(19.000, 47.505));
+    var placeTypes = List.of(PlaceType.VEHICLE_RENT);
+
+    var before = findPlaces(cachedFinder, coordinate, 100, placeTypes, null);
+    assertEquals(findPlaces(graphFinder, coordinate, 100, placeTypes, null), before);
+
+    var station = TestVehicleRentalStationBuilder.of().withCoordinates(47.506, 19.0001).build();
+    var vertex = new VertexFactory(graph).vehicleRentalPlace(station);
+    var tempEdges = graph
+      .getLinker()
+      .linkVertexForRealTime(
+        vertex,
+        new TraverseModeSet(TraverseMode.WALK),
+        LinkingDirection.BOTH_WAYS,
+        (v, streetVertex) ->
+          List.of(
+            StreetVehicleRentalLink.createStreetVehicleRentalLink(
+              (VehicleRentalPlaceVertex) v,
+              streetVertex
+            ),
+            StreetVehicleRentalLink.createStreetVehicleRentalLink(
+              streetVertex,
+              (VehicleRentalPlaceVertex) v
+            )
+          )
+      );
+
+    var linked = findPlaces(cachedFinder, coordinate, 100, placeTypes, null);
+    assertEquals(findPlaces(graphFinder, coordinate, 100, placeTypes, null), linked);
+    assertEquals(before.size() + 1, linked.size());
+
+    tempEdges.disposeEdges();
+
+    assertEquals(before, findPlaces(cachedFinder, coordinate, 100, placeTypes, null));
+  }
+
+  private List<PlaceAtDistance> findPlaces(
+    StreetGraphFinder finder,
+    Coordinate coordinate,
+    int maxResults,
+    List<PlaceType> placeTypes,
+    List<TransitMode> modes
+  ) {
+    return finder.findClosestPlaces(
+      coordinate.y,
+      coordinate.x,
+      1000,
+      maxResults,
+      modes,
+      placeTypes,
+      null,
+      null,
+      null,
+      null,
+      null,
+      transitService
+    );
+  }
+
   private List<NearbyStop> simplify(List<NearbyStop> closestStops) {
     return closestStops
       .stream()
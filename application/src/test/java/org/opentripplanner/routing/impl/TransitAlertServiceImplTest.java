@@ -0,0 +1,151 @@
+package org.opentripplanner.routing.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.opentripplanner.transit.model._data.TimetableRepositoryForTest.id;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.routing.alertpatch.EntitySelector;
+import org.opentripplanner.routing.alertpatch.StopCondition;
+import org.opentripplanner.routing.alertpatch.TimePeriod;
+import org.opentripplanner.routing.alertpatch.TransitAlert;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+
+class TransitAlertServiceImplTest {
+
+  private static final FeedScopedId ROUTE_ID = id("R1");
+  private static final FeedScopedId STOP_ID = id("S1");
+  private static final FeedScopedId TRIP_ID = id("T1");
+  private static final LocalDate SERVICE_DATE = LocalDate.of(2024, 9, 1);
+
+  private static final long HOUR = Duration.ofHours(1).toSeconds();
+  private static final long DAY = Duration.ofDays(1).toSeconds();
+  private static final long T0 = 1_725_177_600L;
+
+  private static final TransitAlert ACTIVE = routeAlert("active", T0, T0 + HOUR);
+  private static final TransitAlert TOMORROW = routeAlert("tomorrow", T0 + DAY, T0 + DAY + HOUR);
+  private static final TransitAlert OPEN_ENDED = routeAlert("open", T0 - DAY, TimePeriod.OPEN_ENDED);
+  private static final TransitAlert LONG_RUNNING = routeAlert(
+    "long",
+    T0 - 30 * DAY,
+    T0 + 30 * DAY
+  );
+
+  private final TransitAlertServiceImpl subject = new TransitAlertServiceImpl(null);
+
+  @Test
+  void getAlertsDuringPeriod() {
+    subject.setAlerts(List.of(ACTIVE, TOMORROW, OPEN_ENDED, LONG_RUNNING));
+    var route = new EntitySelector.Route(ROUTE_ID);
+
+    assertEquals(
+      Set.of("active", "open", "long"),
+      ids(subject.getAlerts(route, T0 + 600, T0 + 1200))
+    );
+    assertEquals(
+      Set.of("tomorrow", "open", "long"),
+      ids(subject.getAlerts(route, T0 + DAY + 600, T0 + DAY + 1200))
+    );
+    assertEquals(Set.of("long"), ids(subject.getAlerts(route, T0 - 2 * DAY, T0 - 2 * DAY + 600)));
+    // A period spanning more than the bucketed time range
+    assertEquals(
+      Set.of("active", "tomorrow", "open", "long"),
+      ids(subject.getAlerts(route, T0 - 10 * DAY, T0 + 10 * DAY))
+    );
+    assertEquals(Set.of(), ids(subject.getAlerts(new EntitySelector.Route(id("R2")), T0, T0)));
+  }
+
+  @Test
+  void periodEndIsExclusive() {
+    subject.setAlerts(List.of(ACTIVE));
+    var route = new EntitySelector.Route(ROUTE_ID);
+
+    assertEquals(Set.of("active"), ids(subject.getAlerts(route, T0 + HOUR - 1, T0 + HOUR - 1)));
+    assertEquals(Set.of(), ids(subject.getAlerts(route, T0 + HOUR, T0 + 2 * HOUR)));
+    assertEquals(Set.of("active"), ids(subject.getAlerts(route, T0 - HOUR, T0)));
+  }
+
+  @Test
+  void getAlertsMatchingSelector() {
+    var alert = TransitAlert
+      .of(id("stop-and-trip"))
+      .addEntity(
+        new EntitySelector.StopAndTrip(
+          STOP_ID,
+          TRIP_ID,
+          SERVICE_DATE,
+          Set.of(StopCondition.DESTINATION)
+        )
+      )
+      .addTimePeriod(new TimePeriod(T0, T0 + HOUR))
+      .build();
+    subject.setAlerts(List.of(alert));
+
+    assertEquals(
+      Set.of("stop-and-trip"),
+      ids(
+        subject.getAlerts(
+          new EntitySelector.StopAndTrip(STOP_ID, TRIP_ID, SERVICE_DATE, StopCondition.ARRIVING),
+          T0,
+          T0 + 600
+        )
+      )
+    );
+    assertEquals(
+      Set.of(),
+      ids(
+        subject.getAlerts(
+          new EntitySelector.StopAndTrip(STOP_ID, TRIP_ID, SERVICE_DATE, StopCondition.PASSING),
+          T0,
+          T0 + 600
+        )
+      )
+    );
+    assertEquals(
+      Set.of(),
+      ids(
+        subject.getAlerts(
+          new EntitySelector.StopAndTrip(
+            STOP_ID,
+            TRIP_ID,
+            SERVICE_DATE.plusDays(1),
+            StopCondition.ARRIVING
+          ),
+          T0,
+          T0 + 600
+        )
+      )
+    );
+  }
+
+  @Test
+  void getAlertsIndependentOfTime() {
+    subject.setAlerts(List.of(ACTIVE, TOMORROW, OPEN_ENDED, LONG_RUNNING));
+
+    assertEquals(Set.of("active", "tomorrow", "open", "long"), ids(subject.getAllAlerts()));
+    assertEquals(
+      Set.of("active", "tomorrow", "open", "long"),
+      ids(subject.getRouteAlerts(ROUTE_ID))
+    );
+    assertEquals(ACTIVE, subject.getAlertById(id("active")));
+    assertNull(subject.getAlertById(id("unknown")));
+  }
+
+  private static TransitAlert routeAlert(String id, long startTime, long endTime) {
+    return TransitAlert
+      .of(id(id))
+      .addEntity(new EntitySelector.Route(ROUTE_ID))
+      .addTimePeriod(new TimePeriod(startTime, endTime))
+      .build();
+  }
+
+  private static Set<String> ids(Collection<TransitAlert> alerts) {
+    return alerts.stream().map(it -> it.getId().getId()).collect(Collectors.toSet());
+  }
+}
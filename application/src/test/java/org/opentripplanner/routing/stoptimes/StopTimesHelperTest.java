@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.opentripplanner.ConstantsForTests;
 import org.opentripplanner.TestOtpModel;
 import org.opentripplanner.model.StopTimesInPattern;
+import org.opentripplanner.model.TripTimeOnDate;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
 import org.opentripplanner.transit.model.network.TripPattern;
 import org.opentripplanner.transit.service.DefaultTransitService;
@@ -23,9 +24,16 @@ class StopTimesHelperTest {
   static String feedId;
   private static DefaultTransitService transitService;
   private static final LocalDate serviceDate = LocalDate.of(2021, Month.JULY, 26);
+  private static final int T08_05 = (8 * 60 + 5) * 60;
+  private static final int T08_10 = (8 * 60 + 10) * 60;
+  private static final int T08_20 = (8 * 60 + 20) * 60;
+  private static final int DWELL_TIME = 10 * 60;
   private static FeedScopedId stopId;
   private static TripPattern pattern;
 
+  /** A copy of the pattern of route 5, where the trip arrives at 08:10 and departs at 08:20. */
+  private static TripPattern dwellPattern;
+
   @BeforeAll
   public static void setUp() throws Exception {
     TestOtpModel model = ConstantsForTests.buildGtfsGraph(ConstantsForTests.SIMPLE_GTFS);
@@ -37,6 +45,14 @@ class StopTimesHelperTest {
       transitService.getTripForId(new FeedScopedId(feedId, "5.1"))
     );
     var tt = originalPattern.getScheduledTimetable();
+    int stopIndex = originalPattern.getStops().indexOf(transitService.getRegularStop(stopId));
+    var dwellTripTimes = tt.getTripTimes(0).copyScheduledTimes();
+    dwellTripTimes.updateDepartureDelay(stopIndex, DWELL_TIME);
+    dwellPattern =
+      originalPattern
+        .copy()
+        .withScheduledTimeTableBuilder(builder -> builder.addOrUpdateTripTimes(dwellTripTimes))
+        .build();
     var newTripTimes = tt.getTripTimes(0).copyScheduledTimes();
     newTripTimes.cancelTrip();
     pattern =
@@ -278,6 +294,43 @@ class StopTimesHelperTest {
     assertEquals(serviceDate.plusDays(1), stopTime.getServiceDay());
   }
 
+  @Test
+  void stopTimesForPatternAtStop_departures() {
+    assertDwellTrip(stopTimesForDwellPattern(T08_10 + 1, ArrivalDeparture.DEPARTURES));
+    assertTrue(stopTimesForDwellPattern(T08_05, ArrivalDeparture.DEPARTURES).isEmpty());
+  }
+
+  @Test
+  void stopTimesForPatternAtStop_arrivals() {
+    assertDwellTrip(stopTimesForDwellPattern(T08_05, ArrivalDeparture.ARRIVALS));
+    assertTrue(stopTimesForDwellPattern(T08_10 + 1, ArrivalDeparture.ARRIVALS).isEmpty());
+  }
+
+  /**
+   * The trip is found once with BOTH, if the arrival, the departure or both of them are within
+   * the time range.
+   */
+  @Test
+  void stopTimesForPatternAtStop_arrivalsAndDepartures() {
+    // Only the arrival is within the time range
+    assertDwellTrip(stopTimesForDwellPattern(T08_05, ArrivalDeparture.BOTH));
+    // Only the departure is within the time range
+    assertDwellTrip(stopTimesForDwellPattern(T08_10 + 1, ArrivalDeparture.BOTH));
+    // Both are within the time range
+    assertDwellTrip(
+      StopTimesHelper.stopTimesForPatternAtStop(
+        transitService,
+        transitService.getRegularStop(stopId),
+        dwellPattern,
+        serviceDate.atStartOfDay(transitService.getTimeZone()).plusSeconds(T08_05).toInstant(),
+        Duration.ofMinutes(20),
+        10,
+        ArrivalDeparture.BOTH,
+        true
+      )
+    );
+  }
+
   /**
    * Case 1, should find all five departures on this day
    */
@@ -311,6 +364,36 @@ class StopTimesHelperTest {
     assertEquals(serviceDate, stopTime.getServiceDay());
   }
 
+  /**
+   * Find the stop times of the dwell pattern at the stop within 10 minutes from the given time.
+   */
+  private static List<TripTimeOnDate> stopTimesForDwellPattern(
+    int secondsSinceMidnight,
+    ArrivalDeparture arrivalDeparture
+  ) {
+    return StopTimesHelper.stopTimesForPatternAtStop(
+      transitService,
+      transitService.getRegularStop(stopId),
+      dwellPattern,
+      serviceDate
+        .atStartOfDay(transitService.getTimeZone())
+        .plusSeconds(secondsSinceMidnight)
+        .toInstant(),
+      Duration.ofMinutes(10),
+      10,
+      arrivalDeparture,
+      true
+    );
+  }
+
+  private static void assertDwellTrip(List<TripTimeOnDate> stopTimes) {
+    assertEquals(1, stopTimes.size());
+    var stopTime = stopTimes.get(0);
+    assertEquals(T08_10, stopTime.getRealtimeArrival());
+    assertEquals(T08_20, stopTime.getRealtimeDeparture());
+    assertEquals(serviceDate, stopTime.getServiceDay());
+  }
+
   boolean hasCancelledTrips(List<StopTimesInPattern> stopTimes) {
     return !stopTimes
       .stream()
@@ -83,6 +83,10 @@ public class CommandLineParametersTest {
     assertFalse(subject.doBuildTransit());
     assertTrue(subject.doSaveStreetGraph());
     assertFalse(subject.doSaveGraph());
+    assertFalse(subject.doReuseStreetGraph());
+
+    subject.reuseStreet = true;
+    assertTrue(subject.doReuseStreetGraph());
   }
 
   @Test
@@ -151,6 +155,13 @@ public class CommandLineParametersTest {
     validateWith().buildStreet().server().expectNotValid();
   }
 
+  @Test
+  public void reuseStreetRequiresBuildStreet() {
+    // --reuseStreet can only be used with --buildStreet
+    validateWith().build().save().reuseStreet().expectNotValid();
+    validateWith().loadStreet().save().reuseStreet().expectNotValid();
+  }
+
   @Test
   public void buildRequiresSaveOrServeOrBoth() {
     // --build requires --save and/or --serve
@@ -188,6 +199,11 @@ public class CommandLineParametersTest {
       return this;
     }
 
+    TestValidation reuseStreet() {
+      subject.reuseStreet = true;
+      return this;
+    }
+
     TestValidation loadStreet() {
       subject.loadStreet = true;
       return this;
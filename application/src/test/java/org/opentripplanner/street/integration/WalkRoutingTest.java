@@ -1,13 +1,20 @@
 package org.opentripplanner.street.integration;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
 import java.time.Instant;
 import java.util.List;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.opentripplanner.ConstantsForTests;
 import org.opentripplanner.TestOtpModel;
+import org.opentripplanner._support.time.ZoneIds;
 import org.opentripplanner.astar.model.GraphPath;
 import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.model.plan.Itinerary;
+import org.opentripplanner.model.plan.WalkStep;
+import org.opentripplanner.routing.algorithm.mapping.GraphPathToItineraryMapper;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.request.StreetMode;
 import org.opentripplanner.routing.graph.Graph;
@@ -48,28 +55,67 @@ class WalkRoutingTest {
     Assertions.assertDoesNotThrow(() -> route(roundabout, start, end));
   }
 
+  /**
+   * The walk steps are created from the edges around each vertex passed, so they must be created
+   * before the temporary vertices of the request are removed, and not when an API reads them.
+   */
+  @Test
+  void walkStepsAreNotChangedWhenTemporaryVerticesAreRemoved() {
+    var start = new GenericLocation(59.94646, 10.77511);
+    var end = new GenericLocation(59.94641, 10.77522);
+    var request = request(start, end);
+    var mapper = new GraphPathToItineraryMapper(
+      ZoneIds.OSLO,
+      roundabout.streetNotesService,
+      roundabout.ellipsoidToGeoidDifference
+    );
+
+    List<Itinerary> itineraries;
+    List<WalkStep> expected;
+    try (var temporaryVertices = temporaryVertices(roundabout, request)) {
+      var paths = new GraphPathFinder(null).graphPathFinderEntryPoint(request, temporaryVertices);
+      itineraries = mapper.mapItineraries(paths);
+      expected = walkSteps(mapper.mapItineraries(paths));
+    }
+
+    var walkSteps = walkSteps(itineraries);
+    assertFalse(walkSteps.isEmpty());
+    assertEquals(expected.toString(), walkSteps.toString());
+  }
+
   private static List<GraphPath<State, Edge, Vertex>> route(
     Graph graph,
     GenericLocation from,
     GenericLocation to
   ) {
+    RouteRequest request = request(from, to);
+
+    try (var temporaryVertices = temporaryVertices(graph, request)) {
+      var gpf = new GraphPathFinder(null);
+      return gpf.graphPathFinderEntryPoint(request, temporaryVertices);
+    }
+  }
+
+  private static RouteRequest request(GenericLocation from, GenericLocation to) {
     RouteRequest request = new RouteRequest();
     request.setDateTime(dateTime);
     request.setFrom(from);
     request.setTo(to);
     request.journey().direct().setMode(StreetMode.WALK);
+    return request;
+  }
 
-    try (
-      var temporaryVertices = new TemporaryVerticesContainer(
-        graph,
-        request.from(),
-        request.to(),
-        request.journey().direct().mode(),
-        request.journey().direct().mode()
-      )
-    ) {
-      var gpf = new GraphPathFinder(null);
-      return gpf.graphPathFinderEntryPoint(request, temporaryVertices);
-    }
+  private static TemporaryVerticesContainer temporaryVertices(Graph graph, RouteRequest request) {
+    return new TemporaryVerticesContainer(
+      graph,
+      request.from(),
+      request.to(),
+      request.journey().direct().mode(),
+      request.journey().direct().mode()
+    );
+  }
+
+  private static List<WalkStep> walkSteps(List<Itinerary> itineraries) {
+    return itineraries.getFirst().getLegs().getFirst().getWalkSteps();
   }
 }
@@ -56,6 +56,14 @@ public enum SpeedTestProfile {
     RaptorProfile.MULTI_CRITERIA,
     SearchDirection.FORWARD,
     Optimization.PARETO_CHECK_AGAINST_DESTINATION
+  ),
+  multi_criteria_sorted(
+    "ms",
+    "Multi-Criteria Range Raptor with destination pruning and sorted stop arrivals.",
+    RaptorProfile.MULTI_CRITERIA,
+    SearchDirection.FORWARD,
+    Optimization.PARETO_CHECK_AGAINST_DESTINATION,
+    Optimization.SORTED_STOP_ARRIVALS
   );
 
   final String shortName;
@@ -2,9 +2,14 @@ package org.opentripplanner.updater.trip;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Arrays;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.opentripplanner.test.support.ResourceLoader;
 import org.opentripplanner.updater.spi.HttpHeaders;
 
@@ -12,24 +17,44 @@ public class GtfsRealtimeTripUpdateSourceTest {
 
   @Test
   public void parseFeed() {
-    var source = new GtfsRealtimeTripUpdateSource(
+    var source = septaSource();
+    var updates = source.getUpdates();
+
+    assertNotNull(updates);
+
+    assertEquals(35, updates.size());
+
+    var first = updates.get(0);
+    assertEquals("AIR_4846_V55_M", first.getTrip().getTripId());
+  }
+
+  @Test
+  public void truncatedFeed(@TempDir Path tempDir) throws Exception {
+    var feed = ResourceLoader.of(this).file("septa.pbf");
+    var bytes = Files.readAllBytes(feed.toPath());
+    var truncated = tempDir.resolve("truncated.pbf");
+    Files.write(truncated, Arrays.copyOf(bytes, bytes.length / 2));
+
+    var source = source(truncated.toUri().toString());
+
+    assertNull(source.getUpdates());
+  }
+
+  private GtfsRealtimeTripUpdateSource septaSource() {
+    return source(ResourceLoader.of(this).url("septa.pbf").toString());
+  }
+
+  private static GtfsRealtimeTripUpdateSource source(String url) {
+    return new GtfsRealtimeTripUpdateSource(
       new PollingTripUpdaterParameters(
         "rt",
         Duration.ofSeconds(10),
         false,
         BackwardsDelayPropagationType.ALWAYS,
         "rt",
-        ResourceLoader.of(this).url("septa.pbf").toString(),
+        url,
         HttpHeaders.empty()
       )
     );
-    var updates = source.getUpdates();
-
-    assertNotNull(updates);
-
-    assertEquals(35, updates.size());
-
-    var first = updates.get(0);
-    assertEquals("AIR_4846_V55_M", first.getTrip().getTripId());
   }
 }
@@ -0,0 +1,97 @@
+package org.opentripplanner.updater.trip;
+
+import static com.google.transit.realtime.GtfsRealtime.TripDescriptor.ScheduleRelationship.SCHEDULED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.google.transit.realtime.GtfsRealtime.FeedEntity;
+import com.google.transit.realtime.GtfsRealtime.FeedHeader;
+import com.google.transit.realtime.GtfsRealtime.FeedMessage;
+import com.google.transit.realtime.GtfsRealtime.TripUpdate;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PollingTripUpdaterTest implements RealtimeTestConstants {
+
+  private static final int DELAY = 1;
+  private static final int STOP_SEQUENCE = 1;
+
+  private static final TripInput TRIP_1_INPUT = TripInput
+    .of(TRIP_1_ID)
+    .addStop(STOP_A1, "0:00:10", "0:00:11")
+    .addStop(STOP_B1, "0:00:20", "0:00:21")
+    .build();
+  private static final TripInput TRIP_2_INPUT = TripInput
+    .of(TRIP_2_ID)
+    .addStop(STOP_A1, "0:01:00", "0:01:01")
+    .addStop(STOP_B1, "0:01:10", "0:01:11")
+    .build();
+
+  @TempDir
+  Path tempDir;
+
+  private final RealtimeTestEnvironment env = RealtimeTestEnvironment
+    .gtfs()
+    .addTrip(TRIP_1_INPUT)
+    .addTrip(TRIP_2_INPUT)
+    .build();
+
+  @Test
+  void applyFullDataset() throws IOException {
+    env.applyTripUpdate(delay(TRIP_1_ID));
+
+    var feed = writeFeed(fullDataset(TRIP_2_ID).toByteArray());
+    env.pollingTripUpdater(feed).runPolling();
+
+    // The full dataset replaces the previous updates
+    assertEquals(env.getScheduledTimetable(TRIP_1_ID), env.getRealtimeTimetable(TRIP_1_ID));
+    assertNotEquals(env.getScheduledTimetable(TRIP_2_ID), env.getRealtimeTimetable(TRIP_2_ID));
+  }
+
+  @Test
+  void keepPreviousUpdatesIfFeedIsTruncated() throws IOException {
+    env.applyTripUpdate(delay(TRIP_1_ID));
+    var expected = env.getRealtimeTimetable(TRIP_1_ID);
+
+    // The feed is cut in the middle of the second entity, after the first is read
+    var bytes = fullDataset(TRIP_2_ID, TRIP_2_ID).toByteArray();
+    var feed = writeFeed(Arrays.copyOf(bytes, bytes.length - 3));
+    env.pollingTripUpdater(feed).runPolling();
+
+    assertEquals(expected, env.getRealtimeTimetable(TRIP_1_ID));
+    assertEquals(env.getScheduledTimetable(TRIP_2_ID), env.getRealtimeTimetable(TRIP_2_ID));
+  }
+
+  private String writeFeed(byte[] bytes) throws IOException {
+    var file = tempDir.resolve("feed.pbf");
+    Files.write(file, bytes);
+    return file.toUri().toString();
+  }
+
+  private static FeedMessage fullDataset(String... tripIds) {
+    var feed = FeedMessage
+      .newBuilder()
+      .setHeader(
+        FeedHeader
+          .newBuilder()
+          .setGtfsRealtimeVersion("2.0")
+          .setIncrementality(FeedHeader.Incrementality.FULL_DATASET)
+      );
+    for (int i = 0; i < tripIds.length; ++i) {
+      feed.addEntity(
+        FeedEntity.newBuilder().setId(Integer.toString(i)).setTripUpdate(delay(tripIds[i]))
+      );
+    }
+    return feed.build();
+  }
+
+  private static TripUpdate delay(String tripId) {
+    return new TripUpdateBuilder(tripId, SERVICE_DATE, SCHEDULED, TIME_ZONE)
+      .addDelayedStopTime(STOP_SEQUENCE, DELAY)
+      .build();
+  }
+}
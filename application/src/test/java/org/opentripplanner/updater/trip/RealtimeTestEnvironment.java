@@ -9,6 +9,7 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import org.opentripplanner.DateTimeHelper;
 import org.opentripplanner.model.TimetableSnapshot;
 import org.opentripplanner.routing.graph.Graph;
@@ -24,6 +25,7 @@ import org.opentripplanner.updater.DefaultRealTimeUpdateContext;
 import org.opentripplanner.updater.TimetableSnapshotSourceParameters;
 import org.opentripplanner.updater.siri.SiriTimetableSnapshotSource;
 import org.opentripplanner.updater.siri.updater.EstimatedTimetableHandler;
+import org.opentripplanner.updater.spi.HttpHeaders;
 import org.opentripplanner.updater.spi.UpdateResult;
 import uk.org.siri.siri20.EstimatedTimetableDeliveryStructure;
 
@@ -206,6 +208,39 @@ public final class RealtimeTestEnvironment implements RealtimeTestConstants {
     return updateResult;
   }
 
+  /**
+   * Create a GTFS-RT polling updater reading the feed from the given url. The graph writer
+   * runnables of the updater are run immediately, and the snapshot is committed after each of
+   * them.
+   */
+  public PollingTripUpdater pollingTripUpdater(String url) {
+    Objects.requireNonNull(gtfsSource, "Test environment is configured for SIRI only");
+    var updater = new PollingTripUpdater(
+      new PollingTripUpdaterParameters(
+        "rt",
+        Duration.ofSeconds(10),
+        false,
+        BackwardsDelayPropagationType.REQUIRED_NO_DATA,
+        getFeedId(),
+        url,
+        HttpHeaders.empty()
+      ),
+      gtfsSource
+    );
+    updater.setup(runnable -> {
+      runnable.run(
+        new DefaultRealTimeUpdateContext(
+          new Graph(),
+          timetableRepository,
+          gtfsSource.getTimetableSnapshotBuffer()
+        )
+      );
+      commitTimetableSnapshot();
+      return CompletableFuture.completedFuture(null);
+    });
+    return updater;
+  }
+
   // private methods
 
   private UpdateResult applyEstimatedTimetable(
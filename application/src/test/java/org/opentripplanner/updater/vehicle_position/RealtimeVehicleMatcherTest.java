@@ -1,6 +1,8 @@
 package org.opentripplanner.updater.vehicle_position;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.opentripplanner.model.plan.PlanTestConstants.T11_00;
 import static org.opentripplanner.standalone.config.routerconfig.updaters.VehiclePositionsUpdaterConfig.VehiclePositionFeature.OCCUPANCY;
 import static org.opentripplanner.standalone.config.routerconfig.updaters.VehiclePositionsUpdaterConfig.VehiclePositionFeature.POSITION;
@@ -15,9 +17,11 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -28,6 +32,7 @@ import org.opentripplanner._support.time.ZoneIds;
 import org.opentripplanner.framework.geometry.WgsCoordinate;
 import org.opentripplanner.model.StopTime;
 import org.opentripplanner.service.realtimevehicles.internal.DefaultRealtimeVehicleService;
+import org.opentripplanner.service.realtimevehicles.model.RealtimeVehicle;
 import org.opentripplanner.standalone.config.routerconfig.updaters.VehiclePositionsUpdaterConfig;
 import org.opentripplanner.transit.model._data.TimetableRepositoryForTest;
 import org.opentripplanner.transit.model.framework.Deduplicator;
@@ -326,6 +331,128 @@ public class RealtimeVehicleMatcherTest {
     assertEquals(0, service.getRealtimeVehicles(pattern2).size());
   }
 
+  @Test
+  void reuseUnchangedVehicles() {
+    var writes = new ArrayList<TripPattern>();
+    var service = new DefaultRealtimeVehicleService(null) {
+      @Override
+      public void setRealtimeVehicles(TripPattern pattern, List<RealtimeVehicle> updates) {
+        writes.add(pattern);
+        super.setRealtimeVehicles(pattern, updates);
+      }
+    };
+    var trip = TimetableRepositoryForTest.trip(tripId).build();
+    var pattern = tripPattern(
+      trip,
+      List.of(
+        testModel.stopTime(trip, 0),
+        testModel.stopTime(trip, 1),
+        testModel.stopTime(trip, 2)
+      )
+    );
+    var index = new RealtimeVehicleIndex();
+    var matcher = new RealtimeVehiclePatternMatcher(
+      TimetableRepositoryForTest.FEED_ID,
+      Map.of(scopedTripId, trip)::get,
+      ignored -> pattern,
+      (id, time) -> pattern,
+      service,
+      zoneId,
+      null,
+      FEATURES,
+      index
+    );
+    var pos = vehiclePosition(tripId)
+      .toBuilder()
+      .setVehicle(GtfsRealtime.VehicleDescriptor.newBuilder().setId("vehicle-1"))
+      .build();
+
+    matcher.applyRealtimeVehicleUpdates(List.of(pos));
+    var vehicle = service.getRealtimeVehicles(pattern).get(0);
+    assertEquals(List.of(pattern), writes);
+    assertEquals(0, index.reusedInLastUpdate());
+
+    // the same position again is neither matched nor written to the repository again
+    var result = matcher.applyRealtimeVehicleUpdates(List.of(pos));
+    assertEquals(1, result.successful());
+    assertEquals(1, index.reusedInLastUpdate());
+    assertEquals(List.of(pattern), writes);
+    assertSame(vehicle, service.getRealtimeVehicles(pattern).get(0));
+
+    // a new position of the same vehicle is matched and written
+    var moved = pos
+      .toBuilder()
+      .setPosition(pos.getPosition().toBuilder().setLatitude(2))
+      .build();
+    matcher.applyRealtimeVehicleUpdates(List.of(moved));
+    assertEquals(0, index.reusedInLastUpdate());
+    assertEquals(List.of(pattern, pattern), writes);
+    assertEquals(
+      new WgsCoordinate(2, 1),
+      service.getRealtimeVehicles(pattern).get(0).coordinates().get()
+    );
+  }
+
+  @Test
+  void clearOldTripsWithNewMatcherForEachUpdate() {
+    var service = new DefaultRealtimeVehicleService(null);
+    var trip = TimetableRepositoryForTest.trip(tripId).build();
+    var pattern = tripPattern(
+      trip,
+      List.of(testModel.stopTime(trip, 0), testModel.stopTime(trip, 1))
+    );
+    // the updater creates a new matcher for each update, but keeps the index
+    var index = new RealtimeVehicleIndex();
+    Supplier<RealtimeVehiclePatternMatcher> matcher = () ->
+      new RealtimeVehiclePatternMatcher(
+        TimetableRepositoryForTest.FEED_ID,
+        Map.of(scopedTripId, trip)::get,
+        ignored -> pattern,
+        (id, time) -> pattern,
+        service,
+        zoneId,
+        null,
+        FEATURES,
+        index
+      );
+
+    matcher.get().applyRealtimeVehicleUpdates(List.of(vehiclePosition(tripId)));
+    assertEquals(1, service.getRealtimeVehicles(pattern).size());
+
+    matcher.get().applyRealtimeVehicleUpdates(List.of());
+    assertEquals(0, service.getRealtimeVehicles(pattern).size());
+  }
+
+  @Test
+  void stopIdVisitedTwice() {
+    var service = new DefaultRealtimeVehicleService(null);
+    var trip = TimetableRepositoryForTest.trip(tripId).build();
+    var stop = testModel.stop("stop-1", 0, 0).build();
+    var pattern = tripPattern(
+      trip,
+      List.of(
+        testModel.stopTime(trip, 0, stop),
+        testModel.stopTime(trip, 5),
+        testModel.stopTime(trip, 10, stop)
+      )
+    );
+    var matcher = new RealtimeVehiclePatternMatcher(
+      TimetableRepositoryForTest.FEED_ID,
+      Map.of(scopedTripId, trip)::get,
+      ignored -> pattern,
+      (id, time) -> pattern,
+      service,
+      zoneId,
+      null,
+      FEATURES
+    );
+
+    matcher.applyRealtimeVehicleUpdates(List.of(vehiclePosition(tripId)));
+
+    // the stop is ambiguous, so the stop of the vehicle is not set
+    assertTrue(service.getRealtimeVehicles(pattern).get(0).stop().isEmpty());
+  }
+
   static Stream<Arguments> inferenceTestCases() {
     return Stream.of(
       Arguments.of("2022-04-05T15:26:04+02:00", "2022-04-05"),
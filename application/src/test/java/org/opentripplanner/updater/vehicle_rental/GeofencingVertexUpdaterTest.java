@@ -2,11 +2,13 @@ package org.opentripplanner.updater.vehicle_rental;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.opentripplanner.street.model._data.StreetModelForTest.intersectionVertex;
 import static org.opentripplanner.street.model._data.StreetModelForTest.streetEdge;
 import static org.opentripplanner.transit.model._data.TimetableRepositoryForTest.id;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.MultiPolygon;
@@ -102,4 +104,39 @@ class GeofencingVertexUpdaterTest {
     var ext = (BusinessAreaBorder) businessBorder.getFromVertex().rentalRestrictions();
     assertInstanceOf(BusinessAreaBorder.class, ext);
   }
+
+  @Test
+  void reuseEdgesOfUnchangedZones() {
+    var lookups = new AtomicInteger();
+    var countingUpdater = new GeofencingVertexUpdater(ignored -> {
+      lookups.incrementAndGet();
+      return List.of(insideFrognerPark, halfInHalfOutFrognerPark, businessBorder);
+    });
+
+    var first = countingUpdater.computeRestrictions(List.of(zone, businessArea));
+    assertTrue(lookups.get() > 0);
+
+    lookups.set(0);
+    var second = countingUpdater.computeRestrictions(List.of(zone, businessArea));
+    assertEquals(0, lookups.get());
+    assertEquals(first, second);
+
+    // only the changed zone is computed again
+    var changedZone = new GeofencingZone(id("frogner-park"), Polygons.BERLIN, true, false);
+    var third = countingUpdater.computeRestrictions(List.of(changedZone, businessArea));
+    assertTrue(lookups.get() > 0);
+    assertEquals(1, third.size());
+    assertInstanceOf(BusinessAreaBorder.class, third.get(businessBorder));
+  }
+
+  @Test
+  void replaceRestrictions() {
+    var first = updater.applyGeofencingZones(List.of(zone, businessArea));
+    var second = updater.computeRestrictions(List.of(businessArea));
+
+    GeofencingVertexUpdater.replaceRestrictions(first, second);
+
+    assertInstanceOf(NoRestriction.class, insideFrognerPark.getFromVertex().rentalRestrictions());
+    assertInstanceOf(BusinessAreaBorder.class, businessBorder.getFromVertex().rentalRestrictions());
+  }
 }